@@ -0,0 +1,54 @@
+package com.project.eventcatalogservice.config;
+
+import com.project.eventcatalogservice.observability.SlowQueryExplainer;
+import com.project.eventcatalogservice.observability.SqlInstrumentationListener;
+import com.project.eventcatalogservice.observability.SqlStatementCountFilter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Instrumentation SQL: enveloppe les DataSource avec datasource-proxy et ouvre une
+ * portée de comptage par requête HTTP.
+ * Désactivable via event-catalog.sql.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "event-catalog.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationDataSourcePostProcessor(
+            ObjectProvider<SqlInstrumentationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    SqlInstrumentationProperties props = properties.getObject();
+                    SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, props);
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlInstrumentationListener(props, explainer))
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(
+            SqlInstrumentationProperties properties) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+            new FilterRegistrationBean<>(new SqlStatementCountFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.eventcatalogservice.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés de l'instrumentation SQL (datasource-proxy).
+ * Préfixe: event-catalog.sql
+ */
+@Configuration
+@ConfigurationProperties(prefix = "event-catalog.sql")
+@Validated
+public class SqlInstrumentationProperties {
+
+    /**
+     * Active le proxy de DataSource (comptage, requêtes lentes).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Durée à partir de laquelle une instruction est considérée comme lente.
+     */
+    @Min(1)
+    private long slowQueryThresholdMs = 200;
+
+    /**
+     * Nombre d'instructions par requête HTTP au-delà duquel un N+1 est suspecté.
+     */
+    @Min(1)
+    private int statementWarnThreshold = 20;
+
+    /**
+     * Exécute un EXPLAIN (asynchrone) la première fois qu'une empreinte lente est vue.
+     */
+    private boolean explainSlowQueries = false;
+
+    /**
+     * Journalise les valeurs liées des requêtes lentes (débogage uniquement): elles peuvent
+     * contenir des données personnelles. Par défaut, seuls l'empreinte, la requête normalisée et
+     * le nombre de valeurs sont journalisés.
+     */
+    private boolean logBindValues = false;
+
+    /**
+     * Nombre maximum d'empreintes mémorisées pour l'EXPLAIN (borne mémoire).
+     */
+    @Min(1)
+    private int maxExplainedFingerprints = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    public void setSlowQueryThresholdMs(long slowQueryThresholdMs) {
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+    }
+
+    public int getStatementWarnThreshold() {
+        return statementWarnThreshold;
+    }
+
+    public void setStatementWarnThreshold(int statementWarnThreshold) {
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    public boolean isExplainSlowQueries() {
+        return explainSlowQueries;
+    }
+
+    public void setExplainSlowQueries(boolean explainSlowQueries) {
+        this.explainSlowQueries = explainSlowQueries;
+    }
+
+    public boolean isLogBindValues() {
+        return logBindValues;
+    }
+
+    public void setLogBindValues(boolean logBindValues) {
+        this.logBindValues = logBindValues;
+    }
+
+    public int getMaxExplainedFingerprints() {
+        return maxExplainedFingerprints;
+    }
+
+    public void setMaxExplainedFingerprints(int maxExplainedFingerprints) {
+        this.maxExplainedFingerprints = maxExplainedFingerprints;
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.eventcatalogservice.observability;
+
+import com.project.eventcatalogservice.config.SqlInstrumentationProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Listener datasource-proxy: comptabilise chaque instruction dans la portée
+ * {@link SqlStatementTracker} courante et journalise les instructions lentes
+ * avec leur empreinte. Les valeurs liées sont masquées (seul leur nombre est journalisé),
+ * sauf si {@code event-catalog.sql.log-bind-values} est activé.
+ */
+public class SqlInstrumentationListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlInstrumentationListener.class);
+    private static final int MAX_BIND_VALUE_LENGTH = 64;
+
+    private final SqlInstrumentationProperties properties;
+    private final SlowQueryExplainer explainer;
+
+    public SqlInstrumentationListener(SqlInstrumentationProperties properties, SlowQueryExplainer explainer) {
+        this.properties = properties;
+        this.explainer = explainer;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Rien à faire avant l'exécution
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        SqlStatementTracker.record(kindOf(sql), execInfo.getBatchSize(), execInfo.getElapsedTime());
+
+        if (execInfo.getElapsedTime() >= properties.getSlowQueryThresholdMs()) {
+            onSlowQuery(execInfo, queryInfoList.get(0));
+        }
+    }
+
+    private void onSlowQuery(ExecutionInfo execInfo, QueryInfo queryInfo) {
+        String sql = queryInfo.getQuery();
+        String fingerprint = SqlFingerprint.of(sql);
+        List<ParameterSetOperation> binds = queryInfo.getParametersList().isEmpty()
+            ? List.of()
+            : queryInfo.getParametersList().get(0);
+        SqlStatementTracker.Scope scope = SqlStatementTracker.current();
+
+        logger.warn("Requête lente [{}] {} ms (scope={}, batch={}): {} | binds={}",
+            fingerprint, execInfo.getElapsedTime(), scope != null ? scope.getName() : "-",
+            execInfo.getBatchSize(), SqlFingerprint.normalize(sql),
+            properties.isLogBindValues() ? formatBinds(binds) : binds.size() + " masquées");
+
+        if (properties.isExplainSlowQueries()) {
+            explainer.explainOnce(fingerprint, sql, binds);
+        }
+    }
+
+    static SqlStatementTracker.StatementKind kindOf(String sql) {
+        int i = 0;
+        while (i < sql.length() && (Character.isWhitespace(sql.charAt(i)) || sql.charAt(i) == '(')) {
+            i++;
+        }
+        if (sql.regionMatches(true, i, "select", 0, 6) || sql.regionMatches(true, i, "with", 0, 4)) {
+            return SqlStatementTracker.StatementKind.SELECT;
+        }
+        if (sql.regionMatches(true, i, "insert", 0, 6)) {
+            return SqlStatementTracker.StatementKind.INSERT;
+        }
+        if (sql.regionMatches(true, i, "update", 0, 6)) {
+            return SqlStatementTracker.StatementKind.UPDATE;
+        }
+        if (sql.regionMatches(true, i, "delete", 0, 6)) {
+            return SqlStatementTracker.StatementKind.DELETE;
+        }
+        return SqlStatementTracker.StatementKind.OTHER;
+    }
+
+    private static String formatBinds(List<ParameterSetOperation> binds) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation op : binds) {
+            Object[] args = op.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            String text = String.valueOf(value);
+            if (text.length() > MAX_BIND_VALUE_LENGTH) {
+                text = text.substring(0, MAX_BIND_VALUE_LENGTH) + "…";
+            }
+            joiner.add(text);
+        }
+        return joiner.toString();
+    }
+}
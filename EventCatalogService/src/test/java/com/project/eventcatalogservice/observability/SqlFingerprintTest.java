@@ -0,0 +1,37 @@
+package com.project.eventcatalogservice.observability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void fingerprint_WhenOnlyLiteralsAndWhitespaceDiffer_ShouldBeIdentical() {
+        // Given
+        String a = "SELECT * FROM event WHERE category_id = 3 AND title LIKE '%jazz%'";
+        String b = "select *   from event\n where category_id = 12 and title like '%rock%'";
+
+        // When / Then
+        assertThat(SqlFingerprint.of(a)).isEqualTo(SqlFingerprint.of(b));
+        assertThat(SqlFingerprint.normalize(a))
+            .isEqualTo("select * from event where category_id = ? and title like ?");
+    }
+
+    @Test
+    void fingerprint_WhenInListsHaveDifferentSizes_ShouldBeIdentical() {
+        // Given
+        String a = "select id from event where id in (?, ?)";
+        String b = "select id from event where id in (?,?,?,?)";
+
+        // When / Then
+        assertThat(SqlFingerprint.of(a)).isEqualTo(SqlFingerprint.of(b));
+    }
+
+    @Test
+    void fingerprint_WhenQueriesDiffer_ShouldDiffer() {
+        // When / Then
+        assertThat(SqlFingerprint.of("select * from event where id = ?"))
+            .isNotEqualTo(SqlFingerprint.of("select * from category where id = ?"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.eventcatalogservice.observability;
+
+import com.project.eventcatalogservice.config.SqlInstrumentationProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCountFilterTest {
+
+    private SqlInstrumentationProperties properties;
+    private SqlInstrumentationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlInstrumentationProperties();
+        listener = new SqlInstrumentationListener(properties, null);
+    }
+
+    private void execute(String sql, int batchSize) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setBatchSize(batchSize);
+        execution.setElapsedTime(1);
+        listener.afterQuery(execution, List.of(new QueryInfo(sql)));
+    }
+
+    @Test
+    void doFilter_WhenRequestExecutesStatements_ShouldCountThemByKind() throws Exception {
+        // Given
+        AtomicReference<SqlStatementTracker.Scope> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+
+        // When
+        new SqlStatementCountFilter(properties).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            execute("select * from event where id = ?", 0);
+            execute("  (select * from category)", 0);
+            execute("insert into event (title) values (?)", 3);
+            execute("update event set title = ? where id = ?", 0);
+            seen.set(SqlStatementTracker.current());
+        });
+
+        // Then
+        SqlStatementTracker.Scope scope = seen.get();
+        assertThat(scope.getName()).isEqualTo("GET /api/events");
+        assertThat(scope.getStatementCount()).isEqualTo(4);
+        assertThat(scope.getCount(SqlStatementTracker.StatementKind.SELECT)).isEqualTo(2);
+        assertThat(scope.getCount(SqlStatementTracker.StatementKind.INSERT)).isEqualTo(1);
+        assertThat(scope.getCount(SqlStatementTracker.StatementKind.UPDATE)).isEqualTo(1);
+        assertThat(scope.getBatchedRows()).isEqualTo(6);
+        assertThat(SqlStatementTracker.current()).isNull();
+    }
+
+    @Test
+    void record_WhenScopesAreNested_ShouldCountInParentToo() {
+        // Given
+        try (SqlStatementTracker.Scope outer = SqlStatementTracker.open("outer")) {
+            try (SqlStatementTracker.Scope inner = SqlStatementTracker.open("inner")) {
+                // When
+                execute("delete from event where id = ?", 0);
+
+                // Then
+                assertThat(inner.getCount(SqlStatementTracker.StatementKind.DELETE)).isEqualTo(1);
+            }
+            execute("select 1", 0);
+
+            assertThat(outer.getStatementCount()).isEqualTo(2);
+            assertThat(SqlStatementTracker.current()).isSameAs(outer);
+        }
+    }
+
+    @Test
+    void afterQuery_WhenNoScopeIsOpen_ShouldNotFail() {
+        // When
+        execute("select * from event", 0);
+
+        // Then
+        assertThat(SqlStatementTracker.current()).isNull();
+    }
+}
@@ -0,0 +1,169 @@
+package com.acme.tickets.benchmark;
+
+import com.acme.tickets.benchmark.support.Json;
+import com.acme.tickets.controller.TicketController;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.exception.GlobalExceptionHandler;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.exception.InvalidReservationStateException;
+import com.acme.tickets.exception.ReservationExpiredException;
+import com.acme.tickets.observability.RejectionLogThrottle;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Chemins de rejet: levée de l'exception métier à une profondeur de pile réaliste,
+ * traitement par {@link GlobalExceptionHandler} (journalisation WARN comprise) et
+ * sérialisation du corps d'erreur.
+ * <p>
+ * {@code insufficientStockBaseline} reproduit le chemin d'origine (pile d'appels remplie,
+ * message formaté, corps en Map sérialisé par Jackson, une ligne WARN par rejet) pour comparer
+ * l'allocation par rejet (gc.alloc.rate.norm, profileur gc du profil jmh) dans un même run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    /**
+     * Profondeur de pile au point de levée (une requête Spring MVC + transaction dépasse 100 cadres).
+     */
+    @Param({"10", "120"})
+    int stackDepth;
+
+    private static final Logger LEGACY_LOGGER = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private GlobalExceptionHandler handler;
+    private WebRequest webRequest;
+    private ObjectMapper mapper;
+    private MethodParameter reserveBody;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler(new RejectionLogThrottle(5));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tickets/reserve");
+        webRequest = new ServletWebRequest(request);
+        mapper = Json.applicationMapper();
+        reserveBody = new MethodParameter(
+            TicketController.class.getMethod("reserve", ReserveRequest.class, String.class), 0);
+    }
+
+    @Benchmark
+    public byte[] insufficientStock() {
+        try {
+            throwAtDepth(stackDepth, () -> new InsufficientStockException(42L, 4, 1));
+        } catch (InsufficientStockException e) {
+            return handler.handleInsufficientStock(e).getBody();
+        }
+        throw new AssertionError();
+    }
+
+    @Benchmark
+    public byte[] reservationExpired() {
+        try {
+            throwAtDepth(stackDepth, () -> new ReservationExpiredException(123L));
+        } catch (ReservationExpiredException e) {
+            return handler.handleReservationExpired(e).getBody();
+        }
+        throw new AssertionError();
+    }
+
+    @Benchmark
+    public byte[] invalidReservationState() {
+        try {
+            throwAtDepth(stackDepth, () -> new InvalidReservationStateException(
+                123L, ReservationStatus.CANCELED, ReservationStatus.PENDING));
+        } catch (InvalidReservationStateException e) {
+            return handler.handleInvalidReservationState(e).getBody();
+        }
+        throw new AssertionError();
+    }
+
+    @Benchmark
+    public byte[] insufficientStockBaseline() throws JsonProcessingException {
+        try {
+            throwAtDepth(stackDepth, () -> new StackfulInsufficientStock(42L, 4, 1));
+        } catch (StackfulInsufficientStock e) {
+            LEGACY_LOGGER.warn("Insufficient stock: {}", e.getMessage());
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", Instant.now().toString());
+            body.put("status", HttpStatus.CONFLICT.value());
+            body.put("error", "Insufficient Stock");
+            body.put("message", e.getMessage());
+            body.putAll(Map.of("eventId", e.eventId, "requested", e.requested, "available", e.available));
+            return mapper.writeValueAsBytes(ResponseEntity.status(HttpStatus.CONFLICT).body(body).getBody());
+        }
+        throw new AssertionError();
+    }
+
+    @Benchmark
+    public byte[] validationFailed() throws JsonProcessingException {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+            new ReserveRequest(42L, 7L, 11), "reserveRequest");
+        bindingResult.addError(new FieldError("reserveRequest", "quantity", 11, false,
+            null, null, "La quantité maximale est de 10 tickets"));
+        return write(handler.handleValidationException(
+            new MethodArgumentNotValidException(reserveBody, bindingResult), webRequest));
+    }
+
+    private byte[] write(ResponseEntity<Map<String, Object>> response) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(response.getBody());
+    }
+
+    /**
+     * Exception métier telle qu'avant les rejets sans pile: message formaté à la construction.
+     */
+    private static final class StackfulInsufficientStock extends RuntimeException {
+
+        final Long eventId;
+        final int requested;
+        final int available;
+
+        StackfulInsufficientStock(Long eventId, int requested, int available) {
+            super(String.format("Stock insuffisant pour l'événement %d: %d demandés, %d disponibles",
+                eventId, requested, available));
+            this.eventId = eventId;
+            this.requested = requested;
+            this.available = available;
+        }
+    }
+
+    private static void throwAtDepth(int depth, Supplier<? extends RuntimeException> exception) {
+        if (depth <= 1) {
+            throw exception.get();
+        }
+        throwAtDepth(depth - 1, exception);
+    }
+}
@@ -0,0 +1,143 @@
+package com.acme.tickets.benchmark;
+
+import com.acme.tickets.benchmark.support.BenchmarkApplication;
+import com.acme.tickets.grpc.GrpcServerLifecycle;
+import com.acme.tickets.grpc.v1.Availability;
+import com.acme.tickets.grpc.v1.GetAvailabilityRequest;
+import com.acme.tickets.grpc.v1.ReserveReply;
+import com.acme.tickets.grpc.v1.ReserveRequest;
+import com.acme.tickets.grpc.v1.TicketInventoryGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Même opération par l'API REST (JSON sur HTTP/1.1) et par l'API interne gRPC (protobuf sur
+ * HTTP/2), contre la même application locale: l'écart mesure le coût du transport et de la
+ * sérialisation, le cœur de réservation étant commun.
+ * <p>
+ * Throughput donne le débit, SampleTime la distribution des latences (p50, p99...).
+ * Les clients tournent dans la JVM de l'application: sur une machine peu dotée en cœurs, ils
+ * lui prennent du CPU et les deux transports en pâtissent de la même façon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class GrpcVsRestBenchmark {
+
+    @Param("1000")
+    int events;
+
+    @Param("20000")
+    int users;
+
+    private BenchmarkApplication application;
+    private HttpClient httpClient;
+    private String restBaseUrl;
+    private ManagedChannel channel;
+    private TicketInventoryGrpc.TicketInventoryBlockingStub stub;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        application = BenchmarkApplication.start(10_000_000);
+        application.seed(events, 10_000_000, 0, users);
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        restBaseUrl = "http://127.0.0.1:" + application.serverPort();
+        channel = NettyChannelBuilder
+            .forAddress("127.0.0.1", application.getBean(GrpcServerLifecycle.class).getPort())
+            .usePlaintext()
+            .build();
+        stub = TicketInventoryGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws InterruptedException {
+        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        application.close();
+    }
+
+    /**
+     * Générateur de requêtes propre à chaque thread de mesure.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+        long nextEvent(GrpcVsRestBenchmark benchmark) {
+            return 1L + random.nextInt(benchmark.events);
+        }
+
+        long nextUser(GrpcVsRestBenchmark benchmark) {
+            return 1L + random.nextInt(benchmark.users);
+        }
+    }
+
+    @Benchmark
+    public String restAvailability(Requests requests) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(
+            restBaseUrl + "/tickets/availability/" + requests.nextEvent(this))).GET());
+    }
+
+    @Benchmark
+    public Availability grpcAvailability(Requests requests) {
+        return stub.withDeadlineAfter(5, TimeUnit.SECONDS).getAvailability(
+            GetAvailabilityRequest.newBuilder().setEventId(requests.nextEvent(this)).build());
+    }
+
+    @Benchmark
+    public String restReserve(Requests requests) throws IOException, InterruptedException {
+        String body = "{\"eventId\":%d,\"userId\":%d,\"quantity\":1}"
+            .formatted(requests.nextEvent(this), requests.nextUser(this));
+        return send(HttpRequest.newBuilder(URI.create(restBaseUrl + "/tickets/reserve"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    @Benchmark
+    public ReserveReply grpcReserve(Requests requests) {
+        return stub.withDeadlineAfter(5, TimeUnit.SECONDS).reserve(ReserveRequest.newBuilder()
+            .setEventId(requests.nextEvent(this))
+            .setUserId(requests.nextUser(this))
+            .setQuantity(1)
+            .build());
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+            request.timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
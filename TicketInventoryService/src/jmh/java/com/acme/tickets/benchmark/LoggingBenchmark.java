@@ -0,0 +1,194 @@
+package com.acme.tickets.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.acme.tickets.benchmark.support.BenchmarkApplication;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.observability.LogSamplingTurboFilter;
+import com.acme.tickets.service.ReservationFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit selon la configuration de journalisation, à 8 threads:
+ * <ul>
+ *   <li>OFF: com.acme.tickets désactivé (référence sans journalisation)</li>
+ *   <li>SYNC: appender fichier synchrone, une écriture par message dans le thread de requête
+ *       (équivalent de l'ancien appender console)</li>
+ *   <li>ASYNC: file bornée non bloquante de logback-spring.xml devant le même fichier</li>
+ *   <li>ASYNC_SAMPLED: ASYNC + échantillonnage 1/10 des INFO de TicketInventoryService</li>
+ * </ul>
+ * {@code reserve} mesure le chemin complet (transaction, H2); {@code logReserve} n'émet que les
+ * lignes de journal d'une réservation (DEBUG contrôleur, INFO service) pour isoler le coût du
+ * pipeline dans le thread appelant. Le contexte MDC (eventId, userId, reservationId) est posé
+ * comme par le contrôleur. Les journaux sont écrits dans target/jmh/logging-benchmark.log.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class LoggingBenchmark {
+
+    public enum Logging { OFF, SYNC, ASYNC, ASYNC_SAMPLED }
+
+    private static final org.slf4j.Logger CONTROLLER =
+        LoggerFactory.getLogger("com.acme.tickets.controller.TicketController");
+    private static final org.slf4j.Logger SERVICE =
+        LoggerFactory.getLogger("com.acme.tickets.service.TicketInventoryService");
+
+    /**
+     * Configuration de journalisation du fork.
+     */
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+
+        @Param({"OFF", "SYNC", "ASYNC", "ASYNC_SAMPLED"})
+        Logging logging;
+
+        @Setup(Level.Trial)
+        public void configure() {
+            configureLogging(logging);
+        }
+    }
+
+    /**
+     * Application démarrée une fois par fork (reconfigure la journalisation au démarrage).
+     */
+    @State(Scope.Benchmark)
+    public static class Inventory {
+
+        @Param("1000")
+        int events;
+
+        @Param("20000")
+        int users;
+
+        BenchmarkApplication application;
+        ReservationFacade facade;
+
+        @Setup(Level.Trial)
+        public void start(Pipeline pipeline) throws Exception {
+            application = BenchmarkApplication.start(10_000_000);
+            application.seed(events, 10_000_000, 0, users);
+            facade = application.getBean(ReservationFacade.class);
+            configureLogging(pipeline.logging);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            application.close();
+        }
+    }
+
+    /**
+     * Générateur de requêtes propre à chaque thread de mesure.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+        private long reservationId;
+
+        ReserveRequest next(Inventory inventory) {
+            return new ReserveRequest(
+                1L + random.nextInt(inventory.events),
+                1L + random.nextInt(inventory.users),
+                1 + random.nextInt(4));
+        }
+    }
+
+    @Benchmark
+    public ReserveResponse reserve(Pipeline pipeline, Inventory inventory, Requests requests) {
+        ReserveRequest request = requests.next(inventory);
+        try (LogContext.Scope ignored = LogContext.open()) {
+            LogContext.eventId(request.eventId());
+            LogContext.userId(request.userId());
+            return inventory.facade.reserveTickets(request, null);
+        }
+    }
+
+    @Benchmark
+    public void logReserve(Pipeline pipeline, Requests requests) {
+        try (LogContext.Scope ignored = LogContext.open()) {
+            LogContext.eventId(1L + requests.random.nextInt(1000));
+            LogContext.userId(1L + requests.random.nextInt(20000));
+            CONTROLLER.debug("Requête de réservation: quantity={}", 2);
+            LogContext.reservationId(++requests.reservationId);
+            SERVICE.info("Réservation créée avec succès: {}, expire à {}",
+                requests.reservationId, Instant.now());
+        }
+    }
+
+    private static void configureLogging(Logging logging) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.resetTurboFilterList();
+        Logger tickets = context.getLogger("com.acme.tickets");
+        tickets.setAdditive(false);
+        tickets.detachAndStopAllAppenders();
+        if (logging == Logging.OFF) {
+            tickets.setLevel(ch.qos.logback.classic.Level.OFF);
+            return;
+        }
+        tickets.setLevel(ch.qos.logback.classic.Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%15.15t] %-40.40logger{39} [%X] : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile("logging-benchmark.log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (logging != Logging.SYNC) {
+            // Mêmes réglages que logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        if (logging == Logging.ASYNC_SAMPLED) {
+            LogSamplingTurboFilter sampling = new LogSamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.addSample("com.acme.tickets.service.TicketInventoryService=10");
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+        tickets.addAppender(appender);
+    }
+}
@@ -0,0 +1,79 @@
+package com.acme.tickets.benchmark;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.Reservation;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Méthodes de domaine appelées sur chaque reserve / confirm / release
+ * (isExpired lit l'horloge système à chaque appel).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationDomainBenchmark {
+
+    private Reservation pending;
+    private Reservation expired;
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        pending = new Reservation(1L, 42L, 2, ReservationStatus.PENDING);
+        pending.setHoldExpiresAt(Instant.now().plus(15, ChronoUnit.MINUTES));
+        expired = new Reservation(1L, 42L, 2, ReservationStatus.PENDING);
+        expired.setHoldExpiresAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+        inventory = new Inventory(1L, 1_000);
+        inventory.setReserved(250);
+    }
+
+    @Benchmark
+    public boolean isActive() {
+        return pending.isActive();
+    }
+
+    @Benchmark
+    public boolean isExpired() {
+        return pending.isExpired();
+    }
+
+    @Benchmark
+    public boolean canBeConfirmedPending() {
+        return pending.canBeConfirmed();
+    }
+
+    @Benchmark
+    public boolean canBeConfirmedExpired() {
+        return expired.canBeConfirmed();
+    }
+
+    @Benchmark
+    public ReservationStatus confirmThenRevert() {
+        pending.confirm();
+        ReservationStatus confirmed = pending.getStatus();
+        pending.setStatus(ReservationStatus.PENDING);
+        return confirmed;
+    }
+
+    @Benchmark
+    public int inventoryAvailable() {
+        return inventory.getAvailable();
+    }
+}
@@ -0,0 +1,126 @@
+package com.acme.tickets.benchmark;
+
+import com.acme.tickets.benchmark.support.BenchmarkApplication;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ConfirmResponse;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReleaseResponse;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.service.ReservationFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de bout en bout (hors HTTP) de reserve / confirm / release via {@link ReservationFacade}:
+ * transaction, Hibernate, H2 en mémoire peuplé d'un historique réaliste, métriques et rejeu.
+ * <p>
+ * confirm et release consomment une réservation PENDING par appel: ils sont mesurés par lots
+ * fixes (SingleShotTime + batchSize) dont les réservations sont créées avant chaque itération,
+ * hors mesure. Le score est donc le temps d'un lot de {@value #BATCH} opérations.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReservationServiceBenchmark {
+
+    static final int BATCH = 500;
+
+    /**
+     * Application démarrée une fois par fork, base peuplée.
+     */
+    @State(Scope.Benchmark)
+    public static class Inventory {
+
+        @Param("1000")
+        int events;
+
+        @Param("100000")
+        int historicalReservations;
+
+        @Param("20000")
+        int users;
+
+        BenchmarkApplication application;
+        ReservationFacade facade;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            application = BenchmarkApplication.start(10_000_000);
+            application.seed(events, 10_000_000, historicalReservations, users);
+            facade = application.getBean(ReservationFacade.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            application.close();
+        }
+    }
+
+    /**
+     * Générateur de requêtes propre à chaque thread de mesure.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+        final ArrayDeque<Long> pending = new ArrayDeque<>();
+
+        ReserveRequest nextReserve(Inventory inventory) {
+            return new ReserveRequest(
+                1L + random.nextInt(inventory.events),
+                1L + random.nextInt(inventory.users),
+                1 + random.nextInt(4));
+        }
+
+        /**
+         * Prépare les réservations PENDING consommées par l'itération suivante (hors mesure).
+         */
+        @Setup(Level.Iteration)
+        public void preparePending(Inventory inventory) {
+            pending.clear();
+            for (int i = 0; i < BATCH; i++) {
+                pending.add(inventory.facade.reserveTickets(nextReserve(inventory), null).reservationId());
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public ReserveResponse reserve(Inventory inventory, Requests requests) {
+        return inventory.facade.reserveTickets(requests.nextReserve(inventory), null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    public ConfirmResponse confirm(Inventory inventory, Requests requests) {
+        return inventory.facade.confirmReservation(new ConfirmRequest(requests.pending.poll()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    public ReleaseResponse release(Inventory inventory, Requests requests) {
+        return inventory.facade.releaseReservation(new ReleaseRequest(requests.pending.poll()));
+    }
+}
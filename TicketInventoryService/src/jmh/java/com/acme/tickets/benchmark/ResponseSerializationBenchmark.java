@@ -0,0 +1,91 @@
+package com.acme.tickets.benchmark;
+
+import com.acme.tickets.benchmark.support.Json;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.dto.UserReservationsItem;
+import com.acme.tickets.dto.UserReservationsResponse;
+import com.acme.tickets.service.KeysetCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON des réponses les plus fréquentes, avec l'ObjectMapper de l'application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectWriter reserveWriter;
+    private ReserveResponse reserveResponse;
+
+    @Setup
+    public void setUp() {
+        reserveWriter = Json.applicationMapper().writerFor(ReserveResponse.class);
+        reserveResponse = new ReserveResponse(123_456L, ReservationStatus.PENDING.name(),
+            Instant.now().plus(15, ChronoUnit.MINUTES), 4);
+    }
+
+    /**
+     * Page de réservations d'un utilisateur.
+     */
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        /**
+         * Taille de page: défaut (20) et maximum (100) de GET /tickets/user/{userId}.
+         */
+        @Param({"20", "100"})
+        int pageSize;
+
+        private ObjectWriter writer;
+        private UserReservationsResponse page;
+
+        @Setup
+        public void setUp() {
+            writer = Json.applicationMapper().writerFor(UserReservationsResponse.class);
+            Instant now = Instant.now();
+            List<UserReservationsItem> items = new ArrayList<>(pageSize);
+            ReservationStatus[] statuses = ReservationStatus.values();
+            for (int i = 0; i < pageSize; i++) {
+                Instant createdAt = now.minus(i, ChronoUnit.HOURS);
+                items.add(new UserReservationsItem(1_000_000L - i, 1L + i % 50, 1 + i % 4,
+                    statuses[i % statuses.length].name(), createdAt, createdAt.plusSeconds(30)));
+            }
+            UserReservationsItem last = items.get(items.size() - 1);
+            page = new UserReservationsResponse(items,
+                new KeysetCursor(last.createdAt(), last.reservationId()).encode());
+        }
+    }
+
+    @Benchmark
+    public byte[] reserveResponse() throws JsonProcessingException {
+        return reserveWriter.writeValueAsBytes(reserveResponse);
+    }
+
+    @Benchmark
+    public byte[] userReservationsPage(Page page) throws JsonProcessingException {
+        return page.writer.writeValueAsBytes(page.page);
+    }
+}
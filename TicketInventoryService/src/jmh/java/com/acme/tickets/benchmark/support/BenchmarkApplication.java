@@ -0,0 +1,130 @@
+package com.acme.tickets.benchmark.support;
+
+import com.acme.tickets.TicketInventoryApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Démarre le service complet sur H2 (profil test) avec un faux EventCatalog,
+ * et peuple la base avec un historique de volume réaliste.
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] HISTORY_STATUSES = {"CONFIRMED", "CANCELED", "EXPIRED"};
+
+    private final StubCatalogServer catalog;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(StubCatalogServer catalog, ConfigurableApplicationContext context) {
+        this.catalog = catalog;
+        this.context = context;
+    }
+
+    /**
+     * @param ticketsPerEvent capacité de chaque événement (renvoyée par le faux catalogue)
+     * @param extraProperties propriétés Spring supplémentaires (clé=valeur)
+     */
+    public static BenchmarkApplication start(int ticketsPerEvent, String... extraProperties) throws Exception {
+        StubCatalogServer catalog = StubCatalogServer.start(ticketsPerEvent);
+        List<String> properties = new ArrayList<>(List.of(
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+            "spring.rabbitmq.listener.simple.auto-startup=false",
+            "eventcatalog.service.base-url=" + catalog.baseUrl()));
+        properties.addAll(List.of(extraProperties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketInventoryApplication.class)
+            .profiles("test")
+            // Arguments de ligne de commande: priorité sur application-test.properties
+            .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+        return new BenchmarkApplication(catalog, context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Port HTTP effectivement lié ({@code server.port=0}).
+     */
+    public int serverPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public String catalogBaseUrl() {
+        return catalog.baseUrl();
+    }
+
+    /**
+     * Crée {@code events} inventaires et {@code reservations} réservations terminées
+     * (CONFIRMED / CANCELED / EXPIRED) réparties sur {@code users} utilisateurs,
+     * avec un ticket par réservation confirmée. Le compteur reserved de chaque
+     * inventaire reflète les réservations confirmées.
+     */
+    public void seed(int events, int ticketsPerEvent, int reservations, int users) {
+        JdbcTemplate jdbc = getBean(JdbcTemplate.class);
+        SplittableRandom random = new SplittableRandom(42);
+        Instant now = Instant.now();
+        long[] reservedByEvent = new long[events + 1];
+
+        List<Object[]> reservationRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> ticketRows = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= reservations; id++) {
+            long eventId = 1 + random.nextInt(events);
+            long userId = 1 + random.nextInt(users);
+            int quantity = 1 + random.nextInt(4);
+            String status = HISTORY_STATUSES[random.nextInt(HISTORY_STATUSES.length)];
+            Timestamp createdAt = Timestamp.from(now.minus(random.nextInt(90 * 24 * 60), ChronoUnit.MINUTES));
+            reservationRows.add(new Object[] {id, eventId, userId, quantity, status,
+                createdAt, createdAt, createdAt});
+            if ("CONFIRMED".equals(status)) {
+                reservedByEvent[(int) eventId] += quantity;
+                ticketRows.add(new Object[] {id, userId, eventId, quantity, createdAt});
+            }
+            if (reservationRows.size() == BATCH_SIZE) {
+                flush(jdbc, reservationRows, ticketRows);
+            }
+        }
+        flush(jdbc, reservationRows, ticketRows);
+        // Les identifiants générés par la suite ne doivent pas entrer en collision avec l'historique
+        jdbc.execute("ALTER TABLE reservation ALTER COLUMN id RESTART WITH " + (reservations + 1L));
+
+        List<Object[]> inventoryRows = new ArrayList<>(events);
+        Timestamp updatedAt = Timestamp.from(now);
+        for (long eventId = 1; eventId <= events; eventId++) {
+            inventoryRows.add(new Object[] {eventId, ticketsPerEvent, reservedByEvent[(int) eventId], updatedAt});
+        }
+        jdbc.batchUpdate(
+            "INSERT INTO inventory (event_id, total, reserved, version, updated_at, migrating) VALUES (?, ?, ?, 0, ?, FALSE)",
+            inventoryRows);
+    }
+
+    private static void flush(JdbcTemplate jdbc, List<Object[]> reservationRows, List<Object[]> ticketRows) {
+        if (!reservationRows.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO reservation"
+                + " (id, event_id, user_id, quantity, status, hold_expires_at, created_at, updated_at, version)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", reservationRows);
+            reservationRows.clear();
+        }
+        if (!ticketRows.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO ticket (reservation_id, user_id, event_id, quantity, created_at)"
+                + " VALUES (?, ?, ?, ?, ?)", ticketRows);
+            ticketRows.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        catalog.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.acme.tickets.benchmark.support;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * ObjectMapper configuré comme celui de l'application (spring.jackson.* de application.properties/yml).
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    public static ObjectMapper applicationMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    }
+}
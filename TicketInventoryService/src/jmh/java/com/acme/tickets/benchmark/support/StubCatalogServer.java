@@ -0,0 +1,58 @@
+package com.acme.tickets.benchmark.support;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Faux EventCatalog (serveur HTTP du JDK) répondant à GET /events/{id}.
+ * Chaque événement est de catégorie MUSIC avec un type de ticket de {@code ticketsPerEvent} places.
+ */
+public final class StubCatalogServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private StubCatalogServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Démarre le serveur sur un port libre de la boucle locale.
+     */
+    public static StubCatalogServer start(int ticketsPerEvent) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = ("{\"id\":" + id
+                + ",\"category\":{\"categoryType\":\"MUSIC\"}"
+                + ",\"tickets\":[{\"type\":\"STANDARD\",\"quantity\":" + ticketsPerEvent + "}]}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "stub-catalog");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return new StubCatalogServer(server);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.acme.tickets.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques d'un point d'accès: deux histogrammes HdrHistogram et des compteurs de statuts.
+ * <ul>
+ *   <li>latence corrigée: de l'instant d'envoi PRÉVU par le planning (modèle ouvert) à la réponse.
+ *       Corrige l'omission coordonnée: un serveur qui cale retarde les envois suivants et ce
+ *       retard est compté;</li>
+ *   <li>temps de service: de l'envoi effectif à la réponse (ce que mesurerait un client naïf).</li>
+ * </ul>
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String name;
+    private final Recorder corrected = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final Recorder service = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Enregistre une réponse HTTP.
+     */
+    void record(long intendedStartNanos, long sentNanos, long completedNanos, int status) {
+        corrected.recordValue(clamp(completedNanos - intendedStartNanos));
+        service.recordValue(clamp(completedNanos - sentNanos));
+        if (status < 400) {
+            success.increment();
+        } else if (status < 500) {
+            clientErrors.increment();
+        } else {
+            serverErrors.increment();
+        }
+    }
+
+    /**
+     * Enregistre un échec de transport (connexion refusée, délai dépassé...).
+     */
+    void recordFailure(long intendedStartNanos, long completedNanos) {
+        corrected.recordValue(clamp(completedNanos - intendedStartNanos));
+        failures.increment();
+    }
+
+    Histogram correctedHistogram() {
+        return corrected.getIntervalHistogram();
+    }
+
+    Histogram serviceHistogram() {
+        return service.getIntervalHistogram();
+    }
+
+    long success() {
+        return success.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    private static long clamp(long nanos) {
+        return Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+    }
+}
@@ -0,0 +1,63 @@
+package com.acme.tickets.load;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tempête d'expirations: les réservations sont presque toutes abandonnées. En mode embarqué,
+ * le délai de hold est réduit à une minute et le nettoyage tourne toutes les 15 s: le job
+ * expire des milliers de réservations pendant que les réservations continuent d'arriver.
+ * Contre une URL externe, le nettoyage dépend de la configuration du serveur cible.
+ */
+final class ExpiryStormScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "expiry-storm";
+    }
+
+    @Override
+    public String description() {
+        return "Réservations abandonnées, nettoyage concurrent des expirations";
+    }
+
+    @Override
+    public double defaultRate() {
+        return 200;
+    }
+
+    @Override
+    public Duration defaultDuration() {
+        return Duration.ofSeconds(150);
+    }
+
+    @Override
+    public int events() {
+        return 20;
+    }
+
+    @Override
+    public Map<String, String> inProcessProperties() {
+        return Map.of(
+            "ticket-inventory.reservation-hold-minutes", "1",
+            "ticket-inventory.reservation.cleanup-cron", "*/15 * * * * *");
+    }
+
+    @Override
+    public CompletableFuture<?> startSession(SessionContext context, long intendedStartNanos) {
+        long eventId = context.randomEvent(events());
+        if (context.chance(0.2)) {
+            return context.availability(eventId, intendedStartNanos);
+        }
+        return context.reserve(eventId, 1 + context.random().nextInt(4), intendedStartNanos)
+            .thenCompose(reserved -> {
+                Long reservationId = reserved.ok() ? reserved.longField("reservationId") : null;
+                if (reservationId == null || !context.chance(0.05)) {
+                    // Abandon: la réservation expirera
+                    return CompletableFuture.completedFuture(reserved);
+                }
+                return context.after(reserved, 200, intended -> context.confirm(reservationId, intended));
+            });
+    }
+}
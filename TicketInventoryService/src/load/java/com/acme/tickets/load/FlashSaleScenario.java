@@ -0,0 +1,72 @@
+package com.acme.tickets.load;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Vente flash: un événement phare à stock limité, un débit modéré puis une pointe soudaine.
+ * La plupart des sessions consultent la disponibilité puis réservent; les réservations
+ * obtenues sont confirmées (70 %) ou libérées (30 %). Le stock s'épuise en cours de tir:
+ * la fin du tir mesure le chemin de rejet (409).
+ */
+final class FlashSaleScenario implements Scenario {
+
+    static final long HOT_EVENT = 1L;
+    private static final int HOT_EVENT_STOCK = 5_000;
+
+    @Override
+    public String name() {
+        return "flash-sale";
+    }
+
+    @Override
+    public String description() {
+        return "Pointe de réservations sur un événement à stock limité";
+    }
+
+    @Override
+    public double defaultRate() {
+        return 400;
+    }
+
+    @Override
+    public Duration defaultDuration() {
+        return Duration.ofSeconds(60);
+    }
+
+    @Override
+    public double rateFraction(double progress) {
+        // 20 % du pic pendant l'ouverture, puis la pointe
+        return progress < 0.2 ? 0.2 : 1.0;
+    }
+
+    @Override
+    public int events() {
+        return 10;
+    }
+
+    @Override
+    public int stockFor(long eventId) {
+        return eventId == HOT_EVENT ? HOT_EVENT_STOCK : 100_000;
+    }
+
+    @Override
+    public CompletableFuture<?> startSession(SessionContext context, long intendedStartNanos) {
+        if (context.catalogEnabled() && context.chance(0.1)) {
+            return context.catalogEvent(HOT_EVENT, intendedStartNanos);
+        }
+        long eventId = context.chance(0.9) ? HOT_EVENT : context.randomEvent(events());
+        return context.availability(eventId, intendedStartNanos)
+            .thenCompose(availability -> context.after(availability, 0,
+                intended -> context.reserve(eventId, 1 + context.random().nextInt(4), intended)))
+            .thenCompose(reserved -> {
+                Long reservationId = reserved.ok() ? reserved.longField("reservationId") : null;
+                if (reservationId == null) {
+                    return CompletableFuture.completedFuture(reserved);
+                }
+                return context.after(reserved, 200, intended -> context.chance(0.7)
+                    ? context.confirm(reservationId, intended)
+                    : context.release(reservationId, intended));
+            });
+    }
+}
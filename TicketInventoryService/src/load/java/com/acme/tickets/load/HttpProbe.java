@@ -0,0 +1,108 @@
+package com.acme.tickets.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Client HTTP asynchrone instrumenté: chaque appel est attribué à un point d'accès nommé
+ * et mesuré depuis son instant d'envoi prévu.
+ */
+final class HttpProbe {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String inventoryUrl;
+    private final String catalogUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    HttpProbe(String inventoryUrl, String catalogUrl, ExecutorService executor) {
+        this.inventoryUrl = inventoryUrl;
+        this.catalogUrl = catalogUrl;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+    }
+
+    /**
+     * GET sur le service d'inventaire.
+     */
+    CompletableFuture<Reply> inventoryGet(String endpoint, String path, long intendedStartNanos) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(inventoryUrl + path)).GET(), intendedStartNanos);
+    }
+
+    /**
+     * POST JSON sur le service d'inventaire.
+     */
+    CompletableFuture<Reply> inventoryPost(String endpoint, String path, String json, long intendedStartNanos) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(inventoryUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json)), intendedStartNanos);
+    }
+
+    /**
+     * GET sur le catalogue d'événements.
+     */
+    CompletableFuture<Reply> catalogGet(String endpoint, String path, long intendedStartNanos) {
+        return send("catalog " + endpoint, HttpRequest.newBuilder(URI.create(catalogUrl + path)).GET(),
+            intendedStartNanos);
+    }
+
+    Collection<EndpointStats> stats() {
+        return stats.values();
+    }
+
+    private CompletableFuture<Reply> send(String endpoint, HttpRequest.Builder builder, long intendedStartNanos) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long sent = System.nanoTime();
+        return client.sendAsync(builder.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                long completed = System.nanoTime();
+                if (error != null) {
+                    endpointStats.recordFailure(intendedStartNanos, completed);
+                    return new Reply(-1, null, completed);
+                }
+                endpointStats.record(intendedStartNanos, sent, completed, response.statusCode());
+                return new Reply(response.statusCode(), response.body(), completed);
+            });
+    }
+
+    /**
+     * Réponse reçue; {@code completedNanos} sert d'instant prévu à l'étape suivante d'une session.
+     */
+    record Reply(int status, String body, long completedNanos) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * Champ numérique du corps JSON, ou null si absent / illisible.
+         */
+        Long longField(String field) {
+            if (body == null || body.isEmpty()) {
+                return null;
+            }
+            try {
+                JsonNode node = MAPPER.readTree(body).get(field);
+                return node == null || !node.canConvertToLong() ? null : node.asLong();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
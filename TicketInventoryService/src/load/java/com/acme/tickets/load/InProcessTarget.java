@@ -0,0 +1,87 @@
+package com.acme.tickets.load;
+
+import com.acme.tickets.TicketInventoryApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service d'inventaire démarré dans la JVM du harnais (profil test, H2 en mémoire,
+ * port HTTP aléatoire), branché sur un faux catalogue.
+ * <p>
+ * Pile servlet (Tomcat + JPA) ou réactive (Netty + R2DBC); la seconde n'est sur le classpath
+ * qu'avec le profil Maven {@code reactive}. H2 embarqué exécute les requêtes R2DBC sur le thread
+ * appelant, donc sur la boucle d'événements: en mode embarqué, la pile réactive est désavantagée;
+ * comparer sur MySQL via {@code --inventory-url} pour des chiffres représentatifs.
+ */
+final class InProcessTarget implements AutoCloseable {
+
+    private final StubCatalogServer catalog;
+    private final ConfigurableApplicationContext context;
+
+    private InProcessTarget(StubCatalogServer catalog, ConfigurableApplicationContext context) {
+        this.catalog = catalog;
+        this.context = context;
+    }
+
+    private static final String REACTIVE_APPLICATION = "com.acme.tickets.reactive.ReactiveTicketInventoryApplication";
+
+    enum Stack {
+        SERVLET, REACTIVE;
+
+        String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    static InProcessTarget start(Scenario scenario, Stack stack) throws Exception {
+        StubCatalogServer catalog = StubCatalogServer.start(scenario.events(), scenario::stockFor);
+        List<String> properties = new ArrayList<>(List.of(
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+            "spring.rabbitmq.listener.simple.auto-startup=false",
+            "logging.level.com.acme.tickets=WARN",
+            "eventcatalog.service.base-url=" + catalog.baseUrl()));
+        scenario.inProcessProperties().forEach((key, value) -> properties.add(key + "=" + value));
+        SpringApplicationBuilder builder;
+        if (stack == Stack.REACTIVE) {
+            properties.add("spring.r2dbc.url=r2dbc:h2:mem:///load-reactive?options=DB_CLOSE_DELAY=-1;MODE=MySQL");
+            properties.add("ticket-inventory.reactive.rabbitmq.enabled=false");
+            builder = new SpringApplicationBuilder(reactiveApplication())
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive", "test");
+        } else {
+            builder = new SpringApplicationBuilder(TicketInventoryApplication.class).profiles("test");
+        }
+        // Arguments de ligne de commande: priorité sur application-test.properties
+        ConfigurableApplicationContext context = builder
+            .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+        return new InProcessTarget(catalog, context);
+    }
+
+    private static Class<?> reactiveApplication() {
+        try {
+            return Class.forName(REACTIVE_APPLICATION);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Pile réactive absente du classpath: lancer avec -Pload,reactive", e);
+        }
+    }
+
+    String inventoryUrl() {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    String catalogUrl() {
+        return catalog.baseUrl();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        catalog.close();
+    }
+}
@@ -0,0 +1,132 @@
+package com.acme.tickets.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Harnais de charge par scénarios (modèle ouvert, latences HdrHistogram corrigées).
+ * <p>
+ * Mode embarqué (par défaut): le service d'inventaire démarre dans la JVM sur H2 avec un faux
+ * catalogue. Mode externe: {@code --inventory-url} (et {@code --catalog-url} pour inclure les
+ * lectures du catalogue réel, ex. EventCatalogService sur le port 8080).
+ * <pre>
+ * mvn -Pload -DskipTests verify -Dload.args="--scenario=flash-sale --rate=600 --duration=90"
+ * mvn -Pload -DskipTests verify -Dload.args="--scenario=all --inventory-url=http://localhost:8082 --catalog-url=http://localhost:8080"
+ * </pre>
+ * Options: --scenario (flash-sale, steady-browse, payment-failure-storm, expiry-storm, all),
+ * --rate (sessions/s au pic), --duration (s), --users, --max-in-flight, --out (répertoire des rapports),
+ * --stack (mode embarqué: servlet, reactive ou both; reactive et both exigent le profil Maven reactive).
+ * Avec {@code --stack=both}, chaque scénario est joué sur les deux piles puis comparé endpoint par endpoint:
+ * <pre>
+ * mvn -Pload,reactive -DskipTests verify -Dload.args="--scenario=flash-sale --stack=both"
+ * </pre>
+ */
+public final class LoadHarness {
+
+    private static final List<Scenario> SCENARIOS = List.of(
+        new FlashSaleScenario(),
+        new SteadyBrowseScenario(),
+        new PaymentFailureStormScenario(),
+        new ExpiryStormScenario());
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String selected = options.getOrDefault("scenario", "all");
+        List<Scenario> scenarios = SCENARIOS.stream()
+            .filter(s -> selected.equals("all") || s.name().equals(selected))
+            .toList();
+        if (scenarios.isEmpty()) {
+            System.err.println("Scénario inconnu: " + selected + ". Disponibles: "
+                + SCENARIOS.stream().map(Scenario::name).toList());
+            System.exit(2);
+        }
+        List<InProcessTarget.Stack> stacks = stacks(options.getOrDefault("stack", "servlet"));
+        for (Scenario scenario : scenarios) {
+            if (options.containsKey("inventory-url")) {
+                run(scenario, options, null);
+                continue;
+            }
+            List<LoadReport> reports = new ArrayList<>();
+            for (InProcessTarget.Stack stack : stacks) {
+                reports.add(run(scenario, options, stack));
+            }
+            if (reports.size() == 2) {
+                LoadReport.compare(System.out, reports.get(0), reports.get(1));
+            }
+        }
+        System.exit(0);
+    }
+
+    private static List<InProcessTarget.Stack> stacks(String option) {
+        return switch (option) {
+            case "servlet" -> List.of(InProcessTarget.Stack.SERVLET);
+            case "reactive" -> List.of(InProcessTarget.Stack.REACTIVE);
+            case "both" -> List.of(InProcessTarget.Stack.SERVLET, InProcessTarget.Stack.REACTIVE);
+            default -> throw new IllegalArgumentException("--stack attendu: servlet, reactive ou both (" + option + ")");
+        };
+    }
+
+    private static LoadReport run(Scenario scenario, Map<String, String> options, InProcessTarget.Stack stack)
+            throws Exception {
+        double rate = Double.parseDouble(options.getOrDefault("rate", String.valueOf(scenario.defaultRate())));
+        Duration duration = options.containsKey("duration")
+            ? Duration.ofSeconds(Long.parseLong(options.get("duration")))
+            : scenario.defaultDuration();
+        int users = Integer.parseInt(options.getOrDefault("users", "10000"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "20000"));
+        Path out = Path.of(options.getOrDefault("out", "target/load"));
+
+        System.out.printf("%n> %s: %s%n", scenario.name(), scenario.description());
+        InProcessTarget inProcess = null;
+        String inventoryUrl = options.get("inventory-url");
+        String catalogUrl = options.get("catalog-url");
+        if (inventoryUrl == null) {
+            inProcess = InProcessTarget.start(scenario, stack);
+            inventoryUrl = inProcess.inventoryUrl();
+            catalogUrl = inProcess.catalogUrl();
+        }
+        String target = inProcess != null ? "embarqué H2 " + stack.label() + ", catalogue simulé" : inventoryUrl;
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "load-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            HttpProbe probe = new HttpProbe(inventoryUrl, catalogUrl, executor);
+            SessionContext context = new SessionContext(probe, users, catalogUrl != null);
+            OpenModelDriver.Run result = new OpenModelDriver().run(scenario, context, rate, duration, maxInFlight);
+            LoadReport report = new LoadReport(scenario.name(), target, rate, result, probe);
+            report.print(System.out);
+            System.out.println("Rapport: " + report.write(out));
+            return report;
+        } finally {
+            executor.shutdownNow();
+            if (inProcess != null) {
+                inProcess.close();
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Option attendue sous la forme --nom=valeur: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,162 @@
+package com.acme.tickets.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rapport d'un tir: tableau console, résumé JSON et journal HdrHistogram (.hlog)
+ * des latences corrigées, exploitable par HistogramLogAnalyzer.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final String scenario;
+    private final String target;
+    private final double peakRate;
+    private final OpenModelDriver.Run run;
+    private final List<Row> rows = new ArrayList<>();
+
+    record Row(String endpoint, Histogram corrected, Histogram service,
+               long success, long clientErrors, long serverErrors, long failures) {
+    }
+
+    LoadReport(String scenario, String target, double peakRate, OpenModelDriver.Run run, HttpProbe probe) {
+        this.scenario = scenario;
+        this.target = target;
+        this.peakRate = peakRate;
+        this.run = run;
+        probe.stats().stream()
+            .sorted(Comparator.comparing(EndpointStats::name))
+            .forEach(stats -> rows.add(new Row(stats.name(), stats.correctedHistogram(), stats.serviceHistogram(),
+                stats.success(), stats.clientErrors(), stats.serverErrors(), stats.failures())));
+    }
+
+    void print(PrintStream out) {
+        double seconds = run.elapsed().toMillis() / 1000.0;
+        out.printf("%n=== %s (%s) - pic %.0f sessions/s, %.1f s, %d sessions, %d rejetées (en vol max), %d inachevées ===%n",
+            scenario, target, peakRate, seconds, run.started(), run.dropped(), run.unfinished());
+        out.printf("%-38s %9s %8s %7s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "req/s", "4xx", "5xx", "fail",
+            "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99");
+        for (Row row : rows) {
+            long count = row.corrected().getTotalCount();
+            out.printf("%-38s %9d %8.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                row.endpoint(), count, count / seconds,
+                row.clientErrors(), row.serverErrors(), row.failures(),
+                millis(row.corrected(), 50), millis(row.corrected(), 90), millis(row.corrected(), 99),
+                millis(row.corrected(), 99.9), row.corrected().getMaxValue() / 1e6,
+                millis(row.service(), 99));
+        }
+        out.println("Latences corrigées de l'omission coordonnée (depuis l'instant d'envoi prévu);"
+            + " svc p99 = temps de service brut.");
+    }
+
+    /**
+     * Comparaison de deux tirs du même scénario (ex. piles servlet et réactive), endpoint par
+     * endpoint: débit, erreurs et latences corrigées.
+     */
+    static void compare(PrintStream out, LoadReport left, LoadReport right) {
+        out.printf("%n=== %s: %s | %s ===%n", left.scenario, left.target, right.target);
+        out.printf("%-38s %17s %17s %19s %19s %19s%n",
+            "endpoint", "req/s", "4xx+5xx+fail", "p50 ms", "p99 ms", "p99.9 ms");
+        Map<String, Row> others = new LinkedHashMap<>();
+        right.rows.forEach(row -> others.put(row.endpoint(), row));
+        for (Row row : left.rows) {
+            Row other = others.get(row.endpoint());
+            if (other == null) {
+                continue;
+            }
+            out.printf("%-38s %8.1f|%8.1f %8d|%8d %9.2f|%9.2f %9.2f|%9.2f %9.2f|%9.2f%n",
+                row.endpoint(),
+                left.throughput(row), right.throughput(other),
+                errors(row), errors(other),
+                millis(row.corrected(), 50), millis(other.corrected(), 50),
+                millis(row.corrected(), 99), millis(other.corrected(), 99),
+                millis(row.corrected(), 99.9), millis(other.corrected(), 99.9));
+        }
+    }
+
+    private double throughput(Row row) {
+        return row.corrected().getTotalCount() / (run.elapsed().toMillis() / 1000.0);
+    }
+
+    private static long errors(Row row) {
+        return row.clientErrors() + row.serverErrors() + row.failures();
+    }
+
+    /**
+     * Écrit {@code <scenario>-<horodatage>.json} et {@code .hlog} dans {@code directory}.
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String base = scenario + "-" + System.currentTimeMillis();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", scenario);
+        summary.put("target", target);
+        summary.put("peakRate", peakRate);
+        summary.put("elapsedSeconds", run.elapsed().toMillis() / 1000.0);
+        summary.put("sessionsStarted", run.started());
+        summary.put("sessionsDropped", run.dropped());
+        summary.put("sessionsUnfinished", run.unfinished());
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        double seconds = run.elapsed().toMillis() / 1000.0;
+        for (Row row : rows) {
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", row.endpoint());
+            endpoint.put("requests", row.corrected().getTotalCount());
+            endpoint.put("throughputPerSecond", row.corrected().getTotalCount() / seconds);
+            endpoint.put("success", row.success());
+            endpoint.put("clientErrors", row.clientErrors());
+            endpoint.put("serverErrors", row.serverErrors());
+            endpoint.put("failures", row.failures());
+            endpoint.put("correctedLatencyMs", percentiles(row.corrected()));
+            endpoint.put("serviceTimeMs", percentiles(row.service()));
+            endpoints.add(endpoint);
+        }
+        summary.put("endpoints", endpoints);
+        Path json = directory.resolve(base + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), summary);
+
+        try (PrintStream log = new PrintStream(directory.resolve(base + ".hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputComment("scenario=" + scenario + " target=" + target + " unit=ns (corrected latency)");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Row row : rows) {
+                Histogram histogram = row.corrected().copy();
+                histogram.setTag(row.endpoint().replace(' ', '_'));
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        return json;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            String label = percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile) : String.valueOf(percentile);
+            values.put("p" + label, millis(histogram, percentile));
+        }
+        values.put("max", histogram.getMaxValue() / 1e6);
+        return values;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
@@ -0,0 +1,68 @@
+package com.acme.tickets.load;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur d'arrivées en modèle ouvert: les sessions démarrent selon un processus de Poisson
+ * dont le débit suit le profil du scénario, que les réponses précédentes soient revenues ou non.
+ * <p>
+ * Un seul thread planifie; les appels sont asynchrones, donc un serveur lent augmente le nombre
+ * de sessions en vol au lieu de ralentir les arrivées. Si le thread planificateur prend du retard,
+ * les sessions partent immédiatement mais gardent leur instant prévu comme origine de mesure.
+ */
+final class OpenModelDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SplittableRandom random = new SplittableRandom(2024);
+
+    /**
+     * Résultat d'un tir.
+     */
+    record Run(long started, long dropped, long unfinished, Duration elapsed) {
+    }
+
+    Run run(Scenario scenario, SessionContext context, double peakRate, Duration duration, int maxInFlight) {
+        AtomicInteger inFlight = new AtomicInteger();
+        long started = 0;
+        long dropped = 0;
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+        long next = start;
+        while (next - start < durationNanos) {
+            waitUntil(next);
+            if (inFlight.get() >= maxInFlight) {
+                dropped++;
+            } else {
+                inFlight.incrementAndGet();
+                started++;
+                try {
+                    scenario.startSession(context, next).whenComplete((result, error) -> inFlight.decrementAndGet());
+                } catch (RuntimeException e) {
+                    inFlight.decrementAndGet();
+                }
+            }
+            double progress = (double) (next - start) / durationNanos;
+            double rate = Math.max(0.1, peakRate * scenario.rateFraction(progress));
+            // Inter-arrivée exponentielle: -ln(U) / débit
+            next += (long) (-Math.log(1.0 - random.nextDouble()) / rate * 1_000_000_000L);
+        }
+        long elapsed = System.nanoTime() - start;
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        return new Run(started, dropped, inFlight.get(), Duration.ofNanos(elapsed));
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
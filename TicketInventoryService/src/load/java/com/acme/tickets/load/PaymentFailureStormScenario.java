@@ -0,0 +1,55 @@
+package com.acme.tickets.load;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tempête d'échecs de paiement: la majorité des réservations sont libérées peu après
+ * leur création (80 %), ce qui fait alterner décréments et incréments du stock des mêmes
+ * événements et maximise les conflits de version sur l'inventaire.
+ * <p>
+ * En production l'échec arrive par RabbitMQ (PaymentStatusConsumer); le harnais passe par
+ * POST /tickets/release, qui emprunte le même chemin de service.
+ */
+final class PaymentFailureStormScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "payment-failure-storm";
+    }
+
+    @Override
+    public String description() {
+        return "Réservations majoritairement libérées après échec de paiement";
+    }
+
+    @Override
+    public double defaultRate() {
+        return 300;
+    }
+
+    @Override
+    public Duration defaultDuration() {
+        return Duration.ofSeconds(60);
+    }
+
+    @Override
+    public int events() {
+        return 5;
+    }
+
+    @Override
+    public CompletableFuture<?> startSession(SessionContext context, long intendedStartNanos) {
+        long eventId = context.randomEvent(events());
+        return context.reserve(eventId, 1 + context.random().nextInt(4), intendedStartNanos)
+            .thenCompose(reserved -> {
+                Long reservationId = reserved.ok() ? reserved.longField("reservationId") : null;
+                if (reservationId == null) {
+                    return CompletableFuture.completedFuture(reserved);
+                }
+                return context.after(reserved, 300, intended -> context.chance(0.8)
+                    ? context.release(reservationId, intended)
+                    : context.confirm(reservationId, intended));
+            });
+    }
+}
@@ -0,0 +1,57 @@
+package com.acme.tickets.load;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scénario de charge en modèle ouvert: des sessions arrivent selon un débit imposé,
+ * indépendamment des temps de réponse, et enchaînent des appels HTTP.
+ */
+interface Scenario {
+
+    /**
+     * Nom utilisé en ligne de commande et dans les rapports.
+     */
+    String name();
+
+    String description();
+
+    /**
+     * Débit d'arrivée de sessions par défaut au pic (sessions/s).
+     */
+    double defaultRate();
+
+    Duration defaultDuration();
+
+    /**
+     * Forme du débit d'arrivée, en fraction du débit de pic, selon l'avancement (0..1) du tir.
+     */
+    default double rateFraction(double progress) {
+        return 1.0;
+    }
+
+    /**
+     * Nombre d'événements distincts sollicités.
+     */
+    int events();
+
+    /**
+     * Capacité d'un événement servie par le faux catalogue (mode embarqué).
+     */
+    default int stockFor(long eventId) {
+        return 100_000;
+    }
+
+    /**
+     * Propriétés Spring supplémentaires du serveur embarqué.
+     */
+    default Map<String, String> inProcessProperties() {
+        return Map.of();
+    }
+
+    /**
+     * Démarre une session dont le premier appel était prévu à {@code intendedStartNanos}.
+     */
+    CompletableFuture<?> startSession(SessionContext context, long intendedStartNanos);
+}
@@ -0,0 +1,101 @@
+package com.acme.tickets.load;
+
+import com.acme.tickets.load.HttpProbe.Reply;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Outils partagés par les sessions d'un tir: appels instrumentés et temps de réflexion.
+ */
+final class SessionContext {
+
+    private final HttpProbe probe;
+    private final int users;
+    private final boolean catalogEnabled;
+
+    SessionContext(HttpProbe probe, int users, boolean catalogEnabled) {
+        this.probe = probe;
+        this.users = users;
+        this.catalogEnabled = catalogEnabled;
+    }
+
+    HttpProbe probe() {
+        return probe;
+    }
+
+    boolean catalogEnabled() {
+        return catalogEnabled;
+    }
+
+    ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    long randomUser() {
+        return 1L + random().nextInt(users);
+    }
+
+    long randomEvent(int events) {
+        return 1L + random().nextInt(events);
+    }
+
+    boolean chance(double probability) {
+        return random().nextDouble() < probability;
+    }
+
+    /**
+     * Enchaîne l'étape suivante après un temps de réflexion; son instant prévu est la fin de
+     * l'étape précédente plus ce temps, de sorte qu'un retard du serveur soit compté.
+     */
+    CompletableFuture<Reply> after(Reply previous, long thinkMillis, LongFunction<CompletableFuture<Reply>> step) {
+        long intended = previous.completedNanos() + TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        if (thinkMillis <= 0) {
+            return step.apply(intended);
+        }
+        return CompletableFuture
+            .supplyAsync(() -> null, CompletableFuture.delayedExecutor(thinkMillis, TimeUnit.MILLISECONDS))
+            .thenCompose(ignored -> step.apply(intended));
+    }
+
+    // ========== Appels des services ==========
+
+    CompletableFuture<Reply> reserve(long eventId, int quantity, long intended) {
+        return probe.inventoryPost("POST /tickets/reserve", "/tickets/reserve",
+            "{\"eventId\":" + eventId + ",\"userId\":" + randomUser() + ",\"quantity\":" + quantity + "}",
+            intended);
+    }
+
+    CompletableFuture<Reply> confirm(long reservationId, long intended) {
+        return probe.inventoryPost("POST /tickets/confirm", "/tickets/confirm",
+            "{\"reservationId\":" + reservationId + "}", intended);
+    }
+
+    CompletableFuture<Reply> release(long reservationId, long intended) {
+        return probe.inventoryPost("POST /tickets/release", "/tickets/release",
+            "{\"reservationId\":" + reservationId + "}", intended);
+    }
+
+    CompletableFuture<Reply> availability(long eventId, long intended) {
+        return probe.inventoryGet("GET /tickets/availability/{eventId}",
+            "/tickets/availability/" + eventId, intended);
+    }
+
+    CompletableFuture<Reply> userReservations(long userId, long intended) {
+        return probe.inventoryGet("GET /tickets/user/{userId}", "/tickets/user/" + userId, intended);
+    }
+
+    CompletableFuture<Reply> catalogEvent(long eventId, long intended) {
+        return probe.catalogGet("GET /events/{id}", "/events/" + eventId, intended);
+    }
+
+    CompletableFuture<Reply> catalogList(long intended) {
+        return probe.catalogGet("GET /events/list-events", "/events/list-events", intended);
+    }
+
+    CompletableFuture<Reply> catalogSearch(String keyword, long intended) {
+        return probe.catalogGet("GET /events/search", "/events/search?keyword=" + keyword, intended);
+    }
+}
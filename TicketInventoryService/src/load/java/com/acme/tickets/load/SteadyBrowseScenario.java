@@ -0,0 +1,68 @@
+package com.acme.tickets.load;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Navigation régulière: lectures du catalogue et de la disponibilité sur de nombreux
+ * événements, consultation des réservations d'un utilisateur, et quelques achats.
+ */
+final class SteadyBrowseScenario implements Scenario {
+
+    private static final String[] KEYWORDS = {"concert", "festival", "match", "theatre"};
+
+    @Override
+    public String name() {
+        return "steady-browse";
+    }
+
+    @Override
+    public String description() {
+        return "Lectures catalogue et disponibilité à débit constant, achats occasionnels";
+    }
+
+    @Override
+    public double defaultRate() {
+        return 200;
+    }
+
+    @Override
+    public Duration defaultDuration() {
+        return Duration.ofSeconds(60);
+    }
+
+    @Override
+    public int events() {
+        return 200;
+    }
+
+    @Override
+    public CompletableFuture<?> startSession(SessionContext context, long intendedStartNanos) {
+        long eventId = context.randomEvent(events());
+        double pick = context.random().nextDouble();
+        if (context.catalogEnabled() && pick < 0.45) {
+            return context.catalogEvent(eventId, intendedStartNanos)
+                .thenCompose(event -> context.after(event, 100,
+                    intended -> context.availability(eventId, intended)));
+        }
+        if (context.catalogEnabled() && pick < 0.55) {
+            return context.catalogList(intendedStartNanos);
+        }
+        if (context.catalogEnabled() && pick < 0.60) {
+            return context.catalogSearch(KEYWORDS[context.random().nextInt(KEYWORDS.length)], intendedStartNanos);
+        }
+        if (pick < 0.85) {
+            return context.availability(eventId, intendedStartNanos);
+        }
+        if (pick < 0.95) {
+            return context.userReservations(context.randomUser(), intendedStartNanos);
+        }
+        return context.reserve(eventId, 1 + context.random().nextInt(2), intendedStartNanos)
+            .thenCompose(reserved -> {
+                Long reservationId = reserved.ok() ? reserved.longField("reservationId") : null;
+                return reservationId == null
+                    ? CompletableFuture.completedFuture(reserved)
+                    : context.after(reserved, 500, intended -> context.confirm(reservationId, intended));
+            });
+    }
+}
@@ -0,0 +1,90 @@
+package com.acme.tickets.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Faux EventCatalog (serveur HTTP du JDK) pour le mode embarqué: GET /events/{id},
+ * /events/list-events et /events/search. Sert à l'initialisation paresseuse de l'inventaire
+ * et aux lectures catalogue des scénarios; ses latences ne représentent pas le vrai service.
+ */
+final class StubCatalogServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private StubCatalogServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    static StubCatalogServer start(int events, LongToIntFunction stockForEvent) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        String list = eventList(events, stockForEvent);
+        server.createContext("/events/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/events/list-events") || path.equals("/events/search")) {
+                respond(exchange, 200, list);
+                return;
+            }
+            try {
+                long id = Long.parseLong(path.substring("/events/".length()));
+                respond(exchange, 200, event(id, stockForEvent.applyAsInt(id)));
+            } catch (NumberFormatException e) {
+                respond(exchange, 404, "{}");
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "stub-catalog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        return new StubCatalogServer(server, executor);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static String event(long id, int stock) {
+        return "{\"id\":" + id + ",\"title\":\"Event " + id + "\""
+            + ",\"category\":{\"categoryType\":\"MUSIC\"}"
+            + ",\"tickets\":[{\"type\":\"STANDARD\",\"quantity\":" + stock + "}]}";
+    }
+
+    private static String eventList(int events, LongToIntFunction stockForEvent) {
+        StringBuilder json = new StringBuilder("[");
+        for (long id = 1; id <= Math.min(events, 50); id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append(event(id, stockForEvent.applyAsInt(id)));
+        }
+        return json.append(']').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -1,17 +1,37 @@
 package com.acme.tickets;
 
-import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Application principale du service de gestion d'inventaire de tickets.
+ * <p>
+ * Les auto-configurations R2DBC sont exclues: elles ne concernent que la variante réactive
+ * (profil Maven {@code reactive}) et leur gestionnaire de transactions entrerait en concurrence
+ * avec celui de JPA lorsque les deux piles sont sur le classpath. Pour la même raison, les
+ * repositories JPA sont limités à leur package ({@link com.acme.tickets.config.StartupConfig}).
+ * <p>
+ * Les étapes du démarrage sont conservées en mémoire et exposées par {@code /actuator/startup}.
  */
-@SpringBootApplication
+@SpringBootApplication(excludeName = {
+    "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+    "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration",
+    "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+    "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration"
+})
 @EnableScheduling
 public class TicketInventoryApplication {
 
+    /**
+     * Capacité du tampon des étapes de démarrage (au-delà, les étapes suivantes sont ignorées).
+     */
+    public static final int STARTUP_STEPS = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(TicketInventoryApplication.class, args);
+        new SpringApplicationBuilder(TicketInventoryApplication.class)
+            .applicationStartup(new BufferingApplicationStartup(STARTUP_STEPS))
+            .run(args);
     }
 }
@@ -0,0 +1,237 @@
+package com.acme.tickets.cluster;
+
+import com.acme.tickets.config.GrpcProperties;
+import com.acme.tickets.config.OwnershipProperties;
+import com.acme.tickets.domain.entity.ClusterMember;
+import com.acme.tickets.domain.repository.ClusterMemberRepository;
+import com.acme.tickets.escrow.InventoryEscrow;
+import com.acme.tickets.grpc.GrpcServerLifecycle;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Appartenance de l'instance à l'anneau des propriétaires d'événements (mode propriétaire).
+ * <p>
+ * L'instance s'inscrit dans cluster_member une fois son serveur gRPC démarré, puis rafraîchit
+ * sa ligne à chaque battement et relit les membres vivants; l'anneau ({@link HashRing}) est
+ * reconstruit quand leur ensemble change. Les membres silencieux depuis {@code member-timeout-ms}
+ * sont retirés. À l'arrêt, l'instance supprime sa ligne: les autres la retirent dès leur
+ * battement suivant.
+ * <p>
+ * Passation: quand l'anneau attribue un événement à un autre membre, l'instance rend le
+ * reliquat de son lot en séquestre ({@link InventoryEscrow#surrender}); le nouveau propriétaire
+ * prélève le sien à la première réservation. Pendant qu'un changement se propage, deux
+ * instances peuvent servir le même événement: c'est sans effet sur la justesse, le stock reste
+ * borné par l'inventaire central et les lots, l'anneau ne sert qu'à regrouper le trafic.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    static final String MEMBERS_GAUGE = "tickets.ownership.members";
+    static final String HANDOFFS_COUNTER = "tickets.ownership.handoffs";
+
+    /** Les membres silencieux sont supprimés de la table après ce multiple du délai d'absence. */
+    private static final int PURGE_FACTOR = 3;
+
+    private final OwnershipProperties properties;
+    private final InventoryEscrow escrow;
+    private final ClusterMemberRepository memberRepository;
+    private final ShardRouter router;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<GrpcServerLifecycle> grpcServer;
+    private final Counter handoffs;
+    private volatile ClusterNode self;
+    private volatile HashRing ring = HashRing.EMPTY;
+
+    public ClusterMembership(
+            OwnershipProperties properties,
+            GrpcProperties grpcProperties,
+            InventoryEscrow escrow,
+            ClusterMemberRepository memberRepository,
+            ShardRouter router,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            ObjectProvider<GrpcServerLifecycle> grpcServer) {
+        if (properties.isEnabled() && !escrow.isEnabled()) {
+            throw new IllegalStateException(
+                "ticket-inventory.ownership exige ticket-inventory.escrow.enabled=true (état en mémoire du propriétaire)");
+        }
+        if (properties.isEnabled() && !grpcProperties.isEnabled()) {
+            throw new IllegalStateException(
+                "ticket-inventory.ownership exige ticket-inventory.grpc.enabled=true (transmission au propriétaire)");
+        }
+        this.properties = properties;
+        this.escrow = escrow;
+        this.memberRepository = memberRepository;
+        this.router = router;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grpcServer = grpcServer;
+
+        Gauge.builder(MEMBERS_GAUGE, this, membership -> membership.ring.members().size())
+            .description("Membres vivants de l'anneau des propriétaires vus par cette instance")
+            .register(registry);
+        this.handoffs = Counter.builder(HANDOFFS_COUNTER)
+            .description("Lots en séquestre rendus à la suite d'un changement de propriétaire")
+            .register(registry);
+    }
+
+    /**
+     * Inscription, une fois le serveur gRPC démarré (port effectivement lié connu).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int port = grpcServer.getObject().getPort();
+        self = new ClusterNode(escrow.nodeId(), properties.getAdvertisedHost() + ":" + port);
+        logger.info("Instance {} inscrite dans l'anneau des propriétaires ({})", self.nodeId(), self.address());
+        heartbeat();
+    }
+
+    /**
+     * Battement: rafraîchit la ligne de l'instance, relit les membres vivants et reconstruit
+     * l'anneau s'ils ont changé.
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.ownership.heartbeat-interval-ms:2000}")
+    public void heartbeat() {
+        ClusterNode node = self;
+        if (node == null) {
+            return;
+        }
+        try {
+            List<ClusterNode> alive = router.onShard(0, () -> transactionTemplate.execute(status -> beat(node)));
+            if (self != null && alive != null) {
+                update(alive);
+            }
+        } catch (Exception e) {
+            logger.warn("Battement de l'anneau des propriétaires impossible: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Désinscription à la fermeture du contexte, avant l'arrêt du serveur gRPC et le rendu des
+     * lots: les opérations encore reçues sont servies localement.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void leave() {
+        ClusterNode node = self;
+        if (node == null) {
+            return;
+        }
+        self = null;
+        ring = HashRing.EMPTY;
+        try {
+            router.onShard(0, () -> transactionTemplate.execute(status -> {
+                memberRepository.deleteById(node.nodeId());
+                return null;
+            }));
+            logger.info("Instance {} retirée de l'anneau des propriétaires", node.nodeId());
+        } catch (Exception e) {
+            logger.warn("Désinscription de l'instance {} impossible, retrait après {} ms sans battement: {}",
+                node.nodeId(), properties.getMemberTimeoutMs(), e.getMessage());
+        }
+    }
+
+    /**
+     * Identifiant de l'instance dans l'anneau: celui de ses lots en séquestre.
+     */
+    public String nodeId() {
+        return escrow.nodeId();
+    }
+
+    /**
+     * Vrai une fois l'instance inscrite, jusqu'à son départ.
+     */
+    public boolean isActive() {
+        return self != null;
+    }
+
+    /**
+     * Propriétaire distant de l'événement.
+     *
+     * @return Le propriétaire, vide si l'instance est propriétaire, hors anneau ou inactive
+     */
+    public Optional<ClusterNode> remoteOwner(Long eventId) {
+        ClusterNode node = self;
+        if (node == null) {
+            return Optional.empty();
+        }
+        return ring.ownerOf(eventId).filter(owner -> !owner.nodeId().equals(node.nodeId()));
+    }
+
+    /**
+     * Membres de l'anneau vus par cette instance.
+     */
+    public Set<ClusterNode> members() {
+        return ring.members();
+    }
+
+    private List<ClusterNode> beat(ClusterNode node) {
+        Instant now = Instant.now();
+        ClusterMember member = memberRepository.findById(node.nodeId())
+            .orElseGet(() -> new ClusterMember(node.nodeId(), node.address(), now));
+        member.setAddress(node.address());
+        member.setHeartbeatAt(now);
+        memberRepository.save(member);
+
+        Duration timeout = Duration.ofMillis(properties.getMemberTimeoutMs());
+        int purged = memberRepository.deleteSilentSince(now.minus(timeout.multipliedBy(PURGE_FACTOR)));
+        if (purged > 0) {
+            logger.info("{} membre(s) silencieux supprimé(s) de l'anneau des propriétaires", purged);
+        }
+        return memberRepository.findAlive(now.minus(timeout)).stream()
+            .map(alive -> new ClusterNode(alive.getNodeId(), alive.getAddress()))
+            .toList();
+    }
+
+    private void update(List<ClusterNode> alive) {
+        if (ring.members().equals(Set.copyOf(alive))) {
+            return;
+        }
+        HashRing next = HashRing.of(alive, properties.getVirtualNodes());
+        ring = next;
+        logger.info("Anneau des propriétaires reconstruit: {} membre(s) {}", alive.size(), next.nodeIds());
+        handOff(next);
+    }
+
+    /**
+     * Rend les lots des événements dont l'instance n'est plus propriétaire.
+     */
+    private void handOff(HashRing next) {
+        String nodeId = escrow.nodeId();
+        for (Long eventId : escrow.allottedEvents()) {
+            boolean kept = next.ownerOf(eventId).map(owner -> owner.nodeId().equals(nodeId)).orElse(true);
+            if (kept) {
+                continue;
+            }
+            try {
+                escrow.surrender(eventId);
+                handoffs.increment();
+                logger.debug("Événement {} passé à un autre propriétaire, lot rendu", eventId);
+            } catch (Exception e) {
+                logger.warn("Lot de l'événement {} non rendu lors de la passation: {}", eventId, e.getMessage());
+            }
+        }
+    }
+}
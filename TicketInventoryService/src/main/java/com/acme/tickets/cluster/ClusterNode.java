@@ -0,0 +1,10 @@
+package com.acme.tickets.cluster;
+
+/**
+ * Membre de l'anneau des propriétaires.
+ *
+ * @param nodeId Identifiant de l'instance (celui de ses lots en séquestre)
+ * @param address Adresse gRPC host:port de l'instance
+ */
+public record ClusterNode(String nodeId, String address) {
+}
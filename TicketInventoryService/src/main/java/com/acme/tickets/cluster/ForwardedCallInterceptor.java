@@ -0,0 +1,40 @@
+package com.acme.tickets.cluster;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repère les appels gRPC transmis par une autre instance (en-tête {@code x-forwarded-from}) et
+ * l'indique dans le contexte de l'appel: un appel transmis est toujours servi localement, même
+ * si l'anneau de cette instance désigne un autre propriétaire, ce qui exclut les boucles.
+ */
+@Component
+public class ForwardedCallInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> FORWARDED_FROM =
+        Metadata.Key.of("x-forwarded-from", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Context.Key<String> FORWARDED_FROM_CONTEXT = Context.key("forwarded-from");
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(
+            ServerCall<Q, R> call, Metadata headers, ServerCallHandler<Q, R> next) {
+        String from = headers.get(FORWARDED_FROM);
+        if (from == null) {
+            return next.startCall(call, headers);
+        }
+        return Contexts.interceptCall(Context.current().withValue(FORWARDED_FROM_CONTEXT, from), call, headers, next);
+    }
+
+    /**
+     * Vrai si le thread courant sert un appel transmis par une autre instance.
+     */
+    static boolean isForwardedCall() {
+        return FORWARDED_FROM_CONTEXT.get() != null;
+    }
+}
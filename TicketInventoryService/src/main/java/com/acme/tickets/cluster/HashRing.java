@@ -0,0 +1,75 @@
+package com.acme.tickets.cluster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Anneau de hachage cohérent des propriétaires d'événements, immuable.
+ * <p>
+ * Chaque membre occupe {@code virtualNodes} points de l'anneau; le propriétaire d'un événement
+ * est le premier point qui suit le hachage de son identifiant. L'arrivée ou le départ d'un
+ * membre ne déplace que les événements des arcs qu'il gagne ou perd (≈ 1/N), et deux instances
+ * qui voient les mêmes membres calculent les mêmes propriétaires. Hachage: 8 premiers octets
+ * de SHA-256, stable d'une JVM à l'autre.
+ */
+final class HashRing {
+
+    static final HashRing EMPTY = new HashRing(new TreeMap<>(), Set.of());
+
+    private final NavigableMap<Long, ClusterNode> points;
+    private final Set<ClusterNode> members;
+
+    private HashRing(NavigableMap<Long, ClusterNode> points, Set<ClusterNode> members) {
+        this.points = points;
+        this.members = members;
+    }
+
+    static HashRing of(Collection<ClusterNode> members, int virtualNodes) {
+        NavigableMap<Long, ClusterNode> points = new TreeMap<>();
+        for (ClusterNode member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // Collision (improbable sur 64 bits): le plus petit identifiant l'emporte partout
+                points.merge(hash(member.nodeId() + "#" + i), member,
+                    (a, b) -> a.nodeId().compareTo(b.nodeId()) <= 0 ? a : b);
+            }
+        }
+        return new HashRing(points, Set.copyOf(members));
+    }
+
+    /**
+     * @return Le propriétaire de l'événement, vide si l'anneau n'a aucun membre
+     */
+    Optional<ClusterNode> ownerOf(Long eventId) {
+        if (points.isEmpty()) {
+            return Optional.empty();
+        }
+        Map.Entry<Long, ClusterNode> point = points.ceilingEntry(hash(Long.toString(eventId)));
+        return Optional.of(point != null ? point.getValue() : points.firstEntry().getValue());
+    }
+
+    Set<ClusterNode> members() {
+        return members;
+    }
+
+    Set<String> nodeIds() {
+        return members.stream().map(ClusterNode::nodeId).collect(Collectors.toUnmodifiableSet());
+    }
+
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.acme.tickets.cluster;
+
+import com.acme.tickets.config.OwnershipProperties;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ConfirmResponse;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReleaseResponse;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.exception.ForwardedRejectionException;
+import com.acme.tickets.grpc.v1.ReserveReply;
+import com.acme.tickets.grpc.v1.TicketInventoryGrpc;
+import com.acme.tickets.grpc.v1.TicketInventoryGrpc.TicketInventoryBlockingStub;
+import com.acme.tickets.service.RequestDeadline;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Transmission de reserve, confirm et release à l'instance propriétaire de l'événement (mode
+ * propriétaire), par l'API gRPC interne. Un canal par adresse, ouvert au premier appel.
+ * <p>
+ * Les rejets du propriétaire sont relayés tels quels ({@link ForwardedRejectionException},
+ * conflit de version persistant). Un propriétaire injoignable (connexion impossible) laisse
+ * l'opération à l'instance locale: la transmission ne regroupe que le trafic, la justesse du
+ * stock n'en dépend pas. Une échéance dépassée n'est pas rejouée localement, le propriétaire
+ * ayant pu exécuter l'opération.
+ */
+@Component
+public class OwnerForwarder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerForwarder.class);
+
+    static final String FORWARDED_COUNTER = "tickets.ownership.forwarded";
+
+    private final OwnershipProperties properties;
+    private final ClusterMembership membership;
+    private final MeterRegistry registry;
+    private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+
+    public OwnerForwarder(OwnershipProperties properties, ClusterMembership membership, MeterRegistry registry) {
+        this.properties = properties;
+        this.membership = membership;
+        this.registry = registry;
+    }
+
+    /**
+     * Vrai si les opérations de cette requête peuvent être transmises: instance inscrite dans
+     * l'anneau et requête qui n'a pas elle-même été transmise.
+     */
+    public boolean isActive() {
+        return membership.isActive() && !ForwardedCallInterceptor.isForwardedCall();
+    }
+
+    /**
+     * @return La réponse du propriétaire, vide si la réservation doit être servie localement
+     */
+    public Optional<ReserveResponse> reserve(ReserveRequest request, String idempotencyKey) {
+        return forward(request.eventId(), "reserve", stub -> {
+            ReserveReply reply = stub.reserve(com.acme.tickets.grpc.v1.ReserveRequest.newBuilder()
+                .setEventId(request.eventId())
+                .setUserId(request.userId())
+                .setQuantity(request.quantity())
+                .setIdempotencyKey(idempotencyKey == null ? "" : idempotencyKey)
+                .build());
+            Instant holdExpiresAt = reply.hasHoldExpiresAt()
+                ? Instant.ofEpochSecond(reply.getHoldExpiresAt().getSeconds(), reply.getHoldExpiresAt().getNanos())
+                : null;
+            return new ReserveResponse(reply.getReservationId(), reply.getStatus().name(), holdExpiresAt,
+                reply.getQuantity());
+        });
+    }
+
+    /**
+     * @param eventId L'événement de la réservation
+     * @return La réponse du propriétaire, vide si la confirmation doit être servie localement
+     */
+    public Optional<ConfirmResponse> confirm(Long eventId, ConfirmRequest request) {
+        return forward(eventId, "confirm", stub -> new ConfirmResponse(stub.confirm(
+                com.acme.tickets.grpc.v1.ConfirmRequest.newBuilder().setReservationId(request.reservationId()).build())
+            .getStatus().name()));
+    }
+
+    /**
+     * @param eventId L'événement de la réservation
+     * @return La réponse du propriétaire, vide si la libération doit être servie localement
+     */
+    public Optional<ReleaseResponse> release(Long eventId, ReleaseRequest request) {
+        return forward(eventId, "release", stub -> new ReleaseResponse(stub.release(
+                com.acme.tickets.grpc.v1.ReleaseRequest.newBuilder().setReservationId(request.reservationId()).build())
+            .getStatus().name()));
+    }
+
+    @PreDestroy
+    public void close() {
+        channels.values().forEach(ManagedChannel::shutdownNow);
+        channels.clear();
+    }
+
+    private <T> Optional<T> forward(Long eventId, String operation, Function<TicketInventoryBlockingStub, T> call) {
+        if (eventId == null || !isActive()) {
+            return Optional.empty();
+        }
+        Optional<ClusterNode> owner = membership.remoteOwner(eventId);
+        if (owner.isEmpty()) {
+            return Optional.empty();
+        }
+        ClusterNode node = owner.get();
+        Metadata headers = new Metadata();
+        headers.put(ForwardedCallInterceptor.FORWARDED_FROM, membership.nodeId());
+        TicketInventoryBlockingStub stub = TicketInventoryGrpc.newBlockingStub(channel(node.address()))
+            .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers))
+            .withDeadlineAfter(Math.max(RequestDeadline.capMillis(properties.getForwardTimeoutMs()), 1),
+                TimeUnit.MILLISECONDS);
+        try {
+            T response = call.apply(stub);
+            count(operation, "forwarded");
+            return Optional.of(response);
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.UNAVAILABLE && e.getStatus().getCause() != null) {
+                count(operation, "unreachable");
+                logger.warn("Propriétaire {} ({}) de l'événement {} injoignable, {} servi localement: {}",
+                    node.nodeId(), node.address(), eventId, operation, e.getStatus().getDescription());
+                return Optional.empty();
+            }
+            count(operation, "rejected");
+            throw toException(node, operation, e.getStatus());
+        }
+    }
+
+    private ManagedChannel channel(String address) {
+        return channels.computeIfAbsent(address, target -> NettyChannelBuilder.forTarget(target)
+            .usePlaintext()
+            .build());
+    }
+
+    /**
+     * Rejet équivalent à celui que l'opération aurait produit localement.
+     */
+    private static RuntimeException toException(ClusterNode owner, String operation, Status status) {
+        boolean reserve = "reserve".equals(operation);
+        String description = status.getDescription();
+        return switch (status.getCode()) {
+            case ABORTED -> new OptimisticLockingFailureException(description);
+            case NOT_FOUND -> rejection(owner, status, HttpStatus.NOT_FOUND,
+                reserve ? "Inventory Not Found" : "Reservation Not Found");
+            case FAILED_PRECONDITION -> reserve
+                ? rejection(owner, status, HttpStatus.CONFLICT, "Insufficient Stock")
+                : rejection(owner, status, HttpStatus.UNPROCESSABLE_ENTITY, "Invalid Reservation State");
+            case RESOURCE_EXHAUSTED -> rejection(owner, status, HttpStatus.CONFLICT, "Purchase Quota Exceeded");
+            case INVALID_ARGUMENT -> rejection(owner, status, HttpStatus.BAD_REQUEST, "Invalid Request");
+            case UNAVAILABLE -> rejection(owner, status, HttpStatus.SERVICE_UNAVAILABLE, "Capacity Exceeded");
+            case DEADLINE_EXCEEDED -> rejection(owner, status, HttpStatus.GATEWAY_TIMEOUT, "Owner Timeout");
+            default -> new IllegalStateException("Transmission " + operation + " au propriétaire "
+                + owner.nodeId() + " en échec: " + status.getCode() + " " + description, status.asRuntimeException());
+        };
+    }
+
+    private static ForwardedRejectionException rejection(
+            ClusterNode owner, Status status, HttpStatus httpStatus, String error) {
+        return new ForwardedRejectionException(owner.nodeId(), status.getCode().name(), httpStatus.value(), error,
+            status.getDescription());
+    }
+
+    private void count(String operation, String outcome) {
+        registry.counter(FORWARDED_COUNTER, "operation", operation, "outcome", outcome).increment();
+    }
+}
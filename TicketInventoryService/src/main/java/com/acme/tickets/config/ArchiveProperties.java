@@ -0,0 +1,87 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés de l'archivage des réservations terminales (CANCELED, EXPIRED).
+ * Préfixe: ticket-inventory.archive
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.archive")
+@Validated
+public class ArchiveProperties {
+
+    /**
+     * Active le job d'archivage planifié. Les lectures passent par l'archive dans tous les cas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Expression cron du job d'archivage.
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Âge minimal (depuis la dernière mise à jour) d'une réservation terminale archivable.
+     */
+    @Min(1)
+    private int retentionDays = 30;
+
+    /**
+     * Réservations déplacées par lot: chaque lot est copié puis supprimé dans sa propre
+     * transaction, ce qui borne la durée des verrous sur la table chaude.
+     */
+    @Min(1)
+    @Max(10_000)
+    private int batchSize = 500;
+
+    /**
+     * Nombre maximum de lots par exécution: le reliquat est repris à l'exécution suivante.
+     */
+    @Min(1)
+    private int maxBatchesPerRun = 200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+}
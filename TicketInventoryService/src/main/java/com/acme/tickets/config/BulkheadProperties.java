@@ -0,0 +1,163 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Propriétés des cloisons (bulkheads) par événement.
+ * Préfixe: ticket-inventory.bulkhead
+ * <p>
+ * Chaque appel admis occupe au plus une connexion JDBC: la somme
+ * {@code shared-max-concurrent + (hot-events + max-auto-hot-events) * hot-max-concurrent}
+ * doit rester inférieure ou égale à la taille du pool Hikari (10 par défaut).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.bulkhead")
+@Validated
+public class BulkheadProperties {
+
+    /**
+     * Active les cloisons; désactivées, les appels s'exécutent sans limite d'admission.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Appels simultanés de la cloison partagée (événements non chauds).
+     */
+    @Min(1)
+    private int sharedMaxConcurrent = 6;
+
+    /**
+     * Appels en attente au-delà desquels la cloison partagée rejette immédiatement.
+     */
+    @Min(0)
+    private int sharedMaxQueue = 50;
+
+    /**
+     * Appels simultanés de la cloison dédiée d'un événement chaud (quota de connexions).
+     */
+    @Min(1)
+    private int hotMaxConcurrent = 2;
+
+    /**
+     * Appels en attente au-delà desquels la cloison d'un événement chaud rejette immédiatement.
+     */
+    @Min(0)
+    private int hotMaxQueue = 20;
+
+    /**
+     * Attente maximale d'une place dans une cloison avant rejet.
+     */
+    @Min(0)
+    private long maxWaitMs = 500;
+
+    /**
+     * Événements chauds déclarés (mise en vente annoncée): cloison dédiée permanente.
+     */
+    private Set<Long> hotEvents = new HashSet<>();
+
+    /**
+     * Appels simultanés d'un même événement dans la cloison partagée à partir desquels il est
+     * promu en cloison dédiée. 0 désactive la détection automatique.
+     */
+    @Min(0)
+    private int autoHotThreshold = 3;
+
+    /**
+     * Nombre maximum d'événements promus automatiquement en même temps.
+     */
+    @Min(0)
+    private int maxAutoHotEvents = 2;
+
+    /**
+     * Délai sans aucun appel au-delà duquel un événement détecté chaud est rendu à la cloison
+     * partagée (une fois sa cloison dédiée vide).
+     */
+    @Min(1)
+    private long autoHotCooldownMs = 60000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSharedMaxConcurrent() {
+        return sharedMaxConcurrent;
+    }
+
+    public void setSharedMaxConcurrent(int sharedMaxConcurrent) {
+        this.sharedMaxConcurrent = sharedMaxConcurrent;
+    }
+
+    public int getSharedMaxQueue() {
+        return sharedMaxQueue;
+    }
+
+    public void setSharedMaxQueue(int sharedMaxQueue) {
+        this.sharedMaxQueue = sharedMaxQueue;
+    }
+
+    public int getHotMaxConcurrent() {
+        return hotMaxConcurrent;
+    }
+
+    public void setHotMaxConcurrent(int hotMaxConcurrent) {
+        this.hotMaxConcurrent = hotMaxConcurrent;
+    }
+
+    public int getHotMaxQueue() {
+        return hotMaxQueue;
+    }
+
+    public void setHotMaxQueue(int hotMaxQueue) {
+        this.hotMaxQueue = hotMaxQueue;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public Set<Long> getHotEvents() {
+        return hotEvents;
+    }
+
+    public void setHotEvents(Set<Long> hotEvents) {
+        this.hotEvents = hotEvents;
+    }
+
+    public int getAutoHotThreshold() {
+        return autoHotThreshold;
+    }
+
+    public void setAutoHotThreshold(int autoHotThreshold) {
+        this.autoHotThreshold = autoHotThreshold;
+    }
+
+    public int getMaxAutoHotEvents() {
+        return maxAutoHotEvents;
+    }
+
+    public void setMaxAutoHotEvents(int maxAutoHotEvents) {
+        this.maxAutoHotEvents = maxAutoHotEvents;
+    }
+
+    public long getAutoHotCooldownMs() {
+        return autoHotCooldownMs;
+    }
+
+    public void setAutoHotCooldownMs(long autoHotCooldownMs) {
+        this.autoHotCooldownMs = autoHotCooldownMs;
+    }
+}
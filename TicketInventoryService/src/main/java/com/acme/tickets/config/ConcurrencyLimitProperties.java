@@ -0,0 +1,137 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés de la limite de concurrence adaptative devant reserve et confirm.
+ * Préfixe: ticket-inventory.concurrency-limit
+ * <p>
+ * La limite suit le rapport entre la latence de référence (moyenne lente) et la latence
+ * récente: elle baisse dès que les appels ralentissent (base saturée, attente dans les
+ * cloisons) et remonte tant que la latence reste stable.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.concurrency-limit")
+@Validated
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Active la limite; désactivée, les appels sont admis sans borne.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limite au démarrage, avant toute mesure.
+     */
+    @Min(1)
+    private int initialLimit = 20;
+
+    /**
+     * Plancher: même sous forte latence, ce nombre d'appels simultanés reste admis.
+     */
+    @Min(1)
+    private int minLimit = 4;
+
+    /**
+     * Plafond de la limite (au plus le nombre de threads Tomcat).
+     */
+    @Min(1)
+    private int maxLimit = 200;
+
+    /**
+     * Appels terminés par fenêtre de mesure: la limite est recalculée à chaque fenêtre.
+     */
+    @Min(1)
+    private int windowSamples = 25;
+
+    /**
+     * Fenêtres sur lesquelles est lissée la latence de référence: plus il y en a, plus un
+     * ralentissement durable met de temps à devenir la nouvelle référence.
+     */
+    @Min(1)
+    private int baselineWindows = 20;
+
+    /**
+     * Ralentissement toléré avant de réduire la limite (1.5: latence récente jusqu'à 1,5 fois
+     * la référence).
+     */
+    @DecimalMin("1.0")
+    @DecimalMax("10.0")
+    private double latencyTolerance = 1.5;
+
+    /**
+     * Part de la nouvelle estimation appliquée à chaque fenêtre (0 à 1).
+     */
+    @DecimalMin("0.01")
+    @DecimalMax("1.0")
+    private double smoothing = 0.2;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getWindowSamples() {
+        return windowSamples;
+    }
+
+    public void setWindowSamples(int windowSamples) {
+        this.windowSamples = windowSamples;
+    }
+
+    public int getBaselineWindows() {
+        return baselineWindows;
+    }
+
+    public void setBaselineWindows(int baselineWindows) {
+        this.baselineWindows = baselineWindows;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public void setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+}
@@ -0,0 +1,161 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du répartiteur à priorités: sous surcharge, libérations et expirations passent
+ * avant les confirmations, puis les nouvelles réservations, puis la disponibilité.
+ * Préfixe: ticket-inventory.dispatch
+ * <p>
+ * Chaque priorité a sa file bornée et son poids: à chaque place libérée, les files non vides
+ * sont servies au prorata de leur poids (une file de poids faible n'est jamais affamée).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.dispatch")
+@Validated
+public class DispatchProperties {
+
+    /**
+     * Active le répartiteur; désactivé, les appels s'exécutent sans attente.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Appels exécutés simultanément, toutes priorités confondues (au plus la taille du pool
+     * Hikari: chaque appel tient au plus une connexion).
+     */
+    @Min(1)
+    private int maxConcurrent = 8;
+
+    /**
+     * Attente maximale dans une file avant rejet (503), réduite à l'échéance de la requête.
+     */
+    @Min(0)
+    private long maxWaitMs = 1_000;
+
+    /**
+     * release (et expiration des réservations échues): libère du stock.
+     */
+    @Valid
+    private Lane release = new Lane(200, 8);
+
+    /**
+     * confirm: transforme une réservation en vente avant son échéance.
+     */
+    @Valid
+    private Lane confirm = new Lane(200, 4);
+
+    /**
+     * reserve (unitaire et panier).
+     */
+    @Valid
+    private Lane reserve = new Lane(100, 2);
+
+    /**
+     * Lecture de la disponibilité.
+     */
+    @Valid
+    private Lane availability = new Lane(100, 1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public Lane getRelease() {
+        return release;
+    }
+
+    public void setRelease(Lane release) {
+        this.release = release;
+    }
+
+    public Lane getConfirm() {
+        return confirm;
+    }
+
+    public void setConfirm(Lane confirm) {
+        this.confirm = confirm;
+    }
+
+    public Lane getReserve() {
+        return reserve;
+    }
+
+    public void setReserve(Lane reserve) {
+        this.reserve = reserve;
+    }
+
+    public Lane getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(Lane availability) {
+        this.availability = availability;
+    }
+
+    /**
+     * File d'une priorité.
+     */
+    public static class Lane {
+
+        /**
+         * Appels en attente au-delà desquels la file rejette immédiatement.
+         */
+        @Min(0)
+        private int capacity;
+
+        /**
+         * Part des places attribuées à cette file quand plusieurs attendent.
+         */
+        @Min(1)
+        private int weight;
+
+        public Lane() {
+        }
+
+        public Lane(int capacity, int weight) {
+            this.capacity = capacity;
+            this.weight = weight;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+    }
+}
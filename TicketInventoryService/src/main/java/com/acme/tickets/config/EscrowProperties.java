@@ -0,0 +1,118 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du mode séquestre: chaque instance prélève des lots de stock sur l'inventaire
+ * central et sert les réservations unitaires depuis son lot local.
+ * Préfixe: ticket-inventory.escrow
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.escrow")
+@Validated
+public class EscrowProperties {
+
+    /**
+     * Active le mode séquestre pour les réservations unitaires (les paniers restent centraux).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Identifiant de l'instance dans inventory_lease. Vide: généré au démarrage, un redémarrage
+     * n'hérite donc jamais des lots d'une instance précédente.
+     */
+    private String nodeId = "";
+
+    /**
+     * Taille d'un lot prélevé sur l'inventaire central (au moins la quantité demandée).
+     */
+    @Min(1)
+    private int chunkSize = 50;
+
+    /**
+     * Sous ce reliquat local, un lot supplémentaire est demandé en arrière-plan.
+     */
+    @Min(0)
+    private int lowWatermark = 10;
+
+    /**
+     * Durée de vie d'un lot, non renouvelable: à échéance, l'instance rend son reliquat et
+     * prélève un nouveau lot. Bornée pour rester très inférieure à la rétention de l'archive.
+     */
+    @Min(1_000)
+    @Max(3_600_000)
+    private long leaseTtlMs = 300_000;
+
+    /**
+     * Délai après échéance au-delà duquel le lot d'une instance disparue est récupéré par les
+     * autres: doit couvrir la durée d'une transaction de réservation en vol.
+     */
+    @Min(1_000)
+    private long reclaimGraceMs = 30_000;
+
+    /**
+     * Période de la maintenance: reliquats des lots échus rendus, lots abandonnés récupérés.
+     */
+    @Min(100)
+    private long maintenanceIntervalMs = 5_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public void setLowWatermark(int lowWatermark) {
+        this.lowWatermark = lowWatermark;
+    }
+
+    public long getLeaseTtlMs() {
+        return leaseTtlMs;
+    }
+
+    public void setLeaseTtlMs(long leaseTtlMs) {
+        this.leaseTtlMs = leaseTtlMs;
+    }
+
+    public long getReclaimGraceMs() {
+        return reclaimGraceMs;
+    }
+
+    public void setReclaimGraceMs(long reclaimGraceMs) {
+        this.reclaimGraceMs = reclaimGraceMs;
+    }
+
+    public long getMaintenanceIntervalMs() {
+        return maintenanceIntervalMs;
+    }
+
+    public void setMaintenanceIntervalMs(long maintenanceIntervalMs) {
+        this.maintenanceIntervalMs = maintenanceIntervalMs;
+    }
+}
@@ -0,0 +1,87 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés de l'API interne gRPC.
+ * Préfixe: ticket-inventory.grpc
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.grpc")
+@Validated
+public class GrpcProperties {
+
+    /**
+     * Démarre le serveur gRPC à côté de l'API REST.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Port d'écoute du serveur gRPC; 0 choisit un port libre (tests).
+     */
+    @Min(0)
+    @Max(65535)
+    private int port = 9090;
+
+    /**
+     * Intervalle de relecture des inventaires suivis par WatchAvailability.
+     */
+    @Min(50)
+    private long watchIntervalMs = 500;
+
+    /**
+     * Flux WatchAvailability ouverts simultanément au-delà desquels un nouveau flux est refusé.
+     */
+    @Min(1)
+    private int maxWatchers = 1000;
+
+    /**
+     * Délai laissé aux appels en cours à l'arrêt avant fermeture forcée.
+     */
+    @Min(0)
+    private long shutdownGraceMs = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public long getWatchIntervalMs() {
+        return watchIntervalMs;
+    }
+
+    public void setWatchIntervalMs(long watchIntervalMs) {
+        this.watchIntervalMs = watchIntervalMs;
+    }
+
+    public int getMaxWatchers() {
+        return maxWatchers;
+    }
+
+    public void setMaxWatchers(int maxWatchers) {
+        this.maxWatchers = maxWatchers;
+    }
+
+    public long getShutdownGraceMs() {
+        return shutdownGraceMs;
+    }
+
+    public void setShutdownGraceMs(long shutdownGraceMs) {
+        this.shutdownGraceMs = shutdownGraceMs;
+    }
+}
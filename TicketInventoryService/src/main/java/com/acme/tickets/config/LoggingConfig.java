@@ -0,0 +1,22 @@
+package com.acme.tickets.config;
+
+import com.acme.tickets.observability.LogContextFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Contexte de journalisation par requête HTTP (voir {@link com.acme.tickets.observability.LogContext}).
+ * Les appenders (asynchrone, échantillonnage) sont déclarés dans logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<LogContextFilter> logContextFilter() {
+        FilterRegistrationBean<LogContextFilter> registration = new FilterRegistrationBean<>(new LogContextFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,144 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du rejeu automatique sur conflit de verrou optimiste (@Version).
+ * Préfixe: ticket-inventory.retry
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.retry")
+@Validated
+public class OptimisticRetryProperties {
+
+    /**
+     * Nombre maximum de tentatives (première exécution comprise).
+     */
+    @Min(1)
+    private int maxAttempts = 5;
+
+    /**
+     * Plafond du premier délai d'attente avant rejeu.
+     */
+    @Min(0)
+    private long initialBackoffMs = 5;
+
+    /**
+     * Plafond maximal du délai d'attente, quel que soit le nombre de tentatives.
+     */
+    @Min(0)
+    private long maxBackoffMs = 200;
+
+    /**
+     * Facteur de croissance exponentielle du plafond d'attente.
+     */
+    @DecimalMin("1.0")
+    private double multiplier = 2.0;
+
+    /**
+     * Durée de la fenêtre glissante de comptage des conflits et des rejeux par événement.
+     */
+    @Min(1)
+    private long windowMs = 1000;
+
+    /**
+     * Nombre de rejeux autorisés par événement et par fenêtre (budget de rejeu).
+     * Au-delà, le conflit est renvoyé au client (409) plutôt que d'amplifier la contention.
+     */
+    @Min(0)
+    private int retryBudgetPerEvent = 50;
+
+    /**
+     * Nombre de conflits par fenêtre au-delà duquel l'événement passe en exécution sérialisée.
+     */
+    @Min(1)
+    private int contentionThreshold = 10;
+
+    /**
+     * Durée pendant laquelle un événement contendu reste en exécution sérialisée.
+     */
+    @Min(1)
+    private long serializedCooldownMs = 30000;
+
+    /**
+     * Attente maximale pour entrer dans la file sérialisée d'un événement.
+     */
+    @Min(1)
+    private long serializedWaitMs = 2000;
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMs() {
+        return initialBackoffMs;
+    }
+
+    public void setInitialBackoffMs(long initialBackoffMs) {
+        this.initialBackoffMs = initialBackoffMs;
+    }
+
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+
+    public void setMaxBackoffMs(long maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public int getRetryBudgetPerEvent() {
+        return retryBudgetPerEvent;
+    }
+
+    public void setRetryBudgetPerEvent(int retryBudgetPerEvent) {
+        this.retryBudgetPerEvent = retryBudgetPerEvent;
+    }
+
+    public int getContentionThreshold() {
+        return contentionThreshold;
+    }
+
+    public void setContentionThreshold(int contentionThreshold) {
+        this.contentionThreshold = contentionThreshold;
+    }
+
+    public long getSerializedCooldownMs() {
+        return serializedCooldownMs;
+    }
+
+    public void setSerializedCooldownMs(long serializedCooldownMs) {
+        this.serializedCooldownMs = serializedCooldownMs;
+    }
+
+    public long getSerializedWaitMs() {
+        return serializedWaitMs;
+    }
+
+    public void setSerializedWaitMs(long serializedWaitMs) {
+        this.serializedWaitMs = serializedWaitMs;
+    }
+}
@@ -0,0 +1,107 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du mode propriétaire: chaque événement a une instance propriétaire, choisie par
+ * hachage cohérent parmi les membres inscrits dans cluster_member; les autres instances lui
+ * transmettent reserve, confirm et release par l'API gRPC interne.
+ * Préfixe: ticket-inventory.ownership
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.ownership")
+@Validated
+public class OwnershipProperties {
+
+    /**
+     * Active l'anneau de propriétaires et la transmission. Exige le mode séquestre (l'état en
+     * mémoire du propriétaire est son lot) et le serveur gRPC.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Hôte sous lequel les autres instances joignent le serveur gRPC de celle-ci; le port est
+     * celui effectivement lié.
+     */
+    @NotBlank
+    private String advertisedHost = "localhost";
+
+    /**
+     * Points de l'anneau par instance: plus il y en a, plus la répartition est régulière et
+     * moins un départ déplace d'événements d'un même voisin.
+     */
+    @Min(1)
+    @Max(1024)
+    private int virtualNodes = 128;
+
+    /**
+     * Période du battement: inscription de l'instance et relecture des membres.
+     */
+    @Min(100)
+    private long heartbeatIntervalMs = 2_000;
+
+    /**
+     * Sans battement depuis ce délai, un membre est retiré de l'anneau.
+     */
+    @Min(1_000)
+    private long memberTimeoutMs = 10_000;
+
+    /**
+     * Échéance d'un appel transmis au propriétaire (réduite à celle de la requête d'origine).
+     */
+    @Min(100)
+    private long forwardTimeoutMs = 2_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getAdvertisedHost() {
+        return advertisedHost;
+    }
+
+    public void setAdvertisedHost(String advertisedHost) {
+        this.advertisedHost = advertisedHost;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    public long getMemberTimeoutMs() {
+        return memberTimeoutMs;
+    }
+
+    public void setMemberTimeoutMs(long memberTimeoutMs) {
+        this.memberTimeoutMs = memberTimeoutMs;
+    }
+
+    public long getForwardTimeoutMs() {
+        return forwardTimeoutMs;
+    }
+
+    public void setForwardTimeoutMs(long forwardTimeoutMs) {
+        this.forwardTimeoutMs = forwardTimeoutMs;
+    }
+}
@@ -0,0 +1,44 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du pré-chauffage des inventaires et du cache des métadonnées d'événement.
+ * Préfixe: ticket-inventory.prewarm
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.prewarm")
+@Validated
+public class PrewarmProperties {
+
+    /**
+     * Durée de validité des métadonnées d'événement (catégorie, capacité) mises en cache.
+     */
+    @Min(0)
+    private long metadataTtlSeconds = 300;
+
+    /**
+     * Avance du pré-chauffage sur l'heure d'ouverture des ventes annoncée par le catalogue.
+     */
+    @Min(0)
+    private long onSaleLeadSeconds = 120;
+
+    public long getMetadataTtlSeconds() {
+        return metadataTtlSeconds;
+    }
+
+    public void setMetadataTtlSeconds(long metadataTtlSeconds) {
+        this.metadataTtlSeconds = metadataTtlSeconds;
+    }
+
+    public long getOnSaleLeadSeconds() {
+        return onSaleLeadSeconds;
+    }
+
+    public void setOnSaleLeadSeconds(long onSaleLeadSeconds) {
+        this.onSaleLeadSeconds = onSaleLeadSeconds;
+    }
+}
@@ -1,8 +1,12 @@
 package com.acme.tickets.config;
 
+import com.acme.tickets.messaging.PaymentStatusConsumer;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,8 +18,10 @@ import org.springframework.context.annotation.Configuration;
  * 
  * Cette configuration définit :
  * - Queue pour recevoir les statuts de paiement du PaymentService
+ * - Queue pour recevoir les changements de statut d'événement de l'EventCatalog
  * - Exchange et routing keys pour le routage des messages
  * - Convertisseur JSON pour la sérialisation des messages
+ * - Sort des messages dont les rejeux sont épuisés (remise en file si l'échec est passager)
  */
 @Configuration
 public class RabbitMQConfig {
@@ -29,6 +35,15 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key.payment:payment.status}")
     private String paymentRoutingKey;
 
+    @Value("${rabbitmq.queue.event-status:event-status}")
+    private String eventStatusQueue;
+
+    @Value("${rabbitmq.exchange.event:event-exchange}")
+    private String eventExchange;
+
+    @Value("${rabbitmq.routing-key.event-status:event.status}")
+    private String eventStatusRoutingKey;
+
     /**
      * Déclare la queue pour recevoir les notifications de statut de paiement.
      * La queue est durable (survit aux redémarrages du broker).
@@ -66,6 +81,48 @@ public class RabbitMQConfig {
                 .with(paymentRoutingKey);
     }
 
+    /**
+     * Déclare la queue des changements de statut d'événement (pré-chauffage des inventaires).
+     */
+    @Bean
+    public Queue eventStatusQueue() {
+        return QueueBuilder.durable(eventStatusQueue).build();
+    }
+
+    /**
+     * Déclare l'exchange sur lequel l'EventCatalog publie les changements de statut.
+     */
+    @Bean
+    public DirectExchange eventExchange() {
+        return new DirectExchange(eventExchange);
+    }
+
+    /**
+     * Lie la queue event-status à l'exchange des événements.
+     */
+    @Bean
+    public Binding eventStatusBinding(Queue eventStatusQueue, DirectExchange eventExchange) {
+        return BindingBuilder
+                .bind(eventStatusQueue)
+                .to(eventExchange)
+                .with(eventStatusRoutingKey);
+    }
+
+    /**
+     * Appelé quand les rejeux du conteneur ({@code spring.rabbitmq.listener.simple.retry.*}) sont
+     * épuisés. Un échec passager (service saturé) est remis en file: le message de paiement sera
+     * relivré plus tard au lieu d'être perdu. Les autres échecs sont rejetés sans remise en file.
+     */
+    @Bean
+    public MessageRecoverer messageRecoverer() {
+        return (message, cause) -> {
+            if (PaymentStatusConsumer.isRedeliverable(cause)) {
+                throw new ImmediateRequeueAmqpException("Échec passager, message remis en file", cause);
+            }
+            throw new AmqpRejectAndDontRequeueException("Échec non rejouable, message rejeté", cause);
+        };
+    }
+
     /**
      * Convertisseur JSON pour sérialiser/désérialiser les messages.
      */
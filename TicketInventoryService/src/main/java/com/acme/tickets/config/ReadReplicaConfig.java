@@ -0,0 +1,101 @@
+package com.acme.tickets.config;
+
+import com.acme.tickets.replica.ReadReplicaDataSource;
+import com.acme.tickets.replica.ReplicaLagMonitor;
+import com.acme.tickets.replica.SessionTokenFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routage lecture/écriture: remplace la DataSource auto-configurée par un proxy qui ouvre les
+ * transactions en écriture sur le primaire et les transactions {@code readOnly} sur le réplica
+ * tant que son retard le permet (voir {@link ReadReplicaDataSource}).
+ * Activé via ticket-inventory.read-replica.enabled=true.
+ * <p>
+ * Deux pools Hikari dimensionnés séparément, nommés "primary" et "replica": leurs métriques
+ * hikaricp.* sont publiées avec le tag pool correspondant.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ticket-inventory.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaPools readReplicaPools(DataSourceProperties dataSourceProperties, ReadReplicaProperties replica,
+                                             ShardingProperties sharding, Environment environment,
+                                             MeterRegistry meterRegistry) {
+        if (sharding.isEnabled()) {
+            throw new IllegalStateException(
+                "ticket-inventory.read-replica et ticket-inventory.sharding ne peuvent pas être activés ensemble");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        HikariDataSource secondary = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.getUrl())
+            .username(replica.getUsername())
+            .password(replica.getPassword())
+            .build();
+        secondary.setPoolName("replica");
+        secondary.setMaximumPoolSize(replica.getMaximumPoolSize());
+        secondary.setMinimumIdle(replica.getMinimumIdle());
+        secondary.setReadOnly(true);
+        secondary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReadReplicaPools(primary, secondary);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaPools pools, ReadReplicaProperties replica,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(pools.primary(), pools.replica(), replica, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource readWriteDataSource(ReadReplicaPools pools, ReplicaLagMonitor monitor,
+                                          MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(pools.primary());
+        dataSource.setReadOnlyDataSource(
+            new ReadReplicaDataSource(pools.primary(), pools.replica(), monitor, meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<SessionTokenFilter> sessionTokenFilter() {
+        FilterRegistrationBean<SessionTokenFilter> registration = new FilterRegistrationBean<>(new SessionTokenFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    /**
+     * Pools du primaire et du réplica, hors du contexte en tant que DataSource (ni enveloppés
+     * par l'instrumentation SQL, ni candidats à l'injection); fermés à l'arrêt.
+     */
+    public record ReadReplicaPools(HikariDataSource primary, HikariDataSource replica) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            replica.close();
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du routage des transactions en lecture seule vers un réplica.
+ * Le pool du primaire reste configuré par spring.datasource.* et spring.datasource.hikari.*.
+ * Préfixe: ticket-inventory.read-replica
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.read-replica")
+@Validated
+public class ReadReplicaProperties {
+
+    /**
+     * Active le routage: sans réplica, toutes les transactions vont au primaire.
+     */
+    private boolean enabled = false;
+
+    /**
+     * URL JDBC du réplica.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Taille du pool du réplica, dimensionné indépendamment de celui du primaire.
+     */
+    @Min(1)
+    private int maximumPoolSize = 10;
+
+    @Min(0)
+    private int minimumIdle = 2;
+
+    /**
+     * Retard maximal toléré: au-delà, les lectures retournent au primaire jusqu'à ce que le
+     * réplica rattrape. Doit dépasser lag-check-interval-ms.
+     */
+    @Min(1)
+    private long maxLagMs = 2000;
+
+    /**
+     * Intervalle d'écriture du battement sur le primaire et de sa relecture sur le réplica.
+     */
+    @Min(50)
+    private long lagCheckIntervalMs = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public void setMinimumIdle(int minimumIdle) {
+        this.minimumIdle = minimumIdle;
+    }
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    public void setMaxLagMs(long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+}
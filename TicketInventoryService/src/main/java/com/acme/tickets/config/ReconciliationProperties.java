@@ -0,0 +1,86 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriétés du rapprochement des compteurs {@code inventory.reserved} avec les réservations.
+ * Préfixe: ticket-inventory.reconciliation
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.reconciliation")
+@Validated
+public class ReconciliationProperties {
+
+    /**
+     * Active le rapprochement planifié. L'endpoint d'administration reste disponible.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Expression cron du rapprochement planifié.
+     */
+    private String cron = "0 45 * * * *";
+
+    /**
+     * Inventaires comparés par lot: chaque lot est une plage d'eventId agrégée en une requête
+     * GROUP BY par table, dans sa propre transaction.
+     */
+    @Min(1)
+    @Max(10_000)
+    private int chunkSize = 1000;
+
+    /**
+     * Corrige les compteurs en écart lors du passage planifié (sinon: détection et métriques seules).
+     */
+    private boolean autoRepair = true;
+
+    /**
+     * Nombre maximum d'écarts détaillés dans le bilan (les totaux restent exacts).
+     */
+    @Min(0)
+    private int maxReportedDrifts = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isAutoRepair() {
+        return autoRepair;
+    }
+
+    public void setAutoRepair(boolean autoRepair) {
+        this.autoRepair = autoRepair;
+    }
+
+    public int getMaxReportedDrifts() {
+        return maxReportedDrifts;
+    }
+
+    public void setMaxReportedDrifts(int maxReportedDrifts) {
+        this.maxReportedDrifts = maxReportedDrifts;
+    }
+}
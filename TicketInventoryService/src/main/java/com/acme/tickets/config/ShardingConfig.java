@@ -0,0 +1,68 @@
+package com.acme.tickets.config;
+
+import com.acme.tickets.sharding.ShardRoutingDataSource;
+import com.acme.tickets.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partitionnement des données par eventId: remplace la DataSource auto-configurée par une
+ * DataSource de routage, un pool Hikari par shard.
+ * Activé via ticket-inventory.sharding.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ticket-inventory.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties, ShardingProperties sharding) {
+        List<DataSource> shards = new ArrayList<>();
+        HikariDataSource first = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        shards.add(configure(first, 0, sharding));
+        for (ShardingProperties.Shard shard : sharding.getShards()) {
+            HikariDataSource next = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .build();
+            shards.add(configure(next, shards.size(), sharding));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Crée le schéma des shards 1 à N-1 si demandé et aligne les séquences d'identifiants.
+     */
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(
+            EntityManagerFactory entityManagerFactory, DataSource dataSource, ShardingProperties sharding) {
+        return new ShardSchemaInitializer(entityManagerFactory, dataSource, sharding);
+    }
+
+    /**
+     * Nomme le pool du shard; sur MySQL, chaque connexion ne génère que les identifiants du shard
+     * (H2: voir {@link ShardSchemaInitializer}).
+     */
+    private static HikariDataSource configure(HikariDataSource dataSource, int shard, ShardingProperties sharding) {
+        dataSource.setPoolName("shard-" + shard);
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            dataSource.setConnectionInitSql("SET SESSION auto_increment_increment = " + sharding.getIdStride()
+                + ", auto_increment_offset = " + (shard + 1));
+        }
+        return dataSource;
+    }
+}
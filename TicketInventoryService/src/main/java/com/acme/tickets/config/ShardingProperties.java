@@ -0,0 +1,170 @@
+package com.acme.tickets.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriétés du partitionnement (sharding) des inventaires, réservations et tickets par eventId.
+ * Préfixe: ticket-inventory.sharding
+ * <p>
+ * Le shard 0 est la base {@code spring.datasource}; {@code shards} liste les bases suivantes
+ * (shard 1, 2...). Désactivé, toute l'application travaille sur le seul shard 0.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.sharding")
+@Validated
+public class ShardingProperties {
+
+    /**
+     * Active le routage des connexions par shard.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Bases des shards 1 à N-1.
+     */
+    @Valid
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Pas des identifiants générés (reservation, ticket): le shard k ne génère que des
+     * identifiants congrus à k+1 modulo ce pas, uniques entre shards et conservés lors d'un
+     * déplacement d'événement. Borne le nombre de shards.
+     */
+    @Min(1)
+    @Max(64)
+    private int idStride = 64;
+
+    /**
+     * Recrée au démarrage le schéma des shards 1 à N-1 à partir des entités (dev, tests),
+     * comme {@code ddl-auto=create} le fait pour le shard 0.
+     */
+    private boolean initializeSchema = false;
+
+    /**
+     * Intervalle de relecture du répertoire des événements déplacés (autres instances).
+     */
+    @Min(100)
+    private long directoryRefreshMs = 30_000;
+
+    /**
+     * Attente maximale de la fin des opérations en cours sur un événement avant son déplacement.
+     */
+    @Min(0)
+    private long drainTimeoutMs = 5_000;
+
+    /**
+     * Lignes copiées par lot lors du déplacement d'un événement.
+     */
+    @Min(1)
+    @Max(10_000)
+    private int copyBatchSize = 1_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public int getIdStride() {
+        return idStride;
+    }
+
+    public void setIdStride(int idStride) {
+        this.idStride = idStride;
+    }
+
+    public boolean isInitializeSchema() {
+        return initializeSchema;
+    }
+
+    public void setInitializeSchema(boolean initializeSchema) {
+        this.initializeSchema = initializeSchema;
+    }
+
+    public long getDirectoryRefreshMs() {
+        return directoryRefreshMs;
+    }
+
+    public void setDirectoryRefreshMs(long directoryRefreshMs) {
+        this.directoryRefreshMs = directoryRefreshMs;
+    }
+
+    public long getDrainTimeoutMs() {
+        return drainTimeoutMs;
+    }
+
+    public void setDrainTimeoutMs(long drainTimeoutMs) {
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
+
+    public int getCopyBatchSize() {
+        return copyBatchSize;
+    }
+
+    public void setCopyBatchSize(int copyBatchSize) {
+        this.copyBatchSize = copyBatchSize;
+    }
+
+    /**
+     * Nombre de shards effectif: 1 tant que le partitionnement est désactivé.
+     */
+    public int shardCount() {
+        return enabled ? 1 + shards.size() : 1;
+    }
+
+    /**
+     * Connexion à la base d'un shard.
+     */
+    public static class Shard {
+
+        @NotBlank
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.acme.tickets.config;
+
+import com.acme.tickets.observability.SlowQueryExplainer;
+import com.acme.tickets.observability.SqlInstrumentationListener;
+import com.acme.tickets.observability.SqlStatementCountFilter;
+import com.acme.tickets.observability.SqlStatementCountingAdvice;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.aopalliance.aop.Advice;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+/**
+ * Instrumentation SQL: enveloppe les DataSource avec datasource-proxy et ouvre une
+ * portée de comptage par requête HTTP et par message RabbitMQ.
+ * Désactivable via ticket-inventory.sql.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ticket-inventory.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    /**
+     * Enveloppe chaque DataSource dans un proxy qui notifie {@link SqlInstrumentationListener}.
+     * Déclaré static pour ne pas forcer l'initialisation anticipée de cette configuration.
+     */
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationDataSourcePostProcessor(
+            ObjectProvider<SqlInstrumentationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    SqlInstrumentationProperties props = properties.getObject();
+                    SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, props);
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlInstrumentationListener(props, explainer))
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Ajoute l'advice de comptage à la chaîne des conteneurs RabbitMQ (sans écraser l'existante).
+     */
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationRabbitPostProcessor(
+            ObjectProvider<SqlInstrumentationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                    Advice[] existing = factory.getAdviceChain() != null ? factory.getAdviceChain() : new Advice[0];
+                    Advice[] chain = Arrays.copyOf(existing, existing.length + 1);
+                    chain[existing.length] = new SqlStatementCountingAdvice(properties.getObject());
+                    factory.setAdviceChain(chain);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(
+            SqlInstrumentationProperties properties) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+            new FilterRegistrationBean<>(new SqlStatementCountFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
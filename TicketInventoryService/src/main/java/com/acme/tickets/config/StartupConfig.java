@@ -0,0 +1,146 @@
+package com.acme.tickets.config;
+
+import com.acme.tickets.domain.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.Lifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.config.BootstrapMode;
+
+import java.util.List;
+
+/**
+ * Démarrage rapide: initialisation paresseuse des beans hors chemin chaud, amorçage d'Hibernate
+ * en parallèle et consommateurs RabbitMQ démarrés après la disponibilité (voir
+ * {@link StartupProperties}). Les repositories JPA sont déclarés ici, limités à leur package
+ * (les repositories R2DBC vivent sous {@code com.acme.tickets.reactive}).
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    private static final String PREFIX = "ticket-inventory.startup";
+
+    /**
+     * Marque paresseuses les définitions dont la classe, le type retourné ou la configuration
+     * déclarante commence par un préfixe de {@code lazy-bean-prefixes}. Déclaré static: il
+     * s'exécute avant toute création de bean, les préfixes sont donc lus dans l'environnement.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonHotBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+            .bind(PREFIX + ".lazy-bean-prefixes", Bindable.listOf(String.class))
+            .orElse(List.of())
+            .stream()
+            .filter(prefix -> !prefix.isBlank())
+            .toList();
+        return beanFactory -> {
+            if (prefixes.isEmpty()) {
+                return;
+            }
+            int lazy = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (!definition.isLazyInit() && matches(definition, prefixes)) {
+                    definition.setLazyInit(true);
+                    lazy++;
+                }
+            }
+            logger.info("Démarrage rapide: {} beans initialisés à leur premier usage ({})", lazy, prefixes);
+        };
+    }
+
+    private static boolean matches(BeanDefinition definition, List<String> prefixes) {
+        String beanClass = definition.getBeanClassName();
+        MethodMetadata factoryMethod = definition instanceof AnnotatedBeanDefinition annotated
+            ? annotated.getFactoryMethodMetadata()
+            : null;
+        for (String prefix : prefixes) {
+            if (beanClass != null && beanClass.startsWith(prefix)) {
+                return true;
+            }
+            if (factoryMethod != null && (factoryMethod.getDeclaringClassName().startsWith(prefix)
+                    || factoryMethod.getReturnTypeName().startsWith(prefix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Repositories initialisés avec le contexte (par défaut).
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = PREFIX, name = "deferred-jpa", havingValue = "false", matchIfMissing = true)
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+    static class EagerJpaRepositories {
+    }
+
+    /**
+     * Hibernate amorcé sur un thread dédié; les repositories sont des proxys initialisés à la
+     * fin du rafraîchissement, un bean qui en reçoit un n'attend donc pas Hibernate.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = PREFIX, name = "deferred-jpa", havingValue = "true")
+    @EnableJpaRepositories(basePackageClasses = InventoryRepository.class, bootstrapMode = BootstrapMode.DEFERRED)
+    static class DeferredJpaRepositories {
+
+        @Bean
+        public EntityManagerFactoryBuilderCustomizer jpaBootstrapExecutor() {
+            return builder -> builder.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+        }
+    }
+
+    /**
+     * Conteneurs RabbitMQ démarrés après l'ApplicationReadyEvent, sur un thread à part: un broker
+     * lent à répondre ne retarde plus la disponibilité du service.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = PREFIX, name = "deferred-amqp", havingValue = "true")
+    static class DeferredAmqp {
+
+        @Bean
+        public static BeanPostProcessor deferredAmqpContainerFactory() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                        factory.setAutoStartup(false);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        public ApplicationListener<ApplicationReadyEvent> deferredAmqpStart(RabbitListenerEndpointRegistry registry) {
+            return event -> {
+                Thread starter = new Thread(() -> {
+                    registry.getListenerContainers().forEach(Lifecycle::start);
+                    logger.info("Démarrage rapide: {} consommateurs RabbitMQ démarrés",
+                        registry.getListenerContainers().size());
+                }, "amqp-deferred-start");
+                starter.setDaemon(true);
+                starter.start();
+            };
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.acme.tickets.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propriétés du démarrage rapide: ce qui peut attendre la première requête (documentation
+ * OpenAPI, consommateurs RabbitMQ) ou se faire en parallèle du reste du contexte (Hibernate).
+ * Le profil Spring {@code fast-startup} les active ensemble.
+ * Préfixe: ticket-inventory.startup
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ticket-inventory.startup")
+@Validated
+public class StartupProperties {
+
+    /**
+     * Beans initialisés à leur premier usage: préfixes de la classe du bean ou de la
+     * configuration qui le déclare (ex. {@code org.springdoc}). Vide: tout est initialisé au
+     * démarrage.
+     */
+    private List<String> lazyBeanPrefixes = new ArrayList<>();
+
+    /**
+     * Hibernate démarre sur un thread dédié pendant la création des autres beans; les
+     * repositories sont des proxys initialisés à la fin du rafraîchissement du contexte.
+     * Sans effet utile si un bean lit la base pendant le démarrage (sharding).
+     */
+    private boolean deferredJpa = false;
+
+    /**
+     * Les conteneurs RabbitMQ (connexion, déclarations des queues) démarrent après
+     * l'ApplicationReadyEvent au lieu de retarder la disponibilité du service.
+     */
+    private boolean deferredAmqp = false;
+
+    public List<String> getLazyBeanPrefixes() {
+        return lazyBeanPrefixes;
+    }
+
+    public void setLazyBeanPrefixes(List<String> lazyBeanPrefixes) {
+        this.lazyBeanPrefixes = lazyBeanPrefixes;
+    }
+
+    public boolean isDeferredJpa() {
+        return deferredJpa;
+    }
+
+    public void setDeferredJpa(boolean deferredJpa) {
+        this.deferredJpa = deferredJpa;
+    }
+
+    public boolean isDeferredAmqp() {
+        return deferredAmqp;
+    }
+
+    public void setDeferredAmqp(boolean deferredAmqp) {
+        this.deferredAmqp = deferredAmqp;
+    }
+}
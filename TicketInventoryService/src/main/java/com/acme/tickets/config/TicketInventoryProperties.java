@@ -31,6 +31,13 @@ public class TicketInventoryProperties {
     @Max(100)
     private int maxTicketsPerReservation = 10;
 
+    /**
+     * Nombre maximum de billets détenus par un utilisateur pour un événement, toutes
+     * réservations PENDING et CONFIRMED cumulées. 0 désactive le quota.
+     */
+    @Min(0)
+    private int maxTicketsPerUserEvent = 10;
+
     /**
      * Expression cron pour le job de nettoyage des réservations expirées.
      */
@@ -60,6 +67,14 @@ public class TicketInventoryProperties {
         this.maxTicketsPerReservation = maxTicketsPerReservation;
     }
 
+    public int getMaxTicketsPerUserEvent() {
+        return maxTicketsPerUserEvent;
+    }
+
+    public void setMaxTicketsPerUserEvent(int maxTicketsPerUserEvent) {
+        this.maxTicketsPerUserEvent = maxTicketsPerUserEvent;
+    }
+
     public String getCleanupCron() {
         return cleanupCron;
     }
@@ -0,0 +1,134 @@
+package com.acme.tickets.consensus;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Réseau simulé en mémoire: appels synchrones directs entre répliques, avec pannes et
+ * partitions. Les répliques en panne ou dans des partitions différentes ne s'atteignent pas;
+ * un redémarrage enregistre une nouvelle incarnation sur le même {@link RaftStorage}.
+ */
+public class InProcessRaftNetwork {
+
+    private final Map<String, RaftNode> nodes = new ConcurrentHashMap<>();
+    private final Set<String> down = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, Integer> sides = Map.of();
+
+    /**
+     * Transport des messages émis par {@code from}.
+     */
+    public RaftTransport transportFor(String from) {
+        return new RaftTransport() {
+            @Override
+            public VoteReply requestVote(String target, VoteRequest request) {
+                RaftNode node = reachable(from, target);
+                return node == null ? null : node.handleRequestVote(request);
+            }
+
+            @Override
+            public AppendReply appendEntries(String target, AppendRequest request) {
+                RaftNode node = reachable(from, target);
+                return node == null ? null : node.handleAppendEntries(request);
+            }
+        };
+    }
+
+    /**
+     * Enregistre une réplique (ou sa nouvelle incarnation après redémarrage).
+     */
+    public void register(RaftNode node) {
+        nodes.put(node.id(), node);
+        down.remove(node.id());
+    }
+
+    /**
+     * Arrête brutalement la réplique: plus aucun message n'en part ni n'y arrive.
+     */
+    public void crash(String nodeId) {
+        down.add(nodeId);
+    }
+
+    public boolean isUp(String nodeId) {
+        return nodes.containsKey(nodeId) && !down.contains(nodeId);
+    }
+
+    /**
+     * Coupe le réseau en groupes isolés les uns des autres; les répliques non citées forment
+     * un dernier groupe.
+     */
+    @SafeVarargs
+    public final void partition(Collection<String>... groups) {
+        Map<String, Integer> next = new HashMap<>();
+        for (int i = 0; i < groups.length; i++) {
+            for (String nodeId : groups[i]) {
+                next.put(nodeId, i);
+            }
+        }
+        sides = Map.copyOf(next);
+    }
+
+    public void heal() {
+        sides = Map.of();
+    }
+
+    /**
+     * Fait avancer d'un pas l'horloge de chaque réplique en marche, par identifiant croissant.
+     */
+    public void tick() {
+        live().forEach(RaftNode::tick);
+    }
+
+    public void tick(int steps) {
+        for (int i = 0; i < steps; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Leader en marche du mandat le plus élevé.
+     */
+    public Optional<RaftNode> leader() {
+        return live().stream()
+            .filter(RaftNode::isLeader)
+            .max(Comparator.comparingLong(RaftNode::currentTerm));
+    }
+
+    /**
+     * Répliques en marche, par identifiant croissant.
+     */
+    public List<RaftNode> live() {
+        return nodes.values().stream()
+            .filter(node -> !down.contains(node.id()))
+            .sorted(Comparator.comparing(RaftNode::id))
+            .toList();
+    }
+
+    public RaftNode node(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    private RaftNode reachable(String from, String to) {
+        if (down.contains(from) || down.contains(to)) {
+            return null;
+        }
+        Map<String, Integer> current = sides;
+        if (!current.isEmpty() && !current.getOrDefault(from, -1).equals(current.getOrDefault(to, -1))) {
+            return null;
+        }
+        return nodes.get(to);
+    }
+
+    /**
+     * Identifiants de toutes les répliques enregistrées.
+     */
+    public Set<String> nodeIds() {
+        return new HashSet<>(nodes.keySet());
+    }
+}
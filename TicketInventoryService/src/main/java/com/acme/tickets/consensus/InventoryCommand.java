@@ -0,0 +1,33 @@
+package com.acme.tickets.consensus;
+
+/**
+ * Commande du journal répliqué: chaque réplique applique les mêmes commandes dans le même ordre
+ * et obtient donc le même état et les mêmes décisions (stock insuffisant compris).
+ */
+public sealed interface InventoryCommand {
+
+    /**
+     * Entrée sans effet ajoutée par un nouveau leader: elle valide, par sa seule majorité, les
+     * entrées des mandats précédents.
+     */
+    record Noop() implements InventoryCommand {
+    }
+
+    /**
+     * Crée l'inventaire de l'événement s'il n'existe pas encore.
+     */
+    record Initialize(long eventId, int total) implements InventoryCommand {
+    }
+
+    /**
+     * Réserve la quantité; la retenue prend pour identifiant l'index de l'entrée.
+     */
+    record Reserve(long eventId, int quantity) implements InventoryCommand {
+    }
+
+    /**
+     * Libère une retenue (identifiant = index de son entrée Reserve).
+     */
+    record Release(long holdId) implements InventoryCommand {
+    }
+}
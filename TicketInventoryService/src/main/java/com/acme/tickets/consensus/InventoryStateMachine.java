@@ -0,0 +1,81 @@
+package com.acme.tickets.consensus;
+
+import com.acme.tickets.dto.AvailabilityResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compteurs d'inventaire et retenues, reconstruits en appliquant le journal validé. Mêmes règles
+ * que {@link com.acme.tickets.domain.entity.Inventory}: une réservation au-delà du disponible
+ * est refusée, une libération ne descend pas sous zéro. Non synchronisée: appliquée sous le
+ * moniteur de sa réplique.
+ */
+class InventoryStateMachine {
+
+    private final Map<Long, Counters> events = new HashMap<>();
+    private final Map<Long, Hold> holds = new HashMap<>();
+
+    /**
+     * @return La décision, identique sur toutes les répliques
+     */
+    Outcome apply(long index, InventoryCommand command) {
+        if (command instanceof InventoryCommand.Initialize initialize) {
+            events.putIfAbsent(initialize.eventId(), new Counters(initialize.total()));
+            return Outcome.ACCEPTED;
+        }
+        if (command instanceof InventoryCommand.Reserve reserve) {
+            Counters counters = events.get(reserve.eventId());
+            int available = counters == null ? 0 : counters.total - counters.reserved;
+            if (counters == null || reserve.quantity() > available) {
+                return new Outcome(false, available);
+            }
+            counters.reserved += reserve.quantity();
+            holds.put(index, new Hold(reserve.eventId(), reserve.quantity()));
+            return new Outcome(true, available - reserve.quantity());
+        }
+        if (command instanceof InventoryCommand.Release release) {
+            Hold hold = holds.remove(release.holdId());
+            if (hold == null) {
+                return new Outcome(false, 0);
+            }
+            Counters counters = events.get(hold.eventId());
+            counters.reserved = Math.max(counters.reserved - hold.quantity(), 0);
+            return new Outcome(true, counters.total - counters.reserved);
+        }
+        return Outcome.ACCEPTED;
+    }
+
+    Optional<AvailabilityResponse> availability(long eventId) {
+        Counters counters = events.get(eventId);
+        return counters == null
+            ? Optional.empty()
+            : Optional.of(new AvailabilityResponse(eventId, counters.total, counters.total - counters.reserved));
+    }
+
+    boolean holds(long holdId) {
+        return holds.containsKey(holdId);
+    }
+
+    /**
+     * @param accepted false si la réservation dépasse le disponible ou si la retenue est inconnue
+     * @param available Disponible de l'événement après la commande
+     */
+    record Outcome(boolean accepted, int available) {
+        static final Outcome ACCEPTED = new Outcome(true, 0);
+    }
+
+    private record Hold(long eventId, int quantity) {
+    }
+
+    private static final class Counters {
+
+        private final int total;
+        private int reserved;
+
+        private Counters(int total) {
+            this.total = total;
+        }
+    }
+}
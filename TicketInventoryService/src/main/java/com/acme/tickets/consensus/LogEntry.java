@@ -0,0 +1,10 @@
+package com.acme.tickets.consensus;
+
+/**
+ * Entrée du journal répliqué.
+ *
+ * @param term Mandat du leader qui l'a ajoutée
+ * @param command Commande à appliquer une fois l'entrée validée
+ */
+public record LogEntry(long term, InventoryCommand command) {
+}
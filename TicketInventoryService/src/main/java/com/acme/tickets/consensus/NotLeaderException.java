@@ -0,0 +1,23 @@
+package com.acme.tickets.consensus;
+
+/**
+ * Écriture adressée à une réplique qui n'est pas leader. Porte le leader connu, s'il y en a un,
+ * pour que l'appelant s'y adresse.
+ */
+public class NotLeaderException extends RuntimeException {
+
+    private final String leaderId;
+
+    public NotLeaderException(String nodeId, String leaderId) {
+        super("La réplique " + nodeId + " n'est pas leader"
+            + (leaderId == null ? " (aucun leader connu)" : " (leader: " + leaderId + ")"));
+        this.leaderId = leaderId;
+    }
+
+    /**
+     * @return Le leader connu de la réplique, null si aucun
+     */
+    public String getLeaderId() {
+        return leaderId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.acme.tickets.consensus;
+
+/**
+ * Le leader n'a pas obtenu la réplication de l'entrée sur une majorité (partition, pannes) ou a
+ * perdu son mandat entre-temps. L'issue est inconnue: l'entrée reste dans le journal et peut
+ * encore être validée par un leader ultérieur.
+ */
+public class QuorumUnavailableException extends RuntimeException {
+
+    private final long index;
+
+    public QuorumUnavailableException(String nodeId, long index) {
+        super("Entrée " + index + " de la réplique " + nodeId + " non validée par une majorité");
+        this.index = index;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+}
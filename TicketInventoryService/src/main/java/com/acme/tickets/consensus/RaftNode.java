@@ -0,0 +1,427 @@
+package com.acme.tickets.consensus;
+
+import com.acme.tickets.consensus.RaftTransport.AppendReply;
+import com.acme.tickets.consensus.RaftTransport.AppendRequest;
+import com.acme.tickets.consensus.RaftTransport.VoteReply;
+import com.acme.tickets.consensus.RaftTransport.VoteRequest;
+import com.acme.tickets.dto.AvailabilityResponse;
+import com.acme.tickets.exception.InsufficientStockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Réplique d'un inventaire en mémoire répliqué par journal, sur le modèle de Raft: élection
+ * d'un leader par mandat, ajout d'entrées par le seul leader, validation à la majorité.
+ * <p>
+ * Une écriture (réservation, libération) n'est acquittée qu'une fois son entrée copiée sur une
+ * majorité de répliques et appliquée: une retenue acquittée survit à la panne de toute minorité,
+ * leader compris. Le vote n'est accordé qu'à un candidat dont le journal est au moins aussi
+ * récent: le leader élu détient toutes les entrées validées.
+ * <p>
+ * Les suiveurs servent la disponibilité depuis leur état appliqué, en retard sur le leader
+ * d'au plus un battement (ils apprennent l'index validé au message suivant).
+ * <p>
+ * Le temps est discret ({@link #tick()}): délai d'élection tiré entre {@code electionTicks} et
+ * {@code 2 * electionTicks - 1}, battement du leader tous les {@code heartbeatTicks}. Les
+ * messages sont envoyés hors du moniteur de la réplique, les réponses traitées sous moniteur
+ * après vérification que le mandat n'a pas changé.
+ */
+public class RaftNode {
+
+    private static final Logger logger = LoggerFactory.getLogger(RaftNode.class);
+
+    /** Entrées par message d'ajout. */
+    private static final int MAX_BATCH = 256;
+
+    /** Allers-retours d'ajout vers un suiveur par envoi (recul sur conflit, lots successifs). */
+    private static final int MAX_ROUNDS = 64;
+
+    enum Role { FOLLOWER, CANDIDATE, LEADER }
+
+    private final String id;
+    private final List<String> peers;
+    private final RaftStorage storage;
+    private final RaftTransport transport;
+    private final Random random;
+    private final int electionTicks;
+    private final int heartbeatTicks;
+
+    // État volatil, perdu à la panne; gardé par le moniteur de la réplique
+    private final InventoryStateMachine stateMachine = new InventoryStateMachine();
+    private final Map<String, Long> nextIndex = new HashMap<>();
+    private final Map<String, Long> matchIndex = new HashMap<>();
+    private final Set<Long> pending = new HashSet<>();
+    private final Map<Long, InventoryStateMachine.Outcome> outcomes = new HashMap<>();
+    private Role role = Role.FOLLOWER;
+    private String leaderId;
+    private long commitIndex;
+    private long lastApplied;
+    private int electionElapsed;
+    private int electionTimeout;
+    private int heartbeatElapsed;
+
+    /**
+     * @param peers Les autres répliques du groupe
+     * @param seed Graine du délai d'élection (simulations reproductibles)
+     */
+    public RaftNode(String id, List<String> peers, RaftStorage storage, RaftTransport transport,
+                    long seed, int electionTicks, int heartbeatTicks) {
+        this.id = id;
+        this.peers = List.copyOf(peers);
+        this.storage = storage;
+        this.transport = transport;
+        this.random = new Random(seed);
+        this.electionTicks = electionTicks;
+        this.heartbeatTicks = heartbeatTicks;
+        resetElectionTimer();
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public synchronized boolean isLeader() {
+        return role == Role.LEADER;
+    }
+
+    public synchronized long currentTerm() {
+        return storage.currentTerm();
+    }
+
+    /**
+     * @return Le leader connu, null si aucun
+     */
+    public synchronized String leaderId() {
+        return leaderId;
+    }
+
+    public synchronized long commitIndex() {
+        return commitIndex;
+    }
+
+    public synchronized long lastApplied() {
+        return lastApplied;
+    }
+
+    /**
+     * Disponibilité selon l'état appliqué de la réplique (leader ou suiveur).
+     *
+     * @return La disponibilité, vide si l'événement n'est pas initialisé sur cette réplique
+     */
+    public synchronized Optional<AvailabilityResponse> availability(long eventId) {
+        return stateMachine.availability(eventId);
+    }
+
+    /**
+     * Vrai si la retenue est active dans l'état appliqué de la réplique.
+     */
+    public synchronized boolean holds(long holdId) {
+        return stateMachine.holds(holdId);
+    }
+
+    /**
+     * Crée l'inventaire de l'événement s'il n'existe pas encore.
+     *
+     * @throws NotLeaderException Si la réplique n'est pas leader
+     * @throws QuorumUnavailableException Si l'entrée n'est pas validée par une majorité
+     */
+    public void initialize(long eventId, int total) {
+        submit(new InventoryCommand.Initialize(eventId, total));
+    }
+
+    /**
+     * Réserve la quantité, acquittée après réplication sur une majorité.
+     *
+     * @return L'identifiant de la retenue
+     * @throws InsufficientStockException Si le disponible validé ne suffit pas
+     * @throws NotLeaderException Si la réplique n'est pas leader
+     * @throws QuorumUnavailableException Si l'entrée n'est pas validée par une majorité
+     */
+    public long reserve(long eventId, int quantity) {
+        Submitted submitted = submit(new InventoryCommand.Reserve(eventId, quantity));
+        if (!submitted.outcome().accepted()) {
+            throw new InsufficientStockException(eventId, quantity, submitted.outcome().available());
+        }
+        return submitted.index();
+    }
+
+    /**
+     * Libère une retenue.
+     *
+     * @return false si la retenue était inconnue ou déjà libérée
+     */
+    public boolean release(long holdId) {
+        return submit(new InventoryCommand.Release(holdId)).outcome().accepted();
+    }
+
+    /**
+     * Un pas d'horloge: élection si le leader s'est tu trop longtemps, battement si leader.
+     */
+    public void tick() {
+        boolean elect = false;
+        boolean heartbeat = false;
+        synchronized (this) {
+            if (role == Role.LEADER) {
+                if (++heartbeatElapsed >= heartbeatTicks) {
+                    heartbeatElapsed = 0;
+                    heartbeat = true;
+                }
+            } else if (++electionElapsed >= electionTimeout) {
+                elect = true;
+            }
+        }
+        if (elect) {
+            startElection();
+        } else if (heartbeat) {
+            replicateAll();
+        }
+    }
+
+    synchronized VoteReply handleRequestVote(VoteRequest request) {
+        if (request.term() < storage.currentTerm()) {
+            return new VoteReply(storage.currentTerm(), false);
+        }
+        if (request.term() > storage.currentTerm()) {
+            stepDown(request.term());
+        }
+        long lastIndex = storage.lastIndex();
+        long lastTerm = storage.termAt(lastIndex);
+        boolean upToDate = request.lastLogTerm() > lastTerm
+            || (request.lastLogTerm() == lastTerm && request.lastLogIndex() >= lastIndex);
+        String votedFor = storage.votedFor();
+        if (upToDate && (votedFor == null || votedFor.equals(request.candidateId()))) {
+            storage.vote(request.candidateId());
+            resetElectionTimer();
+            return new VoteReply(storage.currentTerm(), true);
+        }
+        return new VoteReply(storage.currentTerm(), false);
+    }
+
+    synchronized AppendReply handleAppendEntries(AppendRequest request) {
+        if (request.term() < storage.currentTerm()) {
+            return new AppendReply(storage.currentTerm(), false, storage.lastIndex());
+        }
+        if (request.term() > storage.currentTerm() || role != Role.FOLLOWER) {
+            stepDown(request.term());
+        }
+        leaderId = request.leaderId();
+        resetElectionTimer();
+
+        long prev = request.prevLogIndex();
+        if (prev > storage.lastIndex()) {
+            return new AppendReply(storage.currentTerm(), false, storage.lastIndex());
+        }
+        if (storage.termAt(prev) != request.prevLogTerm()) {
+            return new AppendReply(storage.currentTerm(), false, prev - 1);
+        }
+        long index = prev;
+        for (LogEntry entry : request.entries()) {
+            index++;
+            if (index <= storage.lastIndex()) {
+                if (storage.termAt(index) == entry.term()) {
+                    continue;
+                }
+                // Entrées non validées d'un ancien leader: jamais sous l'index validé
+                storage.truncateFrom(index);
+            }
+            storage.append(entry);
+        }
+        if (request.leaderCommit() > commitIndex) {
+            commitIndex = Math.min(request.leaderCommit(), index);
+            applyCommitted();
+        }
+        return new AppendReply(storage.currentTerm(), true, storage.lastIndex());
+    }
+
+    /**
+     * Ajoute la commande au journal du leader, la réplique puis attend sa validation.
+     */
+    private Submitted submit(InventoryCommand command) {
+        long index;
+        long term;
+        synchronized (this) {
+            if (role != Role.LEADER) {
+                throw new NotLeaderException(id, leaderId);
+            }
+            term = storage.currentTerm();
+            index = storage.append(new LogEntry(term, command));
+            pending.add(index);
+            advanceCommitIndex();
+        }
+        replicateAll();
+        synchronized (this) {
+            pending.remove(index);
+            InventoryStateMachine.Outcome outcome = outcomes.remove(index);
+            if (outcome != null && storage.termAt(index) == term) {
+                return new Submitted(index, outcome);
+            }
+            throw new QuorumUnavailableException(id, index);
+        }
+    }
+
+    private void startElection() {
+        VoteRequest request;
+        synchronized (this) {
+            role = Role.CANDIDATE;
+            leaderId = null;
+            storage.setTerm(storage.currentTerm() + 1, id);
+            resetElectionTimer();
+            long lastIndex = storage.lastIndex();
+            request = new VoteRequest(storage.currentTerm(), id, lastIndex, storage.termAt(lastIndex));
+            logger.debug("Réplique {} candidate au mandat {}", id, request.term());
+        }
+        int votes = 1;
+        for (String peer : peers) {
+            VoteReply reply = transport.requestVote(peer, request);
+            if (reply == null) {
+                continue;
+            }
+            synchronized (this) {
+                if (reply.term() > storage.currentTerm()) {
+                    stepDown(reply.term());
+                    return;
+                }
+            }
+            votes += reply.granted() ? 1 : 0;
+        }
+        boolean elected;
+        synchronized (this) {
+            elected = role == Role.CANDIDATE && storage.currentTerm() == request.term() && isMajority(votes);
+            if (elected) {
+                becomeLeader();
+            }
+        }
+        if (elected) {
+            replicateAll();
+        }
+    }
+
+    /**
+     * Nouveau leader: suiveurs supposés à jour (reculés sur refus), entrée vide du mandat pour
+     * valider au plus vite les entrées héritées.
+     */
+    private void becomeLeader() {
+        role = Role.LEADER;
+        leaderId = id;
+        heartbeatElapsed = 0;
+        long next = storage.lastIndex() + 1;
+        for (String peer : peers) {
+            nextIndex.put(peer, next);
+            matchIndex.put(peer, 0L);
+        }
+        storage.append(new LogEntry(storage.currentTerm(), new InventoryCommand.Noop()));
+        advanceCommitIndex();
+        logger.info("Réplique {} élue leader au mandat {}", id, storage.currentTerm());
+    }
+
+    private void replicateAll() {
+        for (String peer : peers) {
+            replicateTo(peer);
+        }
+        synchronized (this) {
+            if (role == Role.LEADER) {
+                advanceCommitIndex();
+            }
+        }
+    }
+
+    /**
+     * Envoie au suiveur les entrées qui lui manquent (battement si aucune).
+     */
+    private void replicateTo(String peer) {
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            AppendRequest request;
+            synchronized (this) {
+                if (role != Role.LEADER) {
+                    return;
+                }
+                long next = nextIndex.get(peer);
+                long prev = next - 1;
+                request = new AppendRequest(storage.currentTerm(), id, prev, storage.termAt(prev),
+                    storage.entriesFrom(next, MAX_BATCH), commitIndex);
+            }
+            AppendReply reply = transport.appendEntries(peer, request);
+            if (reply == null) {
+                return;
+            }
+            synchronized (this) {
+                if (reply.term() > storage.currentTerm()) {
+                    stepDown(reply.term());
+                    return;
+                }
+                if (role != Role.LEADER || storage.currentTerm() != request.term()) {
+                    return;
+                }
+                if (reply.success()) {
+                    long match = request.prevLogIndex() + request.entries().size();
+                    matchIndex.merge(peer, match, Math::max);
+                    nextIndex.put(peer, Math.max(nextIndex.get(peer), match + 1));
+                    if (match >= storage.lastIndex()) {
+                        return;
+                    }
+                } else {
+                    long hint = Math.min(request.prevLogIndex() - 1, reply.lastLogIndex());
+                    nextIndex.put(peer, Math.max(1, hint + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Valide la dernière entrée du mandat courant présente sur une majorité (les entrées des
+     * mandats précédents sont validées avec elle), puis l'applique.
+     */
+    private void advanceCommitIndex() {
+        long term = storage.currentTerm();
+        for (long n = storage.lastIndex(); n > commitIndex && storage.termAt(n) == term; n--) {
+            long index = n;
+            int replicas = 1 + (int) matchIndex.values().stream().filter(match -> match >= index).count();
+            if (isMajority(replicas)) {
+                commitIndex = n;
+                break;
+            }
+        }
+        applyCommitted();
+    }
+
+    private void applyCommitted() {
+        while (lastApplied < commitIndex) {
+            lastApplied++;
+            InventoryStateMachine.Outcome outcome = stateMachine.apply(lastApplied, storage.entry(lastApplied).command());
+            if (pending.contains(lastApplied)) {
+                outcomes.put(lastApplied, outcome);
+            }
+        }
+    }
+
+    private void stepDown(long term) {
+        if (term > storage.currentTerm()) {
+            storage.setTerm(term, null);
+        }
+        if (role != Role.FOLLOWER) {
+            logger.info("Réplique {} redevient suiveuse au mandat {}", id, storage.currentTerm());
+        }
+        role = Role.FOLLOWER;
+        resetElectionTimer();
+    }
+
+    private boolean isMajority(int replicas) {
+        return replicas * 2 > peers.size() + 1;
+    }
+
+    private void resetElectionTimer() {
+        electionElapsed = 0;
+        electionTimeout = electionTicks + random.nextInt(electionTicks);
+    }
+
+    private record Submitted(long index, InventoryStateMachine.Outcome outcome) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.acme.tickets.consensus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * État durable d'une réplique: mandat courant, vote du mandat et journal (index à partir de 1).
+ * Il survit au redémarrage d'un {@link RaftNode}: la simulation le conserve d'une incarnation à
+ * l'autre comme le ferait un disque. Une implémentation persistante doit l'écrire (fsync) avant
+ * de répondre à un vote ou à un ajout d'entrées.
+ */
+public class RaftStorage {
+
+    private long currentTerm;
+    private String votedFor;
+    private final List<LogEntry> entries = new ArrayList<>();
+
+    public synchronized long currentTerm() {
+        return currentTerm;
+    }
+
+    public synchronized String votedFor() {
+        return votedFor;
+    }
+
+    /**
+     * Passe à un nouveau mandat, avec ou sans vote.
+     */
+    public synchronized void setTerm(long term, String votedFor) {
+        this.currentTerm = term;
+        this.votedFor = votedFor;
+    }
+
+    public synchronized void vote(String candidate) {
+        this.votedFor = candidate;
+    }
+
+    public synchronized long lastIndex() {
+        return entries.size();
+    }
+
+    /**
+     * @return Le mandat de l'entrée, 0 pour l'index 0 (avant la première entrée)
+     */
+    public synchronized long termAt(long index) {
+        return index == 0 ? 0 : entries.get((int) index - 1).term();
+    }
+
+    public synchronized LogEntry entry(long index) {
+        return entries.get((int) index - 1);
+    }
+
+    /**
+     * @return Au plus {@code max} entrées à partir de {@code from}
+     */
+    public synchronized List<LogEntry> entriesFrom(long from, int max) {
+        int start = (int) from - 1;
+        int end = Math.min(entries.size(), start + max);
+        return start >= end ? List.of() : List.copyOf(entries.subList(start, end));
+    }
+
+    /**
+     * @return L'index de l'entrée ajoutée
+     */
+    public synchronized long append(LogEntry entry) {
+        entries.add(entry);
+        return entries.size();
+    }
+
+    /**
+     * Supprime l'entrée {@code from} et les suivantes (entrées non validées d'un ancien leader).
+     */
+    public synchronized void truncateFrom(long from) {
+        entries.subList((int) from - 1, entries.size()).clear();
+    }
+}
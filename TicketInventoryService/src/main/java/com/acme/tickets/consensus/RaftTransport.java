@@ -0,0 +1,33 @@
+package com.acme.tickets.consensus;
+
+import java.util.List;
+
+/**
+ * Échanges entre répliques. Un appel renvoie null si la réplique cible est injoignable
+ * (panne, partition): l'appelant réessaiera au battement suivant.
+ */
+public interface RaftTransport {
+
+    VoteReply requestVote(String target, VoteRequest request);
+
+    AppendReply appendEntries(String target, AppendRequest request);
+
+    record VoteRequest(long term, String candidateId, long lastLogIndex, long lastLogTerm) {
+    }
+
+    record VoteReply(long term, boolean granted) {
+    }
+
+    /**
+     * Ajout d'entrées (vide: battement du leader).
+     */
+    record AppendRequest(
+        long term, String leaderId, long prevLogIndex, long prevLogTerm, List<LogEntry> entries, long leaderCommit) {
+    }
+
+    /**
+     * @param lastLogIndex Dernier index du suiveur: indice de recul du leader après un refus
+     */
+    record AppendReply(long term, boolean success, long lastLogIndex) {
+    }
+}
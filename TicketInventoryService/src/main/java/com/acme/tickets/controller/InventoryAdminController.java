@@ -0,0 +1,140 @@
+package com.acme.tickets.controller;
+
+import com.acme.tickets.dto.PrewarmItem;
+import com.acme.tickets.dto.PrewarmRequest;
+import com.acme.tickets.dto.PrewarmResponse;
+import com.acme.tickets.dto.ReconciliationResponse;
+import com.acme.tickets.dto.ShardMoveRequest;
+import com.acme.tickets.dto.ShardMoveResponse;
+import com.acme.tickets.service.InventoryPrewarmer;
+import com.acme.tickets.service.InventoryReconciler;
+import com.acme.tickets.sharding.ShardRebalancer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Contrôleur REST d'administration des inventaires.
+ */
+@RestController
+@RequestMapping("/tickets/admin/inventory")
+@Tag(name = "Administration", description = "Opérations d'exploitation sur les inventaires")
+public class InventoryAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryAdminController.class);
+
+    private final InventoryPrewarmer prewarmer;
+    private final ShardRebalancer rebalancer;
+    private final InventoryReconciler reconciler;
+
+    public InventoryAdminController(InventoryPrewarmer prewarmer, ShardRebalancer rebalancer,
+                                    InventoryReconciler reconciler) {
+        this.prewarmer = prewarmer;
+        this.rebalancer = rebalancer;
+        this.reconciler = reconciler;
+    }
+
+    /**
+     * Pré-chauffe les inventaires d'un lot d'événements avant l'ouverture des ventes.
+     * Idempotent: un inventaire existant n'est pas modifié.
+     *
+     * @param request Les identifiants des événements
+     * @return PrewarmResponse avec l'issue par événement
+     */
+    @PostMapping("/prewarm")
+    @Operation(
+        summary = "Pré-chauffage des inventaires",
+        description = "Crée les inventaires absents et recharge les métadonnées d'événement depuis " +
+                      "EventCatalog, pour que les premiers acheteurs ne paient pas l'initialisation.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Lot traité; l'issue de chaque événement est détaillée",
+                content = @Content(schema = @Schema(implementation = PrewarmResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Lot vide, trop grand ou identifiant invalide")
+        }
+    )
+    public ResponseEntity<PrewarmResponse> prewarm(@Valid @RequestBody PrewarmRequest request) {
+        logger.info("Pré-chauffage demandé pour {} événements", request.eventIds().size());
+
+        List<PrewarmItem> items = prewarmer.prewarm(request.eventIds());
+        return ResponseEntity.ok(new PrewarmResponse(items));
+    }
+
+    /**
+     * Déplace un événement (inventaire, réservations, archive, tickets) vers un autre shard.
+     * Les opérations sur l'événement sont suspendues (503) le temps de la copie.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @param request Le shard cible
+     * @return ShardMoveResponse avec le nombre de lignes copiées
+     */
+    @PostMapping("/{eventId}/move")
+    @Operation(
+        summary = "Déplacement d'un événement entre shards",
+        description = "Copie les données de l'événement vers le shard cible, bascule le routage puis " +
+                      "supprime les lignes du shard d'origine.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Événement déplacé",
+                content = @Content(schema = @Schema(implementation = ShardMoveResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Shard cible absent ou négatif"),
+            @ApiResponse(responseCode = "409", description = "Déplacement refusé (partitionnement désactivé, " +
+                "shard inconnu ou identique, paniers actifs, opérations en cours)")
+        }
+    )
+    public ResponseEntity<ShardMoveResponse> move(
+            @PathVariable Long eventId, @Valid @RequestBody ShardMoveRequest request) {
+        logger.info("Déplacement de l'événement {} vers le shard {} demandé", eventId, request.targetShard());
+
+        return ResponseEntity.ok(rebalancer.moveEvent(eventId, request.targetShard()));
+    }
+
+    /**
+     * Compare le compteur réservé de chaque inventaire aux réservations PENDING et aux tickets
+     * émis. Simple constat par défaut.
+     *
+     * @param repair true pour corriger les compteurs en écart (sous verrou de l'inventaire)
+     * @return ReconciliationResponse avec les totaux et le détail des écarts
+     */
+    @PostMapping("/reconcile")
+    @Operation(
+        summary = "Rapprochement des compteurs réservés",
+        description = "Agrège les réservations PENDING et les tickets par événement et les compare à " +
+                      "inventory.reserved. Avec repair=true, les écarts confirmés sous verrou sont corrigés.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Passage terminé",
+                content = @Content(schema = @Schema(implementation = ReconciliationResponse.class))
+            )
+        }
+    )
+    public ResponseEntity<ReconciliationResponse> reconcile(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        logger.info("Rapprochement des inventaires demandé (correction: {})", repair);
+
+        return ResponseEntity.ok(reconciler.reconcile(repair));
+    }
+}
@@ -1,7 +1,11 @@
 package com.acme.tickets.controller;
 
+import com.acme.tickets.domain.enums.ReservationStatus;
 import com.acme.tickets.dto.*;
-import com.acme.tickets.service.TicketInventoryService;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.service.AdaptiveConcurrencyLimiter;
+import com.acme.tickets.service.ReservationFacade;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,9 +19,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Contrôleur REST pour la gestion des tickets et réservations.
  * Orchestre les appels au service métier sans logique complexe (SRP).
+ * <p>
+ * reserve et confirm passent par la limite de concurrence adaptative avant la façade: délestés
+ * (503) au-delà du nombre d'appels simultanés que la latence observée autorise.
  */
 @RestController
 @RequestMapping("/tickets")
@@ -27,10 +36,12 @@ public class TicketController {
 
     private static final Logger logger = LoggerFactory.getLogger(TicketController.class);
     
-    private final TicketInventoryService ticketInventoryService;
+    private final ReservationFacade reservationFacade;
+    private final AdaptiveConcurrencyLimiter limiter;
 
-    public TicketController(TicketInventoryService ticketInventoryService) {
-        this.ticketInventoryService = ticketInventoryService;
+    public TicketController(ReservationFacade reservationFacade, AdaptiveConcurrencyLimiter limiter) {
+        this.reservationFacade = reservationFacade;
+        this.limiter = limiter;
     }
 
     /**
@@ -63,10 +74,12 @@ public class TicketController {
             @Valid @RequestBody ReserveRequest request,
             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
-        logger.info("Requête de réservation: eventId={}, userId={}, quantity={}", 
-            request.eventId(), request.userId(), request.quantity());
+        LogContext.eventId(request.eventId());
+        LogContext.userId(request.userId());
+        logger.debug("Requête de réservation: quantity={}", request.quantity());
         
-        ReserveResponse response = ticketInventoryService.reserveTickets(request, idempotencyKey);
+        ReserveResponse response = limiter.execute(ReservationMetrics.Operation.RESERVE,
+            () -> reservationFacade.reserveTickets(request, idempotencyKey));
         return ResponseEntity.ok(response);
     }
 
@@ -95,9 +108,11 @@ public class TicketController {
         }
     )
     public ResponseEntity<ConfirmResponse> confirm(@Valid @RequestBody ConfirmRequest request) {
-        logger.info("Confirmation de la réservation: {}", request.reservationId());
+        LogContext.reservationId(request.reservationId());
+        logger.debug("Confirmation de la réservation");
         
-        ConfirmResponse response = ticketInventoryService.confirmReservation(request);
+        ConfirmResponse response = limiter.execute(ReservationMetrics.Operation.CONFIRM,
+            () -> reservationFacade.confirmReservation(request));
         return ResponseEntity.ok(response);
     }
 
@@ -125,9 +140,105 @@ public class TicketController {
         }
     )
     public ResponseEntity<ReleaseResponse> release(@Valid @RequestBody ReleaseRequest request) {
-        logger.info("Libération de la réservation: {}", request.reservationId());
+        LogContext.reservationId(request.reservationId());
+        logger.debug("Libération de la réservation");
         
-        ReleaseResponse response = ticketInventoryService.releaseReservation(request);
+        ReleaseResponse response = reservationFacade.releaseReservation(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Réservation d'un panier multi-événements, tout ou rien.
+     * Une réservation par événement, avec une expiration commune; un seul rejet annule le panier.
+     *
+     * @param request L'utilisateur et les lignes du panier
+     * @param idempotencyKey Clé d'idempotence optionnelle du panier
+     * @return CartReserveResponse contenant l'identifiant du panier et ses réservations
+     */
+    @PostMapping("/cart/reserve")
+    @Operation(
+        summary = "Réservation d'un panier",
+        description = "Réserve toutes les lignes d'un panier (plusieurs événements) en une transaction, " +
+                      "ou aucune. Les lignes d'un même événement sont cumulées. " +
+                      "Les réservations expirent ensemble et se confirment ou se libèrent par panier. " +
+                      "Supporte l'idempotence via le header Idempotency-Key.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Panier réservé avec succès",
+                content = @Content(schema = @Schema(implementation = CartReserveResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Validation échouée ou limite de catégorie dépassée"),
+            @ApiResponse(responseCode = "409", description = "Stock insuffisant ou quota atteint pour un événement"),
+            @ApiResponse(responseCode = "503", description = "Capacité saturée pour un événement")
+        }
+    )
+    public ResponseEntity<CartReserveResponse> reserveCart(
+            @Valid @RequestBody CartReserveRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        LogContext.userId(request.userId());
+        logger.debug("Requête de réservation de panier: lines={}", request.lines().size());
+
+        CartReserveResponse response = reservationFacade.reserveCart(request, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Confirmation de toutes les réservations d'un panier.
+     *
+     * @param request L'identifiant du panier à confirmer
+     * @return ConfirmResponse avec le statut CONFIRMED
+     */
+    @PostMapping("/cart/confirm")
+    @Operation(
+        summary = "Confirmation d'un panier",
+        description = "Confirme toutes les réservations en attente d'un panier et génère leurs tickets, ou aucune.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Panier confirmé avec succès",
+                content = @Content(schema = @Schema(implementation = ConfirmResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Validation échouée"),
+            @ApiResponse(responseCode = "404", description = "Panier non trouvé"),
+            @ApiResponse(responseCode = "422", description = "Panier expiré ou réservation dans un état invalide")
+        }
+    )
+    public ResponseEntity<ConfirmResponse> confirmCart(@Valid @RequestBody CartConfirmRequest request) {
+        logger.debug("Confirmation du panier {}", request.cartId());
+
+        ConfirmResponse response = reservationFacade.confirmCart(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Libération de toutes les réservations d'un panier.
+     *
+     * @param request L'identifiant du panier à libérer
+     * @return ReleaseResponse avec le statut CANCELED
+     */
+    @PostMapping("/cart/release")
+    @Operation(
+        summary = "Libération d'un panier",
+        description = "Annule toutes les réservations actives d'un panier et rend le stock des réservations en attente.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Panier annulé avec succès",
+                content = @Content(schema = @Schema(implementation = ReleaseResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Validation échouée"),
+            @ApiResponse(responseCode = "404", description = "Panier non trouvé")
+        }
+    )
+    public ResponseEntity<ReleaseResponse> releaseCart(@Valid @RequestBody CartReleaseRequest request) {
+        logger.debug("Libération du panier {}", request.cartId());
+
+        ReleaseResponse response = reservationFacade.releaseCart(request);
         return ResponseEntity.ok(response);
     }
 
@@ -153,9 +264,10 @@ public class TicketController {
         }
     )
     public ResponseEntity<AvailabilityResponse> getAvailability(@PathVariable Long eventId) {
-        logger.debug("Consultation de disponibilité pour l'événement: {}", eventId);
+        LogContext.eventId(eventId);
+        logger.debug("Consultation de disponibilité");
         
-        AvailabilityResponse response = ticketInventoryService.getAvailability(eventId);
+        AvailabilityResponse response = reservationFacade.getAvailability(eventId);
         return ResponseEntity.ok(response);
     }
 
@@ -163,30 +275,78 @@ public class TicketController {
 
     /**
      * INT-020: Consulter les réservations et achats d'un utilisateur.
-     * Retourne toutes les réservations (PENDING, CONFIRMED, CANCELED, EXPIRED) pour un utilisateur.
+     * Retourne une page de réservations (PENDING, CONFIRMED, CANCELED, EXPIRED) pour un utilisateur,
+     * paginée par curseur sur (createdAt, id).
      * 
      * @param userId L'identifiant de l'utilisateur
-     * @return UserReservationsResponse contenant la liste des réservations
+     * @param status Filtre optionnel sur un ou plusieurs statuts
+     * @param cursor Curseur opaque retourné par la page précédente
+     * @param limit Taille de page (défaut 20, maximum 100)
+     * @return UserReservationsResponse contenant la page et le curseur suivant
      */
     @GetMapping("/user/{userId}")
     @Operation(
         summary = "INT-020 Réservations/achats d'un utilisateur",
-        description = "Retourne la liste complète des réservations d'un utilisateur, " +
+        description = "Retourne une page des réservations d'un utilisateur, " +
                       "incluant les réservations en attente, confirmées, annulées et expirées, " +
-                      "triées par date de création décroissante.",
+                      "triées par date de création décroissante. " +
+                      "Passer `nextCursor` dans `cursor` pour obtenir la page suivante.",
         security = @SecurityRequirement(name = "bearerAuth"),
         responses = {
             @ApiResponse(
                 responseCode = "200",
-                description = "Liste des réservations retournée avec succès",
+                description = "Page des réservations retournée avec succès",
                 content = @Content(schema = @Schema(implementation = UserReservationsResponse.class))
-            )
+            ),
+            @ApiResponse(responseCode = "400", description = "Curseur ou statut invalide")
         }
     )
-    public ResponseEntity<UserReservationsResponse> getUserReservations(@PathVariable Long userId) {
-        logger.debug("Récupération des réservations pour l'utilisateur: {}", userId);
+    public ResponseEntity<UserReservationsResponse> getUserReservations(
+            @PathVariable Long userId,
+            @RequestParam(value = "status", required = false) List<ReservationStatus> status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        LogContext.userId(userId);
+        logger.debug("Récupération des réservations");
         
-        UserReservationsResponse response = ticketInventoryService.getUserReservations(userId);
+        UserReservationsResponse response =
+            reservationFacade.getUserReservations(userId, status, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * INT-021: Consulter les tickets émis pour un utilisateur.
+     * Retourne une page de tickets, paginée par curseur sur (createdAt, id).
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param cursor Curseur opaque retourné par la page précédente
+     * @param limit Taille de page (défaut 20, maximum 100)
+     * @return UserTicketsResponse contenant la page et le curseur suivant
+     */
+    @GetMapping("/user/{userId}/tickets")
+    @Operation(
+        summary = "INT-021 Tickets d'un utilisateur",
+        description = "Retourne une page des tickets émis pour un utilisateur, " +
+                      "triés par date d'émission décroissante. " +
+                      "Passer `nextCursor` dans `cursor` pour obtenir la page suivante.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Page des tickets retournée avec succès",
+                content = @Content(schema = @Schema(implementation = UserTicketsResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide")
+        }
+    )
+    public ResponseEntity<UserTicketsResponse> getUserTickets(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        LogContext.userId(userId);
+        logger.debug("Récupération des tickets");
+
+        UserTicketsResponse response = reservationFacade.getUserTickets(userId, cursor, limit);
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,44 @@
+package com.acme.tickets.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Instance inscrite dans l'anneau des propriétaires d'événements (mode propriétaire). Chaque
+ * instance rafraîchit sa ligne à chaque battement; une ligne sans battement récent est ignorée
+ * puis supprimée par les autres. Stockée sur le shard 0, comme l'annuaire des shards.
+ */
+@Entity
+@Table(
+    name = "cluster_member",
+    indexes = @Index(name = "idx_cluster_member_heartbeat_at", columnList = "heartbeat_at")
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class ClusterMember {
+
+    @Id
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    /** Adresse gRPC host:port à laquelle les autres instances transmettent les opérations. */
+    @Column(name = "address", nullable = false)
+    private String address;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private Instant heartbeatAt;
+
+    @Column(name = "joined_at", nullable = false, updatable = false)
+    private Instant joinedAt;
+
+    public ClusterMember(String nodeId, String address, Instant now) {
+        this.nodeId = nodeId;
+        this.address = address;
+        this.heartbeatAt = now;
+        this.joinedAt = now;
+    }
+}
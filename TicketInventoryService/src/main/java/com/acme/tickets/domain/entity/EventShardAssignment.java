@@ -0,0 +1,52 @@
+package com.acme.tickets.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Affectation explicite d'un événement à un shard, écrite par un déplacement d'événement.
+ * Les événements sans affectation suivent la répartition par hachage de leur eventId.
+ * <p>
+ * Le répertoire n'est lu et écrit que sur le shard 0. Pendant un déplacement, la ligne garde le
+ * shard source et porte l'état {@code migrating}: aucune instance n'initialise alors l'inventaire
+ * de l'événement, et un second déplacement est refusé.
+ */
+@Entity
+@Table(name = "event_shard_assignment")
+@NoArgsConstructor
+@Getter
+@Setter
+public class EventShardAssignment {
+
+    @Id
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "migrating", nullable = false)
+    private boolean migrating;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public EventShardAssignment(Long eventId, Integer shard) {
+        this.eventId = eventId;
+        this.shard = shard;
+    }
+
+    public EventShardAssignment(Long eventId, Integer shard, boolean migrating) {
+        this(eventId, shard);
+        this.migrating = migrating;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+}
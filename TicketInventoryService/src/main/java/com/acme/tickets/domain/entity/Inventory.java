@@ -1,5 +1,7 @@
 package com.acme.tickets.domain.entity;
 
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.InsufficientStockException;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.Objects;
@@ -10,6 +12,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 
+/**
+ * Stock d'un événement. Mappée par JPA (pile servlet) et par Spring Data R2DBC (variante
+ * réactive): {@code org.springframework.data.annotation.Id} désigne l'identifiant pour ce
+ * dernier. La version reste propre à JPA (Spring Data JPA refuse l'annotation de Spring Data):
+ * la variante réactive la vérifie par des mises à jour conditionnelles explicites.
+ */
 @Entity
 @Table(name = "inventory")
 @AllArgsConstructor
@@ -20,6 +28,7 @@ import lombok.Setter;
 public class Inventory {
 
     @Id
+    @org.springframework.data.annotation.Id
     @Column(name = "event_id", nullable = false)
     private Long eventId;
 
@@ -36,6 +45,14 @@ public class Inventory {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Événement en cours de déplacement vers un autre shard (posé par {@code ShardRebalancer}
+     * sur la ligne source): vu par toutes les instances, y compris celles dont le répertoire
+     * des shards n'est pas encore à jour.
+     */
+    @Column(name = "migrating", nullable = false)
+    private boolean migrating;
+
     /**
      * Calcule le nombre de tickets disponibles (non réservés).
      * @return total - reserved
@@ -45,6 +62,43 @@ public class Inventory {
         return (total != null ? total : 0) - (reserved != null ? reserved : 0);
     }
 
+    /**
+     * Réserve des tickets: règle commune aux piles servlet et réactive.
+     *
+     * @throws InsufficientStockException Si le stock disponible est insuffisant
+     * @throws EventMigratingException Si l'événement est en cours de déplacement
+     */
+    public void reserve(int quantity) {
+        checkNotMigrating();
+        int available = getAvailable();
+        if (available < quantity) {
+            throw new InsufficientStockException(eventId, quantity, available);
+        }
+        reserved = reserved + quantity;
+    }
+
+    /**
+     * Libère des tickets réservés, sans jamais descendre sous zéro.
+     *
+     * @return false si la libération dépassait le stock réservé (compteur ramené à zéro)
+     * @throws EventMigratingException Si l'événement est en cours de déplacement
+     */
+    public boolean release(int quantity) {
+        checkNotMigrating();
+        int newReserved = reserved - quantity;
+        reserved = Math.max(newReserved, 0);
+        return newReserved >= 0;
+    }
+
+    /**
+     * @throws EventMigratingException Si l'événement est en cours de déplacement
+     */
+    public void checkNotMigrating() {
+        if (migrating) {
+            throw new EventMigratingException(eventId);
+        }
+    }
+
     @PrePersist
     @PreUpdate
     protected void onUpdate() {
@@ -0,0 +1,59 @@
+package com.acme.tickets.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Lot de stock prélevé sur l'inventaire central par une instance (mode séquestre). Les tickets
+ * accordés sont comptés dans {@code inventory.reserved} dès le prélèvement; les réservations
+ * servies depuis le lot portent son identifiant ({@code reservation.lease_id}), ce qui permet
+ * de calculer le reliquat d'un lot abandonné: accordé − réservations qui le référencent.
+ */
+@Entity
+@Table(
+    name = "inventory_lease",
+    indexes = {
+        @Index(name = "idx_inventory_lease_event_node", columnList = "event_id, node_id"),
+        @Index(name = "idx_inventory_lease_expires_at", columnList = "expires_at")
+    }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class InventoryLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(name = "granted", nullable = false)
+    private Integer granted;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public InventoryLease(Long eventId, String nodeId, int granted, Instant expiresAt) {
+        this.eventId = eventId;
+        this.nodeId = nodeId;
+        this.granted = granted;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,24 @@
+package com.acme.tickets.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Battement écrit sur le primaire et relu sur le réplica pour mesurer le retard de réplication.
+ * Mappé pour que le schéma contienne la table; lu et écrit en JDBC par ReplicaLagMonitor.
+ */
+@Entity
+@Table(name = "replication_heartbeat")
+@NoArgsConstructor
+@Getter
+public class ReplicationHeartbeat {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private Instant beatAt;
+}
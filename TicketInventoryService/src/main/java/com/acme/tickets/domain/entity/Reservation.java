@@ -17,10 +17,13 @@ import lombok.Setter;
 @Table(
     name = "reservation",
     indexes = {
-        @Index(name = "idx_reservation_user_id", columnList = "user_id"),
-        @Index(name = "idx_reservation_event_id", columnList = "event_id"),
-        @Index(name = "idx_reservation_status", columnList = "status"),
-        @Index(name = "idx_reservation_idempotency_key", columnList = "idempotency_key", unique = true)
+        @Index(name = "idx_reservation_user_created", columnList = "user_id, created_at DESC, id"),
+        @Index(name = "idx_reservation_user_status_created", columnList = "user_id, status, created_at DESC, id"),
+        @Index(name = "idx_reservation_event_status", columnList = "event_id, status, quantity"),
+        @Index(name = "idx_reservation_status_expiry", columnList = "status, hold_expires_at"),
+        @Index(name = "idx_reservation_idempotency_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "idx_reservation_cart_id", columnList = "cart_id"),
+        @Index(name = "idx_reservation_lease_id", columnList = "lease_id")
     }
 )
 @AllArgsConstructor
@@ -31,6 +34,7 @@ import lombok.Setter;
 public class Reservation {
 
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
@@ -60,6 +64,28 @@ public class Reservation {
     @Column(name = "idempotency_key", length = 64)
     private String idempotencyKey;
 
+    /**
+     * Panier d'origine: les réservations d'un même panier partagent leur expiration et sont
+     * confirmées ou libérées ensemble. Absent pour une réservation unitaire.
+     */
+    @Column(name = "cart_id", length = 36)
+    private String cartId;
+
+    /**
+     * Lot local (mode séquestre) dont le stock a été prélevé, absent pour une réservation servie
+     * par l'inventaire central. Voir {@link InventoryLease}.
+     */
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    /**
+     * Verrou optimiste: deux transitions concurrentes (confirm/release/expire) sur la même
+     * réservation ne peuvent pas toutes deux aboutir.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
     public Reservation(Long eventId, Long userId, Integer quantity, ReservationStatus status) {
         this.eventId = eventId;
         this.userId = userId;
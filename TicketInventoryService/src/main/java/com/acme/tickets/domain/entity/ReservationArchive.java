@@ -0,0 +1,64 @@
+package com.acme.tickets.domain.entity;
+
+import com.acme.tickets.domain.enums.ReservationStatus;
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Réservation terminale (CANCELED, EXPIRED) déplacée hors de la table {@code reservation}
+ * par l'archivage. Conserve l'identifiant d'origine: la pagination par curseur (createdAt, id)
+ * fusionne table chaude et archive sans doublon.
+ * <p>
+ * Lignes écrites uniquement par INSERT ... SELECT (ReservationArchiveRepository), jamais
+ * modifiées ensuite.
+ */
+@Entity
+@Table(
+    name = "reservation_archive",
+    indexes = {
+        @Index(name = "idx_reservation_archive_user_created", columnList = "user_id, created_at DESC, id"),
+        @Index(name = "idx_reservation_archive_user_status_created",
+            columnList = "user_id, status, created_at DESC, id")
+    }
+)
+@NoArgsConstructor
+@Getter
+public class ReservationArchive {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(name = "hold_expires_at")
+    private Instant holdExpiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "cart_id", length = 36)
+    private String cartId;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -17,8 +17,8 @@ import lombok.Setter;
     name = "ticket",
     indexes = {
         @Index(name = "idx_ticket_reservation_id", columnList = "reservation_id"),
-        @Index(name = "idx_ticket_user_id", columnList = "user_id"),
-        @Index(name = "idx_ticket_event_id", columnList = "event_id")
+        @Index(name = "idx_ticket_user_created", columnList = "user_id, created_at DESC, id"),
+        @Index(name = "idx_ticket_event_quantity", columnList = "event_id, quantity")
     }
 )
 @AllArgsConstructor
@@ -29,6 +29,7 @@ import lombok.Setter;
 public class Ticket {
 
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
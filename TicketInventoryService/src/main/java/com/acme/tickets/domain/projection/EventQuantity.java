@@ -0,0 +1,11 @@
+package com.acme.tickets.domain.projection;
+
+/**
+ * Projection d'agrégat: quantité cumulée par événement.
+ */
+public interface EventQuantity {
+
+    Long getEventId();
+
+    Long getQuantity();
+}
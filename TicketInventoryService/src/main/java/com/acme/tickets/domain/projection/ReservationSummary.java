@@ -0,0 +1,24 @@
+package com.acme.tickets.domain.projection;
+
+import com.acme.tickets.domain.enums.ReservationStatus;
+
+import java.time.Instant;
+
+/**
+ * Projection légère d'une réservation pour les listes paginées.
+ * Évite de charger l'entité complète (et son suivi par le contexte de persistance).
+ */
+public interface ReservationSummary {
+
+    Long getId();
+
+    Long getEventId();
+
+    Integer getQuantity();
+
+    ReservationStatus getStatus();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,19 @@
+package com.acme.tickets.domain.projection;
+
+import java.time.Instant;
+
+/**
+ * Projection légère d'un ticket pour les listes paginées.
+ */
+public interface TicketSummary {
+
+    Long getId();
+
+    Long getReservationId();
+
+    Long getEventId();
+
+    Integer getQuantity();
+
+    Instant getCreatedAt();
+}
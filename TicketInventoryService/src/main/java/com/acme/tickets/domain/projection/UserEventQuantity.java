@@ -0,0 +1,13 @@
+package com.acme.tickets.domain.projection;
+
+/**
+ * Projection d'agrégat: quantité cumulée par (utilisateur, événement).
+ */
+public interface UserEventQuantity {
+
+    Long getUserId();
+
+    Long getEventId();
+
+    Long getQuantity();
+}
@@ -0,0 +1,36 @@
+package com.acme.tickets.domain.repository;
+
+import com.acme.tickets.domain.entity.ClusterMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository des membres de l'anneau des propriétaires (mode propriétaire).
+ */
+@Repository
+public interface ClusterMemberRepository extends JpaRepository<ClusterMember, String> {
+
+    /**
+     * Membres vivants: battement postérieur à la date donnée.
+     *
+     * @param after Date limite du dernier battement
+     * @return Membres, par identifiant croissant
+     */
+    @Query("SELECT m FROM ClusterMember m WHERE m.heartbeatAt > :after ORDER BY m.nodeId")
+    List<ClusterMember> findAlive(@Param("after") Instant after);
+
+    /**
+     * Supprime les membres dont le dernier battement est antérieur à la date donnée.
+     *
+     * @return Nombre de membres supprimés
+     */
+    @Modifying
+    @Query("DELETE FROM ClusterMember m WHERE m.heartbeatAt < :before")
+    int deleteSilentSince(@Param("before") Instant before);
+}
@@ -0,0 +1,27 @@
+package com.acme.tickets.domain.repository;
+
+import com.acme.tickets.domain.entity.EventShardAssignment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository du répertoire des événements déplacés entre shards (shard 0 uniquement).
+ */
+@Repository
+public interface EventShardAssignmentRepository extends JpaRepository<EventShardAssignment, Long> {
+
+    /**
+     * Affectation verrouillée en écriture: un seul déplacement de l'événement à la fois.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @return L'affectation, vide si l'événement suit la répartition par hachage
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM EventShardAssignment a WHERE a.eventId = :eventId")
+    Optional<EventShardAssignment> findByIdForUpdate(Long eventId);
+}
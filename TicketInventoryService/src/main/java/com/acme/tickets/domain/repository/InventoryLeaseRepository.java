@@ -0,0 +1,83 @@
+package com.acme.tickets.domain.repository;
+
+import com.acme.tickets.domain.entity.InventoryLease;
+import com.acme.tickets.domain.projection.EventQuantity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository des lots de stock prélevés par les instances (mode séquestre).
+ */
+@Repository
+public interface InventoryLeaseRepository extends JpaRepository<InventoryLease, Long> {
+
+    /**
+     * Lot verrouillé en écriture: un seul rendu ou complément à la fois.
+     *
+     * @param id L'identifiant du lot
+     * @return Le lot, vide s'il a déjà été rendu ou récupéré
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM InventoryLease l WHERE l.id = :id")
+    Optional<InventoryLease> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Identifiants des lots échus avant une date (lots abandonnés par une instance disparue).
+     *
+     * @param before Date d'échéance limite
+     * @param limit Taille du lot
+     * @return Identifiants, par échéance croissante
+     */
+    @Query("SELECT l.id FROM InventoryLease l WHERE l.expiresAt < :before ORDER BY l.expiresAt")
+    List<Long> findIdsExpiredBefore(@Param("before") Instant before, Limit limit);
+
+    /**
+     * Reliquat d'un lot: tickets accordés moins la quantité des réservations servies depuis le
+     * lot, quel que soit leur statut (une réservation libérée rend son stock à l'inventaire
+     * central, pas au lot).
+     *
+     * @param id L'identifiant du lot
+     * @return Le reliquat, vide si le lot n'existe plus
+     */
+    @Query("""
+        SELECT CAST(l.granted - COALESCE((SELECT SUM(r.quantity) FROM Reservation r WHERE r.leaseId = l.id), 0) AS Long)
+        FROM InventoryLease l
+        WHERE l.id = :id
+        """)
+    Optional<Long> findUnusedById(@Param("id") Long id);
+
+    /**
+     * Reliquat de chaque lot d'une plage d'événements (une ligne par lot).
+     *
+     * @param fromEventId Premier événement de la plage (inclus)
+     * @param toEventId Dernier événement de la plage (inclus)
+     * @return Reliquat par lot, avec son événement
+     */
+    @Query("""
+        SELECT l.eventId AS eventId,
+               CAST(l.granted - COALESCE((SELECT SUM(r.quantity) FROM Reservation r WHERE r.leaseId = l.id), 0) AS Long) AS quantity
+        FROM InventoryLease l
+        WHERE l.eventId BETWEEN :fromEventId AND :toEventId
+        """)
+    List<EventQuantity> findUnusedByEventRange(
+        @Param("fromEventId") Long fromEventId,
+        @Param("toEventId") Long toEventId
+    );
+
+    /**
+     * Nombre de lots en cours sur un événement.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @return Nombre de lots
+     */
+    long countByEventId(Long eventId);
+}
@@ -1,12 +1,16 @@
 package com.acme.tickets.domain.repository;
 
 import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.projection.EventQuantity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,4 +30,44 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
      */
     @Query("SELECT i FROM Inventory i WHERE i.eventId = :eventId")
     Optional<Inventory> findByIdWithLock(Long eventId);
+
+    /**
+     * Récupère plusieurs inventaires en une requête, triés par événement.
+     * Modifiés dans cet ordre, leurs mises à jour sont émises dans l'ordre des clés
+     * ({@code hibernate.order_updates}): deux paniers concurrents verrouillent leurs lignes
+     * communes dans le même ordre et ne peuvent pas s'interbloquer.
+     *
+     * @param eventIds Les identifiants des événements
+     * @return Les inventaires existants, par eventId croissant
+     */
+    @Query("SELECT i FROM Inventory i WHERE i.eventId IN :eventIds ORDER BY i.eventId")
+    List<Inventory> findAllByEventIdsOrdered(Collection<Long> eventIds);
+
+    /**
+     * Inventaire verrouillé en écriture (SELECT ... FOR UPDATE) jusqu'à la fin de la transaction.
+     * Réservé aux corrections de compteur: les écrivains optimistes concurrents attendent le
+     * verrou puis échouent sur la version et rejouent.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @return L'inventaire verrouillé
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.eventId = :eventId")
+    Optional<Inventory> findByIdForUpdate(Long eventId);
+
+    /**
+     * Lot suivant de compteurs réservés, par eventId croissant (pagination par clé sur la clé
+     * primaire), sans charger les entités.
+     *
+     * @param afterEventId Dernier événement du lot précédent
+     * @param limit Taille du lot
+     * @return Compteur {@code reserved} par événement
+     */
+    @Query("""
+        SELECT i.eventId AS eventId, CAST(i.reserved AS Long) AS quantity
+        FROM Inventory i
+        WHERE i.eventId > :afterEventId
+        ORDER BY i.eventId
+        """)
+    List<EventQuantity> findReservedAfter(Long afterEventId, Limit limit);
 }
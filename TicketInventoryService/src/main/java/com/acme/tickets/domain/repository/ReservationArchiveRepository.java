@@ -0,0 +1,62 @@
+package com.acme.tickets.domain.repository;
+
+import com.acme.tickets.domain.entity.ReservationArchive;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository de l'archive des réservations terminales.
+ */
+@Repository
+public interface ReservationArchiveRepository extends JpaRepository<ReservationArchive, Long> {
+
+    /**
+     * Copie dans l'archive les réservations désignées, côté base (INSERT ... SELECT):
+     * aucune ligne ne transite par l'application.
+     *
+     * @param ids Identifiants du lot
+     * @param statuses Statuts archivables: une ligne redevenue active entre-temps n'est pas copiée
+     * @param archivedAt Date d'archivage
+     * @return Nombre de lignes copiées
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO ReservationArchive (id, eventId, userId, quantity, status, holdExpiresAt,
+                                        createdAt, updatedAt, idempotencyKey, cartId, archivedAt)
+        SELECT r.id, r.eventId, r.userId, r.quantity, r.status, r.holdExpiresAt,
+               r.createdAt, r.updatedAt, r.idempotencyKey, r.cartId, :archivedAt
+        FROM Reservation r
+        WHERE r.id IN :ids AND r.status IN :statuses
+        """)
+    int copyFromReservations(
+        @Param("ids") Collection<Long> ids,
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("archivedAt") Instant archivedAt
+    );
+
+    /**
+     * Statut d'une réservation archivée.
+     *
+     * @param id Identifiant d'origine de la réservation
+     * @return Le statut terminal, vide si la réservation n'est pas archivée
+     */
+    @Query("SELECT a.status FROM ReservationArchive a WHERE a.id = :id")
+    Optional<ReservationStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Événement d'une réservation archivée.
+     *
+     * @param id Identifiant d'origine de la réservation
+     * @return L'événement, vide si la réservation n'est pas archivée
+     */
+    @Query("SELECT a.eventId FROM ReservationArchive a WHERE a.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+}
@@ -0,0 +1,23 @@
+package com.acme.tickets.domain.repository;
+
+import com.acme.tickets.domain.entity.Reservation;
+
+import java.util.List;
+
+/**
+ * Écritures groupées des réservations, hors Hibernate.
+ * <p>
+ * Les identifiants étant générés par la base (IDENTITY), Hibernate n'envoie pas d'INSERT en
+ * batch: chaque persist est un aller-retour. Les lignes d'un panier sont donc insérées en un
+ * seul batch JDBC, dans la transaction courante, puis relues par {@code cart_id}.
+ */
+public interface ReservationBatchRepository {
+
+    /**
+     * Insère les réservations en un seul batch JDBC. Les entités ne sont ni attachées ni
+     * complétées de leur identifiant: les relire pour les obtenir.
+     *
+     * @param reservations Les réservations à insérer (createdAt/updatedAt renseignés ici)
+     */
+    void insertAll(List<Reservation> reservations);
+}
@@ -0,0 +1,62 @@
+package com.acme.tickets.domain.repository;
+
+import com.acme.tickets.domain.entity.Reservation;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Implémentation JDBC de {@link ReservationBatchRepository}, sur la connexion de la
+ * transaction JPA en cours. Les instants sont liés en UTC, comme le fait Hibernate.
+ */
+class ReservationBatchRepositoryImpl implements ReservationBatchRepository {
+
+    private static final String INSERT = "INSERT INTO reservation"
+        + " (event_id, user_id, quantity, status, hold_expires_at, created_at, updated_at,"
+        + " idempotency_key, cart_id, version)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ReservationBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Reservation> reservations) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Reservation reservation = reservations.get(i);
+                ps.setLong(1, reservation.getEventId());
+                ps.setLong(2, reservation.getUserId());
+                ps.setInt(3, reservation.getQuantity());
+                ps.setString(4, reservation.getStatus().name());
+                if (reservation.getHoldExpiresAt() == null) {
+                    ps.setNull(5, Types.TIMESTAMP);
+                } else {
+                    ps.setTimestamp(5, Timestamp.from(reservation.getHoldExpiresAt()), utc);
+                }
+                ps.setTimestamp(6, now, utc);
+                ps.setTimestamp(7, now, utc);
+                ps.setString(8, reservation.getIdempotencyKey());
+                ps.setString(9, reservation.getCartId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reservations.size();
+            }
+        });
+    }
+}
@@ -2,12 +2,18 @@ package com.acme.tickets.domain.repository;
 
 import com.acme.tickets.domain.entity.Reservation;
 import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.projection.EventQuantity;
+import com.acme.tickets.domain.projection.ReservationSummary;
+import com.acme.tickets.domain.projection.UserEventQuantity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,15 +21,135 @@ import java.util.Optional;
  * Repository pour la gestion des réservations de tickets.
  */
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationBatchRepository {
 
     /**
-     * Récupère toutes les réservations d'un utilisateur, triées par date de création décroissante.
+     * Première page des réservations d'un utilisateur, triées par (createdAt, id) décroissants.
+     * S'appuie sur l'index composite (user_id, created_at DESC, id); filtrée sur un statut, sur
+     * (user_id, status, created_at DESC, id), sans lire puis écarter les lignes des autres statuts.
      *
      * @param userId L'identifiant de l'utilisateur
-     * @return Liste des réservations de l'utilisateur
+     * @param statuses Les statuts à inclure
+     * @param limit Taille de la page
+     * @return Projections des réservations de la page
      */
-    List<Reservation> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query("""
+        SELECT r.id AS id, r.eventId AS eventId, r.quantity AS quantity, r.status AS status,
+               r.createdAt AS createdAt, r.updatedAt AS updatedAt
+        FROM Reservation r
+        WHERE r.userId = :userId AND r.status IN :statuses
+        ORDER BY r.createdAt DESC, r.id DESC
+        """)
+    List<ReservationSummary> findFirstPageByUserId(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        Limit limit
+    );
+
+    /**
+     * Page suivante des réservations d'un utilisateur (pagination par curseur).
+     * Ne lit que les lignes strictement après le curseur (createdAt, id): le coût
+     * d'une page est indépendant de la taille de l'historique.
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param statuses Les statuts à inclure
+     * @param createdAt Date de création de la dernière ligne de la page précédente
+     * @param id Identifiant de la dernière ligne de la page précédente
+     * @param limit Taille de la page
+     * @return Projections des réservations de la page
+     */
+    @Query("""
+        SELECT r.id AS id, r.eventId AS eventId, r.quantity AS quantity, r.status AS status,
+               r.createdAt AS createdAt, r.updatedAt AS updatedAt
+        FROM Reservation r
+        WHERE r.userId = :userId AND r.status IN :statuses
+          AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+        ORDER BY r.createdAt DESC, r.id DESC
+        """)
+    List<ReservationSummary> findPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    /**
+     * Première page de l'historique complet d'un utilisateur: table chaude et archive fusionnées
+     * en une seule requête (UNION ALL). Chaque branche s'appuie sur son index
+     * (user_id, created_at DESC, id) et est bornée à la taille de page avant la fusion.
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param statuses Les statuts à inclure
+     * @param fetch Taille de page (bornes des deux branches)
+     * @return Projections des réservations de la page, au plus {@code fetch}
+     */
+    @Query("""
+        SELECT id AS id, eventId AS eventId, quantity AS quantity, status AS status,
+               createdAt AS createdAt, updatedAt AS updatedAt
+        FROM (
+            (SELECT r.id AS id, r.eventId AS eventId, r.quantity AS quantity, r.status AS status,
+                    r.createdAt AS createdAt, r.updatedAt AS updatedAt
+             FROM Reservation r
+             WHERE r.userId = :userId AND r.status IN :statuses
+             ORDER BY r.createdAt DESC, r.id DESC
+             LIMIT :fetch)
+            UNION ALL
+            (SELECT a.id, a.eventId, a.quantity, a.status, a.createdAt, a.updatedAt
+             FROM ReservationArchive a
+             WHERE a.userId = :userId AND a.status IN :statuses
+             ORDER BY a.createdAt DESC, a.id DESC
+             LIMIT :fetch)
+        ) h
+        ORDER BY createdAt DESC, id DESC
+        LIMIT :fetch
+        """)
+    List<ReservationSummary> findFirstHistoryPageByUserId(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("fetch") int fetch
+    );
+
+    /**
+     * Page suivante de l'historique complet d'un utilisateur (table chaude et archive),
+     * strictement après le curseur (createdAt, id).
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param statuses Les statuts à inclure
+     * @param createdAt Date de création de la dernière ligne de la page précédente
+     * @param id Identifiant de la dernière ligne de la page précédente
+     * @param fetch Taille de page (bornes des deux branches)
+     * @return Projections des réservations de la page, au plus {@code fetch}
+     */
+    @Query("""
+        SELECT id AS id, eventId AS eventId, quantity AS quantity, status AS status,
+               createdAt AS createdAt, updatedAt AS updatedAt
+        FROM (
+            (SELECT r.id AS id, r.eventId AS eventId, r.quantity AS quantity, r.status AS status,
+                    r.createdAt AS createdAt, r.updatedAt AS updatedAt
+             FROM Reservation r
+             WHERE r.userId = :userId AND r.status IN :statuses
+               AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+             ORDER BY r.createdAt DESC, r.id DESC
+             LIMIT :fetch)
+            UNION ALL
+            (SELECT a.id, a.eventId, a.quantity, a.status, a.createdAt, a.updatedAt
+             FROM ReservationArchive a
+             WHERE a.userId = :userId AND a.status IN :statuses
+               AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+             ORDER BY a.createdAt DESC, a.id DESC
+             LIMIT :fetch)
+        ) h
+        ORDER BY createdAt DESC, id DESC
+        LIMIT :fetch
+        """)
+    List<ReservationSummary> findHistoryPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        @Param("fetch") int fetch
+    );
 
     /**
      * Trouve une réservation par clé d'idempotence pour éviter les doublons.
@@ -33,6 +159,33 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      */
     Optional<Reservation> findByIdempotencyKey(String idempotencyKey);
 
+    /**
+     * Réservations d'un panier, triées par événement.
+     *
+     * @param cartId L'identifiant du panier
+     * @return Les réservations du panier (vide si le panier est inconnu)
+     */
+    List<Reservation> findByCartIdOrderByEventId(String cartId);
+
+    /**
+     * Événement d'une réservation, sans charger l'entité (recherche du shard qui la stocke).
+     *
+     * @param id L'identifiant de la réservation
+     * @return L'événement, vide si la réservation n'est pas dans la table chaude
+     */
+    @Query("SELECT r.eventId FROM Reservation r WHERE r.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+
+    /**
+     * Événements d'un panier (recherche du shard qui le stocke).
+     *
+     * @param cartId L'identifiant du panier
+     * @param limit Nombre maximum d'événements retournés
+     * @return Les événements du panier, vide si le panier est inconnu
+     */
+    @Query("SELECT r.eventId FROM Reservation r WHERE r.cartId = :cartId")
+    List<Long> findEventIdsByCartId(@Param("cartId") String cartId, Limit limit);
+
     /**
      * Récupère les réservations expirées qui doivent être libérées.
      *
@@ -44,4 +197,125 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
         @Param("status") ReservationStatus status,
         @Param("now") Instant now
     );
+
+    /**
+     * Lot suivant de réservations archivables, par identifiant croissant (pagination par clé
+     * sur la clé primaire: le job d'archivage ne relit jamais les lignes déjà écartées).
+     *
+     * @param statuses Statuts terminaux archivables
+     * @param before Date de dernière mise à jour en deçà de laquelle une réservation est archivable
+     * @param afterId Dernier identifiant du lot précédent (0 pour le premier lot)
+     * @param limit Taille du lot
+     * @return Identifiants du lot
+     */
+    @Query("""
+        SELECT r.id FROM Reservation r
+        WHERE r.status IN :statuses AND r.updatedAt < :before AND r.id > :afterId
+        ORDER BY r.id
+        """)
+    List<Long> findArchivableIds(
+        @Param("statuses") Collection<ReservationStatus> statuses,
+        @Param("before") Instant before,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    /**
+     * Supprime les réservations d'un lot archivé, en une requête.
+     *
+     * @param ids Identifiants du lot
+     * @param statuses Statuts archivables: mêmes conditions que la copie vers l'archive
+     * @return Nombre de lignes supprimées
+     */
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids AND r.status IN :statuses")
+    int deleteArchived(
+        @Param("ids") Collection<Long> ids,
+        @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Date d'expiration la plus ancienne parmi les réservations expirées non encore nettoyées.
+     * Sert à mesurer le retard du job de nettoyage.
+     *
+     * @param status Le statut des réservations en attente (PENDING)
+     * @param now La date actuelle
+     * @return La plus ancienne date d'expiration dépassée, ou null
+     */
+    @Query("SELECT MIN(r.holdExpiresAt) FROM Reservation r WHERE r.status = :status AND r.holdExpiresAt < :now")
+    Instant findOldestExpiredHold(
+        @Param("status") ReservationStatus status,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Quantités cumulées par événement pour un statut, par quantité décroissante.
+     *
+     * @param status Le statut à agréger
+     * @param limit Nombre maximum d'événements retournés
+     * @return Quantité par événement
+     */
+    @Query("""
+        SELECT r.eventId AS eventId, SUM(r.quantity) AS quantity
+        FROM Reservation r
+        WHERE r.status = :status
+        GROUP BY r.eventId
+        ORDER BY SUM(r.quantity) DESC
+        """)
+    List<EventQuantity> sumQuantityByEvent(@Param("status") ReservationStatus status, Limit limit);
+
+    /**
+     * Quantités cumulées par événement pour un statut, sur une plage d'événements. Parcourt
+     * l'index couvrant (event_id, status, quantity) sans lire la table.
+     *
+     * @param status Le statut à agréger
+     * @param fromEventId Premier événement de la plage (inclus)
+     * @param toEventId Dernier événement de la plage (inclus)
+     * @return Quantité par événement, événements sans réservation absents
+     */
+    @Query("""
+        SELECT r.eventId AS eventId, SUM(r.quantity) AS quantity
+        FROM Reservation r
+        WHERE r.eventId BETWEEN :fromEventId AND :toEventId AND r.status = :status
+        GROUP BY r.eventId
+        """)
+    List<EventQuantity> sumQuantityByEventRange(
+        @Param("status") ReservationStatus status,
+        @Param("fromEventId") Long fromEventId,
+        @Param("toEventId") Long toEventId
+    );
+
+    /**
+     * Quantité cumulée des réservations d'un événement pour un statut.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @param status Le statut à agréger
+     * @return Somme des quantités (0 si aucune réservation)
+     */
+    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM Reservation r WHERE r.eventId = :eventId AND r.status = :status")
+    long sumQuantityByEventAndStatus(@Param("eventId") Long eventId, @Param("status") ReservationStatus status);
+
+    /**
+     * Quantités cumulées par (utilisateur, événement) pour un ensemble de statuts.
+     * Sert à reconstruire les quotas d'achat en mémoire au démarrage.
+     *
+     * @param statuses Les statuts à agréger (PENDING, CONFIRMED)
+     * @return Quantité par couple (utilisateur, événement)
+     */
+    @Query("""
+        SELECT r.userId AS userId, r.eventId AS eventId, SUM(r.quantity) AS quantity
+        FROM Reservation r
+        WHERE r.status IN :statuses
+        GROUP BY r.userId, r.eventId
+        """)
+    List<UserEventQuantity> sumQuantityByUserAndEvent(@Param("statuses") Collection<ReservationStatus> statuses);
+
+    /**
+     * Quantité totale des réservations d'un statut donné.
+     *
+     * @param status Le statut à agréger
+     * @return Somme des quantités (0 si aucune réservation)
+     */
+    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM Reservation r WHERE r.status = :status")
+    long sumQuantityByStatus(@Param("status") ReservationStatus status);
 }
@@ -1,9 +1,15 @@
 package com.acme.tickets.domain.repository;
 
 import com.acme.tickets.domain.entity.Ticket;
+import com.acme.tickets.domain.projection.EventQuantity;
+import com.acme.tickets.domain.projection.TicketSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -20,6 +26,46 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
      */
     List<Ticket> findByUserId(Long userId);
 
+    /**
+     * Première page des tickets d'un utilisateur, triés par (createdAt, id) décroissants.
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param limit Taille de la page
+     * @return Projections des tickets de la page
+     */
+    @Query("""
+        SELECT t.id AS id, t.reservationId AS reservationId, t.eventId AS eventId,
+               t.quantity AS quantity, t.createdAt AS createdAt
+        FROM Ticket t
+        WHERE t.userId = :userId
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<TicketSummary> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Page suivante des tickets d'un utilisateur (pagination par curseur).
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param createdAt Date de création du dernier ticket de la page précédente
+     * @param id Identifiant du dernier ticket de la page précédente
+     * @param limit Taille de la page
+     * @return Projections des tickets de la page
+     */
+    @Query("""
+        SELECT t.id AS id, t.reservationId AS reservationId, t.eventId AS eventId,
+               t.quantity AS quantity, t.createdAt AS createdAt
+        FROM Ticket t
+        WHERE t.userId = :userId
+          AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+        ORDER BY t.createdAt DESC, t.id DESC
+        """)
+    List<TicketSummary> findPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+
     /**
      * Récupère tous les tickets liés à une réservation.
      *
@@ -27,4 +73,32 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
      * @return Liste des tickets de la réservation
      */
     List<Ticket> findByReservationId(Long reservationId);
+
+    /**
+     * Quantités émises par événement sur une plage d'événements (index couvrant
+     * (event_id, quantity)).
+     *
+     * @param fromEventId Premier événement de la plage (inclus)
+     * @param toEventId Dernier événement de la plage (inclus)
+     * @return Quantité par événement, événements sans ticket absents
+     */
+    @Query("""
+        SELECT t.eventId AS eventId, SUM(t.quantity) AS quantity
+        FROM Ticket t
+        WHERE t.eventId BETWEEN :fromEventId AND :toEventId
+        GROUP BY t.eventId
+        """)
+    List<EventQuantity> sumQuantityByEventRange(
+        @Param("fromEventId") Long fromEventId,
+        @Param("toEventId") Long toEventId
+    );
+
+    /**
+     * Quantité émise pour un événement.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @return Somme des quantités (0 si aucun ticket)
+     */
+    @Query("SELECT COALESCE(SUM(t.quantity), 0) FROM Ticket t WHERE t.eventId = :eventId")
+    long sumQuantityByEvent(@Param("eventId") Long eventId);
 }
@@ -0,0 +1,18 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Requête pour confirmer toutes les réservations d'un panier.
+ */
+@Schema(description = "Requête de confirmation de panier")
+public record CartConfirmRequest(
+
+    @NotBlank(message = "L'identifiant du panier est obligatoire")
+    @Size(max = 36, message = "L'identifiant du panier est invalide")
+    @Schema(description = "Identifiant du panier à confirmer", example = "3f2b8c1e-6d4a-4e8b-9c71-0a5d2e7f9b13")
+    String cartId
+) {
+}
@@ -0,0 +1,25 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Ligne d'un panier: une quantité de tickets pour un événement.
+ */
+@Schema(description = "Ligne de panier")
+public record CartLineRequest(
+
+    @NotNull(message = "L'identifiant de l'événement est obligatoire")
+    @Positive(message = "L'identifiant de l'événement doit être positif")
+    @Schema(description = "Identifiant de l'événement", example = "1")
+    Long eventId,
+
+    @NotNull(message = "La quantité est obligatoire")
+    @Positive(message = "La quantité doit être positive")
+    @Max(value = 10, message = "La quantité maximale est de 10 tickets")
+    @Schema(description = "Nombre de tickets pour cette ligne", example = "2")
+    Integer quantity
+) {
+}
@@ -0,0 +1,20 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Réservation créée pour un événement d'un panier.
+ */
+@Schema(description = "Réservation d'une ligne de panier")
+public record CartLineResponse(
+
+    @Schema(description = "Identifiant de la réservation", example = "123")
+    Long reservationId,
+
+    @Schema(description = "Identifiant de l'événement", example = "1")
+    Long eventId,
+
+    @Schema(description = "Quantité réservée", example = "2")
+    Integer quantity
+) {
+}
@@ -0,0 +1,27 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Requête de réservation d'un panier: toutes les lignes sont réservées, ou aucune.
+ */
+@Schema(description = "Requête de réservation d'un panier multi-événements")
+public record CartReserveRequest(
+
+    @NotNull(message = "L'identifiant de l'utilisateur est obligatoire")
+    @Positive(message = "L'identifiant de l'utilisateur doit être positif")
+    @Schema(description = "Identifiant de l'utilisateur", example = "42")
+    Long userId,
+
+    @NotEmpty(message = "Le panier doit contenir au moins une ligne")
+    @Size(max = 20, message = "Le panier est limité à 20 lignes")
+    @Schema(description = "Lignes du panier; les lignes d'un même événement sont cumulées")
+    List<@Valid @NotNull CartLineRequest> lines
+) {
+}
@@ -0,0 +1,26 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Réponse suite à la réservation d'un panier.
+ */
+@Schema(description = "Réponse de réservation d'un panier")
+public record CartReserveResponse(
+
+    @Schema(description = "Identifiant du panier, à utiliser pour la confirmation ou la libération",
+            example = "3f2b8c1e-6d4a-4e8b-9c71-0a5d2e7f9b13")
+    String cartId,
+
+    @Schema(description = "Statut des réservations du panier", example = "PENDING")
+    String status,
+
+    @Schema(description = "Expiration commune des réservations du panier", example = "2025-11-07T15:30:00Z")
+    Instant holdExpiresAt,
+
+    @Schema(description = "Réservations du panier, par événement")
+    List<CartLineResponse> lines
+) {
+}
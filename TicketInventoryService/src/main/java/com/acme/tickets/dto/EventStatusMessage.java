@@ -0,0 +1,32 @@
+package com.acme.tickets.dto;
+
+import java.time.Instant;
+
+/**
+ * DTO pour les changements de statut d'événement reçus via RabbitMQ depuis EventCatalog.
+ *
+ * @param eventId Identifiant de l'événement
+ * @param status Nouveau statut catalogue (PUBLISHED, OPEN_FOR_BOOKING, CANCELLED...)
+ * @param onSaleAt Heure d'ouverture des ventes, si connue
+ */
+public record EventStatusMessage(
+    Long eventId,
+    String status,
+    Instant onSaleAt
+) {
+    /**
+     * Vérifie si l'événement est ouvert à la réservation.
+     */
+    public boolean isOpenForBooking() {
+        return "OPEN_FOR_BOOKING".equalsIgnoreCase(status);
+    }
+
+    /**
+     * Vérifie si les réservations sont définitivement ou temporairement fermées.
+     */
+    public boolean isClosed() {
+        return "CANCELLED".equalsIgnoreCase(status)
+            || "POSTPONED".equalsIgnoreCase(status)
+            || "COMPLETED".equalsIgnoreCase(status);
+    }
+}
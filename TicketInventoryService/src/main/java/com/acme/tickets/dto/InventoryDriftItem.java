@@ -0,0 +1,23 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Écart entre le compteur réservé d'un inventaire et les réservations qui le justifient.
+ */
+@Schema(description = "Écart du compteur réservé d'un événement")
+public record InventoryDriftItem(
+
+    @Schema(description = "Identifiant de l'événement", example = "1")
+    Long eventId,
+
+    @Schema(description = "Valeur lue de inventory.reserved", example = "120")
+    long reserved,
+
+    @Schema(description = "Réservations PENDING + tickets émis", example = "118")
+    long expected,
+
+    @Schema(description = "Compteur corrigé par ce passage", example = "true")
+    boolean repaired
+) {
+}
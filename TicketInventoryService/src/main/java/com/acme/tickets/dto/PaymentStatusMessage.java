@@ -3,6 +3,8 @@ package com.acme.tickets.dto;
 /**
  * DTO pour les messages de statut de paiement reçus via RabbitMQ.
  * Correspond aux messages envoyés par le PaymentService (PHP/Laravel).
+ * Un paiement de panier porte {@code cartId} et couvre toutes ses réservations;
+ * {@code reservationId} est alors ignoré.
  */
 public record PaymentStatusMessage(
     Long reservationId,
@@ -10,8 +12,16 @@ public record PaymentStatusMessage(
     Long eventId,
     String status,
     String transactionId,
-    String reason
+    String reason,
+    String cartId
 ) {
+    /**
+     * Vérifie si le paiement porte sur un panier.
+     */
+    public boolean isCart() {
+        return cartId != null && !cartId.isBlank();
+    }
+
     /**
      * Vérifie si le paiement est réussi.
      */
@@ -0,0 +1,17 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Issue du pré-chauffage de l'inventaire d'un événement.
+ */
+@Schema(description = "Issue du pré-chauffage d'un événement")
+public record PrewarmItem(
+
+    @Schema(description = "Identifiant de l'événement", example = "1")
+    Long eventId,
+
+    @Schema(description = "Issue: CREATED, EXISTING ou FAILED", example = "CREATED")
+    String result
+) {
+}
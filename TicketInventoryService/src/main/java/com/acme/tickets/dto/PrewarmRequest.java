@@ -0,0 +1,22 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Requête de pré-chauffage d'un lot d'inventaires.
+ */
+@Schema(description = "Lot d'événements dont l'inventaire doit être pré-chauffé")
+public record PrewarmRequest(
+
+    @NotEmpty(message = "La liste des événements est obligatoire")
+    @Size(max = 500, message = "500 événements au maximum par lot")
+    @Schema(description = "Identifiants des événements", example = "[1, 2, 3]")
+    List<@NotNull @Positive Long> eventIds
+) {
+}
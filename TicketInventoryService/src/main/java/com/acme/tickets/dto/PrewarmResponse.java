@@ -0,0 +1,16 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Réponse du pré-chauffage d'un lot d'inventaires.
+ */
+@Schema(description = "Issues du pré-chauffage, une par événement")
+public record PrewarmResponse(
+
+    @Schema(description = "Issue par événement")
+    List<PrewarmItem> items
+) {
+}
@@ -0,0 +1,31 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Bilan d'un passage de rapprochement des inventaires.
+ */
+@Schema(description = "Bilan d'un passage de rapprochement des inventaires")
+public record ReconciliationResponse(
+
+    @Schema(description = "Inventaires comparés", example = "25000")
+    long eventsScanned,
+
+    @Schema(description = "Inventaires en écart", example = "2")
+    long drifted,
+
+    @Schema(description = "Somme des écarts absolus, en tickets", example = "5")
+    long driftUnits,
+
+    @Schema(description = "Compteurs corrigés", example = "2")
+    long repaired,
+
+    @Schema(description = "Détail des écarts (tronqué à max-reported-drifts)")
+    List<InventoryDriftItem> drifts,
+
+    @Schema(description = "Durée du passage en millisecondes", example = "840")
+    long durationMs
+) {
+}
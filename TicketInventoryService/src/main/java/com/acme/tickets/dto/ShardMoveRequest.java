@@ -0,0 +1,18 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Requête de déplacement d'un événement vers un autre shard.
+ */
+@Schema(description = "Shard cible du déplacement d'un événement")
+public record ShardMoveRequest(
+
+    @NotNull(message = "Le shard cible est obligatoire")
+    @PositiveOrZero(message = "Le shard cible doit être positif ou nul")
+    @Schema(description = "Numéro du shard cible (0 = spring.datasource)", example = "1")
+    Integer targetShard
+) {
+}
@@ -0,0 +1,32 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Bilan du déplacement d'un événement entre shards.
+ */
+@Schema(description = "Bilan du déplacement d'un événement entre shards")
+public record ShardMoveResponse(
+
+    @Schema(description = "Identifiant de l'événement", example = "1")
+    Long eventId,
+
+    @Schema(description = "Shard d'origine", example = "0")
+    int sourceShard,
+
+    @Schema(description = "Shard cible", example = "1")
+    int targetShard,
+
+    @Schema(description = "Lignes d'inventaire copiées (0 ou 1)", example = "1")
+    int inventories,
+
+    @Schema(description = "Réservations copiées", example = "1200")
+    int reservations,
+
+    @Schema(description = "Réservations archivées copiées", example = "300")
+    int archivedReservations,
+
+    @Schema(description = "Tickets copiés", example = "900")
+    int tickets
+) {
+}
@@ -4,12 +4,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 
 /**
- * Réponse contenant la liste des réservations d'un utilisateur.
+ * Réponse contenant une page des réservations d'un utilisateur.
  */
-@Schema(description = "Liste des réservations et achats d'un utilisateur")
+@Schema(description = "Page des réservations et achats d'un utilisateur")
 public record UserReservationsResponse(
     
     @Schema(description = "Liste des réservations de l'utilisateur")
-    List<UserReservationsItem> items
+    List<UserReservationsItem> items,
+
+    @Schema(description = "Curseur de la page suivante (absent s'il n'y a plus de résultats)",
+            example = "MTczMTAwMDAwMDowOjEyMw")
+    String nextCursor
 ) {
 }
@@ -0,0 +1,27 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+
+/**
+ * Représente un ticket dans la liste des tickets d'un utilisateur.
+ */
+@Schema(description = "Détail d'un ticket utilisateur")
+public record UserTicketsItem(
+
+    @Schema(description = "Identifiant du ticket", example = "456")
+    Long ticketId,
+
+    @Schema(description = "Identifiant de la réservation d'origine", example = "123")
+    Long reservationId,
+
+    @Schema(description = "Identifiant de l'événement", example = "1")
+    Long eventId,
+
+    @Schema(description = "Nombre de places du ticket", example = "2")
+    int quantity,
+
+    @Schema(description = "Date d'émission du ticket", example = "2025-11-07T14:15:00Z")
+    Instant createdAt
+) {
+}
@@ -0,0 +1,19 @@
+package com.acme.tickets.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Réponse contenant une page des tickets d'un utilisateur.
+ */
+@Schema(description = "Page des tickets d'un utilisateur")
+public record UserTicketsResponse(
+
+    @Schema(description = "Liste des tickets de l'utilisateur")
+    List<UserTicketsItem> items,
+
+    @Schema(description = "Curseur de la page suivante (absent s'il n'y a plus de résultats)",
+            example = "MTczMTAwMDAwMDowOjQ1Ng")
+    String nextCursor
+) {
+}
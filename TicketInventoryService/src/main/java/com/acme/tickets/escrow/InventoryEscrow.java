@@ -0,0 +1,425 @@
+package com.acme.tickets.escrow;
+
+import com.acme.tickets.config.EscrowProperties;
+import com.acme.tickets.domain.repository.InventoryLeaseRepository;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Mode séquestre: l'instance prélève des lots de stock sur l'inventaire central et sert les
+ * réservations unitaires depuis son lot local, par simple décrément atomique en mémoire. La
+ * ligne {@code inventory} n'est modifiée qu'une fois par lot (prélèvement, complément, rendu)
+ * au lieu d'une fois par réservation.
+ * <p>
+ * Invariant: le stock accordé à un lot est compté dans {@code inventory.reserved} dès son
+ * prélèvement, sous verrou de l'inventaire, et ne dépasse jamais le disponible central; le
+ * reliquat local ne descend jamais sous zéro. La somme des réservations ne peut donc pas
+ * dépasser le total, quel que soit le nombre d'instances.
+ * <p>
+ * Un lot a une échéance fixe ({@code lease-ttl-ms}): l'instance cesse alors de s'en servir, rend
+ * son reliquat et en prélève un nouveau. Le lot d'une instance disparue est récupéré par les
+ * autres après {@code reclaim-grace-ms}, reliquat calculé depuis les réservations qui le
+ * référencent. À l'arrêt, l'instance rend tous ses reliquats.
+ * <p>
+ * Un complément synchrone ouvre une transaction indépendante pendant la transaction de
+ * réservation: une seule à la fois par événement et par instance. Les écritures en base
+ * (prélèvement, rendu, récupération) sont faites par {@link LeaseLedger}.
+ */
+@Component
+public class InventoryEscrow {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryEscrow.class);
+
+    static final String LEASES_COUNTER = "tickets.escrow.leases";
+    static final String ALLOTTED_GAUGE = "tickets.escrow.allotted";
+
+    /** Tentatives de prélèvement avant de conclure à un stock insuffisant. */
+    private static final int TAKE_ATTEMPTS = 3;
+
+    private final EscrowProperties properties;
+    private final LeaseLedger ledger;
+    private final ShardRouter router;
+    private final String nodeId;
+    private final Map<Long, Allotment> allotments = new ConcurrentHashMap<>();
+    private final ExecutorService prefetcher;
+    private volatile boolean closed;
+
+    public InventoryEscrow(
+            InventoryRepository inventoryRepository,
+            InventoryLeaseRepository leaseRepository,
+            EscrowProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            ShardRouter router) {
+        this.properties = properties;
+        this.router = router;
+        this.nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank()
+            ? UUID.randomUUID().toString()
+            : properties.getNodeId();
+        TransactionTemplate leaseTransaction = new TransactionTemplate(transactionManager);
+        leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ledger = new LeaseLedger(inventoryRepository, leaseRepository, properties, leaseTransaction,
+            registry, nodeId);
+        this.prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "escrow-prefetch-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder(ALLOTTED_GAUGE, allotments, map -> map.values().stream()
+                .mapToInt(Allotment::available)
+                .sum())
+            .description("Tickets en séquestre sur cette instance, non encore réservés")
+            .tag("node", nodeId)
+            .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Prélève la quantité sur le lot local de l'événement, en le complétant si nécessaire.
+     * Appelé sur le shard de l'événement. Dans une transaction, la quantité est rendue au lot
+     * si celle-ci n'est pas validée.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @param quantity La quantité à réserver
+     * @return Le lot servant la réservation, null si l'événement n'a pas encore d'inventaire
+     *         (le chemin central l'initialise) ou si l'instance s'arrête
+     * @throws InsufficientStockException Si ni le lot local ni l'inventaire central ne suffisent
+     */
+    public Long take(Long eventId, int quantity) {
+        if (closed) {
+            return null;
+        }
+        Allotment allotment = allotments.computeIfAbsent(eventId, Allotment::new);
+        Long leaseId = allotment.tryTake(quantity);
+        if (leaseId == null) {
+            leaseId = refillAndTake(allotment, quantity);
+            if (leaseId == null) {
+                return null;
+            }
+        }
+        if (allotment.available() < properties.getLowWatermark()) {
+            prefetch(allotment);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long taken = leaseId;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        giveBack(eventId, taken, quantity);
+                    }
+                }
+            });
+        }
+        return leaseId;
+    }
+
+    /**
+     * Rend au lot local une quantité prélevée par une réservation annulée avant validation.
+     * Si le lot a été rendu entre-temps, la quantité reste comptée comme réservée jusqu'au
+     * prochain rapprochement des inventaires.
+     */
+    public void giveBack(Long eventId, Long leaseId, int quantity) {
+        Allotment allotment = allotments.get(eventId);
+        Lot lot = allotment == null ? null : allotment.lot;
+        if (lot == null || !lot.leaseId.equals(leaseId) || !lot.giveBack(quantity)) {
+            logger.warn("Lot {} de l'événement {} déjà rendu: {} tickets retenus jusqu'au rapprochement",
+                leaseId, eventId, quantity);
+        }
+    }
+
+    /**
+     * Maintenance périodique: rend les reliquats des lots échus de l'instance et récupère les
+     * lots abandonnés par d'autres instances.
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.escrow.maintenance-interval-ms:5000}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            allotments.values().forEach(allotment -> {
+                Lot lot = allotment.lot;
+                if (lot != null && lot.isExpired(now)) {
+                    router.onEvent(allotment.eventId, () -> {
+                        allotment.returnIfExpired(now);
+                        return null;
+                    });
+                }
+            });
+            Instant before = now.minus(Duration.ofMillis(properties.getReclaimGraceMs()));
+            router.forEachShard(() -> ledger.reclaimExpired(before));
+        } catch (Exception e) {
+            logger.warn("Maintenance du séquestre incomplète: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Événements dont l'instance détient un lot ouvert.
+     */
+    public Set<Long> allottedEvents() {
+        return allotments.values().stream()
+            .filter(allotment -> allotment.lot != null)
+            .map(allotment -> allotment.eventId)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Rend le reliquat du lot de l'événement (passation à un autre propriétaire). Les
+     * prélèvements en cours sur le lot fermé échouent et en ouvrent un nouveau s'ils sont
+     * encore servis par cette instance.
+     */
+    public void surrender(Long eventId) {
+        Allotment allotment = allotments.get(eventId);
+        if (allotment == null) {
+            return;
+        }
+        router.onEvent(eventId, () -> {
+            allotment.returnLot();
+            return null;
+        });
+    }
+
+    /**
+     * Rend tous les reliquats de l'instance (arrêt).
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        prefetcher.shutdownNow();
+        allotments.values().forEach(allotment -> {
+            try {
+                router.onEvent(allotment.eventId, () -> {
+                    allotment.returnLot();
+                    return null;
+                });
+            } catch (Exception e) {
+                logger.error("Reliquat de l'événement {} non rendu à l'arrêt: {}",
+                    allotment.eventId, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Complète le lot (ou en ouvre un nouveau) puis prélève la quantité. Un seul complément à la
+     * fois par événement: les appelants suivants trouvent en général le lot déjà complété.
+     */
+    private Long refillAndTake(Allotment allotment, int quantity) {
+        synchronized (allotment) {
+            for (int attempt = 0; attempt < TAKE_ATTEMPTS; attempt++) {
+                Long leaseId = allotment.tryTake(quantity);
+                if (leaseId != null) {
+                    return leaseId;
+                }
+                if (!allotment.refill(quantity)) {
+                    return null;
+                }
+            }
+            int available = allotment.available();
+            throw new InsufficientStockException(allotment.eventId, quantity, available);
+        }
+    }
+
+    /**
+     * Complément anticipé en arrière-plan, au plus un en cours par événement.
+     */
+    private void prefetch(Allotment allotment) {
+        if (!allotment.prefetching.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            prefetcher.execute(() -> {
+                try {
+                    router.onEvent(allotment.eventId, () -> {
+                        synchronized (allotment) {
+                            if (allotment.available() < properties.getLowWatermark()) {
+                                allotment.refill(0);
+                            }
+                        }
+                        return null;
+                    });
+                } catch (Exception e) {
+                    logger.debug("Complément anticipé de l'événement {} impossible: {}",
+                        allotment.eventId, e.getMessage());
+                } finally {
+                    allotment.prefetching.set(false);
+                }
+            });
+        } catch (Exception e) {
+            // Exécuteur arrêté
+            allotment.prefetching.set(false);
+        }
+    }
+
+    /**
+     * Stock en séquestre d'un événement sur cette instance. Le lot courant est remplacé ou
+     * complété sous le moniteur de l'objet; les prélèvements n'en ont pas besoin.
+     */
+    private final class Allotment {
+
+        private final Long eventId;
+        private final AtomicBoolean prefetching = new AtomicBoolean();
+        private volatile Lot lot;
+
+        private Allotment(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        private Long tryTake(int quantity) {
+            Lot current = lot;
+            return current != null && !current.isExpired(Instant.now()) && current.take(quantity)
+                ? current.leaseId
+                : null;
+        }
+
+        private int available() {
+            Lot current = lot;
+            return current == null ? 0 : Math.max(current.remaining.get(), 0);
+        }
+
+        /**
+         * Complète le lot courant, ou le remplace s'il est échu.
+         *
+         * @param needed Quantité qui doit pouvoir être prélevée ensuite (0: complément anticipé)
+         * @return false si l'événement n'a pas d'inventaire ou si l'instance s'arrête
+         */
+        private boolean refill(int needed) {
+            if (closed) {
+                return false;
+            }
+            returnIfExpired(Instant.now());
+            Lot current = lot;
+            int missing = Math.max(needed - available(), 0);
+            LeaseLedger.Grant grant;
+            try {
+                grant = ledger.grant(eventId, current == null ? null : current.leaseId, missing);
+            } catch (InsufficientStockException e) {
+                if (needed == 0) {
+                    return true;
+                }
+                throw new InsufficientStockException(eventId, needed, available() + e.getAvailable());
+            }
+            if (grant == null) {
+                return false;
+            }
+            if (current != null && current.leaseId.equals(grant.leaseId())) {
+                current.add(grant.amount());
+            } else {
+                lot = new Lot(grant.leaseId(), grant.expiresAt(), grant.amount());
+            }
+            return true;
+        }
+
+        private void returnIfExpired(Instant now) {
+            synchronized (this) {
+                Lot current = lot;
+                if (current != null && current.isExpired(now)) {
+                    returnLot();
+                }
+            }
+        }
+
+        private void returnLot() {
+            synchronized (this) {
+                Lot current = lot;
+                if (current == null) {
+                    return;
+                }
+                lot = null;
+                ledger.returnUnused(eventId, current.leaseId, current.close());
+            }
+        }
+    }
+
+    /**
+     * Lot en mémoire: reliquat décrémenté par compare-and-set, fermé en le remplaçant par
+     * {@link #CLOSED} (aucun prélèvement ne peut plus aboutir).
+     */
+    private static final class Lot {
+
+        private static final int CLOSED = Integer.MIN_VALUE;
+
+        private final Long leaseId;
+        private final Instant expiresAt;
+        private final AtomicInteger remaining;
+
+        private Lot(Long leaseId, Instant expiresAt, int remaining) {
+            this.leaseId = leaseId;
+            this.expiresAt = expiresAt;
+            this.remaining = new AtomicInteger(remaining);
+        }
+
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        private boolean take(int quantity) {
+            while (true) {
+                int current = remaining.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean giveBack(int quantity) {
+            while (true) {
+                int current = remaining.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current + quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        private void add(int quantity) {
+            giveBack(quantity);
+        }
+
+        /**
+         * @return Le reliquat au moment de la fermeture
+         */
+        private int close() {
+            return Math.max(remaining.getAndSet(CLOSED), 0);
+        }
+    }
+}
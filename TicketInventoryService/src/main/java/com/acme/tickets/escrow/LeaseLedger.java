@@ -0,0 +1,165 @@
+package com.acme.tickets.escrow;
+
+import com.acme.tickets.config.EscrowProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.InventoryLease;
+import com.acme.tickets.domain.repository.InventoryLeaseRepository;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.exception.InsufficientStockException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Écritures persistantes du séquestre: prélèvement d'un lot sur l'inventaire central, rendu du
+ * reliquat, récupération des lots abandonnés. Toujours dans l'ordre de verrouillage inventaire
+ * puis lot; l'état en mémoire des lots reste dans {@link InventoryEscrow}.
+ */
+final class LeaseLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseLedger.class);
+
+    /** Lots abandonnés récupérés par passage de maintenance et par shard. */
+    private static final int RECLAIM_BATCH = 100;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryLeaseRepository leaseRepository;
+    private final EscrowProperties properties;
+    private final TransactionTemplate leaseTransaction;
+    private final MeterRegistry registry;
+    private final String nodeId;
+
+    LeaseLedger(
+            InventoryRepository inventoryRepository,
+            InventoryLeaseRepository leaseRepository,
+            EscrowProperties properties,
+            TransactionTemplate leaseTransaction,
+            MeterRegistry registry,
+            String nodeId) {
+        this.inventoryRepository = inventoryRepository;
+        this.leaseRepository = leaseRepository;
+        this.properties = properties;
+        this.leaseTransaction = leaseTransaction;
+        this.registry = registry;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Prélève {@code needed} (au moins un lot) sur l'inventaire central verrouillé et l'ajoute
+     * au lot courant, ou à un nouveau lot, dans une transaction indépendante.
+     *
+     * @param currentLeaseId Lot courant de l'instance, null s'il n'y en a pas
+     * @return Le lot complété, null si l'inventaire n'existe pas
+     * @throws InsufficientStockException Si le disponible central ne couvre pas {@code needed}
+     */
+    Grant grant(Long eventId, Long currentLeaseId, int needed) {
+        return leaseTransaction.execute(status -> {
+            Inventory inventory = inventoryRepository.findByIdForUpdate(eventId).orElse(null);
+            if (inventory == null) {
+                return null;
+            }
+            int amount = Math.min(inventory.getAvailable(), Math.max(properties.getChunkSize(), needed));
+            if (amount < needed || amount <= 0) {
+                throw new InsufficientStockException(eventId, needed, Math.max(inventory.getAvailable(), 0));
+            }
+            inventory.reserve(amount);
+            inventoryRepository.save(inventory);
+
+            InventoryLease lease = currentLeaseId == null
+                ? null
+                : leaseRepository.findByIdForUpdate(currentLeaseId).orElse(null);
+            if (lease == null) {
+                lease = new InventoryLease(eventId, nodeId, amount,
+                    Instant.now().plus(Duration.ofMillis(properties.getLeaseTtlMs())));
+                count("acquired");
+            } else {
+                lease.setGranted(lease.getGranted() + amount);
+                count("topped_up");
+            }
+            lease = leaseRepository.save(lease);
+            logger.debug("Lot {} de l'événement {}: +{} tickets", lease.getId(), eventId, amount);
+            return new Grant(lease.getId(), lease.getExpiresAt(), amount);
+        });
+    }
+
+    /**
+     * Rend le reliquat d'un lot fermé à l'inventaire central et supprime le lot.
+     */
+    void returnUnused(Long eventId, Long leaseId, int unused) {
+        leaseTransaction.execute(status -> {
+            Inventory inventory = inventoryRepository.findByIdForUpdate(eventId).orElse(null);
+            if (leaseRepository.findByIdForUpdate(leaseId).isEmpty()) {
+                logger.warn("Lot {} de l'événement {} déjà récupéré par une autre instance", leaseId, eventId);
+                return null;
+            }
+            if (inventory != null && unused > 0) {
+                release(inventory, unused);
+            }
+            leaseRepository.deleteById(leaseId);
+            count("returned");
+            logger.debug("Lot {} de l'événement {} rendu: {} tickets", leaseId, eventId, unused);
+            return null;
+        });
+    }
+
+    /**
+     * Récupère les lots échus avant {@code before} sur le shard courant.
+     *
+     * @return Nombre de lots récupérés
+     */
+    int reclaimExpired(Instant before) {
+        List<Long> ids = leaseRepository.findIdsExpiredBefore(before, Limit.of(RECLAIM_BATCH));
+        int reclaimed = 0;
+        for (Long id : ids) {
+            Boolean done = leaseTransaction.execute(status -> reclaim(id));
+            reclaimed += Boolean.TRUE.equals(done) ? 1 : 0;
+        }
+        return reclaimed;
+    }
+
+    private boolean reclaim(Long leaseId) {
+        InventoryLease lease = leaseRepository.findById(leaseId).orElse(null);
+        if (lease == null) {
+            return false;
+        }
+        // Même ordre de verrouillage que le prélèvement: inventaire puis lot
+        Inventory inventory = inventoryRepository.findByIdForUpdate(lease.getEventId()).orElse(null);
+        if (leaseRepository.findByIdForUpdate(leaseId).isEmpty()) {
+            return false;
+        }
+        long unused = leaseRepository.findUnusedById(leaseId).orElse(0L);
+        if (inventory != null && unused > 0) {
+            release(inventory, (int) unused);
+        }
+        leaseRepository.deleteById(leaseId);
+        count("reclaimed");
+        logger.warn("Lot {} de l'instance {} récupéré pour l'événement {}: {} tickets rendus",
+            leaseId, lease.getNodeId(), lease.getEventId(), unused);
+        return true;
+    }
+
+    private void release(Inventory inventory, int quantity) {
+        int reservedBefore = inventory.getReserved();
+        if (!inventory.release(quantity)) {
+            logger.error("Tentative de stock négatif pour l'événement {}: {} - {}, ramené à 0",
+                inventory.getEventId(), reservedBefore, quantity);
+        }
+        inventoryRepository.save(inventory);
+    }
+
+    private void count(String action) {
+        registry.counter(InventoryEscrow.LEASES_COUNTER, "action", action).increment();
+    }
+
+    /**
+     * Stock accordé à un lot par {@link #grant}.
+     */
+    record Grant(Long leaseId, Instant expiresAt, int amount) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsqu'une cloison (bulkhead) refuse un appel: file d'attente pleine
+ * ou attente d'une place dépassée. Le client est invité à réessayer plus tard (503).
+ */
+public class BulkheadFullException extends RejectionException {
+
+    private final Long eventId;
+    private final String bulkhead;
+
+    public BulkheadFullException(Long eventId, String bulkhead) {
+        this.eventId = eventId;
+        this.bulkhead = bulkhead;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Capacité saturée pour l'événement " + eventId + " (cloison " + bulkhead + ")";
+    }
+}
@@ -0,0 +1,22 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsqu'un panier demandé n'existe pas (aucune réservation ne le porte).
+ */
+public class CartNotFoundException extends RejectionException {
+
+    private final String cartId;
+
+    public CartNotFoundException(String cartId) {
+        this.cartId = cartId;
+    }
+
+    public String getCartId() {
+        return cartId;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Panier non trouvé avec l'ID: " + cartId;
+    }
+}
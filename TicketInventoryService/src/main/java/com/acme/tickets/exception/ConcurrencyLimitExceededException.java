@@ -0,0 +1,31 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsque la limite de concurrence adaptative est atteinte: l'appel est délesté
+ * immédiatement au lieu d'attendre au-delà du délai du client. Le client est invité à réessayer
+ * plus tard (503).
+ */
+public class ConcurrencyLimitExceededException extends RejectionException {
+
+    private final String operation;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String operation, int limit) {
+        this.operation = operation;
+        this.limit = limit;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Service saturé: limite de " + limit + " appels simultanés atteinte (" + operation
+            + "), réessayez dans un instant";
+    }
+}
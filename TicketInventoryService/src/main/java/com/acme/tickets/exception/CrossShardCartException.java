@@ -0,0 +1,25 @@
+package com.acme.tickets.exception;
+
+import java.util.Collection;
+
+/**
+ * Exception levée lorsqu'un panier regroupe des événements stockés sur des shards différents:
+ * le tout ou rien d'un panier repose sur une seule transaction locale (422).
+ */
+public class CrossShardCartException extends RejectionException {
+
+    private final Collection<Long> eventIds;
+
+    public CrossShardCartException(Collection<Long> eventIds) {
+        this.eventIds = eventIds;
+    }
+
+    public Collection<Long> getEventIds() {
+        return eventIds;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Les événements " + eventIds + " ne peuvent pas être réservés dans un même panier";
+    }
+}
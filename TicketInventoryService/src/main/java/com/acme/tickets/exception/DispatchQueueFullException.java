@@ -0,0 +1,23 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsque le répartiteur à priorités refuse un appel: file de sa priorité
+ * pleine ou attente d'une place dépassée. Le client est invité à réessayer plus tard (503).
+ */
+public class DispatchQueueFullException extends RejectionException {
+
+    private final String priority;
+
+    public DispatchQueueFullException(String priority) {
+        this.priority = priority;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Service saturé: file " + priority + " pleine, réessayez dans un instant";
+    }
+}
@@ -0,0 +1,23 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsqu'un événement est en cours de déplacement vers un autre shard:
+ * ses opérations sont suspendues le temps de la copie. Le client est invité à réessayer (503).
+ */
+public class EventMigratingException extends RejectionException {
+
+    private final Long eventId;
+
+    public EventMigratingException(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Événement " + eventId + " en cours de déplacement, réessayez dans un instant";
+    }
+}
@@ -0,0 +1,52 @@
+package com.acme.tickets.exception;
+
+/**
+ * Rejet prononcé par l'instance propriétaire d'un événement pour une opération qui lui a été
+ * transmise (mode propriétaire). Le statut gRPC reçu ne dit pas toujours quelle exception l'a
+ * produit (FAILED_PRECONDITION couvre stock, expiration et état): l'instance qui transmet
+ * choisit le statut HTTP d'après l'opération et relaie le message du propriétaire.
+ */
+public class ForwardedRejectionException extends RejectionException {
+
+    private final String owner;
+    private final String grpcCode;
+    private final int httpStatus;
+    private final String error;
+    private final String reason;
+
+    /**
+     * @param owner Identifiant de l'instance propriétaire
+     * @param grpcCode Code du statut gRPC reçu (nom de io.grpc.Status.Code)
+     * @param httpStatus Statut HTTP retenu pour le client
+     * @param error Libellé court du rejet (champ error de la réponse)
+     * @param reason Description renvoyée par le propriétaire
+     */
+    public ForwardedRejectionException(String owner, String grpcCode, int httpStatus, String error, String reason) {
+        this.owner = owner;
+        this.grpcCode = grpcCode;
+        this.httpStatus = httpStatus;
+        this.error = error;
+        this.reason = reason;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getGrpcCode() {
+        return grpcCode;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return reason == null || reason.isBlank() ? error : reason;
+    }
+}
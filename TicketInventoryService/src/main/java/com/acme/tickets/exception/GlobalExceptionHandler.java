@@ -1,14 +1,19 @@
 package com.acme.tickets.exception;
 
+import com.acme.tickets.observability.RejectionLogThrottle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -17,6 +22,11 @@ import java.util.Map;
 /**
  * Gestionnaire global des exceptions pour l'API.
  * Capture les erreurs et retourne des réponses JSON standardisées.
+ * Les rejets fréquents ({@link RejectionException}, conflits de version) sont rendus à partir
+ * de corps pré-sérialisés et journalisés avec limitation de débit.
+ * <p>
+ * Les gestionnaires ne dépendent pas de l'API servlet, hormis la description de requête des
+ * erreurs de validation et des conflits: la variante réactive les réutilise par délégation.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -26,6 +36,48 @@ public class GlobalExceptionHandler {
     private static final String STATUS_KEY = "status";
     private static final String ERROR_KEY = "error";
     private static final String MESSAGE_KEY = "message";
+    private static final String CONCURRENT_UPDATE_LOG = "Concurrent update conflict";
+
+    // Corps pré-sérialisés des rejets fréquents (vente éclair, conflits)
+    private static final PreSerializedErrorBody RESERVATION_NOT_FOUND =
+        PreSerializedErrorBody.of(HttpStatus.NOT_FOUND, "Reservation Not Found");
+    private static final PreSerializedErrorBody CART_NOT_FOUND =
+        PreSerializedErrorBody.of(HttpStatus.NOT_FOUND, "Cart Not Found");
+    private static final PreSerializedErrorBody INVENTORY_NOT_FOUND =
+        PreSerializedErrorBody.of(HttpStatus.NOT_FOUND, "Inventory Not Found");
+    private static final PreSerializedErrorBody INSUFFICIENT_STOCK =
+        PreSerializedErrorBody.of(HttpStatus.CONFLICT, "Insufficient Stock");
+    private static final PreSerializedErrorBody PURCHASE_QUOTA_EXCEEDED =
+        PreSerializedErrorBody.of(HttpStatus.CONFLICT, "Purchase Quota Exceeded");
+    private static final PreSerializedErrorBody CATEGORY_LIMIT_EXCEEDED =
+        PreSerializedErrorBody.of(HttpStatus.BAD_REQUEST, "Category Limit Exceeded");
+    private static final PreSerializedErrorBody RESERVATION_EXPIRED =
+        PreSerializedErrorBody.of(HttpStatus.UNPROCESSABLE_ENTITY, "Reservation Expired");
+    private static final PreSerializedErrorBody INVALID_RESERVATION_STATE =
+        PreSerializedErrorBody.of(HttpStatus.UNPROCESSABLE_ENTITY, "Invalid Reservation State");
+    private static final PreSerializedErrorBody BULKHEAD_FULL =
+        PreSerializedErrorBody.withRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, "Capacity Exceeded", "1");
+    private static final PreSerializedErrorBody CONCURRENCY_LIMIT_EXCEEDED =
+        PreSerializedErrorBody.withRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, "Concurrency Limit Exceeded", "1");
+    private static final PreSerializedErrorBody DISPATCH_QUEUE_FULL =
+        PreSerializedErrorBody.withRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, "Dispatch Queue Full", "1");
+    private static final PreSerializedErrorBody EVENT_MIGRATING =
+        PreSerializedErrorBody.withRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, "Event Migrating", "1");
+    private static final PreSerializedErrorBody CROSS_SHARD_CART =
+        PreSerializedErrorBody.of(HttpStatus.UNPROCESSABLE_ENTITY, "Cross Shard Cart");
+    private static final PreSerializedErrorBody SHARD_MOVE_REJECTED =
+        PreSerializedErrorBody.of(HttpStatus.CONFLICT, "Shard Move Rejected");
+    private static final PreSerializedErrorBody CONCURRENT_UPDATE = PreSerializedErrorBody.withFixedMessage(
+        HttpStatus.CONFLICT,
+        "Concurrent Update",
+        "L'inventaire est modifié simultanément par d'autres réservations. Veuillez réessayer.",
+        "1");
+
+    private final RejectionLogThrottle rejectionLog;
+
+    public GlobalExceptionHandler(RejectionLogThrottle rejectionLog) {
+        this.rejectionLog = rejectionLog;
+    }
 
     /**
      * Gère les erreurs de validation Jakarta (@Valid).
@@ -34,14 +86,23 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, Object>> handleValidationException(
             MethodArgumentNotValidException ex, WebRequest request) {
         
+        return validationFailed(ex.getBindingResult(), request.getDescription(false));
+    }
+
+    /**
+     * Réponse 400 des erreurs de validation, quelle que soit la pile web (servlet ou réactive).
+     */
+    public ResponseEntity<Map<String, Object>> validationFailed(
+            BindingResult bindingResult, String requestDescription) {
+
         Map<String, String> fieldErrors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
+        bindingResult.getAllErrors().forEach(error -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             fieldErrors.put(fieldName, errorMessage);
         });
         
-        logger.warn("Validation failed for request {}: {}", request.getDescription(false), fieldErrors);
+        logger.warn("Validation failed for request {}: {}", requestDescription, fieldErrors);
         
         return ResponseEntity
             .status(HttpStatus.BAD_REQUEST)
@@ -57,134 +118,323 @@ public class GlobalExceptionHandler {
      * Gère les réservations non trouvées (404).
      */
     @ExceptionHandler(ReservationNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleReservationNotFound(
-            ReservationNotFoundException ex, WebRequest request) {
-        
-        logger.warn("Reservation not found: {}", ex.getMessage());
-        
-        return ResponseEntity
-            .status(HttpStatus.NOT_FOUND)
-            .body(buildErrorResponse(
-                HttpStatus.NOT_FOUND,
-                "Reservation Not Found",
-                ex.getMessage(),
-                Map.of("reservationId", ex.getReservationId())
-            ));
+    public ResponseEntity<byte[]> handleReservationNotFound(
+            ReservationNotFoundException ex) {
+
+        logRejection("Reservation not found", ex);
+
+        return RESERVATION_NOT_FOUND.begin()
+            .message(ex.getMessage())
+            .field("reservationId", ex.getReservationId())
+            .toResponse();
+    }
+
+    /**
+     * Gère les paniers non trouvés (404).
+     */
+    @ExceptionHandler(CartNotFoundException.class)
+    public ResponseEntity<byte[]> handleCartNotFound(
+            CartNotFoundException ex) {
+
+        logRejection("Cart not found", ex);
+
+        return CART_NOT_FOUND.begin()
+            .message(ex.getMessage())
+            .field("cartId", ex.getCartId())
+            .toResponse();
     }
 
     /**
      * Gère les inventaires non trouvés (404).
      */
     @ExceptionHandler(InventoryNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleInventoryNotFound(
-            InventoryNotFoundException ex, WebRequest request) {
-        
-        logger.warn("Inventory not found: {}", ex.getMessage());
-        
-        return ResponseEntity
-            .status(HttpStatus.NOT_FOUND)
-            .body(buildErrorResponse(
-                HttpStatus.NOT_FOUND,
-                "Inventory Not Found",
-                ex.getMessage(),
-                Map.of("eventId", ex.getEventId())
-            ));
+    public ResponseEntity<byte[]> handleInventoryNotFound(
+            InventoryNotFoundException ex) {
+
+        logRejection("Inventory not found", ex);
+
+        return INVENTORY_NOT_FOUND.begin()
+            .message(ex.getMessage())
+            .field("eventId", ex.getEventId())
+            .toResponse();
     }
 
     /**
      * Gère le stock insuffisant (409 Conflict).
      */
     @ExceptionHandler(InsufficientStockException.class)
-    public ResponseEntity<Map<String, Object>> handleInsufficientStock(
-            InsufficientStockException ex, WebRequest request) {
-        
-        logger.warn("Insufficient stock: {}", ex.getMessage());
-        
-        return ResponseEntity
-            .status(HttpStatus.CONFLICT)
-            .body(buildErrorResponse(
-                HttpStatus.CONFLICT,
-                "Insufficient Stock",
-                ex.getMessage(),
-                Map.of(
-                    "eventId", ex.getEventId(),
-                    "requested", ex.getRequested(),
-                    "available", ex.getAvailable()
-                )
-            ));
+    public ResponseEntity<byte[]> handleInsufficientStock(
+            InsufficientStockException ex) {
+
+        logRejection("Insufficient stock", ex);
+
+        return INSUFFICIENT_STOCK.begin()
+            .message(ex.getMessage())
+            .field("eventId", ex.getEventId())
+            .field("requested", ex.getRequested())
+            .field("available", ex.getAvailable())
+            .toResponse();
+    }
+
+    /**
+     * Gère les dépassements du quota de billets par utilisateur et événement (409 Conflict).
+     */
+    @ExceptionHandler(PurchaseQuotaExceededException.class)
+    public ResponseEntity<byte[]> handlePurchaseQuotaExceeded(
+            PurchaseQuotaExceededException ex) {
+
+        logRejection("Purchase quota exceeded", ex);
+
+        return PURCHASE_QUOTA_EXCEEDED.begin()
+            .message(ex.getMessage())
+            .field("eventId", ex.getEventId())
+            .field("requested", ex.getRequested())
+            .field("held", ex.getHeld())
+            .field("maxAllowed", ex.getMaxAllowed())
+            .toResponse();
     }
 
     /**
      * Gère les dépassements de limite par catégorie (400 Bad Request).
      */
     @ExceptionHandler(CategoryLimitExceededException.class)
-    public ResponseEntity<Map<String, Object>> handleCategoryLimitExceeded(
-            CategoryLimitExceededException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleCategoryLimitExceeded(
+            CategoryLimitExceededException ex) {
 
-        logger.warn("Category limit exceeded: {}", ex.getMessage());
+        logRejection("Category limit exceeded", ex);
 
-        return ResponseEntity
-            .status(HttpStatus.BAD_REQUEST)
-            .body(buildErrorResponse(
-                HttpStatus.BAD_REQUEST,
-                "Category Limit Exceeded",
-                ex.getMessage(),
-                Map.of(
-                    "category", ex.getCategory(),
-                    "requested", ex.getRequested(),
-                    "maxAllowed", ex.getMaxAllowed()
-                )
-            ));
+        return CATEGORY_LIMIT_EXCEEDED.begin()
+            .message(ex.getMessage())
+            .field("category", ex.getCategory())
+            .field("requested", ex.getRequested())
+            .field("maxAllowed", ex.getMaxAllowed())
+            .toResponse();
     }
 
     /**
      * Gère les réservations expirées (422 Unprocessable Entity).
      */
     @ExceptionHandler(ReservationExpiredException.class)
-    public ResponseEntity<Map<String, Object>> handleReservationExpired(
-            ReservationExpiredException ex, WebRequest request) {
-        
-        logger.warn("Reservation expired: {}", ex.getMessage());
-        
+    public ResponseEntity<byte[]> handleReservationExpired(
+            ReservationExpiredException ex) {
+
+        logRejection("Reservation expired", ex);
+
+        return RESERVATION_EXPIRED.begin()
+            .message(ex.getMessage())
+            .field("reservationId", ex.getReservationId())
+            .toResponse();
+    }
+
+    /**
+     * Gère les états de réservation invalides (422).
+     */
+    @ExceptionHandler(InvalidReservationStateException.class)
+    public ResponseEntity<byte[]> handleInvalidReservationState(
+            InvalidReservationStateException ex) {
+
+        logRejection("Invalid reservation state", ex);
+
+        return INVALID_RESERVATION_STATE.begin()
+            .message(ex.getMessage())
+            .field("reservationId", ex.getReservationId())
+            .field("currentStatus", ex.getCurrentStatus())
+            .field("expectedStatus", ex.getExpectedStatus())
+            .toResponse();
+    }
+
+    /**
+     * Gère les appels rejetés par une cloison saturée (503 Service Unavailable).
+     * Retry-After invite le client à espacer sa nouvelle tentative.
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<byte[]> handleBulkheadFull(
+            BulkheadFullException ex) {
+
+        logRejection("Bulkhead full", ex);
+
+        return BULKHEAD_FULL.begin()
+            .message(ex.getMessage())
+            .field("eventId", ex.getEventId())
+            .toResponse();
+    }
+
+    /**
+     * Gère les appels délestés par la limite de concurrence adaptative (503 + Retry-After).
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<byte[]> handleConcurrencyLimitExceeded(
+            ConcurrencyLimitExceededException ex) {
+
+        logRejection("Concurrency limit exceeded", ex);
+
+        return CONCURRENCY_LIMIT_EXCEEDED.begin()
+            .message(ex.getMessage())
+            .field("operation", ex.getOperation())
+            .field("limit", ex.getLimit())
+            .toResponse();
+    }
+
+    /**
+     * Gère les appels rejetés par le répartiteur à priorités (file pleine ou attente dépassée, 503).
+     */
+    @ExceptionHandler(DispatchQueueFullException.class)
+    public ResponseEntity<byte[]> handleDispatchQueueFull(
+            DispatchQueueFullException ex) {
+
+        logRejection("Dispatch queue full", ex);
+
+        return DISPATCH_QUEUE_FULL.begin()
+            .message(ex.getMessage())
+            .field("priority", ex.getPriority())
+            .toResponse();
+    }
+
+    /**
+     * Gère les opérations sur un événement en cours de déplacement entre shards (503).
+     */
+    @ExceptionHandler(EventMigratingException.class)
+    public ResponseEntity<byte[]> handleEventMigrating(
+            EventMigratingException ex) {
+
+        logRejection("Event migrating", ex);
+
+        return EVENT_MIGRATING.begin()
+            .message(ex.getMessage())
+            .field("eventId", ex.getEventId())
+            .toResponse();
+    }
+
+    /**
+     * Gère les rejets prononcés par l'instance propriétaire d'un événement (statut choisi à la
+     * transmission). Un 503 porte Retry-After comme les cloisons saturées.
+     */
+    @ExceptionHandler(ForwardedRejectionException.class)
+    public ResponseEntity<Map<String, Object>> handleForwardedRejection(
+            ForwardedRejectionException ex) {
+
+        logRejection("Forwarded rejection", ex);
+
+        HttpStatus status = HttpStatus.valueOf(ex.getHttpStatus());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(buildErrorResponse(
+            status,
+            ex.getError(),
+            ex.getMessage(),
+            Map.of("owner", ex.getOwner())
+        ));
+    }
+
+    /**
+     * Gère les paniers dont les événements sont sur des shards différents (422).
+     */
+    @ExceptionHandler(CrossShardCartException.class)
+    public ResponseEntity<byte[]> handleCrossShardCart(
+            CrossShardCartException ex) {
+
+        logRejection("Cross shard cart", ex);
+
+        return CROSS_SHARD_CART.begin()
+            .message(ex.getMessage())
+            .toResponse();
+    }
+
+    /**
+     * Gère les déplacements d'événement refusés (409 Conflict).
+     */
+    @ExceptionHandler(ShardMoveRejectedException.class)
+    public ResponseEntity<byte[]> handleShardMoveRejected(
+            ShardMoveRejectedException ex) {
+
+        logRejection("Shard move rejected", ex);
+
+        return SHARD_MOVE_REJECTED.begin()
+            .message(ex.getMessage())
+            .field("eventId", ex.getEventId())
+            .field("reason", ex.getReason())
+            .toResponse();
+    }
+
+    /**
+     * Gère les curseurs de pagination invalides (400).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(
+            InvalidCursorException ex) {
+
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+
         return ResponseEntity
-            .status(HttpStatus.UNPROCESSABLE_ENTITY)
+            .status(HttpStatus.BAD_REQUEST)
             .body(buildErrorResponse(
-                HttpStatus.UNPROCESSABLE_ENTITY,
-                "Reservation Expired",
+                HttpStatus.BAD_REQUEST,
+                "Invalid Cursor",
                 ex.getMessage(),
-                Map.of("reservationId", ex.getReservationId())
+                null
             ));
     }
 
     /**
-     * Gère les états de réservation invalides (422).
+     * Gère les paramètres de requête mal typés, ex. statut inconnu (400).
      */
-    @ExceptionHandler(InvalidReservationStateException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidReservationState(
-            InvalidReservationStateException ex, WebRequest request) {
-        
-        logger.warn("Invalid reservation state: {}", ex.getMessage());
-        
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(
+            MethodArgumentTypeMismatchException ex) {
+
+        return invalidParameter(ex.getName(), ex.getValue());
+    }
+
+    /**
+     * Réponse 400 d'un paramètre de requête mal typé, quelle que soit la pile web.
+     */
+    public ResponseEntity<Map<String, Object>> invalidParameter(String name, Object value) {
+
+        logger.warn("Invalid request parameter {}: {}", name, value);
+
         return ResponseEntity
-            .status(HttpStatus.UNPROCESSABLE_ENTITY)
+            .status(HttpStatus.BAD_REQUEST)
             .body(buildErrorResponse(
-                HttpStatus.UNPROCESSABLE_ENTITY,
-                "Invalid Reservation State",
-                ex.getMessage(),
-                Map.of(
-                    "reservationId", ex.getReservationId(),
-                    "currentStatus", ex.getCurrentStatus(),
-                    "expectedStatus", ex.getExpectedStatus()
-                )
+                HttpStatus.BAD_REQUEST,
+                "Invalid Parameter",
+                String.format("Valeur invalide pour le paramètre '%s'", name),
+                null
             ));
     }
 
+    /**
+     * Gère les conflits de version persistants après rejeu automatique (409 Conflict).
+     * Retry-After invite le client à espacer sa nouvelle tentative.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        return concurrentUpdate(ex, request.getDescription(false));
+    }
+
+    /**
+     * Réponse 409 d'un conflit de version persistant, quelle que soit la pile web.
+     */
+    public ResponseEntity<byte[]> concurrentUpdate(
+            OptimisticLockingFailureException ex, String requestDescription) {
+
+        long suppressed = rejectionLog.admit(CONCURRENT_UPDATE_LOG);
+        if (suppressed >= 0) {
+            logger.warn("Concurrent update conflict for request {}: {}{}",
+                requestDescription, ex.getMessage(), suppressedSuffix(suppressed));
+        }
+
+        return CONCURRENT_UPDATE.begin().toResponse();
+    }
+
     /**
      * Gère toutes les exceptions non capturées (500).
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(
-            Exception ex, WebRequest request) {
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         
         logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
         
@@ -198,6 +448,20 @@ public class GlobalExceptionHandler {
             ));
     }
 
+    /**
+     * Journalise un rejet métier attendu, dans la limite de {@link RejectionLogThrottle}.
+     */
+    private void logRejection(String label, RejectionException ex) {
+        long suppressed = rejectionLog.admit(label);
+        if (suppressed >= 0) {
+            logger.warn("{}: {}{}", label, ex.getMessage(), suppressedSuffix(suppressed));
+        }
+    }
+
+    private static String suppressedSuffix(long suppressed) {
+        return suppressed == 0 ? "" : " (+" + suppressed + " rejets similaires non journalisés)";
+    }
+
     /**
      * Construit une réponse d'erreur standardisée.
      */
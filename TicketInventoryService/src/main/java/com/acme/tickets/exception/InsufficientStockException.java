@@ -3,15 +3,13 @@ package com.acme.tickets.exception;
 /**
  * Exception levée lorsque le stock de tickets est insuffisant pour une réservation.
  */
-public class InsufficientStockException extends RuntimeException {
+public class InsufficientStockException extends RejectionException {
     
     private final Long eventId;
     private final int requested;
     private final int available;
 
     public InsufficientStockException(Long eventId, int requested, int available) {
-        super(String.format("Stock insuffisant pour l'événement %d: %d demandés, %d disponibles",
-            eventId, requested, available));
         this.eventId = eventId;
         this.requested = requested;
         this.available = available;
@@ -28,4 +26,10 @@ public class InsufficientStockException extends RuntimeException {
     public int getAvailable() {
         return available;
     }
+
+    @Override
+    protected String buildMessage() {
+        return "Stock insuffisant pour l'événement " + eventId + ": " + requested + " demandés, "
+            + available + " disponibles";
+    }
 }
@@ -0,0 +1,18 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsqu'un curseur de pagination est invalide ou corrompu.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super(String.format("Curseur de pagination invalide: %s", cursor));
+        this.cursor = cursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
@@ -5,7 +5,7 @@ import com.acme.tickets.domain.enums.ReservationStatus;
 /**
  * Exception levée lorsqu'une opération est tentée sur une réservation dans un état invalide.
  */
-public class InvalidReservationStateException extends RuntimeException {
+public class InvalidReservationStateException extends RejectionException {
     
     private final Long reservationId;
     private final ReservationStatus currentStatus;
@@ -13,8 +13,6 @@ public class InvalidReservationStateException extends RuntimeException {
 
     public InvalidReservationStateException(Long reservationId, ReservationStatus currentStatus, 
                                            ReservationStatus expectedStatus) {
-        super(String.format("Réservation %d dans un état invalide: %s (attendu: %s)",
-            reservationId, currentStatus, expectedStatus));
         this.reservationId = reservationId;
         this.currentStatus = currentStatus;
         this.expectedStatus = expectedStatus;
@@ -31,4 +29,10 @@ public class InvalidReservationStateException extends RuntimeException {
     public ReservationStatus getExpectedStatus() {
         return expectedStatus;
     }
+
+    @Override
+    protected String buildMessage() {
+        return "Réservation " + reservationId + " dans un état invalide: " + currentStatus
+            + " (attendu: " + expectedStatus + ")";
+    }
 }
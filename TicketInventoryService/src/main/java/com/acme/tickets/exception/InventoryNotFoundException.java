@@ -3,16 +3,20 @@ package com.acme.tickets.exception;
 /**
  * Exception levée lorsqu'un inventaire pour un événement n'existe pas.
  */
-public class InventoryNotFoundException extends RuntimeException {
+public class InventoryNotFoundException extends RejectionException {
     
     private final Long eventId;
 
     public InventoryNotFoundException(Long eventId) {
-        super(String.format("Inventaire non trouvé pour l'événement: %d", eventId));
         this.eventId = eventId;
     }
 
     public Long getEventId() {
         return eventId;
     }
+
+    @Override
+    protected String buildMessage() {
+        return "Inventaire non trouvé pour l'événement: " + eventId;
+    }
 }
@@ -0,0 +1,140 @@
+package com.acme.tickets.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Corps d'erreur JSON pré-sérialisé pour un code de rejet fréquent.
+ * <p>
+ * La partie constante (status, error, et le message s'il est fixe) est encodée une fois à la
+ * construction; par requête, seuls l'horodatage, le message et quelques détails scalaires sont
+ * ajoutés, sans Map intermédiaire ni passage par Jackson. Le document produit contient les mêmes
+ * champs que ceux de {@link GlobalExceptionHandler} construits par Map.
+ */
+final class PreSerializedErrorBody {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final HttpStatus status;
+    private final HttpHeaders headers;
+    private final String head;
+
+    private PreSerializedErrorBody(HttpStatus status, String error, String fixedMessage, String retryAfter) {
+        this.status = status;
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+        if (retryAfter != null) {
+            responseHeaders.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        this.headers = HttpHeaders.readOnlyHttpHeaders(responseHeaders);
+        StringBuilder json = new StringBuilder(INITIAL_CAPACITY)
+            .append("{\"status\":").append(status.value())
+            .append(",\"error\":");
+        appendQuoted(json, error);
+        if (fixedMessage != null) {
+            json.append(",\"message\":");
+            appendQuoted(json, fixedMessage);
+        }
+        this.head = json.append(",\"timestamp\":\"").toString();
+    }
+
+    /**
+     * Rejet dont le message dépend de la requête.
+     */
+    static PreSerializedErrorBody of(HttpStatus status, String error) {
+        return new PreSerializedErrorBody(status, error, null, null);
+    }
+
+    /**
+     * Rejet dont le message dépend de la requête, avec en-tête Retry-After (secondes).
+     */
+    static PreSerializedErrorBody withRetryAfter(HttpStatus status, String error, String retryAfter) {
+        return new PreSerializedErrorBody(status, error, null, retryAfter);
+    }
+
+    /**
+     * Rejet au message constant: seul l'horodatage est écrit par requête.
+     *
+     * @param retryAfter valeur de l'en-tête Retry-After (secondes), null si absent
+     */
+    static PreSerializedErrorBody withFixedMessage(
+            HttpStatus status, String error, String message, String retryAfter) {
+        return new PreSerializedErrorBody(status, error, message, retryAfter);
+    }
+
+    /**
+     * Démarre un corps: en-tête constant et horodatage courant.
+     */
+    Writer begin() {
+        return new Writer(new StringBuilder(INITIAL_CAPACITY)
+            .append(head).append(Instant.now()).append('"'));
+    }
+
+    /**
+     * Complète un corps avec le message et des détails scalaires.
+     */
+    final class Writer {
+
+        private final StringBuilder json;
+
+        private Writer(StringBuilder json) {
+            this.json = json;
+        }
+
+        Writer message(String message) {
+            return field("message", message);
+        }
+
+        Writer field(String name, long value) {
+            json.append(",\"").append(name).append("\":").append(value);
+            return this;
+        }
+
+        Writer field(String name, Object value) {
+            json.append(",\"").append(name).append("\":");
+            if (value == null) {
+                json.append("null");
+            } else if (value instanceof Number) {
+                json.append(value);
+            } else {
+                appendQuoted(json, value.toString());
+            }
+            return this;
+        }
+
+        byte[] toBytes() {
+            return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        ResponseEntity<byte[]> toResponse() {
+            return new ResponseEntity<>(toBytes(), headers, status);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,48 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsqu'une réservation ferait dépasser à l'utilisateur son quota de billets
+ * pour un événement (réservations PENDING et CONFIRMED cumulées).
+ */
+public class PurchaseQuotaExceededException extends RejectionException {
+
+    private final Long userId;
+    private final Long eventId;
+    private final int requested;
+    private final int held;
+    private final int maxAllowed;
+
+    public PurchaseQuotaExceededException(Long userId, Long eventId, int requested, int held, int maxAllowed) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.requested = requested;
+        this.held = held;
+        this.maxAllowed = maxAllowed;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getHeld() {
+        return held;
+    }
+
+    public int getMaxAllowed() {
+        return maxAllowed;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Quota de " + maxAllowed + " billets par utilisateur atteint pour l'événement " + eventId
+            + ": " + held + " déjà réservés, " + requested + " demandés";
+    }
+}
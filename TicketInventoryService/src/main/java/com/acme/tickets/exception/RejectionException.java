@@ -0,0 +1,32 @@
+package com.acme.tickets.exception;
+
+/**
+ * Base des rejets métier attendus (stock épuisé, état invalide, réservation inconnue...).
+ * <p>
+ * Ces exceptions portent une décision, pas une anomalie: elles ne capturent pas de pile
+ * d'appels (coûteuse à remplir à la profondeur d'une requête Spring) et leur message n'est
+ * construit qu'à la première lecture.
+ */
+public abstract class RejectionException extends RuntimeException {
+
+    private String message;
+
+    protected RejectionException() {
+        super(null, null, false, false);
+    }
+
+    @Override
+    public String getMessage() {
+        String built = message;
+        if (built == null) {
+            built = buildMessage();
+            message = built;
+        }
+        return built;
+    }
+
+    /**
+     * Construit le message destiné au client et aux journaux.
+     */
+    protected abstract String buildMessage();
+}
@@ -3,16 +3,20 @@ package com.acme.tickets.exception;
 /**
  * Exception levée lorsqu'une réservation a expiré.
  */
-public class ReservationExpiredException extends RuntimeException {
+public class ReservationExpiredException extends RejectionException {
     
     private final Long reservationId;
 
     public ReservationExpiredException(Long reservationId) {
-        super(String.format("La réservation %d a expiré", reservationId));
         this.reservationId = reservationId;
     }
 
     public Long getReservationId() {
         return reservationId;
     }
+
+    @Override
+    protected String buildMessage() {
+        return "La réservation " + reservationId + " a expiré";
+    }
 }
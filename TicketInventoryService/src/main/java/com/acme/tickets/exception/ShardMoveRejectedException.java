@@ -0,0 +1,29 @@
+package com.acme.tickets.exception;
+
+/**
+ * Exception levée lorsqu'un déplacement d'événement entre shards est refusé: shard cible
+ * invalide, paniers actifs sur l'événement ou opérations en cours non terminées à temps (409).
+ */
+public class ShardMoveRejectedException extends RejectionException {
+
+    private final Long eventId;
+    private final String reason;
+
+    public ShardMoveRejectedException(Long eventId, String reason) {
+        this.eventId = eventId;
+        this.reason = reason;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    protected String buildMessage() {
+        return "Déplacement de l'événement " + eventId + " refusé: " + reason;
+    }
+}
@@ -0,0 +1,149 @@
+package com.acme.tickets.grpc;
+
+import com.acme.tickets.config.GrpcProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.grpc.v1.Availability;
+import com.acme.tickets.sharding.ShardRouter;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flux WatchAvailability ouverts: disponibilité poussée aux abonnés à chaque changement.
+ * <p>
+ * Une seule relecture groupée des inventaires suivis par intervalle, quel que soit le nombre
+ * d'abonnés: le coût en base ne croît qu'avec le nombre d'événements distincts. Un abonné
+ * dont le tampon d'envoi est plein (client lent) est sauté et reçoit la valeur courante au
+ * tour suivant, sans accumulation des valeurs intermédiaires.
+ */
+@Component
+public class AvailabilityWatchHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityWatchHub.class);
+
+    private final InventoryRepository inventoryRepository;
+    private final GrpcProperties properties;
+    private final ShardRouter router;
+    private final Set<Watcher> watchers = ConcurrentHashMap.newKeySet();
+
+    public AvailabilityWatchHub(
+            InventoryRepository inventoryRepository, GrpcProperties properties, ShardRouter router) {
+        this.inventoryRepository = inventoryRepository;
+        this.router = router;
+        this.properties = properties;
+    }
+
+    /**
+     * Ouvre un flux: envoie la disponibilité initiale puis l'inscrit aux relectures.
+     * Le flux est retiré à l'annulation du client ou à l'expiration de son échéance.
+     */
+    public void subscribe(Availability initial, ServerCallStreamObserver<Availability> observer) {
+        if (watchers.size() >= properties.getMaxWatchers()) {
+            throw Status.RESOURCE_EXHAUSTED
+                .withDescription("Nombre maximum de flux de disponibilité atteint")
+                .asRuntimeException();
+        }
+        Watcher watcher = new Watcher(initial.getEventId(), observer);
+        observer.setOnCancelHandler(() -> watchers.remove(watcher));
+        watcher.send(initial);
+        watchers.add(watcher);
+        if (observer.isCancelled()) {
+            watchers.remove(watcher);
+        }
+    }
+
+    /**
+     * Relit les inventaires suivis, une requête par shard, et pousse les disponibilités modifiées.
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.grpc.watch-interval-ms:500}")
+    public void poll() {
+        if (watchers.isEmpty()) {
+            return;
+        }
+        Map<Integer, Set<Long>> eventIdsByShard = new HashMap<>();
+        watchers.forEach(watcher -> eventIdsByShard
+            .computeIfAbsent(router.shardFor(watcher.eventId), shard -> new HashSet<>())
+            .add(watcher.eventId));
+        Map<Long, Availability> current = new HashMap<>();
+        eventIdsByShard.forEach((shard, eventIds) -> {
+            for (Inventory inventory : router.onShard(shard, () -> inventoryRepository.findAllById(eventIds))) {
+                current.put(inventory.getEventId(), Availability.newBuilder()
+                    .setEventId(inventory.getEventId())
+                    .setTotal(inventory.getTotal())
+                    .setAvailable(inventory.getAvailable())
+                    .build());
+            }
+        });
+        for (Watcher watcher : watchers) {
+            Availability availability = current.get(watcher.eventId);
+            if (availability != null) {
+                watcher.sendIfChanged(availability);
+            }
+        }
+    }
+
+    /**
+     * Termine tous les flux ouverts (arrêt du serveur): les clients se réabonnent ailleurs.
+     */
+    public void completeAll() {
+        for (Watcher watcher : watchers) {
+            watcher.complete();
+        }
+        watchers.clear();
+    }
+
+    int watcherCount() {
+        return watchers.size();
+    }
+
+    /**
+     * Abonné: envois sérialisés (l'observateur gRPC n'est pas sûr entre threads).
+     */
+    private final class Watcher {
+
+        private final Long eventId;
+        private final ServerCallStreamObserver<Availability> observer;
+        private Availability last;
+
+        Watcher(Long eventId, ServerCallStreamObserver<Availability> observer) {
+            this.eventId = eventId;
+            this.observer = observer;
+        }
+
+        synchronized void send(Availability availability) {
+            observer.onNext(availability);
+            last = availability;
+        }
+
+        synchronized void sendIfChanged(Availability availability) {
+            if (availability.equals(last) || observer.isCancelled() || !observer.isReady()) {
+                return;
+            }
+            try {
+                send(availability);
+            } catch (RuntimeException e) {
+                // Flux fermé entre-temps: retiré ici, l'annulation peut ne jamais être notifiée
+                logger.debug("Flux de disponibilité fermé pour l'événement {}: {}", eventId, e.getMessage());
+                watchers.remove(this);
+            }
+        }
+
+        synchronized void complete() {
+            try {
+                observer.onCompleted();
+            } catch (RuntimeException e) {
+                logger.debug("Flux de disponibilité déjà fermé pour l'événement {}", eventId);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.acme.tickets.grpc;
+
+import com.acme.tickets.cluster.ForwardedCallInterceptor;
+import com.acme.tickets.config.GrpcProperties;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serveur gRPC de l'API interne, démarré et arrêté avec le contexte Spring.
+ * <p>
+ * Démarré après les autres composants (inventaires, cloisons prêts) et arrêté avant eux:
+ * les appels unaires en cours disposent de {@code shutdown-grace-ms} pour se terminer, les flux
+ * de disponibilité sont clos immédiatement.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ticket-inventory.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final GrpcProperties properties;
+    private final TicketInventoryGrpcService service;
+    private final AvailabilityWatchHub watchHub;
+    private final ForwardedCallInterceptor forwardedCalls;
+    private volatile Server server;
+
+    public GrpcServerLifecycle(
+            GrpcProperties properties,
+            TicketInventoryGrpcService service,
+            AvailabilityWatchHub watchHub,
+            ForwardedCallInterceptor forwardedCalls) {
+        this.properties = properties;
+        this.service = service;
+        this.watchHub = watchHub;
+        this.forwardedCalls = forwardedCalls;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(properties.getPort())
+                .addService(ServerInterceptors.intercept(service, forwardedCalls))
+                .build()
+                .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Démarrage du serveur gRPC impossible sur le port " + properties.getPort(), e);
+        }
+        logger.info("Serveur gRPC démarré sur le port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        // Les flux WatchAvailability ne se terminent jamais d'eux-mêmes
+        watchHub.completeAll();
+        try {
+            if (!running.awaitTermination(properties.getShutdownGraceMs(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        logger.info("Serveur gRPC arrêté");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Port effectivement lié (utile avec {@code port=0}), -1 si le serveur n'est pas démarré.
+     */
+    public int getPort() {
+        Server running = server;
+        return running == null ? -1 : running.getPort();
+    }
+}
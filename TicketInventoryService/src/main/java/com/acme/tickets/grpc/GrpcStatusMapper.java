@@ -0,0 +1,81 @@
+package com.acme.tickets.grpc;
+
+import com.acme.tickets.exception.*;
+import com.acme.tickets.observability.RejectionLogThrottle;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Traduit les exceptions du cœur de réservation en statuts gRPC.
+ * Équivalent de {@link GlobalExceptionHandler} pour l'API interne: mêmes rejets, même
+ * journalisation limitée; la table de correspondance est documentée dans ticket_inventory.proto.
+ */
+@Component
+public class GrpcStatusMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcStatusMapper.class);
+
+    private final RejectionLogThrottle rejectionLog;
+
+    public GrpcStatusMapper(RejectionLogThrottle rejectionLog) {
+        this.rejectionLog = rejectionLog;
+    }
+
+    /**
+     * @param operation nom de la méthode gRPC, pour les journaux
+     */
+    public StatusRuntimeException toStatus(String operation, RuntimeException ex) {
+        if (ex instanceof StatusRuntimeException status) {
+            return status;
+        }
+        if (ex instanceof RejectionException rejection) {
+            Status status = rejectionStatus(rejection);
+            logRejection(operation, status, rejection);
+            return status.withDescription(rejection.getMessage()).asRuntimeException();
+        }
+        if (ex instanceof OptimisticLockingFailureException) {
+            logRejection(operation, Status.ABORTED, ex);
+            return Status.ABORTED
+                .withDescription("L'inventaire est modifié simultanément par d'autres réservations. Veuillez réessayer.")
+                .asRuntimeException();
+        }
+        logger.error("gRPC {}: erreur inattendue: {}", operation, ex.getMessage(), ex);
+        return Status.INTERNAL
+            .withDescription("Une erreur inattendue s'est produite. Veuillez réessayer plus tard.")
+            .asRuntimeException();
+    }
+
+    private static Status rejectionStatus(RejectionException ex) {
+        if (ex instanceof ForwardedRejectionException forwarded) {
+            return Status.fromCode(Status.Code.valueOf(forwarded.getGrpcCode()));
+        }
+        if (ex instanceof ReservationNotFoundException || ex instanceof InventoryNotFoundException) {
+            return Status.NOT_FOUND;
+        }
+        if (ex instanceof PurchaseQuotaExceededException) {
+            return Status.RESOURCE_EXHAUSTED;
+        }
+        if (ex instanceof CategoryLimitExceededException) {
+            return Status.INVALID_ARGUMENT;
+        }
+        if (ex instanceof BulkheadFullException || ex instanceof ConcurrencyLimitExceededException
+                || ex instanceof DispatchQueueFullException || ex instanceof EventMigratingException) {
+            return Status.UNAVAILABLE;
+        }
+        // Stock insuffisant, réservation expirée ou dans un état incompatible, panier multi-shards
+        return Status.FAILED_PRECONDITION;
+    }
+
+    private void logRejection(String operation, Status status, Exception ex) {
+        String type = "grpc " + operation + " " + status.getCode();
+        long suppressed = rejectionLog.admit(type);
+        if (suppressed >= 0) {
+            logger.warn("gRPC {} {}: {}{}", operation, status.getCode(), ex.getMessage(),
+                suppressed == 0 ? "" : " (+" + suppressed + " rejets similaires non journalisés)");
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.acme.tickets.grpc;
+
+import com.acme.tickets.dto.AvailabilityResponse;
+import com.acme.tickets.dto.ConfirmResponse;
+import com.acme.tickets.dto.ReleaseResponse;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.grpc.v1.*;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import com.acme.tickets.service.AdaptiveConcurrencyLimiter;
+import com.acme.tickets.service.RequestDeadline;
+import com.acme.tickets.service.ReservationFacade;
+import com.google.protobuf.Timestamp;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * API interne gRPC (service à service): mêmes opérations que TicketController, sur la même
+ * {@link ReservationFacade} (métriques, quotas, cloisons, rejeux).
+ * <p>
+ * Les requêtes sont converties vers les DTO REST et validées par les mêmes contraintes
+ * (INVALID_ARGUMENT). L'échéance de l'appelant est propagée au cœur par {@link RequestDeadline};
+ * un appel arrivé après son échéance n'est pas exécuté. Comme en REST, Reserve et Confirm passent
+ * par la limite de concurrence adaptative (UNAVAILABLE au-delà).
+ */
+@Component
+public class TicketInventoryGrpcService extends TicketInventoryGrpc.TicketInventoryImplBase {
+
+    private final ReservationFacade facade;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Validator validator;
+    private final GrpcStatusMapper statusMapper;
+    private final AvailabilityWatchHub watchHub;
+
+    public TicketInventoryGrpcService(
+            ReservationFacade facade,
+            AdaptiveConcurrencyLimiter limiter,
+            Validator validator,
+            GrpcStatusMapper statusMapper,
+            AvailabilityWatchHub watchHub) {
+        this.facade = facade;
+        this.limiter = limiter;
+        this.validator = validator;
+        this.statusMapper = statusMapper;
+        this.watchHub = watchHub;
+    }
+
+    @Override
+    public void reserve(ReserveRequest request, StreamObserver<ReserveReply> responseObserver) {
+        unary("Reserve", responseObserver, () -> {
+            var dto = validate(new com.acme.tickets.dto.ReserveRequest(
+                idOrNull(request.getEventId()), idOrNull(request.getUserId()), request.getQuantity()));
+            LogContext.eventId(dto.eventId());
+            LogContext.userId(dto.userId());
+            String idempotencyKey = request.getIdempotencyKey().isEmpty() ? null : request.getIdempotencyKey();
+            return toReply(limiter.execute(Operation.RESERVE, () -> facade.reserveTickets(dto, idempotencyKey)));
+        });
+    }
+
+    @Override
+    public void confirm(ConfirmRequest request, StreamObserver<ConfirmReply> responseObserver) {
+        unary("Confirm", responseObserver, () -> {
+            var dto = validate(new com.acme.tickets.dto.ConfirmRequest(idOrNull(request.getReservationId())));
+            LogContext.reservationId(dto.reservationId());
+            ConfirmResponse response = limiter.execute(Operation.CONFIRM, () -> facade.confirmReservation(dto));
+            return ConfirmReply.newBuilder().setStatus(toStatus(response.status())).build();
+        });
+    }
+
+    @Override
+    public void release(ReleaseRequest request, StreamObserver<ReleaseReply> responseObserver) {
+        unary("Release", responseObserver, () -> {
+            var dto = validate(new com.acme.tickets.dto.ReleaseRequest(idOrNull(request.getReservationId())));
+            LogContext.reservationId(dto.reservationId());
+            ReleaseResponse response = facade.releaseReservation(dto);
+            return ReleaseReply.newBuilder().setStatus(toStatus(response.status())).build();
+        });
+    }
+
+    @Override
+    public void getAvailability(GetAvailabilityRequest request, StreamObserver<Availability> responseObserver) {
+        unary("GetAvailability", responseObserver, () -> availability(request.getEventId()));
+    }
+
+    @Override
+    public void watchAvailability(WatchAvailabilityRequest request, StreamObserver<Availability> responseObserver) {
+        // Disponibilité initiale sous l'échéance de l'appelant; le flux dure ensuite jusqu'à
+        // l'annulation du client ou l'expiration de cette même échéance
+        Availability initial = call("WatchAvailability", responseObserver, () -> availability(request.getEventId()));
+        if (initial == null) {
+            return;
+        }
+        try {
+            watchHub.subscribe(initial, (ServerCallStreamObserver<Availability>) responseObserver);
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusMapper.toStatus("WatchAvailability", e));
+        }
+    }
+
+    private Availability availability(long eventId) {
+        if (eventId <= 0) {
+            throw Status.INVALID_ARGUMENT
+                .withDescription("eventId: L'identifiant de l'événement doit être positif")
+                .asRuntimeException();
+        }
+        LogContext.eventId(eventId);
+        AvailabilityResponse response = facade.getAvailability(eventId);
+        return Availability.newBuilder()
+            .setEventId(response.eventId())
+            .setTotal(response.total())
+            .setAvailable(response.available())
+            .build();
+    }
+
+    private <T> void unary(String operation, StreamObserver<T> responseObserver, Supplier<T> work) {
+        T reply = call(operation, responseObserver, work);
+        if (reply != null) {
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        }
+    }
+
+    /**
+     * Exécute le travail sous l'échéance et le contexte de journalisation de l'appel.
+     *
+     * @return le résultat, ou null si l'appel a été terminé en erreur
+     */
+    private <T> T call(String operation, StreamObserver<?> responseObserver, Supplier<T> work) {
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            responseObserver.onError(Status.DEADLINE_EXCEEDED
+                .withDescription("Échéance dépassée avant traitement")
+                .asRuntimeException());
+            return null;
+        }
+        try (LogContext.Scope ignored = LogContext.open()) {
+            if (deadline == null) {
+                return work.get();
+            }
+            try (RequestDeadline.Scope ignoredDeadline = RequestDeadline.within(deadline.timeRemaining(TimeUnit.NANOSECONDS))) {
+                return work.get();
+            }
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusMapper.toStatus(operation, e));
+            return null;
+        }
+    }
+
+    private <T> T validate(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return request;
+        }
+        String description = violations.stream()
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.joining("; "));
+        throw Status.INVALID_ARGUMENT.withDescription(description).asRuntimeException();
+    }
+
+    /**
+     * proto3 ne distingue pas un identifiant absent de 0: 0 est traité comme absent.
+     */
+    private static Long idOrNull(long id) {
+        return id == 0 ? null : id;
+    }
+
+    private static ReserveReply toReply(ReserveResponse response) {
+        ReserveReply.Builder reply = ReserveReply.newBuilder()
+            .setReservationId(response.reservationId())
+            .setStatus(toStatus(response.status()))
+            .setQuantity(response.quantity());
+        Instant holdExpiresAt = response.holdExpiresAt();
+        if (holdExpiresAt != null) {
+            reply.setHoldExpiresAt(Timestamp.newBuilder()
+                .setSeconds(holdExpiresAt.getEpochSecond())
+                .setNanos(holdExpiresAt.getNano()));
+        }
+        return reply.build();
+    }
+
+    private static ReservationStatus toStatus(String status) {
+        try {
+            return ReservationStatus.valueOf(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ReservationStatus.RESERVATION_STATUS_UNSPECIFIED;
+        }
+    }
+}
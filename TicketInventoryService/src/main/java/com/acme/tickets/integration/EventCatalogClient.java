@@ -1,5 +1,7 @@
 package com.acme.tickets.integration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Component
@@ -16,9 +19,23 @@ public class EventCatalogClient {
 
     private final RestTemplate restTemplate = new RestTemplate();
     private final String baseUrl;
+    private final Timer successTimer;
+    private final Timer errorTimer;
 
-    public EventCatalogClient(@Value("${eventcatalog.service.base-url}") String baseUrl) {
+    public EventCatalogClient(@Value("${eventcatalog.service.base-url}") String baseUrl, MeterRegistry registry) {
         this.baseUrl = baseUrl;
+        this.successTimer = catalogTimer(registry, "success");
+        this.errorTimer = catalogTimer(registry, "error");
+    }
+
+    private static Timer catalogTimer(MeterRegistry registry, String result) {
+        return Timer.builder("tickets.catalog.request")
+            .description("Latence des appels à EventCatalog")
+            .tag("result", result)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry);
     }
 
     /**
@@ -28,10 +45,13 @@ public class EventCatalogClient {
     @SuppressWarnings({"unchecked", "rawtypes"})
     public Map<String, Object> getEventById(Long eventId) {
         String url = baseUrl + "/events/" + eventId;
+        long start = System.nanoTime();
         try {
             ResponseEntity<Map> resp = restTemplate.getForEntity(url, Map.class);
+            successTimer.record(Duration.ofNanos(System.nanoTime() - start));
             return resp.getBody();
         } catch (Exception ex) {
+            errorTimer.record(Duration.ofNanos(System.nanoTime() - start));
             logger.error("[EventCatalogClient] échec récupération eventId={}: {}", eventId, ex.getMessage());
             return Map.of();
         }
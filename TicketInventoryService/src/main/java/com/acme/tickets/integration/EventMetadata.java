@@ -0,0 +1,38 @@
+package com.acme.tickets.integration;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Métadonnées d'un événement utiles à l'inventaire, extraites de la réponse d'EventCatalog.
+ *
+ * @param eventId Identifiant de l'événement
+ * @param categoryType Type de catégorie ({@code category.categoryType}), null si absent
+ * @param totalTickets Somme des quantités des types de billets ({@code tickets[].quantity})
+ * @param status Statut catalogue de l'événement, null si absent
+ */
+public record EventMetadata(Long eventId, String categoryType, int totalTickets, String status) {
+
+    /**
+     * Construit les métadonnées à partir de la réponse brute d'EventCatalog
+     * (vide si l'appel a échoué).
+     */
+    public static EventMetadata from(Long eventId, Map<String, Object> event) {
+        String category = null;
+        if (event.get("category") instanceof Map<?, ?> c && c.get("categoryType") instanceof String s) {
+            category = s;
+        }
+
+        int total = 0;
+        if (event.get("tickets") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> tt && tt.get("quantity") instanceof Number n) {
+                    total += n.intValue();
+                }
+            }
+        }
+
+        String status = event.get("status") instanceof String s ? s : null;
+        return new EventMetadata(eventId, category, total, status);
+    }
+}
@@ -0,0 +1,60 @@
+package com.acme.tickets.messaging;
+
+import com.acme.tickets.dto.EventStatusMessage;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.service.InventoryPrewarmer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumer RabbitMQ des changements de statut d'événement publiés par EventCatalog.
+ *
+ * Actions effectuées selon le statut :
+ * - OPEN_FOR_BOOKING : pré-chauffe immédiatement l'inventaire
+ * - autre statut avec heure d'ouverture des ventes : planifie le pré-chauffage
+ * - CANCELLED / POSTPONED / COMPLETED : annule la planification et oublie les métadonnées
+ */
+@Component
+public class EventStatusConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStatusConsumer.class);
+
+    private final InventoryPrewarmer prewarmer;
+
+    public EventStatusConsumer(InventoryPrewarmer prewarmer) {
+        this.prewarmer = prewarmer;
+    }
+
+    /**
+     * Écoute la queue 'event-status' pour les changements de statut d'événement.
+     *
+     * @param message Le changement de statut au format JSON
+     */
+    @RabbitListener(queues = "#{@eventStatusQueue.name}", containerFactory = "rabbitListenerContainerFactory")
+    public void handleEventStatus(EventStatusMessage message) {
+        if (message.eventId() == null) {
+            logger.warn("Changement de statut d'événement sans identifiant ignoré: {}", message);
+            return;
+        }
+        try (LogContext.Scope ignored = LogContext.open()) {
+            LogContext.eventId(message.eventId());
+            logger.info("Statut d'événement reçu: {}", message.status());
+
+            try {
+                if (message.isOpenForBooking()) {
+                    prewarmer.prewarm(List.of(message.eventId()));
+                } else if (message.isClosed()) {
+                    prewarmer.forget(message.eventId());
+                } else if (message.onSaleAt() != null) {
+                    prewarmer.scheduleOnSale(message.eventId(), message.onSaleAt());
+                }
+            } catch (Exception e) {
+                logger.error("Erreur lors du traitement du statut d'événement: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
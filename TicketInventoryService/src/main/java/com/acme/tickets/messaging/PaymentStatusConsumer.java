@@ -1,13 +1,22 @@
 package com.acme.tickets.messaging;
 
+import com.acme.tickets.dto.CartConfirmRequest;
+import com.acme.tickets.dto.CartReleaseRequest;
 import com.acme.tickets.dto.ConfirmRequest;
 import com.acme.tickets.dto.PaymentStatusMessage;
 import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.exception.BulkheadFullException;
+import com.acme.tickets.exception.CartNotFoundException;
+import com.acme.tickets.exception.ConcurrencyLimitExceededException;
+import com.acme.tickets.exception.DispatchQueueFullException;
+import com.acme.tickets.exception.EventMigratingException;
 import com.acme.tickets.exception.ReservationNotFoundException;
-import com.acme.tickets.service.TicketInventoryService;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.service.ReservationFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
 /**
@@ -20,16 +29,22 @@ import org.springframework.stereotype.Component;
  * - SUCCESS : Confirme la réservation et génère les tickets
  * - FAILED : Libère la réservation et remet les tickets en stock
  * - REFUNDED : Annule la réservation (si applicable)
+ *
+ * Un message portant un cartId s'applique à toutes les réservations du panier.
+ * <p>
+ * Un paiement déjà encaissé ne doit pas être perdu: un échec passager (service saturé, file du
+ * répartiteur à priorités pleine, événement en déplacement, conflit de version persistant) est propagé au conteneur, qui rejoue le message
+ * puis le remet en file ({@code RabbitMQConfig#messageRecoverer}) au lieu de l'acquitter.
  */
 @Component
 public class PaymentStatusConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentStatusConsumer.class);
 
-    private final TicketInventoryService ticketInventoryService;
+    private final ReservationFacade reservationFacade;
 
-    public PaymentStatusConsumer(TicketInventoryService ticketInventoryService) {
-        this.ticketInventoryService = ticketInventoryService;
+    public PaymentStatusConsumer(ReservationFacade reservationFacade) {
+        this.reservationFacade = reservationFacade;
     }
 
     /**
@@ -67,35 +82,64 @@ public class PaymentStatusConsumer {
      */
     @RabbitListener(queues = "#{@paymentStatusQueue.name}", containerFactory = "rabbitListenerContainerFactory")
     public void handlePaymentStatus(PaymentStatusMessage message) {
-        logger.info("📩 Message de paiement structuré reçu: reservationId={}, status={}", 
-            message.reservationId(), message.status());
+        try (LogContext.Scope ignored = LogContext.open()) {
+            LogContext.reservationId(message.reservationId());
+            LogContext.userId(message.userId());
+            LogContext.eventId(message.eventId());
+            logger.info("📩 Message de paiement structuré reçu: status={}", message.status());
 
-        try {
-            if (message.isSuccess()) {
-                handlePaymentSuccess(message);
-            } else if (message.isFailed()) {
-                handlePaymentFailure(message);
-            } else if (message.isRefunded()) {
-                handlePaymentRefund(message);
-            } else {
-                logger.warn("⚠️ Statut de paiement non reconnu: {}", message.status());
+            try {
+                if (message.isSuccess()) {
+                    handlePaymentSuccess(message);
+                } else if (message.isFailed()) {
+                    handlePaymentFailure(message);
+                } else if (message.isRefunded()) {
+                    handlePaymentRefund(message);
+                } else {
+                    logger.warn("⚠️ Statut de paiement non reconnu: {}", message.status());
+                }
+            } catch (ReservationNotFoundException e) {
+                logger.error("❌ Réservation non trouvée: {}", message.reservationId());
+            } catch (CartNotFoundException e) {
+                logger.error("❌ Panier non trouvé: {}", message.cartId());
+            } catch (Exception e) {
+                if (isRedeliverable(e)) {
+                    logger.warn("⏳ Paiement non traité (échec passager), message rejoué: {}", e.getMessage());
+                    throw e;
+                }
+                logger.error("❌ Erreur lors du traitement du paiement: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Vrai si l'échec (ou l'une de ses causes) est passager: le message doit être rejoué plutôt
+     * qu'acquitté.
+     */
+    public static boolean isRedeliverable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException || cause instanceof ConcurrencyLimitExceededException
+                    || cause instanceof DispatchQueueFullException || cause instanceof EventMigratingException
+                    || cause instanceof OptimisticLockingFailureException) {
+                return true;
             }
-        } catch (ReservationNotFoundException e) {
-            logger.error("❌ Réservation non trouvée: {}", message.reservationId());
-        } catch (Exception e) {
-            logger.error("❌ Erreur lors du traitement du paiement: {}", e.getMessage(), e);
-            // TODO: Implémenter une stratégie de retry ou DLQ (Dead Letter Queue)
         }
+        return false;
     }
 
     /**
      * Traite un paiement réussi : confirme la réservation.
      */
     private void handlePaymentSuccess(PaymentStatusMessage message) {
+        if (message.isCart()) {
+            var response = reservationFacade.confirmCart(new CartConfirmRequest(message.cartId()));
+            logger.info("✅ Panier {} confirmé avec succès. Statut: {}", message.cartId(), response.status());
+            return;
+        }
         logger.info("✅ Traitement du paiement réussi pour la réservation {}", message.reservationId());
         
         try {
-            var response = ticketInventoryService.confirmReservation(
+            var response = reservationFacade.confirmReservation(
                 new ConfirmRequest(message.reservationId())
             );
             logger.info("✅ Réservation {} confirmée avec succès. Statut: {}", 
@@ -111,10 +155,15 @@ public class PaymentStatusConsumer {
      * Traite un paiement échoué : libère la réservation.
      */
     private void handlePaymentFailure(PaymentStatusMessage message) {
+        if (message.isCart()) {
+            var response = reservationFacade.releaseCart(new CartReleaseRequest(message.cartId()));
+            logger.info("🔓 Panier {} libéré suite à l'échec du paiement. Statut: {}", message.cartId(), response.status());
+            return;
+        }
         logger.warn("❌ Traitement du paiement échoué pour la réservation {}", message.reservationId());
         
         try {
-            var response = ticketInventoryService.releaseReservation(
+            var response = reservationFacade.releaseReservation(
                 new ReleaseRequest(message.reservationId())
             );
             logger.info("🔓 Réservation {} libérée suite à l'échec du paiement. Statut: {}", 
@@ -130,10 +179,15 @@ public class PaymentStatusConsumer {
      * Traite un remboursement : annule la réservation.
      */
     private void handlePaymentRefund(PaymentStatusMessage message) {
+        if (message.isCart()) {
+            var response = reservationFacade.releaseCart(new CartReleaseRequest(message.cartId()));
+            logger.info("💰 Panier {} annulé suite au remboursement. Statut: {}", message.cartId(), response.status());
+            return;
+        }
         logger.info("💰 Traitement du remboursement pour la réservation {}", message.reservationId());
         
         try {
-            var response = ticketInventoryService.releaseReservation(
+            var response = reservationFacade.releaseReservation(
                 new ReleaseRequest(message.reservationId())
             );
             logger.info("💰 Réservation {} annulée suite au remboursement. Statut: {}", 
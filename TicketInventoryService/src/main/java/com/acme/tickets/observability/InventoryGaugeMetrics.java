@@ -0,0 +1,100 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Jauges d'état de l'inventaire, rafraîchies périodiquement (jamais au moment du scrape):
+ * <ul>
+ *   <li>retard du nettoyage: maintenant − plus ancienne réservation PENDING expirée;</li>
+ *   <li>stock retenu mais non confirmé (PENDING), total et pour les N événements les plus chargés.</li>
+ * </ul>
+ * Le tag eventId est limité aux N premiers événements pour borner la cardinalité.
+ * Partitionnement actif, chaque requête est exécutée sur tous les shards et les résultats combinés.
+ */
+@Component
+public class InventoryGaugeMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryGaugeMetrics.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ShardRouter router;
+    private final int topEvents;
+    private final AtomicLong cleanupLagSeconds = new AtomicLong();
+    private final AtomicLong heldTotal = new AtomicLong();
+    private final MultiGauge heldByEvent;
+
+    public InventoryGaugeMetrics(
+            ReservationRepository reservationRepository,
+            MeterRegistry registry,
+            @Value("${ticket-inventory.metrics.held-stock-top-events:20}") int topEvents,
+            ShardRouter router) {
+        this.reservationRepository = reservationRepository;
+        this.router = router;
+        this.topEvents = topEvents;
+
+        Gauge.builder("tickets.cleanup.lag", cleanupLagSeconds, AtomicLong::get)
+            .description("Âge de la plus ancienne réservation PENDING expirée non nettoyée")
+            .baseUnit("seconds")
+            .register(registry);
+        Gauge.builder("tickets.inventory.held.total", heldTotal, AtomicLong::get)
+            .description("Tickets retenus par des réservations PENDING (tous événements)")
+            .register(registry);
+        this.heldByEvent = MultiGauge.builder("tickets.inventory.held")
+            .description("Tickets retenus par des réservations PENDING, événements les plus chargés")
+            .register(registry);
+    }
+
+    /**
+     * Rafraîchit les jauges à partir de trois requêtes agrégées (par shard, chacune dans sa
+     * propre transaction: une transaction englobante resterait sur le shard 0).
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.metrics.gauge-refresh-ms:15000}")
+    public void refresh() {
+        try {
+            Instant now = Instant.now();
+            Instant oldest = router.gather(
+                    () -> reservationRepository.findOldestExpiredHold(ReservationStatus.PENDING, now))
+                .stream()
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+            cleanupLagSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).toSeconds());
+
+            heldTotal.set(router.gather(() -> reservationRepository.sumQuantityByStatus(ReservationStatus.PENDING))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum());
+            Map<Long, Long> held = new HashMap<>();
+            router.gather(() -> reservationRepository.sumQuantityByEvent(ReservationStatus.PENDING, Limit.of(topEvents)))
+                .forEach(rows -> rows.forEach(row -> held.merge(row.getEventId(), row.getQuantity(), Long::sum)));
+            heldByEvent.register(held.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(topEvents)
+                .map(row -> MultiGauge.Row.of(
+                    Tags.of("eventId", String.valueOf(row.getKey())), row.getValue()))
+                .toList(), true);
+        } catch (Exception e) {
+            logger.warn("Rafraîchissement des jauges d'inventaire impossible: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.acme.tickets.observability;
+
+import org.slf4j.MDC;
+
+/**
+ * Contexte de journalisation d'une requête (eventId, userId, reservationId) porté par le MDC.
+ * <p>
+ * Les identifiants sont posés une fois par requête et rendus par le motif des appenders
+ * ({@code %X}): les messages n'ont plus à les répéter ni à les formater à chaque appel.
+ * Le contexte est copié dans l'événement au moment de l'appel, il reste donc exact quand
+ * l'écriture est différée par l'appender asynchrone.
+ */
+public final class LogContext {
+
+    public static final String EVENT_ID = "eventId";
+    public static final String USER_ID = "userId";
+    public static final String RESERVATION_ID = "reservationId";
+
+    private LogContext() {
+    }
+
+    /**
+     * Ouvre une portée qui efface le contexte à la fermeture (threads de pools réutilisés).
+     */
+    public static Scope open() {
+        return Scope.INSTANCE;
+    }
+
+    public static void eventId(Long eventId) {
+        put(EVENT_ID, eventId);
+    }
+
+    public static void userId(Long userId) {
+        put(USER_ID, userId);
+    }
+
+    public static void reservationId(Long reservationId) {
+        put(RESERVATION_ID, reservationId);
+    }
+
+    private static void put(String key, Long value) {
+        if (value != null) {
+            MDC.put(key, value.toString());
+        }
+    }
+
+    /**
+     * Portée du contexte: à utiliser en try-with-resources.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private static final Scope INSTANCE = new Scope();
+
+        private Scope() {
+        }
+
+        @Override
+        public void close() {
+            MDC.remove(EVENT_ID);
+            MDC.remove(USER_ID);
+            MDC.remove(RESERVATION_ID);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.acme.tickets.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Borne le {@link LogContext} à la requête HTTP: les identifiants posés par le contrôleur
+ * et le service ne fuient pas vers la requête suivante traitée par le même thread.
+ */
+public class LogContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (LogContext.Scope ignored = LogContext.open()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
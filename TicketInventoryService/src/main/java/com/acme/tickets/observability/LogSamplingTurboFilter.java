@@ -0,0 +1,70 @@
+package com.acme.tickets.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Échantillonnage par logger des messages de faible priorité sur les chemins chauds.
+ * <p>
+ * Configuré dans logback-spring.xml par des entrées {@code <sample>nomDuLogger=N</sample>}:
+ * pour ces loggers, un message de niveau inférieur ou égal à {@code maxLevel} (INFO par défaut)
+ * sur N en moyenne est conservé. WARN et ERROR ne sont jamais échantillonnés, ni les messages des
+ * autres loggers. N=1 désactive l'échantillonnage du logger.
+ * <p>
+ * Le tirage est aléatoire par thread (pas de compteur partagé entre les threads de requête) et
+ * n'a lieu qu'après le filtrage par niveau: un DEBUG désactivé ne coûte rien de plus.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Integer> rates = new HashMap<>();
+    private Level maxLevel = Level.INFO;
+
+    /**
+     * Ajoute un logger échantillonné, au format {@code nomDuLogger=N}.
+     */
+    public void addSample(String sample) {
+        int separator = sample.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Échantillonnage invalide (attendu nomDuLogger=N): " + sample);
+            return;
+        }
+        try {
+            int rate = Integer.parseInt(sample.substring(separator + 1).trim());
+            if (rate < 1) {
+                throw new NumberFormatException("taux < 1");
+            }
+            rates.put(sample.substring(0, separator).trim(), rate);
+        } catch (NumberFormatException e) {
+            addError("Taux d'échantillonnage invalide: " + sample, e);
+        }
+    }
+
+    /**
+     * Niveau le plus élevé soumis à l'échantillonnage (TRACE, DEBUG ou INFO).
+     */
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                              Object[] params, Throwable t) {
+        // format == null: appel isXxxEnabled(), la garde doit refléter le niveau configuré
+        if (format == null || level.levelInt > maxLevel.levelInt
+                || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        Integer rate = rates.get(logger.getName());
+        if (rate == null || rate == 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(rate) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
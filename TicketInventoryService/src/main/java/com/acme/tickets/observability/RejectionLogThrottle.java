@@ -0,0 +1,66 @@
+package com.acme.tickets.observability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite la journalisation des rejets métier attendus (stock épuisé, état invalide...).
+ * <p>
+ * Pendant une vente éclair, la quasi-totalité des requêtes sont rejetées: journaliser chacune
+ * coûte plus cher que le rejet lui-même sans rien apprendre de plus. Au plus
+ * {@code max-per-second} lignes par type de rejet et par seconde sont émises; les suivantes sont
+ * comptées et le total est rapporté par la prochaine ligne émise. Le volume exact des rejets
+ * reste disponible dans les métriques (tickets.reservation.outcome).
+ */
+@Component
+public class RejectionLogThrottle {
+
+    private final int maxPerSecond;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RejectionLogThrottle(@Value("${ticket-inventory.rejection-log.max-per-second:5}") int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    /**
+     * Demande l'autorisation de journaliser un rejet.
+     *
+     * @param type type de rejet (ex. libellé d'erreur HTTP)
+     * @return -1 si la ligne doit être omise, sinon le nombre de rejets de ce type omis depuis
+     *         la dernière ligne émise
+     */
+    public long admit(String type) {
+        Window window = windows.computeIfAbsent(type, t -> new Window());
+        long second = System.currentTimeMillis() / 1000;
+        if (window.second != second) {
+            window.roll(second);
+        }
+        if (window.logged.incrementAndGet() <= maxPerSecond) {
+            return window.suppressed.sumThenReset();
+        }
+        window.suppressed.increment();
+        return -1;
+    }
+
+    /**
+     * Fenêtre fixe d'une seconde pour un type de rejet.
+     */
+    private static final class Window {
+
+        private volatile long second;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+
+        synchronized void roll(long now) {
+            if (second != now) {
+                second = now;
+                logged.set(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.exception.BulkheadFullException;
+import com.acme.tickets.exception.CartNotFoundException;
+import com.acme.tickets.exception.ConcurrencyLimitExceededException;
+import com.acme.tickets.exception.CrossShardCartException;
+import com.acme.tickets.exception.DispatchQueueFullException;
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.exception.InvalidReservationStateException;
+import com.acme.tickets.exception.InventoryNotFoundException;
+import com.acme.tickets.exception.PurchaseQuotaExceededException;
+import com.acme.tickets.exception.ReservationExpiredException;
+import com.acme.tickets.exception.ReservationNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Métriques du cycle de vie des réservations (Micrometer).
+ * <p>
+ * Tous les tags ont une cardinalité bornée (énumérations): aucun identifiant
+ * d'utilisateur, de réservation ou d'événement n'est utilisé comme tag ici.
+ * Les timers publient un histogramme de percentiles exploitable par Prometheus.
+ * Le délai entre le lancement de la JVM et la première réservation réussie est publié une fois
+ * ({@code tickets.startup.first.reserve}), à comparer à {@code application.ready.time}.
+ */
+@Component
+public class ReservationMetrics {
+
+    /**
+     * Opération mesurée.
+     */
+    public enum Operation {
+        RESERVE, CONFIRM, RELEASE, EXPIRE, AVAILABILITY, CART_RESERVE, CART_CONFIRM, CART_RELEASE;
+
+        final String tag = name().toLowerCase();
+    }
+
+    /**
+     * Issue métier comptabilisée.
+     */
+    public enum Outcome {
+        INSUFFICIENT_STOCK, CATEGORY_LIMIT_CLAMPED, QUOTA_EXCEEDED, EXPIRED, IDEMPOTENT_REPLAY;
+
+        final String tag = name().toLowerCase();
+    }
+
+    static final String OPERATION_TIMER = "tickets.operation";
+    static final String OUTCOME_COUNTER = "tickets.reservation.outcome";
+    static final String LOCK_CONFLICT_COUNTER = "tickets.inventory.lock.conflicts";
+    static final String LOCK_RETRY_COUNTER = "tickets.inventory.lock.retries";
+    static final String FIRST_RESERVE_GAUGE = "tickets.startup.first.reserve";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationMetrics.class);
+
+    private static final String[] RESULTS = {
+        "success", "insufficient_stock", "quota_exceeded", "expired", "invalid_state", "not_found", "conflict", "shed", "error"
+    };
+
+    private final MeterRegistry registry;
+    private final Map<Operation, Map<String, Timer>> timers = new EnumMap<>(Operation.class);
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final Map<Operation, Counter> lockConflicts = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> lockRetries = new EnumMap<>(Operation.class);
+    private final AtomicLong firstReserveUptimeMs = new AtomicLong(-1);
+    private volatile boolean reserved;
+
+    public ReservationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        // Pré-enregistrement: pas de recherche dans le registre sur le chemin chaud
+        for (Operation operation : Operation.values()) {
+            Map<String, Timer> byResult = new HashMap<>();
+            for (String result : RESULTS) {
+                byResult.put(result, Timer.builder(OPERATION_TIMER)
+                    .description("Latence des opérations de réservation")
+                    .tag("operation", operation.tag)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+            }
+            timers.put(operation, byResult);
+            lockConflicts.put(operation, Counter.builder(LOCK_CONFLICT_COUNTER)
+                .description("Conflits de verrou optimiste sur l'inventaire")
+                .tag("operation", operation.tag)
+                .register(registry));
+            lockRetries.put(operation, Counter.builder(LOCK_RETRY_COUNTER)
+                .description("Rejeux automatiques après conflit de verrou optimiste")
+                .tag("operation", operation.tag)
+                .register(registry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder(OUTCOME_COUNTER)
+                .description("Issues métier des réservations")
+                .tag("outcome", outcome.tag)
+                .register(registry));
+        }
+        TimeGauge.builder(FIRST_RESERVE_GAUGE, firstReserveUptimeMs, TimeUnit.MILLISECONDS,
+                uptime -> uptime.get() < 0 ? Double.NaN : uptime.get())
+            .description("Délai entre le lancement de la JVM et la première réservation réussie")
+            .register(registry);
+    }
+
+    /**
+     * Exécute et chronomètre une opération; le tag "result" est déduit de l'exception éventuelle.
+     */
+    public <T> T record(Operation operation, Supplier<T> work) {
+        long start = System.nanoTime();
+        String result = "success";
+        try {
+            T value = work.get();
+            if (!reserved && (operation == Operation.RESERVE || operation == Operation.CART_RESERVE)) {
+                firstReserve();
+            }
+            return value;
+        } catch (RuntimeException e) {
+            result = resultOf(e);
+            switch (result) {
+                case "insufficient_stock" -> increment(Outcome.INSUFFICIENT_STOCK);
+                case "quota_exceeded" -> increment(Outcome.QUOTA_EXCEEDED);
+                case "expired" -> increment(Outcome.EXPIRED);
+                default -> { }
+            }
+            throw e;
+        } finally {
+            timers.get(operation).get(result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Comptabilise une issue métier.
+     */
+    public void increment(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    /**
+     * Comptabilise un conflit de verrou optimiste.
+     */
+    public void lockConflict(Operation operation) {
+        lockConflicts.get(operation).increment();
+    }
+
+    /**
+     * Comptabilise un rejeu automatique après conflit.
+     */
+    public void lockRetry(Operation operation) {
+        lockRetries.get(operation).increment();
+    }
+
+    private void firstReserve() {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstReserveUptimeMs.compareAndSet(-1, uptime)) {
+            logger.info("Première réservation réussie {} ms après le lancement de la JVM", uptime);
+        }
+        reserved = true;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private static String resultOf(RuntimeException e) {
+        if (e instanceof InsufficientStockException) {
+            return "insufficient_stock";
+        }
+        if (e instanceof PurchaseQuotaExceededException) {
+            return "quota_exceeded";
+        }
+        if (e instanceof ReservationExpiredException) {
+            return "expired";
+        }
+        if (e instanceof InvalidReservationStateException || e instanceof CrossShardCartException) {
+            return "invalid_state";
+        }
+        if (e instanceof ReservationNotFoundException || e instanceof InventoryNotFoundException
+                || e instanceof CartNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (e instanceof BulkheadFullException || e instanceof ConcurrencyLimitExceededException
+                || e instanceof DispatchQueueFullException || e instanceof EventMigratingException) {
+            return "shed";
+        }
+        return "error";
+    }
+}
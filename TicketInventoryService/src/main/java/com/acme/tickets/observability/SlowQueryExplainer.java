@@ -0,0 +1,90 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.config.SqlInstrumentationProperties;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exécute un EXPLAIN sur la première occurrence de chaque empreinte de requête lente.
+ * <p>
+ * L'EXPLAIN passe par la DataSource non instrumentée (pas de comptage, pas de récursion)
+ * sur un thread dédié avec une file bornée: s'il est saturé, la demande est abandonnée.
+ * Les valeurs liées servent uniquement à préparer l'EXPLAIN: seul le plan est journalisé, et
+ * le message d'erreur du pilote (qui peut les reprendre) uniquement si
+ * {@code ticket-inventory.sql.log-bind-values} est activé.
+ */
+public class SlowQueryExplainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryExplainer.class);
+
+    private final DataSource rawDataSource;
+    private final SqlInstrumentationProperties properties;
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+        r -> {
+            Thread t = new Thread(r, "sql-explain");
+            t.setDaemon(true);
+            return t;
+        },
+        new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryExplainer(DataSource rawDataSource, SqlInstrumentationProperties properties) {
+        this.rawDataSource = rawDataSource;
+        this.properties = properties;
+    }
+
+    /**
+     * Planifie un EXPLAIN si l'empreinte n'a encore jamais été expliquée.
+     */
+    public void explainOnce(String fingerprint, String sql, List<ParameterSetOperation> binds) {
+        if (SqlStatementTracker.StatementKind.SELECT != SqlInstrumentationListener.kindOf(sql)) {
+            return;
+        }
+        if (explained.size() >= properties.getMaxExplainedFingerprints() || !explained.add(fingerprint)) {
+            return;
+        }
+        executor.execute(() -> explain(fingerprint, sql, binds));
+    }
+
+    private void explain(String fingerprint, String sql, List<ParameterSetOperation> binds) {
+        try (Connection connection = rawDataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation op : binds) {
+                Object[] args = op.getArgs();
+                if (args.length > 1 && args[0] instanceof Integer index) {
+                    ps.setObject(index, args[1]);
+                }
+            }
+            StringJoiner plan = new StringJoiner(System.lineSeparator());
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    StringJoiner row = new StringJoiner(", ");
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        row.add(meta.getColumnLabel(i) + "=" + rs.getObject(i));
+                    }
+                    plan.add(row.toString());
+                }
+            }
+            logger.warn("Plan d'exécution de la requête lente [{}]:{}{}", fingerprint, System.lineSeparator(), plan);
+        } catch (Exception e) {
+            logger.debug("EXPLAIN impossible pour [{}]: {}", fingerprint,
+                properties.isLogBindValues() ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.acme.tickets.observability;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Empreinte normalisée d'une requête SQL: littéraux et listes IN remplacés,
+ * espaces compactés. Deux exécutions de la même requête avec des valeurs
+ * différentes partagent la même empreinte.
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\((?:\\s*\\?\\s*,?)+\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * @param sql Requête SQL brute
+     * @return Forme normalisée de la requête
+     */
+    public static String normalize(String sql) {
+        String normalized = sql.toLowerCase();
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return IN_LIST.matcher(normalized).replaceAll("in (?+)");
+    }
+
+    /**
+     * @param sql Requête SQL brute
+     * @return Empreinte hexadécimale courte (CRC32 de la forme normalisée)
+     */
+    public static String of(String sql) {
+        CRC32 crc = new CRC32();
+        crc.update(normalize(sql).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().toHexDigits((int) crc.getValue());
+    }
+}
@@ -0,0 +1,43 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.config.SqlInstrumentationProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Ouvre une portée {@link SqlStatementTracker} par requête HTTP et signale
+ * les requêtes qui exécutent trop d'instructions (N+1 suspecté).
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    private final SqlInstrumentationProperties properties;
+
+    public SqlStatementCountFilter(SqlInstrumentationProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementTracker.Scope scope =
+                 SqlStatementTracker.open(request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+
+            if (scope.getStatementCount() > properties.getStatementWarnThreshold()) {
+                logger.warn("N+1 suspecté - {}", scope);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("{}", scope);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.config.SqlInstrumentationProperties;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+
+/**
+ * Advice du conteneur RabbitMQ: ouvre une portée {@link SqlStatementTracker} par message reçu.
+ */
+public class SqlStatementCountingAdvice implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountingAdvice.class);
+
+    private final SqlInstrumentationProperties properties;
+
+    public SqlStatementCountingAdvice(SqlInstrumentationProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open("amqp " + queueOf(invocation))) {
+            Object result = invocation.proceed();
+
+            if (scope.getStatementCount() > properties.getStatementWarnThreshold()) {
+                logger.warn("N+1 suspecté - {}", scope);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("{}", scope);
+            }
+            return result;
+        }
+    }
+
+    private static String queueOf(MethodInvocation invocation) {
+        for (Object arg : invocation.getArguments()) {
+            if (arg instanceof Message message && message.getMessageProperties().getConsumerQueue() != null) {
+                return message.getMessageProperties().getConsumerQueue();
+            }
+        }
+        return "message";
+    }
+}
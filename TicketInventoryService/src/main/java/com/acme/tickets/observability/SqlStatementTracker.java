@@ -0,0 +1,126 @@
+package com.acme.tickets.observability;
+
+/**
+ * Compteur de requêtes SQL par unité de travail (requête HTTP, message AMQP, test...).
+ * <p>
+ * Une portée ({@link Scope}) est ouverte sur le thread courant; chaque instruction
+ * exécutée via la DataSource instrumentée y est comptabilisée. Les portées peuvent être
+ * imbriquées: une instruction est comptée dans la portée courante et dans ses parentes.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * Ouvre une nouvelle portée de comptage sur le thread courant.
+     * À utiliser dans un try-with-resources.
+     *
+     * @param name Nom de l'unité de travail (ex. "POST /tickets/reserve")
+     * @return La portée ouverte
+     */
+    public static Scope open(String name) {
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return La portée active sur le thread courant, ou null
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Comptabilise une exécution dans la portée courante et ses parentes.
+     */
+    static void record(StatementKind kind, int batchSize, long elapsedMillis) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(kind, batchSize, elapsedMillis);
+        }
+    }
+
+    /**
+     * Type d'instruction SQL comptabilisée.
+     */
+    public enum StatementKind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    /**
+     * Portée de comptage. Non thread-safe: une portée appartient à un seul thread.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Scope parent;
+        private final int[] counts = new int[StatementKind.values().length];
+        private int statements;
+        private int batchedRows;
+        private long elapsedMillis;
+        private boolean closed;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private void add(StatementKind kind, int batchSize, long elapsed) {
+            counts[kind.ordinal()]++;
+            statements++;
+            batchedRows += Math.max(batchSize, 1);
+            elapsedMillis += elapsed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Nombre d'aller-retours JDBC (un batch compte pour un)
+         */
+        public int getStatementCount() {
+            return statements;
+        }
+
+        public int getCount(StatementKind kind) {
+            return counts[kind.ordinal()];
+        }
+
+        /**
+         * @return Nombre de lignes envoyées, en dépliant les batchs
+         */
+        public int getBatchedRows() {
+            return batchedRows;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d statements (select=%d, insert=%d, update=%d, delete=%d) in %d ms",
+                name, statements,
+                counts[StatementKind.SELECT.ordinal()], counts[StatementKind.INSERT.ordinal()],
+                counts[StatementKind.UPDATE.ordinal()], counts[StatementKind.DELETE.ordinal()],
+                elapsedMillis);
+        }
+    }
+}
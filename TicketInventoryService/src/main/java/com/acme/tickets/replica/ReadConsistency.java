@@ -0,0 +1,83 @@
+package com.acme.tickets.replica;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Exigences de fraîcheur des lectures du thread courant, lues par {@link ReadReplicaDataSource}
+ * à l'ouverture d'une connexion en lecture seule.
+ * <p>
+ * Comme pour le shard, la connexion est choisie à l'entrée de la transaction: l'exigence doit
+ * être posée avant d'appeler une méthode {@code @Transactional(readOnly = true)}.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Instant> REQUIRED_AFTER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Date d'écriture que les lectures doivent voir (jeton de session), null si aucune.
+     */
+    public static Instant requiredAfter() {
+        return REQUIRED_AFTER.get();
+    }
+
+    /**
+     * Vrai si les lectures du thread doivent aller au primaire quel que soit l'état du réplica.
+     */
+    public static boolean primaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    /**
+     * Exige que les lectures voient les écritures validées jusqu'à {@code writtenAt}; la portée
+     * restaure l'exigence précédente à sa fermeture.
+     */
+    public static Scope requireAfter(Instant writtenAt) {
+        Instant previous = REQUIRED_AFTER.get();
+        REQUIRED_AFTER.set(writtenAt);
+        return new Scope(() -> restore(REQUIRED_AFTER, previous));
+    }
+
+    /**
+     * Exécute des lectures sur le primaire: relectures qui suivent immédiatement une écriture
+     * (clé d'idempotence, réservation à localiser) et ne tolèrent aucun retard.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            restore(PRIMARY, previous);
+        }
+    }
+
+    private static <V> void restore(ThreadLocal<V> holder, V previous) {
+        if (previous == null) {
+            holder.remove();
+        } else {
+            holder.set(previous);
+        }
+    }
+
+    /**
+     * Portée d'une exigence: à utiliser en try-with-resources.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Runnable restore;
+
+        private Scope(Runnable restore) {
+            this.restore = restore;
+        }
+
+        @Override
+        public void close() {
+            restore.run();
+        }
+    }
+}
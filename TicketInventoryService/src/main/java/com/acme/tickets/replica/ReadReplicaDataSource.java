@@ -0,0 +1,85 @@
+package com.acme.tickets.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * DataSource des transactions en lecture seule: réplica si ses données sont assez fraîches,
+ * primaire sinon. Placée derrière un LazyConnectionDataSourceProxy, elle n'est interrogée
+ * qu'à la première requête d'une transaction {@code readOnly}; les transactions en écriture
+ * vont directement au primaire.
+ * <p>
+ * Le primaire est choisi si le thread l'exige ({@link ReadConsistency#onPrimary}), si le
+ * réplica n'a pas encore reçu l'écriture désignée par le jeton de session, ou si son retard
+ * dépasse la borne configurée. Chaque choix est compté par cible et par raison.
+ */
+public class ReadReplicaDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Cible d'une lecture et raison du choix.
+     */
+    public enum Route {
+        REPLICA("replica", "replica"),
+        FORCED("primary", "forced"),
+        SESSION("primary", "session"),
+        LAG("primary", "lag");
+
+        private final String target;
+        private final String reason;
+
+        Route(String target, String reason) {
+            this.target = target;
+            this.reason = reason;
+        }
+
+        public String target() {
+            return target;
+        }
+    }
+
+    private final ReplicaLagMonitor monitor;
+    private final Map<Route, Counter> reads = new EnumMap<>(Route.class);
+
+    public ReadReplicaDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                 MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of("primary", primary, "replica", replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+        for (Route route : Route.values()) {
+            reads.put(route, Counter.builder("tickets.datasource.reads")
+                .description("Connexions en lecture seule par cible et raison du choix")
+                .tag("target", route.target)
+                .tag("reason", route.reason)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Cible des lectures du thread courant.
+     */
+    public Route route() {
+        if (ReadConsistency.primaryRequired()) {
+            return Route.FORCED;
+        }
+        Instant writtenAt = ReadConsistency.requiredAfter();
+        if (writtenAt != null && !monitor.hasReplicated(writtenAt)) {
+            return Route.SESSION;
+        }
+        return monitor.isWithinLag() ? Route.REPLICA : Route.LAG;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = route();
+        reads.get(route).increment();
+        return route.target;
+    }
+}
@@ -0,0 +1,113 @@
+package com.acme.tickets.replica;
+
+import com.acme.tickets.config.ReadReplicaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mesure du retard du réplica par battement: la date courante est écrite sur le primaire
+ * (table replication_heartbeat) puis relue sur le réplica. Le réplica contient toutes les
+ * écritures validées avant le dernier battement qu'il expose.
+ * <p>
+ * Le retard retenu pour router est borné par excès ({@code maintenant - battement répliqué}):
+ * il croît tant qu'aucune mesure ne réussit, ce qui renvoie les lectures au primaire si le
+ * réplica ou la mesure elle-même est en panne. Les horloges des instances doivent être
+ * synchronisées (NTP): battements et jetons de session sont datés par l'instance qui les émet.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final int HEARTBEAT_ID = 1;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReadReplicaProperties properties;
+
+    /** Dernier battement lu sur le réplica, null tant qu'aucune mesure n'a réussi. */
+    private volatile Instant replicated;
+    /** Retard observé à la dernière mesure, -1 si inconnu. */
+    private volatile long measuredLagMs = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReadReplicaProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+        Gauge.builder("tickets.replica.lag", this, monitor -> monitor.measuredLagMs)
+            .description("Retard du réplica mesuré au dernier battement (ms, -1 si inconnu)")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Écrit un battement sur le primaire puis relit celui du réplica.
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.read-replica.lag-check-interval-ms:500}")
+    public void check() {
+        try {
+            beat(Instant.now());
+        } catch (DataAccessException e) {
+            logger.warn("Battement de réplication non écrit sur le primaire: {}", e.getMessage());
+        }
+        try {
+            Timestamp beat = replica.query("SELECT beat_at FROM replication_heartbeat WHERE id = ?",
+                rs -> rs.next() ? rs.getTimestamp(1) : null, HEARTBEAT_ID);
+            if (beat == null) {
+                measuredLagMs = -1;
+                return;
+            }
+            replicated = beat.toInstant();
+            measuredLagMs = Math.max(0, Duration.between(replicated, Instant.now()).toMillis());
+        } catch (DataAccessException e) {
+            measuredLagMs = -1;
+            logger.warn("Battement de réplication illisible sur le réplica: {}", e.getMessage());
+        }
+    }
+
+    private void beat(Instant now) {
+        Timestamp at = Timestamp.from(now);
+        if (primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = ?", at, HEARTBEAT_ID) == 0) {
+            try {
+                primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, at);
+            } catch (DuplicateKeyException e) {
+                logger.debug("Battement de réplication créé par une autre instance");
+            }
+        }
+    }
+
+    /**
+     * Vrai si le retard borné du réplica reste sous max-lag-ms.
+     */
+    public boolean isWithinLag() {
+        Instant last = replicated;
+        return last != null
+            && Duration.between(last, Instant.now()).toMillis() <= properties.getMaxLagMs();
+    }
+
+    /**
+     * Vrai si le réplica contient les écritures validées jusqu'à {@code writtenAt}.
+     */
+    public boolean hasReplicated(Instant writtenAt) {
+        Instant last = replicated;
+        return last != null && !last.isBefore(writtenAt);
+    }
+
+    /**
+     * Retard observé à la dernière mesure (ms), -1 si inconnu.
+     */
+    public long measuredLagMs() {
+        return measuredLagMs;
+    }
+}
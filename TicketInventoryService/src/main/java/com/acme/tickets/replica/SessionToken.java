@@ -0,0 +1,49 @@
+package com.acme.tickets.replica;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Jeton de session opaque (read-your-writes): date à laquelle la dernière écriture du client
+ * était validée. Renvoyé dans l'en-tête {@value #HEADER} des réponses aux écritures; le client
+ * le rejoue sur ses lectures suivantes pour ne pas lire un réplica en retard sur elles.
+ */
+public record SessionToken(Instant writtenAt) {
+
+    public static final String HEADER = "X-Session-Token";
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Encode le jeton sous forme opaque.
+     */
+    public String encode() {
+        String raw = writtenAt.getEpochSecond() + String.valueOf(SEPARATOR) + writtenAt.getNano();
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Décode un jeton reçu du client.
+     *
+     * @param value Jeton opaque, ou null
+     * @return Le jeton décodé, ou null si aucun jeton n'est fourni
+     * @throws IllegalArgumentException Si le jeton est malformé
+     */
+    public static SessionToken decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(String.valueOf(SEPARATOR));
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Jeton de session malformé: " + value);
+            }
+            return new SessionToken(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])));
+        } catch (java.time.DateTimeException e) {
+            throw new IllegalArgumentException("Jeton de session malformé: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.acme.tickets.replica;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Instant;
+
+/**
+ * Ajoute un jeton de session aux réponses des écritures REST. La réponse est écrite après la
+ * validation de la transaction: le jeton, daté à cet instant, couvre l'écriture.
+ * Les réponses d'erreur (GlobalExceptionHandler) n'en portent pas.
+ */
+@ControllerAdvice(annotations = RestController.class)
+@ConditionalOnProperty(prefix = "ticket-inventory.read-replica", name = "enabled", havingValue = "true")
+public class SessionTokenAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod()) && !HttpMethod.HEAD.equals(request.getMethod())) {
+            response.getHeaders().set(SessionToken.HEADER, new SessionToken(Instant.now()).encode());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,41 @@
+package com.acme.tickets.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Pose l'exigence read-your-writes de la requête à partir de l'en-tête {@value SessionToken#HEADER}.
+ * Un jeton illisible envoie les lectures au primaire plutôt que de risquer une lecture en retard.
+ */
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(SessionToken.HEADER);
+        if (header == null || header.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Instant writtenAt;
+        try {
+            writtenAt = SessionToken.decode(header).writtenAt();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Jeton de session illisible, lectures sur le primaire: {}", e.getMessage());
+            writtenAt = Instant.MAX;
+        }
+        try (ReadConsistency.Scope ignored = ReadConsistency.requireAfter(writtenAt)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
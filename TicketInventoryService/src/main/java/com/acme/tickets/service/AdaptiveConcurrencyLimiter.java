@@ -0,0 +1,156 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.ConcurrencyLimitProperties;
+import com.acme.tickets.exception.ConcurrencyLimitExceededException;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limite de concurrence adaptative devant reserve et confirm (algorithme à gradient).
+ * <p>
+ * Des pools fixes sous-emploient la base quand elle est rapide et laissent les requêtes
+ * s'accumuler quand elle ralentit. Ici, le nombre d'appels simultanés admis suit la latence
+ * observée: à chaque fenêtre de {@code window-samples} appels terminés,
+ * <pre>
+ *   gradient = clamp(tolérance × latence de référence / latence récente, 0.5, 1)
+ *   limite   = (1 - lissage) × limite + lissage × (limite × gradient + √limite)
+ * </pre>
+ * La référence est une moyenne lente des fenêtres ({@code baseline-windows}). Latence stable:
+ * gradient 1, la limite gagne √limite; latence qui s'envole: la limite baisse jusqu'à la moitié
+ * par fenêtre (lissée). Une fenêtre où moins de la moitié de la limite était utilisée ne dit
+ * rien de la capacité: la limite n'y change pas.
+ * <p>
+ * Au-delà de la limite, l'appel est rejeté immédiatement ({@link ConcurrencyLimitExceededException},
+ * 503): il n'attend ni un thread, ni une place de cloison, ni une connexion. La limite est
+ * commune à reserve et confirm, qui sollicitent la même base. Doit être appelé hors transaction.
+ * <p>
+ * L'attente dans le répartiteur à priorités ({@link PriorityDispatcher}) est retranchée de la
+ * latence mesurée: elle traduit l'ordre de service choisi, pas la capacité de la base; sans
+ * cela, chaque file d'attente du répartiteur ferait baisser la limite.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    static final String LIMIT_GAUGE = "tickets.concurrency.limit";
+    static final String IN_FLIGHT_GAUGE = "tickets.concurrency.inflight";
+    static final String DROPPED_COUNTER = "tickets.concurrency.dropped";
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Operation, Counter> dropped = new EnumMap<>(Operation.class);
+
+    private volatile int limit;
+    private double estimate;
+    private double baselineNanos;
+    private long windowNanos;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.estimate = properties.getInitialLimit();
+        this.limit = properties.getInitialLimit();
+        Gauge.builder(LIMIT_GAUGE, this, AdaptiveConcurrencyLimiter::limit)
+            .description("Appels simultanés admis sur reserve et confirm (limite adaptative)")
+            .register(registry);
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get)
+            .description("Appels reserve et confirm en cours sous la limite adaptative")
+            .register(registry);
+        for (Operation operation : new Operation[] {Operation.RESERVE, Operation.CONFIRM}) {
+            dropped.put(operation, Counter.builder(DROPPED_COUNTER)
+                .description("Appels délestés par la limite de concurrence adaptative")
+                .tag("operation", operation.name().toLowerCase())
+                .register(registry));
+        }
+    }
+
+    /**
+     * Exécute l'unité de travail si la limite le permet, et mesure sa latence.
+     *
+     * @throws ConcurrencyLimitExceededException si la limite est atteinte
+     */
+    public <T> T execute(Operation operation, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        int current = inFlight.incrementAndGet();
+        int admitted = limit;
+        if (current > admitted) {
+            inFlight.decrementAndGet();
+            dropped.get(operation).increment();
+            throw new ConcurrencyLimitExceededException(operation.name().toLowerCase(), admitted);
+        }
+        long start = System.nanoTime();
+        long queuedBefore = PriorityDispatcher.queuedNanos();
+        try {
+            return work.get();
+        } finally {
+            inFlight.decrementAndGet();
+            long queued = PriorityDispatcher.queuedNanos() - queuedBefore;
+            onSample(System.nanoTime() - start - queued, current);
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Ajoute la latence d'un appel terminé à la fenêtre courante et recalcule la limite quand
+     * la fenêtre est pleine.
+     *
+     * @param inFlightAtStart Appels en cours à l'admission de celui-ci (lui compris)
+     */
+    synchronized void onSample(long latencyNanos, int inFlightAtStart) {
+        windowNanos += latencyNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        if (windowCount < properties.getWindowSamples()) {
+            return;
+        }
+        double recent = Math.max(1, (double) windowNanos / windowCount);
+        boolean appLimited = windowMaxInFlight < estimate / 2;
+        windowNanos = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        if (baselineNanos == 0) {
+            baselineNanos = recent;
+        } else {
+            baselineNanos += (recent - baselineNanos) / properties.getBaselineWindows();
+        }
+        if (appLimited) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT,
+            Math.min(1.0, properties.getLatencyTolerance() * baselineNanos / recent));
+        double target = estimate * gradient + Math.sqrt(estimate);
+        double smoothing = properties.getSmoothing();
+        estimate = Math.max(properties.getMinLimit(),
+            Math.min(properties.getMaxLimit(), (1 - smoothing) * estimate + smoothing * target));
+        int next = (int) estimate;
+        if (next != limit) {
+            logger.debug("Limite de concurrence {} -> {} (latence récente {} µs, référence {} µs)",
+                limit, next, Math.round(recent / 1_000), Math.round(baselineNanos / 1_000));
+            limit = next;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.TicketInventoryProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.Reservation;
+import com.acme.tickets.domain.entity.Ticket;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.domain.repository.TicketRepository;
+import com.acme.tickets.dto.*;
+import com.acme.tickets.exception.*;
+import com.acme.tickets.observability.ReservationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Réservation de paniers multi-événements, tout ou rien, en une transaction.
+ * <p>
+ * Les lignes sont regroupées par événement (une réservation par événement, lignes cumulées)
+ * et traitées par eventId croissant: inventaires lus en une requête, mises à jour émises dans
+ * l'ordre des clés, réservations insérées en un seul batch JDBC avec une expiration commune.
+ * Le moindre rejet (stock, quota, limite de catégorie) annule tout le panier.
+ * <p>
+ * Confirmation et libération portent sur le panier entier: un paiement couvre toutes ses lignes.
+ */
+@Service
+public class CartReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartReservationService.class);
+
+    private final InventoryRepository inventoryRepository;
+    private final ReservationRepository reservationRepository;
+    private final TicketRepository ticketRepository;
+    private final ReservationPolicy policy;
+    private final EventMetadataCache eventMetadataCache;
+    private final ReservationMetrics metrics;
+    private final PurchaseQuotaTracker purchaseQuota;
+    private final StockAllocator stockAllocator;
+
+    public CartReservationService(
+            InventoryRepository inventoryRepository,
+            ReservationRepository reservationRepository,
+            TicketRepository ticketRepository,
+            TicketInventoryProperties properties,
+            EventMetadataCache eventMetadataCache,
+            ReservationMetrics metrics,
+            PurchaseQuotaTracker purchaseQuota,
+            StockAllocator stockAllocator) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationRepository = reservationRepository;
+        this.ticketRepository = ticketRepository;
+        this.policy = new ReservationPolicy(properties);
+        this.eventMetadataCache = eventMetadataCache;
+        this.metrics = metrics;
+        this.purchaseQuota = purchaseQuota;
+        this.stockAllocator = stockAllocator;
+    }
+
+    /**
+     * Quantités demandées par événement, lignes d'un même événement cumulées, par eventId croissant.
+     */
+    public static SortedMap<Long, Integer> quantitiesByEvent(CartReserveRequest request) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (CartLineRequest line : request.lines()) {
+            quantities.merge(line.eventId(), line.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Réserve toutes les lignes du panier, ou aucune.
+     *
+     * @param request Utilisateur et lignes du panier
+     * @param idempotencyKey Clé d'idempotence du panier, portée par sa première réservation
+     * @return Le panier créé (ou existant pour un rejeu idempotent)
+     * @throws CategoryLimitExceededException Si une ligne dépasse la limite de sa catégorie
+     * @throws PurchaseQuotaExceededException Si l'utilisateur dépasserait son quota pour un événement
+     * @throws InsufficientStockException Si le stock d'un événement est insuffisant
+     */
+    @Transactional
+    public CartReserveResponse reserveCart(CartReserveRequest request, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<CartReserveResponse> existing = findActiveCart(idempotencyKey);
+            if (existing.isPresent()) {
+                logger.info("Panier idempotent trouvé: {}", existing.get().cartId());
+                metrics.increment(ReservationMetrics.Outcome.IDEMPOTENT_REPLAY);
+                return existing.get();
+            }
+        }
+
+        SortedMap<Long, Integer> quantities = quantitiesByEvent(request);
+        logger.debug("Réservation d'un panier de {} événements par l'utilisateur {}",
+            quantities.size(), request.userId());
+
+        // Tout ou rien: une ligne au-delà de la limite de sa catégorie rejette le panier
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            String category = eventMetadataCache.get(line.getKey()).categoryType();
+            int maxAllowed = policy.maxPerReservation(category);
+            if (line.getValue() > maxAllowed) {
+                throw new CategoryLimitExceededException(category, line.getValue(), maxAllowed);
+            }
+        }
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            purchaseQuota.acquire(request.userId(), line.getKey(), line.getValue());
+        }
+
+        for (Inventory inventory : lockInventories(quantities)) {
+            inventory.reserve(quantities.get(inventory.getEventId()));
+        }
+
+        String cartId = UUID.randomUUID().toString();
+        Instant expiresAt = policy.holdExpiresAt(Instant.now());
+        List<Reservation> reservations = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Reservation reservation = new Reservation(
+                line.getKey(), request.userId(), line.getValue(), ReservationStatus.PENDING);
+            reservation.setHoldExpiresAt(expiresAt);
+            reservation.setCartId(cartId);
+            reservations.add(reservation);
+        }
+        reservations.get(0).setIdempotencyKey(idempotencyKey);
+        reservationRepository.insertAll(reservations);
+
+        CartReserveResponse response = toResponse(cartId, reservationRepository.findByCartIdOrderByEventId(cartId));
+        logger.info("Panier {} créé: {} réservations, expire à {}", cartId, reservations.size(), expiresAt);
+        return response;
+    }
+
+    /**
+     * Relit le panier créé avec une clé d'idempotence (après une violation d'unicité).
+     *
+     * @return Le panier existant, vide s'il n'est pas (encore) visible
+     */
+    @Transactional(readOnly = true)
+    public Optional<CartReserveResponse> findIdempotentCart(String idempotencyKey) {
+        return reservationRepository.findByIdempotencyKey(idempotencyKey)
+            .filter(first -> first.getCartId() != null)
+            .map(first -> {
+                metrics.increment(ReservationMetrics.Outcome.IDEMPOTENT_REPLAY);
+                return toResponse(first.getCartId(), reservationRepository.findByCartIdOrderByEventId(first.getCartId()));
+            });
+    }
+
+    /**
+     * Un événement du panier: tous ses événements sont stockés sur le même shard.
+     *
+     * @return L'événement, vide si le panier est inconnu
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findCartEventId(String cartId) {
+        return reservationRepository.findEventIdsByCartId(cartId, Limit.of(1)).stream().findFirst();
+    }
+
+    /**
+     * Confirme toutes les réservations du panier et émet leurs tickets, ou aucune.
+     *
+     * @throws CartNotFoundException Si le panier n'existe pas
+     * @throws ReservationExpiredException Si le panier a expiré
+     * @throws InvalidReservationStateException Si une réservation n'est plus PENDING
+     */
+    @Transactional
+    public ConfirmResponse confirmCart(CartConfirmRequest request) {
+        List<Reservation> reservations = getCartOrThrow(request.cartId());
+        logger.debug("Confirmation du panier {} ({} réservations)", request.cartId(), reservations.size());
+
+        for (Reservation reservation : reservations) {
+            if (!reservation.canBeConfirmed()) {
+                if (reservation.isExpired()) {
+                    throw new ReservationExpiredException(reservation.getId());
+                }
+                throw new InvalidReservationStateException(
+                    reservation.getId(), reservation.getStatus(), ReservationStatus.PENDING);
+            }
+        }
+
+        List<Ticket> tickets = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            reservation.confirm();
+            tickets.add(new Ticket(
+                reservation.getId(), reservation.getUserId(), reservation.getEventId(), reservation.getQuantity()));
+        }
+        ticketRepository.saveAll(tickets);
+
+        logger.info("Panier {} confirmé", request.cartId());
+        return new ConfirmResponse(ReservationStatus.CONFIRMED.name());
+    }
+
+    /**
+     * Annule toutes les réservations actives du panier et rend le stock des réservations PENDING.
+     *
+     * @throws CartNotFoundException Si le panier n'existe pas
+     */
+    @Transactional
+    public ReleaseResponse releaseCart(CartReleaseRequest request) {
+        List<Reservation> reservations = getCartOrThrow(request.cartId());
+        logger.debug("Libération du panier {} ({} réservations)", request.cartId(), reservations.size());
+
+        List<Reservation> active = reservations.stream().filter(Reservation::isActive).toList();
+        if (active.isEmpty()) {
+            logger.warn("Panier {} déjà annulé/expiré", request.cartId());
+            return new ReleaseResponse(reservations.get(0).getStatus().name());
+        }
+
+        SortedMap<Long, Integer> pending = new TreeMap<>();
+        for (Reservation reservation : active) {
+            if (reservation.getStatus() == ReservationStatus.PENDING) {
+                pending.merge(reservation.getEventId(), reservation.getQuantity(), Integer::sum);
+            }
+        }
+        if (!pending.isEmpty()) {
+            for (Inventory inventory : inventoryRepository.findAllByEventIdsOrdered(pending.keySet())) {
+                int quantity = pending.get(inventory.getEventId());
+                if (!inventory.release(quantity)) {
+                    logger.error("Tentative de stock négatif pour l'événement {}: {} - {}, ramené à 0",
+                        inventory.getEventId(), inventory.getReserved(), quantity);
+                }
+            }
+        }
+
+        for (Reservation reservation : active) {
+            reservation.cancel();
+            purchaseQuota.releaseAfterCommit(reservation.getUserId(), reservation.getEventId(), reservation.getQuantity());
+        }
+
+        logger.info("Panier {} annulé", request.cartId());
+        return new ReleaseResponse(ReservationStatus.CANCELED.name());
+    }
+
+    /**
+     * Inventaires des événements du panier par eventId croissant, initialisés si absents.
+     */
+    private List<Inventory> lockInventories(SortedMap<Long, Integer> quantities) {
+        List<Inventory> inventories = inventoryRepository.findAllByEventIdsOrdered(quantities.keySet());
+        if (inventories.size() == quantities.size()) {
+            return inventories;
+        }
+        // Initialisation de secours: les inventaires sont normalement créés avant la transaction
+        Map<Long, Inventory> byEvent = new HashMap<>();
+        inventories.forEach(inventory -> byEvent.put(inventory.getEventId(), inventory));
+        List<Inventory> complete = new ArrayList<>(quantities.size());
+        for (Long eventId : quantities.keySet()) {
+            Inventory inventory = byEvent.get(eventId);
+            if (inventory == null) {
+                inventory = stockAllocator.initialize(eventId);
+            }
+            complete.add(inventory);
+        }
+        return complete;
+    }
+
+    private Optional<CartReserveResponse> findActiveCart(String idempotencyKey) {
+        return reservationRepository.findByIdempotencyKey(idempotencyKey)
+            .filter(first -> first.getCartId() != null && first.isActive())
+            .map(first -> toResponse(first.getCartId(), reservationRepository.findByCartIdOrderByEventId(first.getCartId())));
+    }
+
+    private List<Reservation> getCartOrThrow(String cartId) {
+        List<Reservation> reservations = reservationRepository.findByCartIdOrderByEventId(cartId);
+        if (reservations.isEmpty()) {
+            throw new CartNotFoundException(cartId);
+        }
+        return reservations;
+    }
+
+    private static CartReserveResponse toResponse(String cartId, List<Reservation> reservations) {
+        Reservation first = reservations.get(0);
+        List<CartLineResponse> lines = reservations.stream()
+            .map(r -> new CartLineResponse(r.getId(), r.getEventId(), r.getQuantity()))
+            .toList();
+        return new CartReserveResponse(cartId, first.getStatus().name(), first.getHoldExpiresAt(), lines);
+    }
+}
@@ -0,0 +1,330 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.BulkheadProperties;
+import com.acme.tickets.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Cloisons (bulkheads) par événement: une mise en vente très demandée ne doit pas occuper
+ * tous les threads Tomcat ni toutes les connexions Hikari au détriment des autres événements.
+ * <p>
+ * Les événements chauds, déclarés ({@code hot-events}) ou détectés (au moins
+ * {@code auto-hot-threshold} appels simultanés dans la cloison partagée), disposent d'une
+ * cloison dédiée; tous les autres se partagent une cloison commune. Chaque cloison borne:
+ * <ul>
+ *   <li>les appels simultanés: chaque appel admis tient au plus une connexion JDBC, c'est donc
+ *       aussi le quota de connexions de la cloison;</li>
+ *   <li>la file d'attente: au-delà de sa profondeur, l'appel est rejeté immédiatement (503)
+ *       plutôt que d'immobiliser un thread Tomcat de plus;</li>
+ *   <li>l'attente d'une place ({@code max-wait-ms}).</li>
+ * </ul>
+ * L'isolation est faite par sémaphore dans le thread appelant et non par un pool de threads
+ * dédié: le thread Tomcat attendrait de toute façon le résultat, un transfert vers un autre pool
+ * n'ajouterait qu'un changement de contexte. Doit être appelé hors transaction: l'attente se
+ * fait avant l'emprunt d'une connexion.
+ */
+@Component
+public class EventBulkheads {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventBulkheads.class);
+
+    static final String SHARED = "shared";
+    static final String ACTIVE_GAUGE = "tickets.bulkhead.active";
+    static final String QUEUED_GAUGE = "tickets.bulkhead.queued";
+    static final String SATURATION_GAUGE = "tickets.bulkhead.saturation";
+    static final String REJECTED_COUNTER = "tickets.bulkhead.rejected";
+
+    private final BulkheadProperties properties;
+    private final MeterRegistry registry;
+    private final Bulkhead shared;
+    private final Map<Long, Bulkhead> hot = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> sharedInFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger autoHotCount = new AtomicInteger();
+
+    public EventBulkheads(BulkheadProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.shared = new Bulkhead(SHARED, properties.getSharedMaxConcurrent(), properties.getSharedMaxQueue(),
+            false, registry);
+        for (Long eventId : properties.getHotEvents()) {
+            hot.put(eventId, newHotBulkhead(eventId, true));
+        }
+        Gauge.builder("tickets.bulkhead.hot.events", hot, Map::size)
+            .description("Événements disposant d'une cloison dédiée (déclarés ou détectés)")
+            .register(registry);
+    }
+
+    /**
+     * Exécute l'unité de travail dans la cloison de l'événement.
+     *
+     * @throws BulkheadFullException si la file de la cloison est pleine ou l'attente dépassée
+     */
+    public <T> T execute(Long eventId, Supplier<T> work) {
+        if (!properties.isEnabled() || eventId == null) {
+            return work.get();
+        }
+        Bulkhead dedicated = hot.get(eventId);
+        if (dedicated != null && dedicated.tryEnter()) {
+            return runEntered(dedicated, eventId, work);
+        }
+        // Sans cloison dédiée, ou la sienne vient d'être rendue: cloison partagée
+        int threshold = properties.getAutoHotThreshold();
+        if (threshold == 0) {
+            return shared.run(eventId, properties.getMaxWaitMs(), work);
+        }
+        int inFlight = sharedInFlight.merge(eventId, 1, Integer::sum);
+        try {
+            Bulkhead promoted = inFlight >= threshold ? promote(eventId) : null;
+            if (promoted != null && promoted.tryEnter()) {
+                return runEntered(promoted, eventId, work);
+            }
+            return shared.run(eventId, properties.getMaxWaitMs(), work);
+        } finally {
+            sharedInFlight.computeIfPresent(eventId, (id, count) -> count <= 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Exécute une unité de travail portant sur plusieurs événements (panier).
+     * Une seule place est prise par cloison distincte, dans l'ordre des eventId: un panier ne
+     * se bloque pas sur la cloison partagée qu'il occupe déjà, et deux paniers prennent leurs
+     * cloisons communes dans le même ordre. Un panier ne déclenche pas de promotion automatique.
+     *
+     * @throws BulkheadFullException si l'une des cloisons refuse l'appel
+     */
+    public <T> T executeAll(Collection<Long> eventIds, Supplier<T> work) {
+        if (!properties.isEnabled() || eventIds.isEmpty()) {
+            return work.get();
+        }
+        Map<Bulkhead, Long> targets = new LinkedHashMap<>();
+        List<Bulkhead> entered = new ArrayList<>();
+        try {
+            for (Long eventId : new TreeSet<>(eventIds)) {
+                Bulkhead dedicated = hot.get(eventId);
+                if (dedicated != null && dedicated.tryEnter()) {
+                    entered.add(dedicated);
+                    targets.put(dedicated, eventId);
+                } else {
+                    targets.putIfAbsent(shared, eventId);
+                }
+            }
+            return runAll(new ArrayList<>(targets.entrySet()), 0, work);
+        } finally {
+            entered.forEach(Bulkhead::leave);
+        }
+    }
+
+    private <T> T runEntered(Bulkhead bulkhead, Long eventId, Supplier<T> work) {
+        try {
+            return bulkhead.run(eventId, properties.getMaxWaitMs(), work);
+        } finally {
+            bulkhead.leave();
+        }
+    }
+
+    private <T> T runAll(List<Map.Entry<Bulkhead, Long>> targets, int index, Supplier<T> work) {
+        if (index == targets.size()) {
+            return work.get();
+        }
+        Map.Entry<Bulkhead, Long> target = targets.get(index);
+        return target.getKey().run(target.getValue(), properties.getMaxWaitMs(),
+            () -> runAll(targets, index + 1, work));
+    }
+
+    /**
+     * Indique si l'événement dispose actuellement d'une cloison dédiée.
+     */
+    public boolean isHot(Long eventId) {
+        return hot.containsKey(eventId);
+    }
+
+    /**
+     * Rend à la cloison partagée les événements promus automatiquement qui n'ont reçu aucun
+     * appel depuis {@code auto-hot-cooldown-ms}. Une cloison n'est retirée que vide (ni appel en
+     * cours, ni appel en file), atomiquement: un appel qui la lit ensuite passe par la cloison
+     * partagée, et une nouvelle promotion ne peut pas coexister avec des appels encore en cours
+     * dans l'ancienne.
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.bulkhead.eviction-interval-ms:10000}")
+    public void demoteCooledDown() {
+        long now = System.currentTimeMillis();
+        hot.entrySet().removeIf(entry -> {
+            Bulkhead bulkhead = entry.getValue();
+            if (!bulkhead.tryRetire(now, properties.getAutoHotCooldownMs())) {
+                return false;
+            }
+            bulkhead.removeMeters(registry);
+            autoHotCount.decrementAndGet();
+            logger.info("Événement {} rendu à la cloison partagée", entry.getKey());
+            return true;
+        });
+    }
+
+    private Bulkhead promote(Long eventId) {
+        return hot.computeIfAbsent(eventId, id -> {
+            if (autoHotCount.incrementAndGet() > properties.getMaxAutoHotEvents()) {
+                autoHotCount.decrementAndGet();
+                return null;
+            }
+            logger.info("Événement {} détecté chaud: cloison dédiée de {} appels simultanés",
+                id, properties.getHotMaxConcurrent());
+            return newHotBulkhead(id, false);
+        });
+    }
+
+    private Bulkhead newHotBulkhead(Long eventId, boolean pinned) {
+        return new Bulkhead("event-" + eventId, properties.getHotMaxConcurrent(), properties.getHotMaxQueue(),
+            pinned, registry);
+    }
+
+    /**
+     * Cloison: places d'exécution et file d'attente bornées, métriques de saturation.
+     * <p>
+     * Une cloison promue automatiquement compte ses appels entrés ({@code users}, en cours et en
+     * file): -1 marque une cloison retirée, dans laquelle plus aucun appel n'entre. Les cloisons
+     * épinglées (déclarées) ne sont jamais retirées et ne comptent pas.
+     */
+    static final class Bulkhead {
+
+        final String name;
+        final int maxConcurrent;
+        final int maxQueue;
+        final boolean pinned;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter queueFull;
+        private final Counter timedOut;
+        private final List<Meter> meters;
+        private final AtomicInteger users = new AtomicInteger();
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        Bulkhead(String name, int maxConcurrent, int maxQueue, boolean pinned, MeterRegistry registry) {
+            this.name = name;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.pinned = pinned;
+            this.permits = new Semaphore(maxConcurrent);
+            this.queueFull = rejectedCounter(registry, "queue_full");
+            this.timedOut = rejectedCounter(registry, "timeout");
+            this.meters = List.of(
+                Gauge.builder(ACTIVE_GAUGE, this, Bulkhead::active)
+                    .description("Appels en cours d'exécution dans la cloison")
+                    .tag("bulkhead", name)
+                    .register(registry),
+                Gauge.builder(QUEUED_GAUGE, queued, AtomicInteger::get)
+                    .description("Appels en attente d'une place dans la cloison")
+                    .tag("bulkhead", name)
+                    .register(registry),
+                Gauge.builder(SATURATION_GAUGE, this, b -> (double) b.active() / b.maxConcurrent)
+                    .description("Taux d'occupation des places de la cloison (0 à 1)")
+                    .tag("bulkhead", name)
+                    .register(registry),
+                queueFull,
+                timedOut);
+        }
+
+        <T> T run(Long eventId, long maxWaitMs, Supplier<T> work) {
+            acquire(eventId, RequestDeadline.capMillis(maxWaitMs));
+            try {
+                return work.get();
+            } finally {
+                permits.release();
+            }
+        }
+
+        /**
+         * Entre dans la cloison avant {@link #run}; faux si elle a été retirée.
+         */
+        boolean tryEnter() {
+            if (pinned) {
+                return true;
+            }
+            lastUsedAt = System.currentTimeMillis();
+            for (;;) {
+                int current = users.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (users.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void leave() {
+            if (pinned) {
+                return;
+            }
+            lastUsedAt = System.currentTimeMillis();
+            users.decrementAndGet();
+        }
+
+        /**
+         * Retire la cloison si elle n'est pas épinglée, vide et inutilisée depuis {@code cooldownMs}.
+         */
+        boolean tryRetire(long now, long cooldownMs) {
+            return !pinned && now - lastUsedAt >= cooldownMs && users.compareAndSet(0, -1);
+        }
+
+        int active() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        int queued() {
+            return queued.get();
+        }
+
+        private void acquire(Long eventId, long maxWaitMs) {
+            if (permits.tryAcquire()) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                queueFull.increment();
+                throw new BulkheadFullException(eventId, name);
+            }
+            try {
+                if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                    timedOut.increment();
+                    throw new BulkheadFullException(eventId, name);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BulkheadFullException(eventId, name);
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+
+        void removeMeters(MeterRegistry registry) {
+            meters.forEach(registry::remove);
+        }
+
+        private Counter rejectedCounter(MeterRegistry registry, String reason) {
+            return Counter.builder(REJECTED_COUNTER)
+                .description("Appels rejetés par une cloison")
+                .tag("bulkhead", name)
+                .tag("reason", reason)
+                .register(registry);
+        }
+    }
+}
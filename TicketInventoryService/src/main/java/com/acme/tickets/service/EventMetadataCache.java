@@ -0,0 +1,90 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.integration.EventMetadata;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache des métadonnées d'événement lues sur EventCatalog.
+ * <p>
+ * Chaque réservation consulte la catégorie de l'événement: sans cache, c'est un appel HTTP
+ * synchrone par réservation, fait de surcroît pendant la transaction. Les chargements sont
+ * dédoublonnés par événement (single-flight): à l'ouverture d'une vente, les requêtes
+ * simultanées attendent l'unique appel en cours au lieu d'en lancer chacune un. Une réponse
+ * vide (échec de l'appel, cf. {@link EventCatalogClient}) n'est pas mise en cache.
+ */
+@Component
+public class EventMetadataCache {
+
+    private final EventCatalogClient eventCatalogClient;
+    private final PrewarmProperties properties;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<EventMetadata>> loading = new ConcurrentHashMap<>();
+
+    public EventMetadataCache(EventCatalogClient eventCatalogClient, PrewarmProperties properties) {
+        this.eventCatalogClient = eventCatalogClient;
+        this.properties = properties;
+    }
+
+    /**
+     * Métadonnées de l'événement, chargées depuis le catalogue si absentes ou périmées.
+     */
+    public EventMetadata get(Long eventId) {
+        Entry entry = entries.get(eventId);
+        if (entry != null && System.nanoTime() - entry.expiresAt < 0) {
+            return entry.metadata;
+        }
+        return load(eventId);
+    }
+
+    /**
+     * Recharge les métadonnées depuis le catalogue, même si une entrée valide existe.
+     */
+    public EventMetadata refresh(Long eventId) {
+        entries.remove(eventId);
+        return load(eventId);
+    }
+
+    /**
+     * Oublie les métadonnées de l'événement (annulation, report...).
+     */
+    public void evict(Long eventId) {
+        entries.remove(eventId);
+    }
+
+    private EventMetadata load(Long eventId) {
+        CompletableFuture<EventMetadata> mine = new CompletableFuture<>();
+        CompletableFuture<EventMetadata> inFlight = loading.putIfAbsent(eventId, mine);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Map<String, Object> event = eventCatalogClient.getEventById(eventId);
+            EventMetadata metadata = EventMetadata.from(eventId, event == null ? Map.of() : event);
+            long ttlNanos = TimeUnit.SECONDS.toNanos(properties.getMetadataTtlSeconds());
+            if (event != null && !event.isEmpty() && ttlNanos > 0) {
+                entries.put(eventId, new Entry(metadata, System.nanoTime() + ttlNanos));
+            }
+            mine.complete(metadata);
+            return metadata;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(eventId, mine);
+        }
+    }
+
+    private record Entry(EventMetadata metadata, long expiresAt) { }
+}
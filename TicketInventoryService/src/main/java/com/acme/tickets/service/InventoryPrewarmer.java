@@ -0,0 +1,202 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.PrewarmItem;
+import com.acme.tickets.integration.EventMetadata;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Pré-chauffage des inventaires: création de la ligne {@code inventory} et chargement des
+ * métadonnées d'événement avant les premiers acheteurs.
+ * <p>
+ * Déclencheurs: passage d'un événement à OPEN_FOR_BOOKING, heure d'ouverture des ventes
+ * annoncée par le catalogue ({@link #scheduleOnSale}), endpoint d'administration. Pour les
+ * événements non pré-chauffés, {@link #prepare} est appelé hors transaction avant chaque
+ * réservation: l'initialisation est dédoublonnée par événement (single-flight), faite dans sa
+ * propre transaction, et l'appel au catalogue n'est plus fait sous verrou. Une insertion
+ * concurrente par une autre instance se solde par une violation de clé, traitée comme un succès.
+ */
+@Component
+public class InventoryPrewarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryPrewarmer.class);
+
+    static final String PREWARM_COUNTER = "tickets.inventory.prewarm";
+
+    /**
+     * Issue de l'initialisation d'un inventaire.
+     */
+    public enum Result { CREATED, EXISTING, FAILED }
+
+    private final InventoryRepository inventoryRepository;
+    private final EventMetadataCache metadataCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final PrewarmProperties properties;
+    private final ShardRouter router;
+    private final Set<Long> initialized = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompletableFuture<Result>> initializing = new ConcurrentHashMap<>();
+    private final Map<Long, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+    private final Map<Result, Counter> counters = new EnumMap<>(Result.class);
+
+    public InventoryPrewarmer(
+            InventoryRepository inventoryRepository,
+            EventMetadataCache metadataCache,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            PrewarmProperties properties,
+            MeterRegistry registry,
+            ShardRouter router) {
+        this.inventoryRepository = inventoryRepository;
+        this.metadataCache = metadataCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.router = router;
+        for (Result result : Result.values()) {
+            counters.put(result, Counter.builder(PREWARM_COUNTER)
+                .description("Initialisations d'inventaire hors du chemin de réservation")
+                .tag("result", result.name().toLowerCase())
+                .register(registry));
+        }
+    }
+
+    /**
+     * Prépare une réservation, hors transaction: métadonnées en cache et inventaire existant.
+     * Coût négligeable pour un événement déjà préparé (deux lectures de table de hachage).
+     */
+    public void prepare(Long eventId) {
+        metadataCache.get(eventId);
+        ensureInventory(eventId);
+    }
+
+    /**
+     * Garantit l'existence de l'inventaire de l'événement; un seul initialiseur par événement
+     * s'exécute à la fois, les appels simultanés attendent son résultat.
+     */
+    public Result ensureInventory(Long eventId) {
+        if (initialized.contains(eventId)) {
+            return Result.EXISTING;
+        }
+        CompletableFuture<Result> mine = new CompletableFuture<>();
+        CompletableFuture<Result> inFlight = initializing.putIfAbsent(eventId, mine);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Result result = initialize(eventId);
+            initialized.add(eventId);
+            counters.get(result).increment();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            counters.get(Result.FAILED).increment();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            initializing.remove(eventId, mine);
+        }
+    }
+
+    /**
+     * Pré-chauffe un lot d'événements: métadonnées rechargées depuis le catalogue,
+     * inventaires créés si absents. Un échec n'interrompt pas le lot.
+     */
+    public List<PrewarmItem> prewarm(Collection<Long> eventIds) {
+        return eventIds.stream()
+            .distinct()
+            .map(this::prewarm)
+            .toList();
+    }
+
+    private PrewarmItem prewarm(Long eventId) {
+        try {
+            metadataCache.refresh(eventId);
+            Result result = ensureInventory(eventId);
+            logger.info("Inventaire de l'événement {} pré-chauffé: {}", eventId, result);
+            return new PrewarmItem(eventId, result.name());
+        } catch (RuntimeException e) {
+            logger.error("Échec du pré-chauffage de l'événement {}: {}", eventId, e.getMessage(), e);
+            return new PrewarmItem(eventId, Result.FAILED.name());
+        }
+    }
+
+    /**
+     * Planifie le pré-chauffage {@code on-sale-lead-seconds} avant l'ouverture des ventes;
+     * immédiat si l'échéance est passée. Remplace une planification antérieure du même événement.
+     */
+    public void scheduleOnSale(Long eventId, Instant onSaleAt) {
+        scheduled.values().removeIf(Future::isDone);
+        Instant at = onSaleAt.minusSeconds(properties.getOnSaleLeadSeconds());
+        ScheduledFuture<?> previous = scheduled.put(eventId,
+            taskScheduler.schedule(() -> prewarm(eventId), at));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        logger.info("Pré-chauffage de l'événement {} planifié à {}", eventId, at);
+    }
+
+    /**
+     * Annule le pré-chauffage planifié de l'événement et oublie ses métadonnées.
+     */
+    public void forget(Long eventId) {
+        ScheduledFuture<?> pending = scheduled.remove(eventId);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        metadataCache.evict(eventId);
+    }
+
+    /**
+     * Crée l'inventaire absent sur le shard de l'événement.
+     */
+    private Result initialize(Long eventId) {
+        return router.onShard(router.shardFor(eventId), () -> initializeOnShard(eventId));
+    }
+
+    private Result initializeOnShard(Long eventId) {
+        if (inventoryRepository.existsById(eventId)) {
+            return Result.EXISTING;
+        }
+        router.checkAssigned(eventId);
+        EventMetadata metadata = metadataCache.get(eventId);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                inventoryRepository.save(new Inventory(eventId, metadata.totalTickets())));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Inventaire de l'événement {} créé par une autre instance", eventId);
+            return Result.EXISTING;
+        }
+        logger.info("Inventaire de l'événement {} initialisé: {} billets", eventId, metadata.totalTickets());
+        return Result.CREATED;
+    }
+}
@@ -0,0 +1,263 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.ReconciliationProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.projection.EventQuantity;
+import com.acme.tickets.domain.repository.InventoryLeaseRepository;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.domain.repository.TicketRepository;
+import com.acme.tickets.dto.InventoryDriftItem;
+import com.acme.tickets.dto.ReconciliationResponse;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rapprochement des compteurs {@code inventory.reserved} avec les données qui les justifient.
+ * <p>
+ * Le réservé attendu d'un événement est la somme des réservations PENDING, des tickets émis et
+ * des reliquats des lots en séquestre ({@link com.acme.tickets.escrow.InventoryEscrow}): une
+ * confirmation garde le stock réservé et l'annulation d'une réservation confirmée ne le rend
+ * pas. Les inventaires sont lus par lots d'eventId croissants (pagination par clé); pour chaque
+ * lot, une requête GROUP BY par table agrège la plage d'eventId correspondante sur les index
+ * couvrants {@code (event_id, status, quantity)} et {@code (event_id, quantity)}, sans charger
+ * d'entité. Lot lu dans une transaction REPEATABLE_READ sur le primaire: les trois lectures
+ * voient le même instantané.
+ * <p>
+ * Un écart détecté est revérifié sous verrou de l'inventaire (SELECT ... FOR UPDATE) avant
+ * d'être corrigé: les réservations et libérations concurrentes attendent le verrou puis
+ * rejouent sur conflit de version. Partitionnement actif, chaque shard est rapproché à son tour.
+ */
+@Service
+public class InventoryReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryReconciler.class);
+
+    static final String DRIFT_EVENTS_GAUGE = "tickets.inventory.drift.events";
+    static final String DRIFT_UNITS_GAUGE = "tickets.inventory.drift.units";
+    static final String REPAIRED_COUNTER = "tickets.inventory.drift.repaired";
+    static final String PASS_TIMER = "tickets.inventory.reconciliation";
+
+    private final InventoryRepository inventoryRepository;
+    private final ReservationRepository reservationRepository;
+    private final TicketRepository ticketRepository;
+    private final InventoryLeaseRepository leaseRepository;
+    private final ReconciliationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter router;
+    private final AtomicLong driftEvents = new AtomicLong();
+    private final AtomicLong driftUnits = new AtomicLong();
+    private final Counter repaired;
+    private final Timer passTimer;
+
+    public InventoryReconciler(
+            InventoryRepository inventoryRepository,
+            ReservationRepository reservationRepository,
+            TicketRepository ticketRepository,
+            InventoryLeaseRepository leaseRepository,
+            ReconciliationProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            ShardRouter router) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationRepository = reservationRepository;
+        this.ticketRepository = ticketRepository;
+        this.leaseRepository = leaseRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.router = router;
+
+        Gauge.builder(DRIFT_EVENTS_GAUGE, driftEvents, AtomicLong::get)
+            .description("Inventaires en écart lors du dernier rapprochement")
+            .register(registry);
+        Gauge.builder(DRIFT_UNITS_GAUGE, driftUnits, AtomicLong::get)
+            .description("Somme des écarts absolus de inventory.reserved lors du dernier rapprochement")
+            .register(registry);
+        this.repaired = Counter.builder(REPAIRED_COUNTER)
+            .description("Compteurs inventory.reserved corrigés par le rapprochement")
+            .register(registry);
+        this.passTimer = Timer.builder(PASS_TIMER)
+            .description("Durée d'un passage complet de rapprochement")
+            .register(registry);
+    }
+
+    /**
+     * Exécution planifiée; corrige les écarts si {@code auto-repair}.
+     */
+    @Scheduled(cron = "${ticket-inventory.reconciliation.cron:0 45 * * * *}")
+    public void reconcileScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            reconcile(properties.isAutoRepair());
+        } catch (Exception e) {
+            logger.error("Erreur lors du rapprochement des inventaires: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compare tous les inventaires aux réservations, sur chaque shard, et met à jour les jauges
+     * d'écart.
+     *
+     * @param repair true pour corriger les compteurs en écart, false pour un simple constat
+     * @return Le bilan du passage
+     */
+    public ReconciliationResponse reconcile(boolean repair) {
+        long start = System.nanoTime();
+        List<ShardPass> passes = router.gather(() -> reconcileShard(repair));
+
+        long scanned = 0;
+        long units = 0;
+        long fixed = 0;
+        List<InventoryDriftItem> drifts = new ArrayList<>();
+        for (ShardPass pass : passes) {
+            scanned += pass.scanned();
+            for (InventoryDriftItem drift : pass.drifts()) {
+                units += Math.abs(drift.reserved() - drift.expected());
+                fixed += drift.repaired() ? 1 : 0;
+            }
+            drifts.addAll(pass.drifts());
+        }
+        long elapsed = System.nanoTime() - start;
+        passTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        driftEvents.set(drifts.size());
+        driftUnits.set(units);
+
+        logger.info("Rapprochement terminé: {} inventaires, {} en écart ({} tickets), {} corrigés",
+            scanned, drifts.size(), units, fixed);
+        return new ReconciliationResponse(scanned, drifts.size(), units, fixed,
+            List.copyOf(drifts.subList(0, Math.min(drifts.size(), properties.getMaxReportedDrifts()))),
+            TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Rapproche les inventaires du shard courant, lot par lot.
+     */
+    private ShardPass reconcileShard(boolean repair) {
+        Limit chunk = Limit.of(properties.getChunkSize());
+        long afterEventId = 0;
+        long scanned = 0;
+        List<InventoryDriftItem> drifts = new ArrayList<>();
+
+        while (true) {
+            long after = afterEventId;
+            Chunk read = transactionTemplate.execute(status -> readChunk(after, chunk));
+            if (read == null || read.scanned() == 0) {
+                break;
+            }
+            scanned += read.scanned();
+            for (InventoryDriftItem drift : read.drifts()) {
+                InventoryDriftItem checked = repair ? repair(drift) : drift;
+                if (checked != null) {
+                    drifts.add(checked);
+                }
+            }
+            afterEventId = read.lastEventId();
+            if (read.scanned() < properties.getChunkSize()) {
+                break;
+            }
+        }
+        return new ShardPass(scanned, drifts);
+    }
+
+    /**
+     * Lit un lot d'inventaires et agrège les réservations PENDING, les tickets et les reliquats
+     * en séquestre de la même plage d'eventId.
+     */
+    private Chunk readChunk(long afterEventId, Limit chunk) {
+        List<EventQuantity> inventories = inventoryRepository.findReservedAfter(afterEventId, chunk);
+        if (inventories.isEmpty()) {
+            return new Chunk(0, afterEventId, List.of());
+        }
+        Long from = inventories.get(0).getEventId();
+        Long to = inventories.get(inventories.size() - 1).getEventId();
+        Map<Long, Long> expected = new HashMap<>();
+        reservationRepository.sumQuantityByEventRange(ReservationStatus.PENDING, from, to)
+            .forEach(row -> expected.merge(row.getEventId(), row.getQuantity(), Long::sum));
+        ticketRepository.sumQuantityByEventRange(from, to)
+            .forEach(row -> expected.merge(row.getEventId(), row.getQuantity(), Long::sum));
+        leaseRepository.findUnusedByEventRange(from, to)
+            .forEach(row -> expected.merge(row.getEventId(), row.getQuantity(), Long::sum));
+
+        List<InventoryDriftItem> drifts = new ArrayList<>();
+        for (EventQuantity inventory : inventories) {
+            long reserved = inventory.getQuantity();
+            long wanted = expected.getOrDefault(inventory.getEventId(), 0L);
+            if (reserved != wanted) {
+                drifts.add(new InventoryDriftItem(inventory.getEventId(), reserved, wanted, false));
+            }
+        }
+        return new Chunk(inventories.size(), to, drifts);
+    }
+
+    /**
+     * Revérifie l'écart sous verrou de l'inventaire et le corrige s'il persiste. L'écart constaté
+     * hors verrou a pu se résorber (opération en vol au moment de la lecture du lot).
+     *
+     * @return L'écart corrigé, l'écart constaté si la correction échoue, null s'il s'est résorbé
+     */
+    private InventoryDriftItem repair(InventoryDriftItem drift) {
+        try {
+            return transactionTemplate.execute(status -> repairLocked(drift.eventId()));
+        } catch (Exception e) {
+            logger.error("Correction de l'inventaire {} impossible: {}", drift.eventId(), e.getMessage(), e);
+            return drift;
+        }
+    }
+
+    private InventoryDriftItem repairLocked(Long eventId) {
+        Inventory inventory = inventoryRepository.findByIdForUpdate(eventId).orElse(null);
+        if (inventory == null) {
+            // Déplacé vers un autre shard entre-temps
+            return null;
+        }
+        long reserved = inventory.getReserved();
+        long expected = reservationRepository.sumQuantityByEventAndStatus(eventId, ReservationStatus.PENDING)
+            + ticketRepository.sumQuantityByEvent(eventId)
+            + leaseRepository.findUnusedByEventRange(eventId, eventId).stream()
+                .mapToLong(EventQuantity::getQuantity)
+                .sum();
+        if (reserved == expected) {
+            logger.debug("Écart résorbé pour l'événement {}", eventId);
+            return null;
+        }
+
+        inventory.setReserved(Math.toIntExact(expected));
+        inventoryRepository.save(inventory);
+        repaired.increment();
+        if (expected > inventory.getTotal()) {
+            logger.error("Survente constatée pour l'événement {}: {} réservés pour {} places (compteur à {})",
+                eventId, expected, inventory.getTotal(), reserved);
+        } else {
+            logger.warn("Compteur réservé corrigé pour l'événement {}: {} -> {}", eventId, reserved, expected);
+        }
+        return new InventoryDriftItem(eventId, reserved, expected, true);
+    }
+
+    private record Chunk(int scanned, long lastEventId, List<InventoryDriftItem> drifts) {
+    }
+
+    private record ShardPass(long scanned, List<InventoryDriftItem> drifts) {
+    }
+}
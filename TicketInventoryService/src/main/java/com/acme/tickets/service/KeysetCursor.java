@@ -0,0 +1,50 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de pagination par clé (createdAt, id).
+ * Encodé en Base64 URL-safe pour être transmis tel quel dans la query string.
+ */
+public record KeysetCursor(Instant createdAt, Long id) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Encode le curseur sous forme opaque.
+     */
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + String.valueOf(SEPARATOR)
+            + createdAt.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Décode un curseur reçu du client.
+     *
+     * @param value Curseur opaque, ou null pour la première page
+     * @return Le curseur décodé, ou null si aucun curseur n'est fourni
+     * @throws InvalidCursorException Si le curseur est malformé
+     */
+    public static KeysetCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(String.valueOf(SEPARATOR));
+            if (parts.length != 3) {
+                throw new InvalidCursorException(value);
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new InvalidCursorException(value);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.OptimisticRetryProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import io.micrometer.core.instrument.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Rejoue une unité de travail transactionnelle complète lorsqu'elle échoue sur un
+ * conflit de version de l'inventaire (@Version).
+ * <p>
+ * Doit être appelé HORS transaction: chaque tentative ouvre sa propre transaction
+ * (méthode @Transactional du service), relit donc l'inventaire à jour.
+ * <ul>
+ *   <li>attente exponentielle à gigue complète entre deux tentatives;</li>
+ *   <li>budget de rejeux par événement et par fenêtre: au-delà, le conflit est renvoyé
+ *       au client au lieu d'amplifier la contention;</li>
+ *   <li>au-delà d'un seuil de conflits, l'événement passe en exécution sérialisée
+ *       (une seule unité de travail à la fois par événement sur ce nœud) pendant un délai
+ *       de refroidissement.</li>
+ * </ul>
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final OptimisticRetryProperties properties;
+    private final ReservationMetrics metrics;
+    private final Map<Long, EventContention> contentions = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(OptimisticRetryProperties properties, ReservationMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        Gauge.builder("tickets.inventory.serialized.events", this, OptimisticRetryExecutor::serializedEventCount)
+            .description("Événements actuellement en exécution sérialisée suite à la contention")
+            .register(metrics.getRegistry());
+    }
+
+    /**
+     * Exécute l'unité de travail avec rejeu sur conflit de version.
+     *
+     * @param eventId événement concerné s'il est connu à l'avance (null pour confirm/release:
+     *                il est alors déduit de l'identifiant de l'inventaire en conflit)
+     */
+    public <T> T execute(Operation operation, Long eventId, Supplier<T> work) {
+        Long contendedEvent = eventId;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return runOnce(contendedEvent, work);
+            } catch (OptimisticLockingFailureException e) {
+                metrics.lockConflict(operation);
+                if (contendedEvent == null) {
+                    contendedEvent = inventoryIdOf(e);
+                }
+                EventContention contention = contendedEvent == null ? null : contentionOf(contendedEvent);
+                long now = System.currentTimeMillis();
+                if (contention != null) {
+                    contention.recordConflict(now, properties);
+                }
+                if (attempt >= properties.getMaxAttempts()) {
+                    logger.warn("Conflit de version persistant ({}, événement {}) après {} tentatives",
+                        operation, contendedEvent, attempt);
+                    throw e;
+                }
+                if (contention != null && !contention.tryAcquireRetry(now, properties)) {
+                    logger.warn("Budget de rejeu épuisé pour l'événement {} ({})", contendedEvent, operation);
+                    throw e;
+                }
+                metrics.lockRetry(operation);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Indique si l'événement est actuellement en exécution sérialisée.
+     */
+    public boolean isSerialized(Long eventId) {
+        EventContention contention = contentions.get(eventId);
+        return contention != null && contention.isSerialized(System.currentTimeMillis());
+    }
+
+    /**
+     * Oublie les événements sans conflit récent (borne mémoire de la table de contention).
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.retry.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        contentions.entrySet().removeIf(entry -> entry.getValue().isIdle(now, properties));
+    }
+
+    private <T> T runOnce(Long eventId, Supplier<T> work) {
+        EventContention contention = eventId == null ? null : contentions.get(eventId);
+        if (contention == null || !contention.isSerialized(System.currentTimeMillis())) {
+            return work.get();
+        }
+        // Exécution sérialisée: le verrou est pris hors transaction et relâché après le commit
+        ReentrantLock lane = contention.lane;
+        boolean acquired;
+        try {
+            acquired = lane.tryLock(properties.getSerializedWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException(
+                "Attente interrompue sur la file sérialisée de l'événement " + eventId, ie);
+        }
+        if (!acquired) {
+            throw new OptimisticLockingFailureException(
+                "File sérialisée saturée pour l'événement " + eventId);
+        }
+        try {
+            return work.get();
+        } finally {
+            lane.unlock();
+        }
+    }
+
+    private void backoff(int attempt, OptimisticLockingFailureException cause) {
+        double cap = properties.getInitialBackoffMs() * Math.pow(properties.getMultiplier(), attempt - 1);
+        long ceiling = (long) Math.min(properties.getMaxBackoffMs(), cap);
+        if (ceiling <= 0) {
+            return;
+        }
+        // Gigue complète: évite que les perdants d'un même conflit se re-percutent ensemble
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (RequestDeadline.wouldExceed(sleepMs)) {
+            // L'appelant aura abandonné avant la fin du rejeu
+            throw cause;
+        }
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private EventContention contentionOf(Long eventId) {
+        return contentions.computeIfAbsent(eventId, EventContention::new);
+    }
+
+    private int serializedEventCount() {
+        long now = System.currentTimeMillis();
+        return (int) contentions.values().stream().filter(c -> c.isSerialized(now)).count();
+    }
+
+    private static Long inventoryIdOf(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException ol
+                && Inventory.class.getName().equals(ol.getPersistentClassName())
+                && ol.getIdentifier() instanceof Long id) {
+            return id;
+        }
+        return null;
+    }
+
+    /**
+     * État de contention d'un événement: compteurs sur fenêtre fixe et mode sérialisé.
+     * Les méthodes de comptage ne sont appelées que sur le chemin de conflit.
+     */
+    static final class EventContention {
+
+        final ReentrantLock lane = new ReentrantLock(true);
+        private final Long eventId;
+        private long windowStart;
+        private int conflicts;
+        private int retries;
+        private volatile long serializedUntil;
+
+        EventContention(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        synchronized void recordConflict(long now, OptimisticRetryProperties properties) {
+            roll(now, properties);
+            conflicts++;
+            if (conflicts >= properties.getContentionThreshold() && !isSerialized(now)) {
+                serializedUntil = now + properties.getSerializedCooldownMs();
+                logger.info("Contention élevée sur l'événement {} ({} conflits/{} ms): exécution sérialisée activée",
+                    eventId, conflicts, properties.getWindowMs());
+            }
+        }
+
+        synchronized boolean tryAcquireRetry(long now, OptimisticRetryProperties properties) {
+            roll(now, properties);
+            if (retries >= properties.getRetryBudgetPerEvent()) {
+                return false;
+            }
+            retries++;
+            return true;
+        }
+
+        boolean isSerialized(long now) {
+            return serializedUntil > now;
+        }
+
+        synchronized boolean isIdle(long now, OptimisticRetryProperties properties) {
+            return !isSerialized(now) && !lane.isLocked()
+                && now - windowStart >= properties.getWindowMs();
+        }
+
+        private void roll(long now, OptimisticRetryProperties properties) {
+            if (now - windowStart >= properties.getWindowMs()) {
+                windowStart = now;
+                conflicts = 0;
+                retries = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.DispatchProperties;
+import com.acme.tickets.exception.DispatchQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Répartiteur à priorités devant la base: sous surcharge, les appels qui libèrent du stock ou
+ * encaissent une réservation passent avant les nouvelles réservations, pour que les
+ * réservations en cours n'expirent pas pendant que le service est occupé.
+ * <p>
+ * {@code max-concurrent} appels s'exécutent à la fois, toutes origines confondues (REST, gRPC,
+ * RabbitMQ, nettoyage planifié). Au-delà, chaque appel attend dans la file bornée de sa
+ * priorité ({@link Priority}); à chaque place libérée, la file servie est choisie par
+ * tourniquet pondéré lissé parmi les files non vides: à poids 8/4/2/1, release passe en
+ * premier et la disponibilité obtient tout de même une place sur quinze.
+ * <p>
+ * Comme les cloisons, l'attente se fait dans le thread appelant, hors transaction. L'appelant
+ * enveloppe une seule tentative (à l'intérieur de {@link OptimisticRetryExecutor}): la place est
+ * rendue pendant l'attente entre deux rejeux. Le temps passé en file est mesuré par priorité
+ * ({@code tickets.dispatch.queue.time}).
+ */
+@Component
+public class PriorityDispatcher {
+
+    static final String QUEUE_TIMER = "tickets.dispatch.queue.time";
+    static final String QUEUED_GAUGE = "tickets.dispatch.queued";
+    static final String RUNNING_GAUGE = "tickets.dispatch.running";
+    static final String REJECTED_COUNTER = "tickets.dispatch.rejected";
+
+    /**
+     * Attente cumulée du thread dans les files du répartiteur, toutes instances confondues: la
+     * limite de concurrence adaptative la retranche de ses mesures de latence.
+     */
+    private static final ThreadLocal<long[]> QUEUED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Priorités, de la plus urgente à la moins urgente.
+     */
+    public enum Priority {
+        /** release et expiration: rendent du stock. */
+        RELEASE,
+        /** confirm: transforme une réservation en vente. */
+        CONFIRM,
+        /** reserve, unitaire ou panier. */
+        RESERVE,
+        /** Lecture de la disponibilité. */
+        AVAILABILITY;
+
+        final String tag = name().toLowerCase();
+    }
+
+    private final DispatchProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class);
+    private int running;
+
+    public PriorityDispatcher(DispatchProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        lanes.put(Priority.RELEASE, new Lane(Priority.RELEASE, properties.getRelease(), registry));
+        lanes.put(Priority.CONFIRM, new Lane(Priority.CONFIRM, properties.getConfirm(), registry));
+        lanes.put(Priority.RESERVE, new Lane(Priority.RESERVE, properties.getReserve(), registry));
+        lanes.put(Priority.AVAILABILITY, new Lane(Priority.AVAILABILITY, properties.getAvailability(), registry));
+        Gauge.builder(RUNNING_GAUGE, this, PriorityDispatcher::running)
+            .description("Appels en cours d'exécution sous le répartiteur à priorités")
+            .register(registry);
+    }
+
+    /**
+     * Exécute l'unité de travail dès qu'une place lui est attribuée.
+     *
+     * @throws DispatchQueueFullException si la file de la priorité est pleine ou l'attente dépassée
+     */
+    public <T> T execute(Priority priority, Supplier<T> work) {
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        Lane lane = lanes.get(priority);
+        long start = System.nanoTime();
+        try {
+            acquire(lane, RequestDeadline.capMillis(properties.getMaxWaitMs()));
+        } finally {
+            QUEUED_NANOS.get()[0] += System.nanoTime() - start;
+        }
+        lane.queueTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Attente cumulée du thread courant dans les files du répartiteur (compteur croissant: seule
+     * la différence entre deux lectures a un sens).
+     */
+    static long queuedNanos() {
+        return QUEUED_NANOS.get()[0];
+    }
+
+    int running() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queued(Priority priority) {
+        lock.lock();
+        try {
+            return lanes.get(priority).waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(Lane lane, long maxWaitMs) {
+        lock.lock();
+        try {
+            if (running < properties.getMaxConcurrent() && nothingQueued()) {
+                running++;
+                return;
+            }
+            if (lane.waiters.size() >= lane.capacity) {
+                lane.queueFull.increment();
+                throw new DispatchQueueFullException(lane.priority.tag);
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            lane.waiters.addLast(waiter);
+            long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            try {
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        lane.waiters.remove(waiter);
+                        lane.timedOut.increment();
+                        throw new DispatchQueueFullException(lane.priority.tag);
+                    }
+                    remaining = waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!waiter.granted) {
+                    lane.waiters.remove(waiter);
+                    throw new DispatchQueueFullException(lane.priority.tag);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+            while (running < properties.getMaxConcurrent()) {
+                Lane next = nextLane();
+                if (next == null) {
+                    return;
+                }
+                Waiter waiter = next.waiters.pollFirst();
+                if (next.waiters.isEmpty()) {
+                    next.credit = 0;
+                }
+                waiter.granted = true;
+                running++;
+                waiter.signal.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tourniquet pondéré lissé: chaque file non vide gagne son poids, la plus créditée est
+     * servie et rend la somme des poids en jeu. À crédit égal, la plus prioritaire l'emporte.
+     */
+    private Lane nextLane() {
+        Lane best = null;
+        int total = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane.waiters.isEmpty()) {
+                continue;
+            }
+            lane.credit += lane.weight;
+            total += lane.weight;
+            if (best == null || lane.credit > best.credit) {
+                best = lane;
+            }
+        }
+        if (best != null) {
+            best.credit -= total;
+        }
+        return best;
+    }
+
+    private boolean nothingQueued() {
+        for (Lane lane : lanes.values()) {
+            if (!lane.waiters.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appel en attente d'une place; {@code granted} est posé sous le verrou par {@link #release()}.
+     */
+    private static final class Waiter {
+
+        private final Condition signal;
+        private boolean granted;
+
+        Waiter(Condition signal) {
+            this.signal = signal;
+        }
+    }
+
+    /**
+     * File d'une priorité et ses métriques.
+     */
+    private final class Lane {
+
+        private final Priority priority;
+        private final int capacity;
+        private final int weight;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private final Timer queueTime;
+        private final Counter queueFull;
+        private final Counter timedOut;
+        private int credit;
+
+        Lane(Priority priority, DispatchProperties.Lane settings, MeterRegistry registry) {
+            this.priority = priority;
+            this.capacity = settings.getCapacity();
+            this.weight = settings.getWeight();
+            this.queueTime = Timer.builder(QUEUE_TIMER)
+                .description("Attente d'une place dans le répartiteur à priorités")
+                .tag("priority", priority.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+            this.queueFull = rejectedCounter(registry, "queue_full");
+            this.timedOut = rejectedCounter(registry, "timeout");
+            Gauge.builder(QUEUED_GAUGE, PriorityDispatcher.this, dispatcher -> dispatcher.queued(priority))
+                .description("Appels en attente dans la file de la priorité")
+                .tag("priority", priority.tag)
+                .register(registry);
+        }
+
+        private Counter rejectedCounter(MeterRegistry registry, String reason) {
+            return Counter.builder(REJECTED_COUNTER)
+                .description("Appels rejetés par le répartiteur à priorités")
+                .tag("priority", priority.tag)
+                .tag("reason", reason)
+                .register(registry);
+        }
+    }
+}
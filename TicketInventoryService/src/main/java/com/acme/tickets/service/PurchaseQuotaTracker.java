@@ -0,0 +1,150 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.TicketInventoryProperties;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.projection.UserEventQuantity;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.exception.PurchaseQuotaExceededException;
+import com.acme.tickets.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Quota cumulé de billets par (utilisateur, événement), tenu en mémoire.
+ * <p>
+ * {@code applyCategoryLimit} ne borne qu'une réservation: sans ce quota, un même utilisateur
+ * peut enchaîner les réservations, chacune coûtant une transaction complète. Le compteur
+ * d'un couple est la somme des quantités PENDING et CONFIRMED:
+ * <ul>
+ *   <li>{@link #checkRoom} rejette sans transaction un utilisateur déjà au quota;</li>
+ *   <li>{@link #acquire} réserve atomiquement la quantité avant tout travail sur l'inventaire
+ *       et la rend si la transaction est annulée;</li>
+ *   <li>{@link #releaseAfterCommit} rend la quantité d'une réservation annulée ou expirée une
+ *       fois le changement de statut validé.</li>
+ * </ul>
+ * La table {@code reservation} reste la source de vérité: les compteurs en sont reconstruits
+ * par une requête agrégée par shard au démarrage, avant l'ouverture du port HTTP et des consommateurs
+ * RabbitMQ. Les compteurs sont propres à chaque instance: en déploiement multi-instance, le quota
+ * n'est garanti que pour les requêtes d'un même utilisateur routées vers la même instance.
+ */
+@Component
+public class PurchaseQuotaTracker implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseQuotaTracker.class);
+
+    private final TicketInventoryProperties properties;
+    private final ReservationRepository reservationRepository;
+    private final ShardRouter router;
+    private final UserEventCounterMap held = new UserEventCounterMap();
+
+    public PurchaseQuotaTracker(
+            TicketInventoryProperties properties, ReservationRepository reservationRepository, ShardRouter router) {
+        this.properties = properties;
+        this.reservationRepository = reservationRepository;
+        this.router = router;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Recharge les compteurs depuis les réservations PENDING et CONFIRMED de tous les shards.
+     */
+    public void rebuild() {
+        if (properties.getMaxTicketsPerUserEvent() <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<UserEventQuantity> rows = router.gather(() -> reservationRepository.sumQuantityByUserAndEvent(
+                EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED)))
+            .stream()
+            .flatMap(List::stream)
+            .toList();
+        held.clear();
+        for (UserEventQuantity row : rows) {
+            held.add(row.getUserId(), row.getEventId(), (int) Math.min(Integer.MAX_VALUE, row.getQuantity()));
+        }
+        logger.info("Quotas d'achat reconstruits: {} couples utilisateur/événement en {} ms",
+            rows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Rejette immédiatement un utilisateur qui détient déjà le quota de l'événement.
+     * Vérification sans effet: la réservation effective se fait dans {@link #acquire}.
+     *
+     * @throws PurchaseQuotaExceededException si aucun billet ne peut plus être réservé
+     */
+    public void checkRoom(Long userId, Long eventId, int requested) {
+        int max = properties.getMaxTicketsPerUserEvent();
+        if (max <= 0) {
+            return;
+        }
+        int current = held.get(userId, eventId);
+        if (current >= max) {
+            throw new PurchaseQuotaExceededException(userId, eventId, requested, current, max);
+        }
+    }
+
+    /**
+     * Ajoute la quantité au compteur si le quota le permet. Dans une transaction, la quantité
+     * est rendue automatiquement si celle-ci n'est pas validée.
+     *
+     * @throws PurchaseQuotaExceededException si la quantité ferait dépasser le quota
+     */
+    public void acquire(Long userId, Long eventId, int quantity) {
+        int max = properties.getMaxTicketsPerUserEvent();
+        if (max <= 0) {
+            return;
+        }
+        int current = held.addIfAtMost(userId, eventId, quantity, max);
+        if (current >= 0) {
+            throw new PurchaseQuotaExceededException(userId, eventId, quantity, current, max);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        held.add(userId, eventId, -quantity);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Rend la quantité d'une réservation qui quitte PENDING/CONFIRMED, après validation
+     * de la transaction courante (immédiatement hors transaction).
+     */
+    public void releaseAfterCommit(Long userId, Long eventId, int quantity) {
+        if (properties.getMaxTicketsPerUserEvent() <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    held.add(userId, eventId, -quantity);
+                }
+            });
+        } else {
+            held.add(userId, eventId, -quantity);
+        }
+    }
+
+    /**
+     * Quantité PENDING + CONFIRMED détenue par l'utilisateur pour l'événement.
+     */
+    public int held(Long userId, Long eventId) {
+        return held.get(userId, eventId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.acme.tickets.service;
+
+/**
+ * Échéance de la requête en cours, posée par l'adaptateur qui la connaît (gRPC: grpc-timeout de
+ * l'appelant) et lue par les attentes du chemin de réservation.
+ * <p>
+ * Sans échéance posée (REST, RabbitMQ), les bornes configurées s'appliquent telles quelles.
+ * Avec une échéance, l'attente en cloison est réduite au temps restant et un rejeu qui ne
+ * tiendrait plus dans ce temps n'est pas tenté: le travail abandonné par l'appelant n'occupe
+ * ni place de cloison ni connexion.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Pose l'échéance du thread courant, retirée à la fermeture de la portée.
+     *
+     * @param remainingNanos temps restant avant l'échéance
+     */
+    public static Scope within(long remainingNanos) {
+        DEADLINE_NANOS.set(System.nanoTime() + remainingNanos);
+        return Scope.INSTANCE;
+    }
+
+    /**
+     * Borne une attente par le temps restant avant l'échéance.
+     *
+     * @param maxMillis attente configurée
+     * @return {@code maxMillis} sans échéance, sinon le minimum des deux (0 si l'échéance est passée)
+     */
+    public static long capMillis(long maxMillis) {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return maxMillis;
+        }
+        long remainingMillis = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+        return Math.min(maxMillis, remainingMillis);
+    }
+
+    /**
+     * Indique si une attente de {@code millis} dépasserait l'échéance.
+     */
+    public static boolean wouldExceed(long millis) {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline != null && System.nanoTime() + millis * 1_000_000 >= deadline;
+    }
+
+    /**
+     * Portée de l'échéance: à utiliser en try-with-resources.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private static final Scope INSTANCE = new Scope();
+
+        private Scope() {
+        }
+
+        @Override
+        public void close() {
+            DEADLINE_NANOS.remove();
+        }
+    }
+}
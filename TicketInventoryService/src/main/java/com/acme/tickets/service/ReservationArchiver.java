@@ -0,0 +1,165 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.ArchiveProperties;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.repository.ReservationArchiveRepository;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Archivage des réservations terminales: la table {@code reservation} ne garde que les
+ * réservations actives et l'historique récent.
+ * <p>
+ * Les réservations CANCELED et EXPIRED non modifiées depuis {@code retention-days} sont lues par
+ * lots d'identifiants croissants (pagination par clé), copiées dans {@code reservation_archive}
+ * par INSERT ... SELECT puis supprimées, chaque lot dans sa propre transaction: un lot est
+ * soit entièrement archivé, soit laissé en place, et les verrous posés sur la table chaude
+ * restent brefs. Les lectures de l'historique d'un utilisateur fusionnent les deux tables
+ * ({@link TicketInventoryService#getUserReservations}). Partitionnement actif, chaque shard
+ * archive ses propres réservations.
+ */
+@Service
+public class ReservationArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    /**
+     * Statuts terminaux archivables. CONFIRMED reste dans la table chaude: ses tickets et un
+     * éventuel remboursement la référencent.
+     */
+    public static final Set<ReservationStatus> ARCHIVABLE_STATUSES =
+        EnumSet.of(ReservationStatus.CANCELED, ReservationStatus.EXPIRED);
+
+    static final String ARCHIVED_COUNTER = "tickets.reservations.archived";
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository archiveRepository;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archived;
+    private final ShardRouter router;
+
+    public ReservationArchiver(
+            ReservationRepository reservationRepository,
+            ReservationArchiveRepository archiveRepository,
+            ArchiveProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            ShardRouter router) {
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archived = Counter.builder(ARCHIVED_COUNTER)
+            .description("Réservations terminales déplacées vers l'archive")
+            .register(registry);
+        this.router = router;
+    }
+
+    /**
+     * Exécution planifiée, bornée à {@code max-batches-per-run} lots.
+     */
+    @Scheduled(cron = "${ticket-inventory.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            archive(Instant.now().minus(Duration.ofDays(properties.getRetentionDays())));
+        } catch (Exception e) {
+            logger.error("Erreur lors de l'archivage des réservations: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Archive les réservations terminales mises à jour avant {@code before}, sur chaque shard.
+     *
+     * @param before Date de dernière mise à jour en deçà de laquelle une réservation est archivée
+     * @return Nombre de réservations archivées
+     */
+    public int archive(Instant before) {
+        return router.gather(() -> archiveShard(before)).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Événement d'une réservation, active ou archivée, dans la transaction de l'appelant.
+     *
+     * @param reservationId Identifiant de la réservation
+     * @return L'événement, vide si la réservation est inconnue
+     */
+    public Optional<Long> findEventId(Long reservationId) {
+        return reservationRepository.findEventIdById(reservationId)
+            .or(() -> archiveRepository.findEventIdById(reservationId));
+    }
+
+    /**
+     * Statut d'une réservation absente de la table chaude car archivée.
+     *
+     * @param reservationId Identifiant de la réservation
+     * @return Le statut archivé, vide si la réservation n'est pas non plus dans l'archive
+     */
+    public Optional<ReservationStatus> findArchivedStatus(Long reservationId) {
+        return archiveRepository.findStatusById(reservationId);
+    }
+
+    /**
+     * Archive les réservations du shard courant, bornée à {@code max-batches-per-run} lots.
+     */
+    private int archiveShard(Instant before) {
+        logger.info("Début de l'archivage des réservations terminales antérieures à {}", before);
+        Limit batch = Limit.of(properties.getBatchSize());
+        long afterId = 0;
+        int total = 0;
+        int batches = 0;
+
+        while (batches < properties.getMaxBatchesPerRun()) {
+            List<Long> ids = reservationRepository.findArchivableIds(ARCHIVABLE_STATUSES, before, afterId, batch);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = transactionTemplate.execute(status -> moveBatch(ids));
+            total += moved == null ? 0 : moved;
+            batches++;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+
+        logger.info("Archivage terminé: {} réservations archivées en {} lots", total, batches);
+        return total;
+    }
+
+    /**
+     * Copie puis supprime un lot. Les deux requêtes filtrent sur les mêmes statuts: une ligne
+     * copiée est exactement une ligne supprimée.
+     */
+    private int moveBatch(List<Long> ids) {
+        int copied = archiveRepository.copyFromReservations(ids, ARCHIVABLE_STATUSES, Instant.now());
+        int deleted = reservationRepository.deleteArchived(ids, ARCHIVABLE_STATUSES);
+        if (copied != deleted) {
+            // Annule le lot et interrompt l'exécution: il sera repris à la suivante
+            throw new IllegalStateException(
+                "Archivage incohérent: " + copied + " lignes copiées, " + deleted + " supprimées");
+        }
+        archived.increment(deleted);
+        logger.debug("Lot archivé: {} réservations (ids {} à {})", deleted, ids.get(0), ids.get(ids.size() - 1));
+        return deleted;
+    }
+}
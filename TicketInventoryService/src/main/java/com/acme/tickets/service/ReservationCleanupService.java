@@ -5,11 +5,16 @@ import com.acme.tickets.domain.entity.Reservation;
 import com.acme.tickets.domain.enums.ReservationStatus;
 import com.acme.tickets.domain.repository.InventoryRepository;
 import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import com.acme.tickets.service.PriorityDispatcher.Priority;
+import com.acme.tickets.sharding.ShardRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.List;
@@ -17,6 +22,11 @@ import java.util.List;
 /**
  * Service de nettoyage automatique des réservations expirées.
  * Libère les tickets bloqués par des réservations dont le délai de hold a expiré.
+ * <p>
+ * Chaque réservation est expirée dans sa propre transaction, rejouée sur conflit de
+ * version de l'inventaire: un conflit avec une réservation concurrente n'annule plus
+ * tout le lot. Partitionnement actif, les shards sont nettoyés l'un après l'autre.
+ * Chaque expiration rend du stock: elle passe par le répartiteur à priorités avec les release.
  */
 @Service
 public class ReservationCleanupService {
@@ -25,12 +35,27 @@ public class ReservationCleanupService {
 
     private final ReservationRepository reservationRepository;
     private final InventoryRepository inventoryRepository;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final PriorityDispatcher dispatcher;
+    private final PurchaseQuotaTracker purchaseQuota;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter router;
 
     public ReservationCleanupService(
             ReservationRepository reservationRepository,
-            InventoryRepository inventoryRepository) {
+            InventoryRepository inventoryRepository,
+            OptimisticRetryExecutor retryExecutor,
+            PriorityDispatcher dispatcher,
+            PurchaseQuotaTracker purchaseQuota,
+            PlatformTransactionManager transactionManager,
+            ShardRouter router) {
         this.reservationRepository = reservationRepository;
         this.inventoryRepository = inventoryRepository;
+        this.retryExecutor = retryExecutor;
+        this.dispatcher = dispatcher;
+        this.purchaseQuota = purchaseQuota;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.router = router;
     }
 
     /**
@@ -38,8 +63,14 @@ public class ReservationCleanupService {
      * Marque les réservations PENDING expirées comme EXPIRED et libère le stock.
      */
     @Scheduled(cron = "${ticket-inventory.reservation.cleanup-cron:0 */5 * * * *}")
-    @Transactional
     public void cleanupExpiredReservations() {
+        router.forEachShard(this::cleanupShard);
+    }
+
+    /**
+     * Nettoie les réservations expirées du shard courant.
+     */
+    private void cleanupShard() {
         logger.info("Début du nettoyage des réservations expirées");
         
         Instant now = Instant.now();
@@ -57,9 +88,15 @@ public class ReservationCleanupService {
         int errorCount = 0;
 
         for (Reservation reservation : expiredReservations) {
-            try {
-                processExpiredReservation(reservation);
-                successCount++;
+            try (LogContext.Scope ignored = LogContext.open()) {
+                LogContext.eventId(reservation.getEventId());
+                LogContext.reservationId(reservation.getId());
+                Boolean expired = retryExecutor.execute(Operation.EXPIRE, reservation.getEventId(),
+                    () -> dispatcher.execute(Priority.RELEASE,
+                        () -> transactionTemplate.execute(status -> processExpiredReservation(reservation.getId()))));
+                if (Boolean.TRUE.equals(expired)) {
+                    successCount++;
+                }
             } catch (Exception e) {
                 errorCount++;
                 logger.error("Erreur lors du traitement de la réservation expirée {}: {}",
@@ -73,8 +110,19 @@ public class ReservationCleanupService {
 
     /**
      * Traite une réservation expirée: libère le stock et marque comme EXPIRED.
+     * La réservation est relue dans la transaction courante: entre la sélection du lot
+     * et ce traitement (ou entre deux tentatives), elle a pu être confirmée ou libérée.
+     *
+     * @return true si la réservation a été expirée par cet appel
      */
-    private void processExpiredReservation(Reservation reservation) {
+    private boolean processExpiredReservation(Long reservationId) {
+        Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        if (reservation == null
+                || reservation.getStatus() != ReservationStatus.PENDING
+                || !reservation.isExpired()) {
+            logger.debug("Réservation {} déjà traitée, ignorée", reservationId);
+            return false;
+        }
         logger.debug("Expiration de la réservation {}", reservation.getId());
 
         // Libération du stock
@@ -82,14 +130,20 @@ public class ReservationCleanupService {
             .orElseThrow(() -> new IllegalStateException(
                 "Inventaire introuvable pour la réservation " + reservation.getId()));
 
-        inventory.setReserved(inventory.getReserved() - reservation.getQuantity());
+        int reservedBefore = inventory.getReserved();
+        if (!inventory.release(reservation.getQuantity())) {
+            logger.error("Tentative de stock négatif pour l'événement {}: {} - {}, ramené à 0",
+                reservation.getEventId(), reservedBefore, reservation.getQuantity());
+        }
         inventoryRepository.save(inventory);
 
         // Mise à jour du statut via méthode du domaine
         reservation.expire();
         reservationRepository.save(reservation);
+        purchaseQuota.releaseAfterCommit(reservation.getUserId(), reservation.getEventId(), reservation.getQuantity());
 
         logger.info("Réservation {} expirée et {} tickets libérés",
             reservation.getId(), reservation.getQuantity());
+        return true;
     }
 }
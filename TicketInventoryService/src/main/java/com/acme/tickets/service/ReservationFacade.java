@@ -0,0 +1,330 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.cluster.OwnerForwarder;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.dto.*;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import com.acme.tickets.replica.ReadConsistency;
+import com.acme.tickets.service.PriorityDispatcher.Priority;
+import com.acme.tickets.sharding.ShardRouter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Point d'entrée des opérations de réservation pour les adaptateurs (REST, RabbitMQ).
+ * Enveloppe les appels transactionnels de {@link TicketInventoryService} et de
+ * {@link CartReservationService} avec les préoccupations transverses (métriques, quota par
+ * utilisateur, cloisons par événement, préparation de l'inventaire, rejeu sur conflit de
+ * version), hors de la transaction.
+ * <p>
+ * Seuls reserve (unitaire ou panier) et availability passent par les cloisons: les événements y
+ * sont connus avant la transaction. confirm et release, adressés par réservation ou par panier,
+ * sont bornés par le stock déjà réservé.
+ * <p>
+ * La limite de concurrence adaptative ({@link AdaptiveConcurrencyLimiter}) ne s'applique pas ici
+ * mais aux points d'entrée REST et gRPC: les confirmations et libérations issues des paiements
+ * (RabbitMQ) ne doivent pas être délestées.
+ * <p>
+ * Au plus près de la transaction, chaque tentative attend sa place dans le répartiteur à
+ * priorités ({@link PriorityDispatcher}): release, puis confirm, puis reserve, puis availability.
+ * La place est prise dans la boucle de rejeu, autour de la seule transaction: ni l'attente entre
+ * deux tentatives, ni la file sérialisée d'un événement contendu, ni la préparation de
+ * l'inventaire (appel au catalogue) ne l'occupent.
+ * <p>
+ * Partitionnement actif ({@link ShardRouter}), chaque opération s'exécute sur le shard de son
+ * événement; confirm et release retrouvent d'abord l'événement de la réservation ou du panier.
+ * Les listes d'un utilisateur, réparties sur tous les shards, sont lues sur chacun et fusionnées.
+ * <p>
+ * Avec un réplica ({@link ReadConsistency}), les transactions en lecture seule peuvent y être
+ * servies; les relectures qui suivent une écriture (clé d'idempotence, localisation d'une
+ * réservation ou d'un inventaire à peine créé) sont forcées sur le primaire.
+ * <p>
+ * En mode propriétaire ({@link OwnerForwarder}), reserve, confirm et release d'un événement
+ * dont une autre instance est propriétaire lui sont transmis avant toute préoccupation locale:
+ * métriques, quota et cloisons s'appliquent sur le propriétaire. Les paniers et la
+ * disponibilité restent servis localement.
+ */
+@Service
+public class ReservationFacade {
+
+    private final TicketInventoryService ticketInventoryService;
+    private final ReservationMetrics metrics;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final EventBulkheads bulkheads;
+    private final PriorityDispatcher dispatcher;
+    private final PurchaseQuotaTracker purchaseQuota;
+    private final InventoryPrewarmer prewarmer;
+    private final CartReservationService cartReservationService;
+    private final ShardRouter router;
+    private final OwnerForwarder forwarder;
+
+    public ReservationFacade(
+            TicketInventoryService ticketInventoryService,
+            ReservationMetrics metrics,
+            OptimisticRetryExecutor retryExecutor,
+            EventBulkheads bulkheads,
+            PriorityDispatcher dispatcher,
+            PurchaseQuotaTracker purchaseQuota,
+            InventoryPrewarmer prewarmer,
+            CartReservationService cartReservationService,
+            ShardRouter router,
+            OwnerForwarder forwarder) {
+        this.ticketInventoryService = ticketInventoryService;
+        this.cartReservationService = cartReservationService;
+        this.metrics = metrics;
+        this.retryExecutor = retryExecutor;
+        this.bulkheads = bulkheads;
+        this.dispatcher = dispatcher;
+        this.purchaseQuota = purchaseQuota;
+        this.prewarmer = prewarmer;
+        this.router = router;
+        this.forwarder = forwarder;
+    }
+
+    /**
+     * Un utilisateur déjà au quota est rejeté avant la cloison et la transaction, sauf si la
+     * requête porte une clé d'idempotence: il peut s'agir du rejeu d'une réservation déjà
+     * comptée. Le quota n'est réservé effectivement que dans la transaction.
+     *
+     * @see TicketInventoryService#reserveTickets(ReserveRequest, String)
+     */
+    public ReserveResponse reserveTickets(ReserveRequest request, String idempotencyKey) {
+        Optional<ReserveResponse> forwarded = forwarder.reserve(request, idempotencyKey);
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        return metrics.record(Operation.RESERVE, () -> {
+            if (idempotencyKey == null) {
+                purchaseQuota.checkRoom(request.userId(), request.eventId(), request.quantity());
+            }
+            return router.onEvent(request.eventId(), () -> bulkheads.execute(request.eventId(), () -> {
+                prewarmer.prepare(request.eventId());
+                return retryExecutor.execute(Operation.RESERVE, request.eventId(),
+                    () -> dispatcher.execute(Priority.RESERVE, () -> reserveOnce(request, idempotencyKey)));
+            }));
+        });
+    }
+
+    /**
+     * Une tentative de réservation. Deux requêtes portant la même clé d'idempotence peuvent
+     * passer la vérification ensemble: la perdante échoue sur l'index unique et renvoie la
+     * réservation qui porte la clé; si celle-ci n'est pas encore validée, la tentative est rejouée.
+     */
+    private ReserveResponse reserveOnce(ReserveRequest request, String idempotencyKey) {
+        try {
+            return ticketInventoryService.reserveTickets(request, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            return ReadConsistency.onPrimary(() -> ticketInventoryService.findIdempotentReservation(idempotencyKey))
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                    "Réservation concurrente en cours pour la même clé d'idempotence", e));
+        }
+    }
+
+    /**
+     * Comme {@link #reserveTickets}, pour chaque événement du panier; le panier entier est rejoué
+     * sur conflit de version. Ses événements doivent être stockés sur le même shard.
+     *
+     * @see CartReservationService#reserveCart(CartReserveRequest, String)
+     */
+    public CartReserveResponse reserveCart(CartReserveRequest request, String idempotencyKey) {
+        return metrics.record(Operation.CART_RESERVE, () -> {
+            SortedMap<Long, Integer> quantities = CartReservationService.quantitiesByEvent(request);
+            if (idempotencyKey == null) {
+                quantities.forEach((eventId, quantity) -> purchaseQuota.checkRoom(request.userId(), eventId, quantity));
+            }
+            return router.onEvents(quantities.keySet(), () -> bulkheads.executeAll(quantities.keySet(), () -> {
+                quantities.keySet().forEach(prewarmer::prepare);
+                return retryExecutor.execute(Operation.CART_RESERVE, null,
+                    () -> dispatcher.execute(Priority.RESERVE, () -> reserveCartOnce(request, idempotencyKey)));
+            }));
+        });
+    }
+
+    private CartReserveResponse reserveCartOnce(CartReserveRequest request, String idempotencyKey) {
+        try {
+            return cartReservationService.reserveCart(request, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            return ReadConsistency.onPrimary(() -> cartReservationService.findIdempotentCart(idempotencyKey))
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                    "Panier concurrent en cours pour la même clé d'idempotence", e));
+        }
+    }
+
+    /**
+     * @see CartReservationService#confirmCart(CartConfirmRequest)
+     */
+    public ConfirmResponse confirmCart(CartConfirmRequest request) {
+        return metrics.record(Operation.CART_CONFIRM,
+            () -> onCart(request.cartId(), () -> retryExecutor.execute(Operation.CART_CONFIRM, null,
+                () -> dispatcher.execute(Priority.CONFIRM, () -> cartReservationService.confirmCart(request)))));
+    }
+
+    /**
+     * @see CartReservationService#releaseCart(CartReleaseRequest)
+     */
+    public ReleaseResponse releaseCart(CartReleaseRequest request) {
+        return metrics.record(Operation.CART_RELEASE,
+            () -> onCart(request.cartId(), () -> retryExecutor.execute(Operation.CART_RELEASE, null,
+                () -> dispatcher.execute(Priority.RELEASE, () -> cartReservationService.releaseCart(request)))));
+    }
+
+    /**
+     * @see TicketInventoryService#confirmReservation(ConfirmRequest)
+     */
+    public ConfirmResponse confirmReservation(ConfirmRequest request) {
+        Optional<Long> eventId = reservationEventId(request.reservationId());
+        Optional<ConfirmResponse> forwarded = eventId.flatMap(id -> forwarder.confirm(id, request));
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        return metrics.record(Operation.CONFIRM,
+            () -> onReservation(eventId, () -> retryExecutor.execute(Operation.CONFIRM, null,
+                () -> dispatcher.execute(Priority.CONFIRM, () -> ticketInventoryService.confirmReservation(request)))));
+    }
+
+    /**
+     * @see TicketInventoryService#releaseReservation(ReleaseRequest)
+     */
+    public ReleaseResponse releaseReservation(ReleaseRequest request) {
+        Optional<Long> eventId = reservationEventId(request.reservationId());
+        Optional<ReleaseResponse> forwarded = eventId.flatMap(id -> forwarder.release(id, request));
+        if (forwarded.isPresent()) {
+            return forwarded.get();
+        }
+        return metrics.record(Operation.RELEASE,
+            () -> onReservation(eventId, () -> retryExecutor.execute(Operation.RELEASE, null,
+                () -> dispatcher.execute(Priority.RELEASE, () -> ticketInventoryService.releaseReservation(request)))));
+    }
+
+    /**
+     * Lue sur le réplica si possible; un inventaire qu'il n'a pas encore reçu est relu sur le primaire.
+     *
+     * @see TicketInventoryService#getAvailability(Long)
+     */
+    public AvailabilityResponse getAvailability(Long eventId) {
+        return metrics.record(Operation.AVAILABILITY,
+            () -> router.onEvent(eventId, () -> bulkheads.execute(eventId, () -> {
+                prewarmer.ensureInventory(eventId);
+                return dispatcher.execute(Priority.AVAILABILITY, () -> ticketInventoryService.findAvailability(eventId)
+                    .orElseGet(() -> ReadConsistency.onPrimary(() -> ticketInventoryService.getAvailability(eventId))));
+            })));
+    }
+
+    /**
+     * @see TicketInventoryService#getUserReservations(Long, Collection, String, int)
+     */
+    public UserReservationsResponse getUserReservations(
+            Long userId, Collection<ReservationStatus> statuses, String cursor, int limit) {
+        if (!router.isSharded()) {
+            return ticketInventoryService.getUserReservations(userId, statuses, cursor, limit);
+        }
+        List<UserReservationsResponse> pages = router.gather(
+            () -> ticketInventoryService.getUserReservations(userId, statuses, cursor, limit));
+        MergedPage<UserReservationsItem> merged = mergePages(
+            pages.stream().map(UserReservationsResponse::items).toList(),
+            pages.stream().anyMatch(page -> page.nextCursor() != null),
+            limit, UserReservationsItem::reservationId, UserReservationsItem::createdAt);
+        return new UserReservationsResponse(merged.items(), merged.nextCursor());
+    }
+
+    /**
+     * @see TicketInventoryService#getUserTickets(Long, String, int)
+     */
+    public UserTicketsResponse getUserTickets(Long userId, String cursor, int limit) {
+        if (!router.isSharded()) {
+            return ticketInventoryService.getUserTickets(userId, cursor, limit);
+        }
+        List<UserTicketsResponse> pages = router.gather(
+            () -> ticketInventoryService.getUserTickets(userId, cursor, limit));
+        MergedPage<UserTicketsItem> merged = mergePages(
+            pages.stream().map(UserTicketsResponse::items).toList(),
+            pages.stream().anyMatch(page -> page.nextCursor() != null),
+            limit, UserTicketsItem::ticketId, UserTicketsItem::createdAt);
+        return new UserTicketsResponse(merged.items(), merged.nextCursor());
+    }
+
+    /**
+     * Événement d'une réservation, recherché seulement si le partitionnement ou la transmission
+     * au propriétaire en ont besoin.
+     *
+     * @return L'événement, vide si inutile ou si la réservation est inconnue de tous les shards
+     */
+    private Optional<Long> reservationEventId(Long reservationId) {
+        if (!router.isSharded() && !forwarder.isActive()) {
+            return Optional.empty();
+        }
+        return router.findFirst(router.originShard(reservationId),
+            () -> ReadConsistency.onPrimary(() -> ticketInventoryService.findReservationEventId(reservationId)));
+    }
+
+    /**
+     * Exécute une opération adressée par réservation sur le shard de son événement. Une
+     * réservation inconnue de tous les shards est laissée au service (404 sur le shard 0).
+     */
+    private <T> T onReservation(Optional<Long> eventId, Supplier<T> work) {
+        if (!router.isSharded() || eventId.isEmpty()) {
+            return work.get();
+        }
+        return router.onEvent(eventId.get(), work);
+    }
+
+    /**
+     * Comme {@link #onReservation}, pour un panier.
+     */
+    private <T> T onCart(String cartId, Supplier<T> work) {
+        if (!router.isSharded()) {
+            return work.get();
+        }
+        Optional<Long> eventId = router.findFirst(0,
+            () -> ReadConsistency.onPrimary(() -> cartReservationService.findCartEventId(cartId)));
+        return eventId.isPresent() ? router.onEvent(eventId.get(), work) : work.get();
+    }
+
+    /**
+     * Fusionne les pages lues sur chaque shard après le même curseur: tri (createdAt, id)
+     * décroissants, doublons retirés (lignes encore présentes sur le shard source d'un
+     * déplacement), page tronquée. Chaque shard ayant renvoyé ses premières lignes, les
+     * premières lignes fusionnées forment exactement la page globale.
+     *
+     * @param more Vrai si au moins un shard a une page suivante
+     */
+    private static <I> MergedPage<I> mergePages(
+            List<List<I>> pages, boolean more, int limit, Function<I, Long> id, Function<I, Instant> createdAt) {
+        int pageSize = TicketInventoryService.clampPageSize(limit);
+        Map<Long, I> byId = new LinkedHashMap<>();
+        pages.stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparing(createdAt).thenComparing(id).reversed())
+            .forEach(item -> byId.putIfAbsent(id.apply(item), item));
+        List<I> merged = new ArrayList<>(byId.values());
+        if (merged.size() <= pageSize && !more) {
+            return new MergedPage<>(merged, null);
+        }
+        List<I> page = List.copyOf(merged.subList(0, Math.min(pageSize, merged.size())));
+        I last = page.get(page.size() - 1);
+        return new MergedPage<>(page, new KeysetCursor(createdAt.apply(last), id.apply(last)).encode());
+    }
+
+    private record MergedPage<I>(List<I> items, String nextCursor) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.TicketInventoryProperties;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Règles de réservation indépendantes de la pile d'exécution: limite par réservation selon la
+ * catégorie de l'événement et échéance du maintien. Partagées par {@link TicketInventoryService}
+ * et la variante réactive; les règles de stock sont portées par l'entité Inventory.
+ */
+public final class ReservationPolicy {
+
+    private final TicketInventoryProperties properties;
+
+    public ReservationPolicy(TicketInventoryProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Nombre maximal de tickets par réservation pour une catégorie d'événement
+     * (limite spécifique si configurée, sinon limite globale).
+     *
+     * @param categoryType Type de catégorie, null si inconnu
+     */
+    public int maxPerReservation(String categoryType) {
+        if (categoryType != null) {
+            Integer specific = properties.getCategoryMaxPerReservation().get(categoryType.toUpperCase());
+            if (specific != null && specific > 0) {
+                return specific;
+            }
+        }
+        return properties.getMaxTicketsPerReservation();
+    }
+
+    /**
+     * Échéance du maintien d'une réservation créée à {@code now}.
+     */
+    public Instant holdExpiresAt(Instant now) {
+        return now.plus(properties.getReservationHoldMinutes(), ChronoUnit.MINUTES);
+    }
+}
@@ -0,0 +1,80 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.escrow.InventoryEscrow;
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prélèvement du stock d'une réservation unitaire, dans la transaction de l'appelant: sur le lot
+ * local de l'instance en mode séquestre ({@link InventoryEscrow}), sinon sur la ligne
+ * d'inventaire, initialisée paresseusement si elle n'existe pas encore.
+ */
+@Component
+public class StockAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAllocator.class);
+
+    private final InventoryRepository inventoryRepository;
+    private final EventMetadataCache eventMetadataCache;
+    private final InventoryEscrow escrow;
+    private final ShardRouter router;
+
+    public StockAllocator(
+            InventoryRepository inventoryRepository,
+            EventMetadataCache eventMetadataCache,
+            InventoryEscrow escrow,
+            ShardRouter router) {
+        this.inventoryRepository = inventoryRepository;
+        this.eventMetadataCache = eventMetadataCache;
+        this.escrow = escrow;
+        this.router = router;
+    }
+
+    /**
+     * Prélève la quantité pour une réservation. Un prélèvement sur lot est rendu au lot si la
+     * transaction n'est pas validée.
+     *
+     * @return Le lot servant la réservation, null si le stock a été pris sur l'inventaire
+     * @throws InsufficientStockException Si le stock est insuffisant
+     * @throws EventMigratingException Si l'événement est en cours de déplacement vers un autre shard
+     */
+    public Long allocate(Long eventId, int quantity) {
+        Long leaseId = escrow.isEnabled() ? escrow.take(eventId, quantity) : null;
+        if (leaseId == null) {
+            Inventory inventory = inventoryRepository.findByIdWithLock(eventId)
+                .orElseGet(() -> initialize(eventId));
+            inventory.reserve(quantity);
+            inventoryRepository.save(inventory);
+        }
+        return leaseId;
+    }
+
+    /**
+     * Inventaire de l'événement, initialisé s'il n'existe pas.
+     */
+    public Inventory getOrInitialize(Long eventId) {
+        return inventoryRepository.findById(eventId)
+            .orElseGet(() -> initialize(eventId));
+    }
+
+    /**
+     * Initialisation de secours, dans la transaction courante: l'inventaire est normalement
+     * créé avant la transaction par {@link InventoryPrewarmer}. Jamais sur un shard auquel le
+     * répertoire n'affecte pas l'événement.
+     *
+     * @throws EventMigratingException Si l'événement est en cours de déplacement ou a été
+     *         déplacé vers un autre shard
+     */
+    public Inventory initialize(Long eventId) {
+        router.checkAssigned(eventId);
+        logger.info("Initialisation paresseuse de l'inventaire pour eventId={}", eventId);
+        Inventory inventory = new Inventory(eventId, eventMetadataCache.get(eventId).totalTickets());
+        return inventoryRepository.save(inventory);
+    }
+}
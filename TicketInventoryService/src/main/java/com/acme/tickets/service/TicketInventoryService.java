@@ -4,21 +4,29 @@ import com.acme.tickets.domain.entity.Inventory;
 import com.acme.tickets.domain.entity.Reservation;
 import com.acme.tickets.domain.entity.Ticket;
 import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.projection.ReservationSummary;
+import com.acme.tickets.domain.projection.TicketSummary;
 import com.acme.tickets.domain.repository.InventoryRepository;
 import com.acme.tickets.domain.repository.ReservationRepository;
 import com.acme.tickets.domain.repository.TicketRepository;
 import com.acme.tickets.config.TicketInventoryProperties;
 import com.acme.tickets.dto.*;
 import com.acme.tickets.exception.*;
+import com.acme.tickets.observability.LogContext;
+import com.acme.tickets.observability.ReservationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service de gestion des réservations et inventaires de tickets.
@@ -29,34 +37,56 @@ public class TicketInventoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(TicketInventoryService.class);
 
+    /** Taille de page par défaut pour les listes utilisateur. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Taille de page maximale pour les listes utilisateur. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<ReservationStatus> ALL_STATUSES = EnumSet.allOf(ReservationStatus.class);
+
     private final InventoryRepository inventoryRepository;
     private final ReservationRepository reservationRepository;
     private final TicketRepository ticketRepository;
-    private final TicketInventoryProperties properties;
-    private final com.acme.tickets.integration.EventCatalogClient eventCatalogClient;
+    private final ReservationPolicy policy;
+    private final EventMetadataCache eventMetadataCache;
+    private final ReservationMetrics metrics;
+    private final PurchaseQuotaTracker purchaseQuota;
+    private final ReservationArchiver archiver;
+    private final StockAllocator stockAllocator;
 
     public TicketInventoryService(
             InventoryRepository inventoryRepository,
             ReservationRepository reservationRepository,
             TicketRepository ticketRepository,
             TicketInventoryProperties properties,
-            com.acme.tickets.integration.EventCatalogClient eventCatalogClient) {
+            EventMetadataCache eventMetadataCache,
+            ReservationMetrics metrics,
+            PurchaseQuotaTracker purchaseQuota,
+            ReservationArchiver archiver,
+            StockAllocator stockAllocator) {
         this.inventoryRepository = inventoryRepository;
         this.reservationRepository = reservationRepository;
         this.ticketRepository = ticketRepository;
-        this.properties = properties;
-        this.eventCatalogClient = eventCatalogClient;
+        this.policy = new ReservationPolicy(properties);
+        this.eventMetadataCache = eventMetadataCache;
+        this.metrics = metrics;
+        this.purchaseQuota = purchaseQuota;
+        this.archiver = archiver;
+        this.stockAllocator = stockAllocator;
     }
 
     /**
      * Réserve des tickets pour un événement.
-     * Crée une réservation temporaire avec expiration.
+     * Crée une réservation temporaire avec expiration. Le stock est prélevé par
+     * {@link StockAllocator}: lot local de l'instance en mode séquestre, sinon inventaire.
      *
      * @param request Détails de la réservation
      * @param idempotencyKey Clé d'idempotence pour éviter les doublons
      * @return Réponse avec l'ID de réservation et l'expiration
      * @throws InventoryNotFoundException Si l'inventaire n'existe pas
      * @throws InsufficientStockException Si le stock est insuffisant
+     * @throws PurchaseQuotaExceededException Si l'utilisateur dépasserait son quota pour l'événement
      */
     @Transactional
     public ReserveResponse reserveTickets(ReserveRequest request, String idempotencyKey) {
@@ -69,6 +99,7 @@ public class TicketInventoryService {
                 .orElse(null);
             if (existing != null && existing.isActive()) {
                 logger.info("Réservation idempotente trouvée: {}", existing.getId());
+                metrics.increment(ReservationMetrics.Outcome.IDEMPOTENT_REPLAY);
                 return buildReserveResponse(existing);
             }
         }
@@ -76,14 +107,14 @@ public class TicketInventoryService {
         // Règle métier: limite par catégorie (peut ajuster la quantité demandée)
         int effectiveQuantity = applyCategoryLimit(request.eventId(), request.quantity());
 
-        // Récupération de l'inventaire avec verrou, initialisation paresseuse si absent
-        Inventory inventory = getOrInitInventoryWithLock(request.eventId());
+        // Quota cumulé par utilisateur: rendu automatiquement si la transaction échoue
+        purchaseQuota.acquire(request.userId(), request.eventId(), effectiveQuantity);
 
-        // Vérification du stock disponible
-        validateSufficientStock(inventory, effectiveQuantity);
+        // Prélèvement du stock (règle du domaine), rendu au lot si la transaction échoue
+        Long leaseId = stockAllocator.allocate(request.eventId(), effectiveQuantity);
 
         // Création de la réservation
-        Instant expiresAt = calculateExpirationTime();
+        Instant expiresAt = policy.holdExpiresAt(Instant.now());
         Reservation reservation = new Reservation(
             request.eventId(),
             request.userId(),
@@ -92,19 +123,46 @@ public class TicketInventoryService {
         );
         reservation.setHoldExpiresAt(expiresAt);
         reservation.setIdempotencyKey(idempotencyKey);
-
-        // Mise à jour de l'inventaire avec vérification défensive
-        decrementStock(inventory, effectiveQuantity);
-        inventoryRepository.save(inventory);
+        reservation.setLeaseId(leaseId);
 
         // Sauvegarde de la réservation
         Reservation saved = reservationRepository.save(reservation);
-        
+        LogContext.reservationId(saved.getId());
+
         logger.info("Réservation créée avec succès: {}, expire à {}", saved.getId(), expiresAt);
 
         return buildReserveResponse(saved);
     }
 
+    /**
+     * Relit la réservation créée avec une clé d'idempotence.
+     * Utilisé après une violation d'unicité: une requête concurrente portant la même clé
+     * a créé la réservation entre la vérification et l'insertion, ou la réservation
+     * d'origine, inactive, occupe toujours la clé.
+     *
+     * @param idempotencyKey Clé d'idempotence
+     * @return La réponse de la réservation existante, vide si elle n'est pas (encore) visible
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReserveResponse> findIdempotentReservation(String idempotencyKey) {
+        return reservationRepository.findByIdempotencyKey(idempotencyKey)
+            .map(existing -> {
+                metrics.increment(ReservationMetrics.Outcome.IDEMPOTENT_REPLAY);
+                return buildReserveResponse(existing);
+            });
+    }
+
+    /**
+     * Événement d'une réservation, active ou archivée.
+     *
+     * @param reservationId Identifiant de la réservation
+     * @return L'événement, vide si la réservation est inconnue
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findReservationEventId(Long reservationId) {
+        return archiver.findEventId(reservationId);
+    }
+
     /**
      * Confirme une réservation et génère les tickets.
      *
@@ -113,12 +171,19 @@ public class TicketInventoryService {
      * @throws ReservationNotFoundException Si la réservation n'existe pas
      * @throws InvalidReservationStateException Si la réservation n'est pas PENDING
      * @throws ReservationExpiredException Si la réservation a expiré
+     * @throws EventMigratingException Si l'événement est en cours de déplacement
      */
     @Transactional
     public ConfirmResponse confirmReservation(ConfirmRequest request) {
         logger.debug("Confirmation de la réservation {}", request.reservationId());
 
-        Reservation reservation = getReservationOrThrow(request.reservationId());
+        Optional<Reservation> found = reservationRepository.findById(request.reservationId());
+        if (found.isEmpty()) {
+            ReservationStatus archived = archiver.findArchivedStatus(request.reservationId())
+                .orElseThrow(() -> new ReservationNotFoundException(request.reservationId()));
+            throw new InvalidReservationStateException(request.reservationId(), archived, ReservationStatus.PENDING);
+        }
+        Reservation reservation = found.get();
 
         // Utilisation de la logique métier du domaine
         if (!reservation.canBeConfirmed()) {
@@ -132,6 +197,8 @@ public class TicketInventoryService {
             );
         }
 
+        checkNotMigrating(reservation.getEventId());
+
         // Confirmation via méthode du domaine
         reservation.confirm();
         reservationRepository.save(reservation);
@@ -152,12 +219,20 @@ public class TicketInventoryService {
      * @param request Identifiant de la réservation
      * @return Réponse avec le statut annulé
      * @throws ReservationNotFoundException Si la réservation n'existe pas
+     * @throws EventMigratingException Si l'événement est en cours de déplacement
      */
     @Transactional
     public ReleaseResponse releaseReservation(ReleaseRequest request) {
         logger.debug("Libération de la réservation {}", request.reservationId());
 
-        Reservation reservation = getReservationOrThrow(request.reservationId());
+        Optional<Reservation> found = reservationRepository.findById(request.reservationId());
+        if (found.isEmpty()) {
+            ReservationStatus archived = archiver.findArchivedStatus(request.reservationId())
+                .orElseThrow(() -> new ReservationNotFoundException(request.reservationId()));
+            logger.warn("Réservation {} archivée: {}", request.reservationId(), archived);
+            return new ReleaseResponse(archived.name());
+        }
+        Reservation reservation = found.get();
 
         // Utilisation de la logique métier du domaine
         if (!reservation.isActive()) {
@@ -166,6 +241,8 @@ public class TicketInventoryService {
             return new ReleaseResponse(reservation.getStatus().name());
         }
 
+        checkNotMigrating(reservation.getEventId());
+
         // Libération du stock si PENDING
         if (reservation.getStatus() == ReservationStatus.PENDING) {
             releaseInventoryStock(reservation);
@@ -174,6 +251,7 @@ public class TicketInventoryService {
         // Annulation via méthode du domaine
         reservation.cancel();
         reservationRepository.save(reservation);
+        purchaseQuota.releaseAfterCommit(reservation.getUserId(), reservation.getEventId(), reservation.getQuantity());
 
         logger.info("Réservation {} annulée", reservation.getId());
 
@@ -184,6 +262,19 @@ public class TicketInventoryService {
 
     // Méthode de création/mise à jour d'inventaire supprimée (découplage). L'initialisation est gérée paresseusement.
 
+    /**
+     * Disponibilité d'un événement dont l'inventaire existe, sans initialisation paresseuse:
+     * sans écriture, cette lecture peut être servie par un réplica.
+     *
+     * @param eventId Identifiant de l'événement
+     * @return La disponibilité, vide si l'inventaire n'existe pas (ou pas encore sur le réplica)
+     */
+    @Transactional(readOnly = true)
+    public Optional<AvailabilityResponse> findAvailability(Long eventId) {
+        return inventoryRepository.findById(eventId)
+            .map(inventory -> new AvailabilityResponse(eventId, inventory.getTotal(), inventory.getAvailable()));
+    }
+
     /**
      * Consulte la disponibilité des tickets pour un événement.
      *
@@ -195,8 +286,7 @@ public class TicketInventoryService {
     public AvailabilityResponse getAvailability(Long eventId) {
         logger.debug("Consultation de la disponibilité pour l'événement {}", eventId);
 
-        Inventory inventory = inventoryRepository.findById(eventId)
-            .orElseGet(() -> initializeInventoryFromEvent(eventId));
+        Inventory inventory = stockAllocator.getOrInitialize(eventId);
 
         return new AvailabilityResponse(
             eventId,
@@ -206,34 +296,97 @@ public class TicketInventoryService {
     }
 
     /**
-     * Récupère toutes les réservations d'un utilisateur.
+     * Récupère une page des réservations d'un utilisateur (pagination par curseur).
+     * Le coût d'une page est constant quelle que soit la taille de l'historique.
+     * Dès qu'un statut archivable est demandé, la table chaude et l'archive
+     * ({@link ReservationArchiver}) sont fusionnées dans la même requête.
      *
      * @param userId Identifiant de l'utilisateur
-     * @return Liste des réservations
+     * @param statuses Statuts à inclure (tous si vide ou null)
+     * @param cursor Curseur opaque de la page précédente, null pour la première page
+     * @param limit Taille de page demandée (bornée à {@value #MAX_PAGE_SIZE})
+     * @return Page des réservations et curseur de la page suivante
+     * @throws InvalidCursorException Si le curseur est invalide
      */
     @Transactional(readOnly = true)
-    public UserReservationsResponse getUserReservations(Long userId) {
-        logger.debug("Récupération des réservations de l'utilisateur {}", userId);
+    public UserReservationsResponse getUserReservations(
+            Long userId, Collection<ReservationStatus> statuses, String cursor, int limit) {
+        logger.debug("Récupération des réservations de l'utilisateur {} (curseur={})", userId, cursor);
+
+        Collection<ReservationStatus> effectiveStatuses = (statuses == null || statuses.isEmpty())
+            ? ALL_STATUSES
+            : statuses;
+        int pageSize = clampPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Une ligne de plus que la page pour savoir s'il existe une page suivante
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ReservationSummary> rows;
+        if (Collections.disjoint(effectiveStatuses, ReservationArchiver.ARCHIVABLE_STATUSES)) {
+            // Aucun statut archivable demandé: la table chaude suffit
+            rows = after == null
+                ? reservationRepository.findFirstPageByUserId(userId, effectiveStatuses, fetchLimit)
+                : reservationRepository.findPageByUserIdAfter(
+                    userId, effectiveStatuses, after.createdAt(), after.id(), fetchLimit);
+        } else {
+            rows = after == null
+                ? reservationRepository.findFirstHistoryPageByUserId(userId, effectiveStatuses, pageSize + 1)
+                : reservationRepository.findHistoryPageByUserIdAfter(
+                    userId, effectiveStatuses, after.createdAt(), after.id(), pageSize + 1);
+        }
 
-        List<Reservation> reservations = reservationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<ReservationSummary> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            ReservationSummary last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
 
-        List<UserReservationsItem> items = reservations.stream()
+        List<UserReservationsItem> items = page.stream()
             .map(this::toUserReservationItem)
             .toList();
 
-        return new UserReservationsResponse(items);
+        return new UserReservationsResponse(items, nextCursor);
     }
 
-    // ========== MÉTHODES PRIVÉES (Helper Methods) ==========
-
     /**
-     * Récupère une réservation ou lève une exception.
+     * Récupère une page des tickets émis pour un utilisateur (pagination par curseur).
+     *
+     * @param userId Identifiant de l'utilisateur
+     * @param cursor Curseur opaque de la page précédente, null pour la première page
+     * @param limit Taille de page demandée (bornée à {@value #MAX_PAGE_SIZE})
+     * @return Page des tickets et curseur de la page suivante
+     * @throws InvalidCursorException Si le curseur est invalide
      */
-    private Reservation getReservationOrThrow(Long id) {
-        return reservationRepository.findById(id)
-            .orElseThrow(() -> new ReservationNotFoundException(id));
+    @Transactional(readOnly = true)
+    public UserTicketsResponse getUserTickets(Long userId, String cursor, int limit) {
+        logger.debug("Récupération des tickets de l'utilisateur {} (curseur={})", userId, cursor);
+
+        int pageSize = clampPageSize(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<TicketSummary> rows = after == null
+            ? ticketRepository.findFirstPageByUserId(userId, fetchLimit)
+            : ticketRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), fetchLimit);
+
+        List<TicketSummary> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            TicketSummary last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<UserTicketsItem> items = page.stream()
+            .map(t -> new UserTicketsItem(
+                t.getId(), t.getReservationId(), t.getEventId(), t.getQuantity(), t.getCreatedAt()))
+            .toList();
+
+        return new UserTicketsResponse(items, nextCursor);
     }
 
+    // ========== MÉTHODES PRIVÉES (Helper Methods) ==========
+
     /**
      * Récupère un inventaire ou lève une exception.
      */
@@ -243,114 +396,38 @@ public class TicketInventoryService {
     }
 
     /**
-     * Récupère un inventaire avec verrou pessimiste.
-     */
-    private Inventory getInventoryWithLock(Long eventId) {
-        return inventoryRepository.findByIdWithLock(eventId)
-            .orElseThrow(() -> new InventoryNotFoundException(eventId));
-    }
-
-    /**
-     * Récupère l'inventaire avec verrou, et l'initialise s'il n'existe pas en se basant
-     * sur les informations de l'événement (catégorie, ticketTypes) via EventCatalog.
+     * Rejette l'opération si l'événement est en cours de déplacement vers un autre shard. Une
+     * écriture qui passe ce contrôle juste avant le gel attend le verrou posé par la copie sur
+     * la réservation, puis échoue sur la ligne supprimée: aucune mise à jour n'est perdue.
      */
-    private Inventory getOrInitInventoryWithLock(Long eventId) {
-        return inventoryRepository.findByIdWithLock(eventId)
-            .orElseGet(() -> initializeInventoryFromEvent(eventId));
-    }
-
-    private Inventory initializeInventoryFromEvent(Long eventId) {
-        logger.info("Initialisation paresseuse de l'inventaire pour eventId={}", eventId);
-        Map<String, Object> event = eventCatalogClient.getEventById(eventId);
-
-        // Calcul du total à partir des ticketTypes si disponibles
-        int total = 0;
-        Object ticketTypesObj = event.get("tickets");
-        if (ticketTypesObj instanceof List<?> list) {
-            for (Object item : list) {
-                if (item instanceof Map<?, ?> tt) {
-                    Object qty = tt.get("quantity");
-                    if (qty instanceof Number n) total += n.intValue();
-                }
-            }
-        }
-
-        Inventory inventory = new Inventory(eventId, total);
-        return inventoryRepository.save(inventory);
+    private void checkNotMigrating(Long eventId) {
+        inventoryRepository.findById(eventId).ifPresent(Inventory::checkNotMigrating);
     }
 
     private int applyCategoryLimit(Long eventId, int requestedQuantity) {
-        Map<String, Object> event = eventCatalogClient.getEventById(eventId);
-        String category = null;
-        Object categoryObj = event.get("category");
-        if (categoryObj instanceof Map<?, ?> c) {
-            Object ct = c.get("categoryType");
-            if (ct instanceof String s) category = s;
-        }
-
-        int maxAllowed = properties.getMaxTicketsPerReservation();
-        if (category != null) {
-            Integer specific = properties.getCategoryMaxPerReservation().get(category.toUpperCase());
-            if (specific != null && specific > 0) {
-                maxAllowed = specific;
-            }
-        }
+        String category = eventMetadataCache.get(eventId).categoryType();
+        int maxAllowed = policy.maxPerReservation(category);
 
         if (requestedQuantity > maxAllowed) {
             logger.info("Quantité demandée {} > limite {} pour catégorie {}: ajustement automatique",
                     requestedQuantity, maxAllowed, category);
+            metrics.increment(ReservationMetrics.Outcome.CATEGORY_LIMIT_CLAMPED);
             return maxAllowed;
         }
 
         return requestedQuantity;
     }
 
-    /**
-     * Valide que le stock est suffisant.
-     */
-    private void validateSufficientStock(Inventory inventory, int requested) {
-        int available = inventory.getAvailable();
-        if (available < requested) {
-            throw new InsufficientStockException(
-                inventory.getEventId(), requested, available
-            );
-        }
-    }
-
-    /**
-     * Décrémente le stock avec vérification défensive.
-     */
-    private void decrementStock(Inventory inventory, int quantity) {
-        int newReserved = inventory.getReserved() + quantity;
-        if (newReserved > inventory.getTotal()) {
-            throw new IllegalStateException(
-                String.format("Reserved count (%d) would exceed total (%d)",
-                    newReserved, inventory.getTotal())
-            );
-        }
-        inventory.setReserved(newReserved);
-    }
-
-    /**
-     * Incrémente le stock (libération) avec vérification défensive.
-     */
-    private void incrementStock(Inventory inventory, int quantity) {
-        int newReserved = inventory.getReserved() - quantity;
-        if (newReserved < 0) {
-            logger.error("Tentative de stock négatif: {} - {} = {}", 
-                inventory.getReserved(), quantity, newReserved);
-            inventory.setReserved(0); // Défensif: empêche les valeurs négatives
-        } else {
-            inventory.setReserved(newReserved);
-        }
-    }
-
     /**
      * Libère le stock d'inventaire pour une réservation.
      */
     private void releaseInventoryStock(Reservation reservation) {
         Inventory inventory = getInventoryOrThrow(reservation.getEventId());
-        incrementStock(inventory, reservation.getQuantity());
+        int reservedBefore = inventory.getReserved();
+        if (!inventory.release(reservation.getQuantity())) {
+            logger.error("Tentative de stock négatif: {} - {}, ramené à 0",
+                reservedBefore, reservation.getQuantity());
+        }
         inventoryRepository.save(inventory);
     }
 
@@ -368,16 +445,6 @@ public class TicketInventoryService {
         logger.debug("Ticket {} créé pour la réservation {}", ticket.getId(), reservation.getId());
     }
 
-    /**
-     * Calcule le temps d'expiration d'une réservation.
-     */
-    private Instant calculateExpirationTime() {
-        return Instant.now().plus(
-            properties.getReservationHoldMinutes(), 
-            ChronoUnit.MINUTES
-        );
-    }
-
     /**
      * Construit une réponse de réservation.
      */
@@ -391,9 +458,19 @@ public class TicketInventoryService {
     }
 
     /**
-     * Convertit une réservation en item de réponse utilisateur.
+     * Borne la taille de page demandée entre 1 et {@value #MAX_PAGE_SIZE}.
+     */
+    public static int clampPageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Convertit une projection de réservation en item de réponse utilisateur.
      */
-    private UserReservationsItem toUserReservationItem(Reservation r) {
+    private UserReservationsItem toUserReservationItem(ReservationSummary r) {
         return new UserReservationsItem(
             r.getId(),
             r.getEventId(),
@@ -0,0 +1,205 @@
+package com.acme.tickets.service;
+
+/**
+ * Table concurrente de compteurs indexés par (userId, eventId), sans objet par entrée.
+ * <p>
+ * Clés et valeurs sont rangées dans des tableaux primitifs (adressage ouvert, sondage linéaire)
+ * répartis en segments verrouillés indépendamment: ni clé composite ni Long/Integer alloués par
+ * appel, et une contention limitée au segment de la clé. Une entrée revenue à zéro est supprimée
+ * (décalage arrière, sans marqueur de suppression): la table ne contient que des compteurs
+ * strictement positifs.
+ */
+final class UserEventCounterMap {
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    UserEventCounterMap() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @return le compteur courant, 0 si absent
+     */
+    int get(long userId, long eventId) {
+        int hash = hash(userId, eventId);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(userId, eventId, hash);
+            return slot < 0 ? 0 : segment.counts[slot];
+        }
+    }
+
+    /**
+     * Ajoute {@code delta} si le total reste inférieur ou égal à {@code max}.
+     *
+     * @return -1 si l'ajout a été fait, sinon la valeur courante (inchangée)
+     */
+    int addIfAtMost(long userId, long eventId, int delta, int max) {
+        int hash = hash(userId, eventId);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(userId, eventId, hash);
+            int current = slot < 0 ? 0 : segment.counts[slot];
+            if (current + delta > max) {
+                return current;
+            }
+            segment.put(userId, eventId, hash, slot, current + delta);
+            return -1;
+        }
+    }
+
+    /**
+     * Ajoute {@code delta} (positif ou négatif); l'entrée est supprimée si le total
+     * devient nul ou négatif.
+     *
+     * @return le nouveau total borné à 0
+     */
+    int add(long userId, long eventId, int delta) {
+        int hash = hash(userId, eventId);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(userId, eventId, hash);
+            int updated = (slot < 0 ? 0 : segment.counts[slot]) + delta;
+            if (updated <= 0) {
+                if (slot >= 0) {
+                    segment.remove(slot);
+                }
+                return 0;
+            }
+            segment.put(userId, eventId, hash, slot, updated);
+            return updated;
+        }
+    }
+
+    /**
+     * Nombre d'entrées (somme non atomique des segments).
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.reset(INITIAL_CAPACITY);
+            }
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> 26];
+    }
+
+    private static int hash(long userId, long eventId) {
+        long h = userId * 0x9E3779B97F4A7C15L + eventId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Segment à adressage ouvert; toutes les méthodes sont appelées sous son moniteur.
+     */
+    private static final class Segment {
+
+        private long[] users;
+        private long[] events;
+        private int[] counts;
+        private int size;
+
+        Segment() {
+            reset(INITIAL_CAPACITY);
+        }
+
+        void reset(int capacity) {
+            users = new long[capacity];
+            events = new long[capacity];
+            counts = new int[capacity];
+            size = 0;
+        }
+
+        int find(long userId, long eventId, int hash) {
+            int mask = counts.length - 1;
+            for (int slot = hash & mask; counts[slot] != 0; slot = (slot + 1) & mask) {
+                if (users[slot] == userId && events[slot] == eventId) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        void put(long userId, long eventId, int hash, int slot, int count) {
+            if (slot >= 0) {
+                counts[slot] = count;
+                return;
+            }
+            if ((size + 1) * 2 > counts.length) {
+                grow();
+            }
+            int mask = counts.length - 1;
+            int free = hash & mask;
+            while (counts[free] != 0) {
+                free = (free + 1) & mask;
+            }
+            users[free] = userId;
+            events[free] = eventId;
+            counts[free] = count;
+            size++;
+        }
+
+        /**
+         * Suppression par décalage arrière: les entrées suivantes de la même grappe sont
+         * rapprochées de leur position d'origine pour que les recherches restent correctes.
+         */
+        void remove(int slot) {
+            int mask = counts.length - 1;
+            int hole = slot;
+            for (int next = (hole + 1) & mask; counts[next] != 0; next = (next + 1) & mask) {
+                int home = hash(users[next], events[next]) & mask;
+                boolean movable = hole <= next
+                    ? home <= hole || home > next
+                    : home <= hole && home > next;
+                if (movable) {
+                    users[hole] = users[next];
+                    events[hole] = events[next];
+                    counts[hole] = counts[next];
+                    hole = next;
+                }
+            }
+            counts[hole] = 0;
+            size--;
+        }
+
+        private void grow() {
+            long[] oldUsers = users;
+            long[] oldEvents = events;
+            int[] oldCounts = counts;
+            reset(oldCounts.length * 2);
+            int mask = counts.length - 1;
+            for (int i = 0; i < oldCounts.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = hash(oldUsers[i], oldEvents[i]) & mask;
+                    while (counts[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    users[slot] = oldUsers[i];
+                    events[slot] = oldEvents[i];
+                    counts[slot] = oldCounts[i];
+                    size++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.acme.tickets.sharding;
+
+/**
+ * Shard du thread courant, lu par {@link ShardRoutingDataSource} à l'ouverture d'une connexion.
+ * <p>
+ * Une transaction garde la connexion obtenue à son ouverture: le shard doit être posé avant
+ * d'entrer dans une méthode transactionnelle, jamais à l'intérieur. Sans shard posé, les
+ * connexions vont au shard 0.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Shard courant, 0 si aucun n'est posé.
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * Pose le shard du thread courant; la portée restaure le shard précédent à sa fermeture.
+     */
+    public static Scope on(int shard) {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(shard);
+        return scope;
+    }
+
+    /**
+     * Portée du shard: à utiliser en try-with-resources.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Integer previous;
+
+        private Scope(Integer previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
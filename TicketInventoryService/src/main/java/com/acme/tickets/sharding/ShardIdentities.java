@@ -0,0 +1,53 @@
+package com.acme.tickets.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Séquences d'identifiants par shard: le shard k ne génère que des identifiants
+ * {@code id ≡ k + 1 (mod pas)}, uniques entre shards et conservés tels quels lors d'un
+ * déplacement d'événement.
+ * <p>
+ * MySQL applique le pas par session ({@code auto_increment_increment/offset}, posés à la
+ * connexion). H2 n'a pas d'équivalent: les colonnes IDENTITY sont redémarrées au prochain
+ * identifiant du shard, au démarrage et après chaque copie d'identifiants explicites (qui
+ * décale le compteur).
+ */
+final class ShardIdentities {
+
+    /** Tables aux identifiants générés. */
+    static final List<String> GENERATED_ID_TABLES = List.of("reservation", "ticket");
+
+    private ShardIdentities() {
+    }
+
+    /**
+     * Aligne les compteurs IDENTITY du shard courant ({@link ShardContext}); sans effet hors H2.
+     */
+    static void align(JdbcTemplate jdbcTemplate, int shard, int stride) {
+        if (!isH2(jdbcTemplate)) {
+            return;
+        }
+        for (String table : GENERATED_ID_TABLES) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long highest = max == null ? 0 : max;
+            long next = highest + 1 + Math.floorMod(shard - highest, (long) stride);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next
+                + " SET INCREMENT BY " + stride);
+        }
+    }
+
+    private static boolean isH2(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), DatabaseMetaData::getDatabaseProductName);
+            return "H2".equals(product);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
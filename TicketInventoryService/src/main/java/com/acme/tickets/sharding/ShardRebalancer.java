@@ -0,0 +1,255 @@
+package com.acme.tickets.sharding;
+
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.domain.entity.EventShardAssignment;
+import com.acme.tickets.domain.repository.EventShardAssignmentRepository;
+import com.acme.tickets.dto.ShardMoveResponse;
+import com.acme.tickets.exception.ShardMoveRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Déplacement d'un événement (inventaire, réservations, archive, tickets) d'un shard à un autre,
+ * pour rééquilibrer la charge: un événement très demandé peut être isolé sur son propre shard.
+ * <p>
+ * Déroulement, sous gel local de l'événement ({@link ShardRouter#freeze}):
+ * <ol>
+ *   <li>répertoire du shard 0 marqué en déplacement, shard source relu: un seul déplacement de
+ *       l'événement à la fois, et aucune instance n'initialise son inventaire
+ *       ({@link ShardRouter#checkAssigned});</li>
+ *   <li>ligne d'inventaire source marquée en déplacement, version incrémentée, validé: les
+ *       réservations, confirmations et libérations des autres instances sont rejetées, celles
+ *       qui ont lu l'inventaire avant la marque échouent sur sa version;</li>
+ *   <li>transaction sur le shard source, ligne d'inventaire verrouillée (les jobs et les autres
+ *       instances qui la modifient attendent la fin du déplacement);</li>
+ *   <li>copie par lots d'identifiants croissants vers le shard cible, identifiants conservés,
+ *       lignes sources lues et verrouillées ({@code FOR UPDATE}): une écriture déjà validée est
+ *       copiée, une écriture concurrente attend puis échoue sur la ligne supprimée;</li>
+ *   <li>écriture du répertoire sur le shard 0, sans marque: point de bascule;</li>
+ *   <li>suppression des lignes sources, validée avec la transaction source.</li>
+ * </ol>
+ * Un échec avant la bascule laisse l'événement sur sa source, marques retirées; les lignes déjà
+ * copiées sur la cible sont effacées au déplacement suivant. Un arrêt de l'instance pendant la
+ * copie laisse les marques en place: l'événement reste rejeté jusqu'à leur retrait manuel.
+ */
+@Service
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String RESERVATION = "reservation";
+    private static final String RESERVATION_ARCHIVE = "reservation_archive";
+    private static final String TICKET = "ticket";
+    private static final String INVENTORY = "inventory";
+
+    /** Tables portant les données d'un événement (colonne event_id). */
+    private static final List<String> EVENT_TABLES = List.of(TICKET, RESERVATION_ARCHIVE, RESERVATION, INVENTORY);
+
+    private final ShardRouter router;
+    private final ShardingProperties properties;
+    private final EventShardAssignmentRepository assignments;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate sourceTransaction;
+    private final TransactionTemplate newTransaction;
+
+    public ShardRebalancer(
+            ShardRouter router,
+            ShardingProperties properties,
+            EventShardAssignmentRepository assignments,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager) {
+        this.router = router;
+        this.properties = properties;
+        this.assignments = assignments;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.sourceTransaction = new TransactionTemplate(transactionManager);
+        this.sourceTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Déplace un événement vers un autre shard.
+     *
+     * @param eventId Identifiant de l'événement
+     * @param targetShard Shard cible
+     * @return Bilan de la copie
+     * @throws ShardMoveRejectedException Si le partitionnement est désactivé, la cible invalide,
+     *         l'événement sans inventaire, déjà en déplacement, porteur de paniers actifs ou de
+     *         lots en séquestre, ou ses opérations en cours trop longues
+     */
+    public ShardMoveResponse moveEvent(Long eventId, int targetShard) {
+        if (!router.isSharded()) {
+            throw new ShardMoveRejectedException(eventId, "partitionnement désactivé");
+        }
+        if (targetShard < 0 || targetShard >= router.shardCount()) {
+            throw new ShardMoveRejectedException(eventId, "shard cible " + targetShard + " inconnu");
+        }
+        try (ShardRouter.Freeze ignored = router.freeze(eventId)) {
+            int sourceShard = markDirectory(eventId);
+            ShardMoveResponse response;
+            try {
+                if (sourceShard == targetShard) {
+                    throw new ShardMoveRejectedException(eventId, "déjà sur le shard " + targetShard);
+                }
+                logger.info("Déplacement de l'événement {} du shard {} vers le shard {}", eventId, sourceShard, targetShard);
+                markInventory(eventId, sourceShard);
+                response = router.onShard(sourceShard,
+                    () -> sourceTransaction.execute(status -> move(eventId, sourceShard, targetShard)));
+            } catch (RuntimeException e) {
+                if (router.shardFor(eventId) == sourceShard) {
+                    unmark(eventId, sourceShard);
+                }
+                throw e;
+            }
+            logger.info("Événement {} déplacé vers le shard {}: {} réservations, {} archivées, {} tickets",
+                eventId, targetShard, response.reservations(), response.archivedReservations(), response.tickets());
+            return response;
+        }
+    }
+
+    /**
+     * Marque l'événement en déplacement sur le répertoire du shard 0.
+     *
+     * @return Le shard source, d'après le répertoire
+     * @throws ShardMoveRejectedException si un déplacement de l'événement est déjà en cours
+     */
+    private int markDirectory(Long eventId) {
+        int sourceShard = router.onShard(0, () -> newTransaction.execute(status -> {
+            EventShardAssignment assignment = assignments.findByIdForUpdate(eventId)
+                .orElseGet(() -> new EventShardAssignment(eventId, router.hashShard(eventId)));
+            if (assignment.isMigrating()) {
+                throw new ShardMoveRejectedException(eventId, "déplacement déjà en cours sur une autre instance");
+            }
+            assignment.setMigrating(true);
+            return assignments.save(assignment).getShard();
+        }));
+        router.assign(eventId, sourceShard);
+        return sourceShard;
+    }
+
+    /**
+     * Marque la ligne d'inventaire source: vue de toutes les instances, au contraire du gel local.
+     *
+     * @throws ShardMoveRejectedException si l'inventaire n'existe pas sur le shard source
+     */
+    private void markInventory(Long eventId, int sourceShard) {
+        inNewTransaction(sourceShard, () -> {
+            int marked = jdbcTemplate.update(
+                "UPDATE " + INVENTORY + " SET migrating = TRUE, version = version + 1 WHERE event_id = ?", eventId);
+            if (marked == 0) {
+                throw new ShardMoveRejectedException(eventId, "inventaire absent du shard " + sourceShard);
+            }
+        });
+    }
+
+    /**
+     * Retire les marques après un échec avant la bascule.
+     */
+    private void unmark(Long eventId, int sourceShard) {
+        try {
+            inNewTransaction(sourceShard, () -> jdbcTemplate.update(
+                "UPDATE " + INVENTORY + " SET migrating = FALSE WHERE event_id = ?", eventId));
+            router.onShard(0, () -> newTransaction.execute(status ->
+                assignments.save(new EventShardAssignment(eventId, sourceShard, false))));
+        } catch (RuntimeException e) {
+            logger.error("Marques de déplacement de l'événement {} non retirées: {}", eventId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Déplacement, dans la transaction du shard source.
+     */
+    private ShardMoveResponse move(Long eventId, int sourceShard, int targetShard) {
+        List<Map<String, Object>> inventory = jdbcTemplate.queryForList(
+            "SELECT * FROM " + INVENTORY + " WHERE event_id = ? FOR UPDATE", eventId);
+        inventory.forEach(row -> row.put("migrating", false));
+        Integer activeCarts = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + RESERVATION
+                + " WHERE event_id = ? AND cart_id IS NOT NULL AND status IN ('PENDING', 'CONFIRMED')",
+            Integer.class, eventId);
+        if (activeCarts != null && activeCarts > 0) {
+            // Les autres lignes de ces paniers resteraient sur le shard source
+            throw new ShardMoveRejectedException(eventId, activeCarts + " réservations de panier actives");
+        }
+        Integer leases = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM inventory_lease WHERE event_id = ?", Integer.class, eventId);
+        if (leases != null && leases > 0) {
+            // Les instances servent ces lots sans relire l'inventaire
+            throw new ShardMoveRejectedException(eventId, leases + " lots en séquestre");
+        }
+
+        inNewTransaction(targetShard, () -> EVENT_TABLES.forEach(table ->
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE event_id = ?", eventId)));
+        insert(targetShard, INVENTORY, inventory);
+        int reservations = copyById(RESERVATION, eventId, targetShard);
+        int archived = copyById(RESERVATION_ARCHIVE, eventId, targetShard);
+        int tickets = copyById(TICKET, eventId, targetShard);
+        inNewTransaction(targetShard, () -> ShardIdentities.align(jdbcTemplate, targetShard, properties.getIdStride()));
+
+        // Bascule: les opérations suivantes sont routées vers la cible
+        router.onShard(0, () -> newTransaction.execute(status ->
+            assignments.save(new EventShardAssignment(eventId, targetShard, false))));
+        router.assign(eventId, targetShard);
+
+        EVENT_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table + " WHERE event_id = ?", eventId));
+        return new ShardMoveResponse(eventId, sourceShard, targetShard, inventory.size(), reservations, archived, tickets);
+    }
+
+    /**
+     * Copie les lignes de l'événement par lots d'identifiants croissants, chaque lot validé
+     * sur la cible dans sa propre transaction. Les lignes sources restent verrouillées jusqu'à
+     * leur suppression: une lecture simple manquerait les écritures validées après l'ouverture
+     * de la transaction source (REPEATABLE READ).
+     */
+    private int copyById(String table, Long eventId, int targetShard) {
+        int batchSize = properties.getCopyBatchSize();
+        String select = "SELECT * FROM " + table + " WHERE event_id = ? AND id > ? ORDER BY id LIMIT ? FOR UPDATE";
+        long afterId = 0;
+        int copied = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, eventId, afterId, batchSize);
+            insert(targetShard, table, rows);
+            copied += rows.size();
+            if (rows.size() < batchSize) {
+                return copied;
+            }
+            afterId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+    }
+
+    private void insert(int targetShard, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+            + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        List<Object[]> values = rows.stream()
+            .map(row -> columns.stream().map(row::get).toArray())
+            .toList();
+        inNewTransaction(targetShard, () -> jdbcTemplate.batchUpdate(sql, values));
+    }
+
+    /**
+     * Exécute le travail dans une nouvelle transaction sur le shard: hors transaction,
+     * JdbcTemplate réutiliserait la connexion de la transaction source.
+     */
+    private void inNewTransaction(int shard, Runnable work) {
+        router.onShard(shard, () -> newTransaction.execute(status -> {
+            work.run();
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,296 @@
+package com.acme.tickets.sharding;
+
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.domain.entity.EventShardAssignment;
+import com.acme.tickets.domain.repository.EventShardAssignmentRepository;
+import com.acme.tickets.exception.CrossShardCartException;
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.ShardMoveRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routage des opérations vers le shard qui stocke un événement.
+ * <p>
+ * Un événement vit sur le shard de son affectation explicite (répertoire, écrit par
+ * {@link ShardRebalancer}), à défaut sur {@code eventId mod N}. Toutes les données d'un événement
+ * (inventaire, réservations, archive, tickets) sont sur le même shard: une réservation reste une
+ * transaction locale. Les identifiants générés portent leur shard d'origine
+ * ({@link #originShard}), indice de recherche d'une réservation adressée par son seul id.
+ * <p>
+ * Chaque opération routée par événement est comptée le temps de son exécution: un déplacement
+ * gèle l'événement ({@link #freeze}), attend la fin des opérations en cours, et les nouvelles
+ * sont rejetées ({@link EventMigratingException}) jusqu'à la bascule. Ce gel est local à
+ * l'instance; les autres instances sont arrêtées par l'état de déplacement posé sur la ligne
+ * d'inventaire source et sur le répertoire ({@link #checkAssigned}).
+ * <p>
+ * Partitionnement désactivé, toutes les méthodes exécutent directement le travail (shard 0).
+ */
+@Component
+public class ShardRouter implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final ShardingProperties properties;
+    private final EventShardAssignmentRepository assignments;
+    private final int shardCount;
+    private final Map<Long, Integer> directory = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> migrating = ConcurrentHashMap.newKeySet();
+    private final TransactionTemplate directoryTransaction;
+
+    public ShardRouter(
+            ShardingProperties properties,
+            EventShardAssignmentRepository assignments,
+            PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.assignments = assignments;
+        this.shardCount = properties.shardCount();
+        // Lecture du shard 0 depuis une transaction ouverte sur un autre shard
+        this.directoryTransaction = new TransactionTemplate(transactionManager);
+        this.directoryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.directoryTransaction.setReadOnly(true);
+        if (shardCount > properties.getIdStride()) {
+            throw new IllegalStateException(
+                "Nombre de shards " + shardCount + " supérieur au pas des identifiants " + properties.getIdStride());
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refreshDirectory();
+    }
+
+    /**
+     * Relit le répertoire: prend en compte les déplacements faits par d'autres instances.
+     */
+    @Scheduled(fixedDelayString = "${ticket-inventory.sharding.directory-refresh-ms:30000}")
+    public void refreshDirectory() {
+        if (!isSharded()) {
+            return;
+        }
+        try {
+            List<EventShardAssignment> rows = onShard(0, assignments::findAll);
+            rows.forEach(row -> directory.put(row.getEventId(), row.getShard()));
+            logger.debug("Répertoire des shards relu: {} événements affectés", rows.size());
+        } catch (Exception e) {
+            logger.warn("Relecture du répertoire des shards impossible: {}", e.getMessage());
+        }
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shard qui stocke l'événement.
+     */
+    public int shardFor(Long eventId) {
+        Integer assigned = directory.get(eventId);
+        return assigned != null ? assigned : hashShard(eventId);
+    }
+
+    /**
+     * Shard d'un événement sans affectation explicite.
+     */
+    int hashShard(Long eventId) {
+        return Math.floorMod(eventId, shardCount);
+    }
+
+    /**
+     * Vérifie sur le répertoire du shard 0, avant de créer l'inventaire d'un événement sur le
+     * shard courant, que l'événement y est affecté et n'est pas en cours de déplacement. Une
+     * instance au répertoire local en retard recréerait sinon, sur le shard source d'un
+     * déplacement, un inventaire sans aucune réservation. Le répertoire local est mis à jour.
+     *
+     * @throws EventMigratingException si l'événement est en cours de déplacement ou affecté à
+     *         un autre shard
+     */
+    public void checkAssigned(Long eventId) {
+        if (!isSharded()) {
+            return;
+        }
+        int current = ShardContext.current();
+        Optional<EventShardAssignment> row = onShard(0,
+            () -> directoryTransaction.execute(status -> assignments.findById(eventId)));
+        row.ifPresent(assignment -> directory.put(eventId, assignment.getShard()));
+        int assigned = row.map(EventShardAssignment::getShard).orElseGet(() -> hashShard(eventId));
+        boolean moving = row.map(EventShardAssignment::isMigrating).orElse(false);
+        if (moving || assigned != current) {
+            logger.warn("Inventaire de l'événement {} non créé sur le shard {}: affecté au shard {}, déplacement en cours: {}",
+                eventId, current, assigned, moving);
+            throw new EventMigratingException(eventId);
+        }
+    }
+
+    /**
+     * Shard qui a généré un identifiant de réservation ou de ticket. L'événement a pu être
+     * déplacé depuis: ce n'est qu'un indice de recherche.
+     */
+    public int originShard(Long id) {
+        int shard = Math.floorMod(id - 1, properties.getIdStride());
+        return shard < shardCount ? shard : 0;
+    }
+
+    /**
+     * Exécute le travail sur le shard de l'événement.
+     *
+     * @throws EventMigratingException si l'événement est en cours de déplacement
+     */
+    public <T> T onEvent(Long eventId, Supplier<T> work) {
+        return onEvents(List.of(eventId), work);
+    }
+
+    /**
+     * Exécute le travail sur le shard commun à tous les événements (panier).
+     *
+     * @throws CrossShardCartException si les événements sont sur des shards différents
+     * @throws EventMigratingException si l'un des événements est en cours de déplacement
+     */
+    public <T> T onEvents(Collection<Long> eventIds, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        List<AtomicInteger> counters = new ArrayList<>(eventIds.size());
+        try {
+            // Comptée avant de lire le gel: un déplacement gèle puis lit le compteur
+            for (Long eventId : eventIds) {
+                AtomicInteger counter = inFlight.computeIfAbsent(eventId, id -> new AtomicInteger());
+                counter.incrementAndGet();
+                counters.add(counter);
+                if (migrating.contains(eventId)) {
+                    throw new EventMigratingException(eventId);
+                }
+            }
+            int shard = shardFor(eventIds.iterator().next());
+            for (Long eventId : eventIds) {
+                if (shardFor(eventId) != shard) {
+                    throw new CrossShardCartException(new TreeSet<>(eventIds));
+                }
+            }
+            return onShard(shard, work);
+        } finally {
+            counters.forEach(AtomicInteger::decrementAndGet);
+        }
+    }
+
+    /**
+     * Exécute le travail sur un shard donné.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        try (ShardContext.Scope ignored = ShardContext.on(shard)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Exécute le travail sur chaque shard, l'un après l'autre (jobs planifiés).
+     */
+    public void forEachShard(Runnable work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            onShard(shard, () -> {
+                work.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Exécute la lecture sur chaque shard et rassemble les résultats, par shard croissant.
+     */
+    public <T> List<T> gather(Supplier<T> work) {
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(onShard(shard, work));
+        }
+        return results;
+    }
+
+    /**
+     * Premier résultat trouvé, en commençant par le shard indiqué.
+     */
+    public <T> Optional<T> findFirst(int preferredShard, Supplier<Optional<T>> lookup) {
+        Optional<T> found = onShard(preferredShard, lookup);
+        for (int shard = 0; found.isEmpty() && shard < shardCount; shard++) {
+            if (shard != preferredShard) {
+                found = onShard(shard, lookup);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gèle l'événement et attend la fin des opérations en cours.
+     *
+     * @return Le gel, à fermer après la bascule (try-with-resources)
+     * @throws ShardMoveRejectedException si l'événement est déjà gelé ou si les opérations en
+     *         cours ne se terminent pas dans le délai
+     */
+    Freeze freeze(Long eventId) {
+        if (!migrating.add(eventId)) {
+            throw new ShardMoveRejectedException(eventId, "déplacement déjà en cours");
+        }
+        Freeze freeze = new Freeze(eventId);
+        AtomicInteger counter = inFlight.computeIfAbsent(eventId, id -> new AtomicInteger());
+        long deadline = System.nanoTime() + properties.getDrainTimeoutMs() * 1_000_000;
+        while (counter.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                freeze.close();
+                throw new ShardMoveRejectedException(eventId, "opérations en cours non terminées");
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                freeze.close();
+                throw new ShardMoveRejectedException(eventId, "attente interrompue");
+            }
+        }
+        return freeze;
+    }
+
+    /**
+     * Bascule locale après l'écriture du répertoire.
+     */
+    void assign(Long eventId, int shard) {
+        directory.put(eventId, shard);
+    }
+
+    /**
+     * Gel d'un événement pendant son déplacement.
+     */
+    final class Freeze implements AutoCloseable {
+
+        private final Long eventId;
+
+        private Freeze(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        @Override
+        public void close() {
+            migrating.remove(eventId);
+        }
+    }
+}
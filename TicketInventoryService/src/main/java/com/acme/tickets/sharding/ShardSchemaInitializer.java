@@ -0,0 +1,49 @@
+package com.acme.tickets.sharding;
+
+import com.acme.tickets.config.ShardingProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Prépare les shards au démarrage, après la création du schéma du shard 0 par Hibernate:
+ * schéma des shards suivants recréé à partir des entités ({@code initialize-schema}), puis
+ * séquences d'identifiants alignées sur chaque shard ({@link ShardIdentities}).
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardingProperties properties;
+
+    public ShardSchemaInitializer(
+            EntityManagerFactory entityManagerFactory, DataSource dataSource, ShardingProperties properties) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int shardCount = properties.shardCount();
+        for (int shard = 0; shard < shardCount; shard++) {
+            try (ShardContext.Scope ignored = ShardContext.on(shard)) {
+                if (shard > 0 && properties.isInitializeSchema()) {
+                    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+                    sessionFactory.getSchemaManager().dropMappedObjects(true);
+                    sessionFactory.getSchemaManager().exportMappedObjects(true);
+                    logger.info("Schéma du shard {} créé", shard);
+                }
+                ShardIdentities.align(jdbcTemplate, shard, properties.getIdStride());
+            }
+        }
+        logger.info("Partitionnement actif: {} shards, pas des identifiants {}", shardCount, properties.getIdStride());
+    }
+}
@@ -0,0 +1,224 @@
+package com.acme.tickets.reactive.controller;
+
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.integration.EventMetadata;
+import com.acme.tickets.reactive.ReactiveTicketInventoryApplication;
+import com.acme.tickets.reactive.integration.ReactiveEventCatalogClient;
+import com.acme.tickets.reactive.repository.ReactiveInventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration de la variante réactive: WebFlux + R2DBC sur H2 en mémoire,
+ * catalogue simulé. Mêmes scénarios et mêmes contrats que TicketControllerIntegrationTest.
+ */
+@SpringBootTest(
+    classes = ReactiveTicketInventoryApplication.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles({ReactiveTicketInventoryApplication.PROFILE, "test"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("ReactiveTicketController - API /tickets sur WebFlux + R2DBC")
+class ReactiveTicketControllerIntegrationTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long USER_ID = 42L;
+    private static final int TOTAL_TICKETS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveInventoryRepository inventoryRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @MockBean
+    private ReactiveEventCatalogClient catalogClient;
+
+    @BeforeEach
+    void setUp() {
+        // Base en mémoire partagée entre contextes: repartir de tables vides
+        Flux.just("DELETE FROM ticket", "DELETE FROM reservation", "DELETE FROM inventory")
+            .concatMap(sql -> databaseClient.sql(sql).then())
+            .blockLast();
+        webTestClient = webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+        when(catalogClient.getEventMetadata(anyLong())).thenAnswer(inv ->
+            Mono.just(new EventMetadata(inv.getArgument(0), "MUSIC", TOTAL_TICKETS, "OPEN_FOR_BOOKING")));
+    }
+
+    private WebTestClient.ResponseSpec reserve(long userId, int quantity, String idempotencyKey) {
+        WebTestClient.RequestBodySpec request = webTestClient.post().uri("/tickets/reserve")
+            .contentType(MediaType.APPLICATION_JSON);
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return request
+            .bodyValue("{\"eventId\":%d,\"userId\":%d,\"quantity\":%d}".formatted(EVENT_ID, userId, quantity))
+            .exchange();
+    }
+
+    private Long reserveOk(long userId, int quantity) {
+        ReserveResponse response = reserve(userId, quantity, null)
+            .expectStatus().isOk()
+            .expectBody(ReserveResponse.class)
+            .returnResult().getResponseBody();
+        assertThat(response).isNotNull();
+        return response.reservationId();
+    }
+
+    @Nested
+    @DisplayName("Parcours complet")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("GIVEN événement inconnu WHEN reserve puis confirm THEN inventaire créé, ticket émis et listé")
+        void shouldReserveConfirmAndListTickets() {
+            Long reservationId = reserveOk(USER_ID, 3);
+
+            webTestClient.get().uri("/tickets/availability/{id}", EVENT_ID).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(TOTAL_TICKETS)
+                .jsonPath("$.available").isEqualTo(TOTAL_TICKETS - 3);
+
+            webTestClient.post().uri("/tickets/confirm").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"reservationId\":" + reservationId + "}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("CONFIRMED");
+
+            webTestClient.get().uri("/tickets/user/{id}", USER_ID).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].reservationId").isEqualTo(reservationId.intValue())
+                .jsonPath("$.items[0].status").isEqualTo("CONFIRMED");
+
+            webTestClient.get().uri("/tickets/user/{id}/tickets", USER_ID).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].quantity").isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("GIVEN réservation PENDING WHEN release THEN CANCELED et stock rendu")
+        void shouldReleaseAndRestoreStock() {
+            Long reservationId = reserveOk(USER_ID, 4);
+
+            webTestClient.post().uri("/tickets/release").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"reservationId\":" + reservationId + "}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("CANCELED");
+
+            assertThat(inventoryRepository.findById(EVENT_ID).block().getAvailable()).isEqualTo(TOTAL_TICKETS);
+        }
+
+        @Test
+        @DisplayName("GIVEN même clé d'idempotence WHEN reserve rejoué THEN même réservation, stock débité une fois")
+        void shouldReplayIdempotentReservation() {
+            Long first = reserve(USER_ID, 2, "key-1").expectStatus().isOk()
+                .expectBody(ReserveResponse.class).returnResult().getResponseBody().reservationId();
+            Long replay = reserve(USER_ID, 2, "key-1").expectStatus().isOk()
+                .expectBody(ReserveResponse.class).returnResult().getResponseBody().reservationId();
+
+            assertThat(replay).isEqualTo(first);
+            assertThat(inventoryRepository.findById(EVENT_ID).block().getReserved()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejets")
+    class RejectionTests {
+
+        @Test
+        @DisplayName("GIVEN stock épuisé WHEN reserve THEN 409 avec le corps standard")
+        void shouldRejectInsufficientStock() {
+            reserveOk(USER_ID, TOTAL_TICKETS);
+
+            reserve(USER_ID + 1, 1, null)
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Insufficient Stock")
+                .jsonPath("$.requested").isEqualTo(1)
+                .jsonPath("$.available").isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("GIVEN requête invalide WHEN reserve THEN 400 avec le détail des champs")
+        void shouldRejectInvalidRequest() {
+            webTestClient.post().uri("/tickets/reserve").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"eventId\":1,\"userId\":42,\"quantity\":0}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.errors.quantity").exists();
+        }
+
+        @Test
+        @DisplayName("GIVEN réservation inconnue WHEN confirm THEN 404")
+        void shouldRejectUnknownReservation() {
+            webTestClient.post().uri("/tickets/confirm").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"reservationId\":999}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.reservationId").isEqualTo(999);
+        }
+
+        @Test
+        @DisplayName("GIVEN statut inconnu WHEN liste des réservations THEN 400")
+        void shouldRejectUnknownStatus() {
+            webTestClient.get().uri("/tickets/user/{id}?status=UNKNOWN", USER_ID).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Invalid Parameter");
+        }
+    }
+
+    @Test
+    @DisplayName("GIVEN réservations simultanées WHEN stock limité THEN jamais de survente ni de mise à jour perdue")
+    void shouldNeverOversellUnderConcurrency() {
+        // Client non bloquant: les 30 requêtes partent ensemble sans immobiliser de thread
+        WebClient client = WebClient.create("http://localhost:" + port);
+        List<Integer> statuses = Flux.range(0, 30)
+            .flatMap(i -> client.post().uri("/tickets/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"eventId\":%d,\"userId\":%d,\"quantity\":1}".formatted(EVENT_ID, 100L + i))
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value())))
+            .collectList()
+            .block(Duration.ofSeconds(60));
+
+        long succeeded = statuses.stream().filter(status -> status == 200).count();
+        assertThat(statuses).allMatch(status -> status == 200 || status == 409);
+        assertThat(succeeded).isLessThanOrEqualTo(TOTAL_TICKETS);
+        assertThat(inventoryRepository.findById(EVENT_ID).block().getReserved()).isEqualTo((int) succeeded);
+    }
+}
@@ -0,0 +1,52 @@
+package com.acme.tickets.reactive;
+
+import com.acme.tickets.config.OptimisticRetryProperties;
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.config.TicketInventoryProperties;
+import com.acme.tickets.observability.RejectionLogThrottle;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Variante réactive du service d'inventaire (WebFlux + R2DBC), même API {@code /tickets/*}.
+ * <p>
+ * Partage avec la pile servlet les entités et leurs règles, les DTO, les exceptions et les
+ * propriétés; seuls l'accès aux données, le client du catalogue, la consommation RabbitMQ et
+ * la couche web sont réécrits ici. Le scan est limité à {@code com.acme.tickets.reactive}.
+ * Les composants de ce paquet sont conditionnés à une application réactive: le scan de
+ * l'application servlet, qui couvre {@code com.acme.tickets}, les ignore.
+ */
+@SpringBootApplication(exclude = {
+    DataSourceAutoConfiguration.class,
+    DataSourceTransactionManagerAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class,
+    JpaRepositoriesAutoConfiguration.class,
+    RabbitAutoConfiguration.class
+})
+@Import({
+    TicketInventoryProperties.class,
+    OptimisticRetryProperties.class,
+    PrewarmProperties.class,
+    RejectionLogThrottle.class
+})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTicketInventoryApplication {
+
+    /** Profil Spring de la variante réactive (application-reactive.properties). */
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveTicketInventoryApplication.class)
+            .web(WebApplicationType.REACTIVE)
+            .profiles(PROFILE)
+            .run(args);
+    }
+}
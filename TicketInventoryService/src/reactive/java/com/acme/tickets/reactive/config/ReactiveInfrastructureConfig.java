@@ -0,0 +1,78 @@
+package com.acme.tickets.reactive.config;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.Reservation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Infrastructure de la variante réactive: serveur Netty, sécurité WebFlux et horodatage des entités.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInfrastructureConfig {
+
+    /**
+     * Netty explicitement: Tomcat, présent pour la pile servlet, serait sinon retenu et
+     * servirait WebFlux via l'adaptateur servlet, avec son pool de threads.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Même politique que la pile servlet (SecurityConfig): API ouverte, CSRF désactivé.
+     * TODO: Implémenter JWT/OAuth2 pour la production.
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .authorizeExchange(exchange -> exchange.anyExchange().permitAll())
+            .build();
+    }
+
+    /**
+     * Équivalent R2DBC des callbacks {@code @PrePersist}/{@code @PreUpdate} de la réservation,
+     * que seul JPA exécute, et de la version initiale que JPA attribue à l'insertion.
+     */
+    @Bean
+    public BeforeConvertCallback<Reservation> reservationTimestamps() {
+        return (reservation, table) -> {
+            Instant now = Instant.now();
+            if (reservation.getVersion() == null) {
+                reservation.setVersion(0);
+            }
+            if (reservation.getCreatedAt() == null) {
+                reservation.setCreatedAt(now);
+            }
+            reservation.setUpdatedAt(now);
+            return Mono.just(reservation);
+        };
+    }
+
+    /**
+     * Équivalent R2DBC du callback {@code @PrePersist} de l'inventaire et de sa version initiale.
+     */
+    @Bean
+    public BeforeConvertCallback<Inventory> inventoryTimestamps() {
+        return (inventory, table) -> {
+            if (inventory.getVersion() == null) {
+                inventory.setVersion(0);
+            }
+            inventory.setUpdatedAt(Instant.now());
+            return Mono.just(inventory);
+        };
+    }
+}
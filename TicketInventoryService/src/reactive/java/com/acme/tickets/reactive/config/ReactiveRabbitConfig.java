@@ -0,0 +1,55 @@
+package com.acme.tickets.reactive.config;
+
+import com.rabbitmq.client.ConnectionFactory;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+import reactor.rabbitmq.RabbitFlux;
+import reactor.rabbitmq.Receiver;
+import reactor.rabbitmq.ReceiverOptions;
+import reactor.rabbitmq.Sender;
+import reactor.rabbitmq.SenderOptions;
+
+/**
+ * Configuration Reactor RabbitMQ de la variante réactive.
+ * Connexion construite à partir des mêmes propriétés {@code spring.rabbitmq.*} que la pile servlet.
+ * Désactivable par {@code ticket-inventory.reactive.rabbitmq.enabled=false} (tests, tirs de charge).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "ticket-inventory.reactive.rabbitmq.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RabbitProperties.class)
+public class ReactiveRabbitConfig {
+
+    @Bean
+    public ConnectionFactory reactiveRabbitConnectionFactory(RabbitProperties properties) {
+        ConnectionFactory connectionFactory = new ConnectionFactory();
+        connectionFactory.setHost(properties.determineHost());
+        connectionFactory.setPort(properties.determinePort());
+        connectionFactory.setUsername(properties.determineUsername());
+        connectionFactory.setPassword(properties.determinePassword());
+        if (properties.determineVirtualHost() != null) {
+            connectionFactory.setVirtualHost(properties.determineVirtualHost());
+        }
+        connectionFactory.useNio();
+        return connectionFactory;
+    }
+
+    @Bean(destroyMethod = "close")
+    public Receiver rabbitReceiver(ConnectionFactory reactiveRabbitConnectionFactory) {
+        return RabbitFlux.createReceiver(new ReceiverOptions()
+            .connectionFactory(reactiveRabbitConnectionFactory)
+            .connectionSubscriptionScheduler(Schedulers.boundedElastic()));
+    }
+
+    @Bean(destroyMethod = "close")
+    public Sender rabbitSender(ConnectionFactory reactiveRabbitConnectionFactory) {
+        return RabbitFlux.createSender(new SenderOptions()
+            .connectionFactory(reactiveRabbitConnectionFactory)
+            .resourceManagementScheduler(Schedulers.boundedElastic()));
+    }
+}
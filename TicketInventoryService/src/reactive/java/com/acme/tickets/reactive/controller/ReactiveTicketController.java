@@ -0,0 +1,86 @@
+package com.acme.tickets.reactive.controller;
+
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.dto.*;
+import com.acme.tickets.reactive.service.ReactiveReservationService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Contrôleur WebFlux de la variante réactive.
+ * Mêmes chemins, paramètres et DTO que TicketController (INT-016 à INT-021), dont la
+ * documentation OpenAPI fait référence.
+ */
+@RestController
+@RequestMapping("/tickets")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTicketController {
+
+    private final ReactiveReservationService reservationService;
+
+    public ReactiveTicketController(ReactiveReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * INT-016: Réservation de tickets pour un événement.
+     */
+    @PostMapping("/reserve")
+    public Mono<ResponseEntity<ReserveResponse>> reserve(
+            @Valid @RequestBody ReserveRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return reservationService.reserveTickets(request, idempotencyKey).map(ResponseEntity::ok);
+    }
+
+    /**
+     * INT-017: Confirmation d'une réservation.
+     */
+    @PostMapping("/confirm")
+    public Mono<ResponseEntity<ConfirmResponse>> confirm(@Valid @RequestBody ConfirmRequest request) {
+        return reservationService.confirmReservation(request).map(ResponseEntity::ok);
+    }
+
+    /**
+     * INT-018: Libération (annulation) d'une réservation.
+     */
+    @PostMapping("/release")
+    public Mono<ResponseEntity<ReleaseResponse>> release(@Valid @RequestBody ReleaseRequest request) {
+        return reservationService.releaseReservation(request).map(ResponseEntity::ok);
+    }
+
+    /**
+     * INT-019: Disponibilité des tickets pour un événement.
+     */
+    @GetMapping("/availability/{eventId}")
+    public Mono<ResponseEntity<AvailabilityResponse>> getAvailability(@PathVariable Long eventId) {
+        return reservationService.getAvailability(eventId).map(ResponseEntity::ok);
+    }
+
+    /**
+     * INT-020: Réservations et achats d'un utilisateur, paginés par curseur.
+     */
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<UserReservationsResponse>> getUserReservations(
+            @PathVariable Long userId,
+            @RequestParam(value = "status", required = false) List<ReservationStatus> status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return reservationService.getUserReservations(userId, status, cursor, limit).map(ResponseEntity::ok);
+    }
+
+    /**
+     * INT-021: Tickets émis pour un utilisateur, paginés par curseur.
+     */
+    @GetMapping("/user/{userId}/tickets")
+    public Mono<ResponseEntity<UserTicketsResponse>> getUserTickets(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return reservationService.getUserTickets(userId, cursor, limit).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,119 @@
+package com.acme.tickets.reactive.exception;
+
+import com.acme.tickets.exception.*;
+import com.acme.tickets.observability.RejectionLogThrottle;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Map;
+
+/**
+ * Gestionnaire des exceptions de la variante réactive.
+ * Délègue à {@link GlobalExceptionHandler}: mêmes statuts, mêmes corps pré-sérialisés et même
+ * journalisation limitée que la pile servlet; seules les exceptions propres à WebFlux
+ * (validation, paramètres mal typés) sont adaptées ici.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private final GlobalExceptionHandler delegate;
+
+    public ReactiveExceptionHandler(RejectionLogThrottle rejectionLog) {
+        this.delegate = new GlobalExceptionHandler(rejectionLog);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationException(
+            WebExchangeBindException ex, ServerWebExchange exchange) {
+        return delegate.validationFailed(ex.getBindingResult(), describe(exchange.getRequest()));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Map<String, Object>> handleInputException(ServerWebInputException ex) {
+        if (ex.getCause() instanceof TypeMismatchException mismatch) {
+            return delegate.invalidParameter(parameterName(ex, mismatch), mismatch.getValue());
+        }
+        return delegate.invalidParameter(parameterName(ex, null), ex.getReason());
+    }
+
+    @ExceptionHandler(ReservationNotFoundException.class)
+    public ResponseEntity<byte[]> handleReservationNotFound(ReservationNotFoundException ex) {
+        return delegate.handleReservationNotFound(ex);
+    }
+
+    @ExceptionHandler(InventoryNotFoundException.class)
+    public ResponseEntity<byte[]> handleInventoryNotFound(InventoryNotFoundException ex) {
+        return delegate.handleInventoryNotFound(ex);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<byte[]> handleInsufficientStock(InsufficientStockException ex) {
+        return delegate.handleInsufficientStock(ex);
+    }
+
+    @ExceptionHandler(PurchaseQuotaExceededException.class)
+    public ResponseEntity<byte[]> handlePurchaseQuotaExceeded(PurchaseQuotaExceededException ex) {
+        return delegate.handlePurchaseQuotaExceeded(ex);
+    }
+
+    @ExceptionHandler(CategoryLimitExceededException.class)
+    public ResponseEntity<byte[]> handleCategoryLimitExceeded(CategoryLimitExceededException ex) {
+        return delegate.handleCategoryLimitExceeded(ex);
+    }
+
+    @ExceptionHandler(ReservationExpiredException.class)
+    public ResponseEntity<byte[]> handleReservationExpired(ReservationExpiredException ex) {
+        return delegate.handleReservationExpired(ex);
+    }
+
+    @ExceptionHandler(InvalidReservationStateException.class)
+    public ResponseEntity<byte[]> handleInvalidReservationState(InvalidReservationStateException ex) {
+        return delegate.handleInvalidReservationState(ex);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<byte[]> handleBulkheadFull(BulkheadFullException ex) {
+        return delegate.handleBulkheadFull(ex);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+        return delegate.handleInvalidCursor(ex);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, ServerWebExchange exchange) {
+        return delegate.concurrentUpdate(ex, describe(exchange.getRequest()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+        return delegate.handleGenericException(ex);
+    }
+
+    /**
+     * Même forme que WebRequest#getDescription(false) côté servlet.
+     */
+    private static String describe(ServerHttpRequest request) {
+        return "uri=" + request.getPath().value();
+    }
+
+    private static String parameterName(ServerWebInputException ex, TypeMismatchException mismatch) {
+        MethodParameter parameter = ex.getMethodParameter();
+        if (parameter != null && parameter.getParameterName() != null) {
+            return parameter.getParameterName();
+        }
+        return mismatch != null && mismatch.getPropertyName() != null ? mismatch.getPropertyName() : "body";
+    }
+}
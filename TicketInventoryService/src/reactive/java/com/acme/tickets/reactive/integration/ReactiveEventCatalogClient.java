@@ -0,0 +1,78 @@
+package com.acme.tickets.reactive.integration;
+
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.integration.EventMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client non bloquant d'EventCatalog, avec cache des métadonnées d'événement.
+ * <p>
+ * Même contrat que EventCatalogClient + EventMetadataCache côté servlet: un échec d'appel
+ * produit des métadonnées vides, jamais mises en cache; une réponse valide est conservée
+ * {@code ticket-inventory.prewarm.metadata-ttl-seconds}. Les abonnés simultanés d'un même
+ * événement partagent un seul appel en vol.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventCatalogClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEventCatalogClient.class);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> EVENT_TYPE =
+        new ParameterizedTypeReference<>() { };
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final WebClient webClient;
+    private final PrewarmProperties properties;
+    private final Map<Long, Mono<Map<String, Object>>> events = new ConcurrentHashMap<>();
+
+    public ReactiveEventCatalogClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${eventcatalog.service.base-url}") String baseUrl,
+            PrewarmProperties properties) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.properties = properties;
+    }
+
+    /**
+     * Métadonnées de l'événement, depuis le cache ou EventCatalog.
+     */
+    public Mono<EventMetadata> getEventMetadata(Long eventId) {
+        return events.computeIfAbsent(eventId, this::load)
+            .map(event -> EventMetadata.from(eventId, event));
+    }
+
+    /**
+     * Oublie les métadonnées de l'événement: le prochain accès rappelle le catalogue.
+     */
+    public void evict(Long eventId) {
+        events.remove(eventId);
+    }
+
+    private Mono<Map<String, Object>> load(Long eventId) {
+        Duration ttl = Duration.ofSeconds(properties.getMetadataTtlSeconds());
+        return webClient.get()
+            .uri("/events/{id}", eventId)
+            .retrieve()
+            .bodyToMono(EVENT_TYPE)
+            .timeout(REQUEST_TIMEOUT)
+            .onErrorResume(e -> {
+                logger.error("[ReactiveEventCatalogClient] échec récupération eventId={}: {}", eventId, e.getMessage());
+                return Mono.empty();
+            })
+            .defaultIfEmpty(Map.of())
+            // Durée nulle: l'appel en vol est partagé, le résultat n'est pas conservé
+            .cache(event -> event.isEmpty() ? Duration.ZERO : ttl, e -> Duration.ZERO, () -> Duration.ZERO);
+    }
+}
@@ -0,0 +1,120 @@
+package com.acme.tickets.reactive.messaging;
+
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.PaymentStatusMessage;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.exception.ReservationNotFoundException;
+import com.acme.tickets.reactive.service.ReactiveReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.rabbitmq.AcknowledgableDelivery;
+import reactor.rabbitmq.ConsumeOptions;
+import reactor.rabbitmq.QueueSpecification;
+import reactor.rabbitmq.Receiver;
+import reactor.rabbitmq.Sender;
+
+import java.io.IOException;
+
+/**
+ * Consommateur réactif des statuts de paiement (queue {@code payment-status}), pendant de
+ * PaymentStatusConsumer: SUCCESS confirme, FAILED et REFUNDED libèrent la réservation.
+ * <p>
+ * Au plus {@code prefetch} messages sont en cours de traitement; chaque message est acquitté
+ * après traitement, y compris en cas d'échec métier (journalisé, pas de remise en file).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "ticket-inventory.reactive.rabbitmq.enabled", matchIfMissing = true)
+public class ReactivePaymentStatusConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentStatusConsumer.class);
+
+    private final Receiver receiver;
+    private final Sender sender;
+    private final ReactiveReservationService reservationService;
+    private final ObjectMapper objectMapper;
+    private final String queue;
+    private final int prefetch;
+    private Disposable subscription;
+
+    public ReactivePaymentStatusConsumer(
+            Receiver receiver,
+            Sender sender,
+            ReactiveReservationService reservationService,
+            ObjectMapper objectMapper,
+            @Value("${rabbitmq.queue.payment-status:payment-status}") String queue,
+            @Value("${ticket-inventory.reactive.rabbitmq.prefetch:32}") int prefetch) {
+        this.receiver = receiver;
+        this.sender = sender;
+        this.reservationService = reservationService;
+        this.objectMapper = objectMapper;
+        this.queue = queue;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Déclare la queue (durable, comme RabbitMQConfig) puis démarre la consommation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = sender.declareQueue(QueueSpecification.queue(queue).durable(true))
+            .thenMany(receiver.consumeManualAck(queue, new ConsumeOptions().qos(prefetch)))
+            .flatMap(delivery -> handle(delivery).doFinally(signal -> delivery.ack()), prefetch)
+            .subscribe(
+                null,
+                e -> logger.error("❌ Consommation de la queue '{}' interrompue: {}", queue, e.getMessage(), e));
+        logger.info("Consommation réactive de la queue '{}' démarrée", queue);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> handle(AcknowledgableDelivery delivery) {
+        PaymentStatusMessage message;
+        try {
+            message = objectMapper.readValue(delivery.getBody(), PaymentStatusMessage.class);
+        } catch (IOException e) {
+            logger.error("❌ Message de paiement illisible: {}", e.getMessage());
+            return Mono.empty();
+        }
+        logger.info("📩 Message de paiement structuré reçu: reservation={}, status={}",
+            message.reservationId(), message.status());
+
+        Mono<String> action;
+        if (message.isSuccess()) {
+            action = reservationService.confirmReservation(new ConfirmRequest(message.reservationId()))
+                .map(response -> response.status());
+        } else if (message.isFailed() || message.isRefunded()) {
+            action = reservationService.releaseReservation(new ReleaseRequest(message.reservationId()))
+                .map(response -> response.status());
+        } else {
+            logger.warn("⚠️ Statut de paiement non reconnu: {}", message.status());
+            return Mono.empty();
+        }
+        return action
+            .doOnNext(status -> logger.info("✅ Réservation {} traitée. Statut: {}", message.reservationId(), status))
+            .onErrorResume(ReservationNotFoundException.class, e -> {
+                logger.error("❌ Réservation non trouvée: {}", message.reservationId());
+                return Mono.empty();
+            })
+            .onErrorResume(e -> {
+                logger.error("❌ Erreur lors du traitement du paiement: {}", e.getMessage(), e);
+                return Mono.empty();
+            })
+            .then();
+    }
+}
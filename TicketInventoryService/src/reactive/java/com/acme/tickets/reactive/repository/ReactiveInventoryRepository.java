@@ -0,0 +1,41 @@
+package com.acme.tickets.reactive.repository;
+
+import com.acme.tickets.domain.entity.Inventory;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Repository R2DBC des inventaires (table {@code inventory}).
+ * La mise à jour est protégée par la version de la ligne, comme en JPA.
+ */
+@Repository
+public interface ReactiveInventoryRepository extends R2dbcRepository<Inventory, Long> {
+
+    /**
+     * Met à jour le stock réservé si la version lue est toujours la version courante.
+     *
+     * @param eventId L'identifiant de l'événement
+     * @param reserved Nouveau nombre de tickets réservés
+     * @param version Version lue avant modification
+     * @param updatedAt Date de mise à jour
+     * @return 1 si la ligne a été mise à jour, 0 si une autre transaction l'a modifiée entre-temps
+     */
+    @Modifying
+    @Query("""
+        UPDATE inventory
+        SET reserved = :reserved, version = version + 1, updated_at = :updatedAt
+        WHERE event_id = :eventId AND version = :version
+        """)
+    Mono<Integer> updateReserved(
+        @Param("eventId") Long eventId,
+        @Param("reserved") int reserved,
+        @Param("version") int version,
+        @Param("updatedAt") Instant updatedAt
+    );
+}
@@ -0,0 +1,99 @@
+package com.acme.tickets.reactive.repository;
+
+import com.acme.tickets.domain.entity.Reservation;
+import com.acme.tickets.domain.projection.ReservationSummary;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Repository R2DBC des réservations (table {@code reservation}).
+ * Mêmes requêtes par curseur que ReservationRepository, en SQL natif.
+ */
+@Repository
+public interface ReactiveReservationRepository extends R2dbcRepository<Reservation, Long> {
+
+    /**
+     * Trouve une réservation par clé d'idempotence.
+     *
+     * @param idempotencyKey La clé d'idempotence
+     * @return La réservation correspondante, vide si elle n'existe pas
+     */
+    Mono<Reservation> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Change le statut d'une réservation si la version lue est toujours la version courante.
+     *
+     * @param id L'identifiant de la réservation
+     * @param status Nom du nouveau statut
+     * @param version Version lue avant modification
+     * @param updatedAt Date de mise à jour
+     * @return 1 si la ligne a été mise à jour, 0 si une autre transaction l'a modifiée entre-temps
+     */
+    @Modifying
+    @Query("""
+        UPDATE reservation
+        SET status = :status, version = version + 1, updated_at = :updatedAt
+        WHERE id = :id AND version = :version
+        """)
+    Mono<Integer> updateStatus(
+        @Param("id") Long id,
+        @Param("status") String status,
+        @Param("version") int version,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    /**
+     * Première page des réservations d'un utilisateur, triées par (created_at, id) décroissants.
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param statuses Les noms des statuts à inclure
+     * @param limit Taille de la page
+     * @return Projections des réservations de la page
+     */
+    @Query("""
+        SELECT id, event_id, quantity, status, created_at, updated_at
+        FROM reservation
+        WHERE user_id = :userId AND status IN (:statuses)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<ReservationSummary> findFirstPageByUserId(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<String> statuses,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Page suivante des réservations d'un utilisateur (lignes strictement après le curseur).
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param statuses Les noms des statuts à inclure
+     * @param createdAt Date de création de la dernière ligne de la page précédente
+     * @param id Identifiant de la dernière ligne de la page précédente
+     * @param limit Taille de la page
+     * @return Projections des réservations de la page
+     */
+    @Query("""
+        SELECT id, event_id, quantity, status, created_at, updated_at
+        FROM reservation
+        WHERE user_id = :userId AND status IN (:statuses)
+          AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id))
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<ReservationSummary> findPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("statuses") Collection<String> statuses,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+}
@@ -0,0 +1,58 @@
+package com.acme.tickets.reactive.repository;
+
+import com.acme.tickets.domain.entity.Ticket;
+import com.acme.tickets.domain.projection.TicketSummary;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+/**
+ * Repository R2DBC des tickets émis (table {@code ticket}).
+ */
+@Repository
+public interface ReactiveTicketRepository extends R2dbcRepository<Ticket, Long> {
+
+    /**
+     * Première page des tickets d'un utilisateur, triés par (created_at, id) décroissants.
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param limit Taille de la page
+     * @return Projections des tickets de la page
+     */
+    @Query("""
+        SELECT id, reservation_id, event_id, quantity, created_at
+        FROM ticket
+        WHERE user_id = :userId
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<TicketSummary> findFirstPageByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Page suivante des tickets d'un utilisateur (lignes strictement après le curseur).
+     *
+     * @param userId L'identifiant de l'utilisateur
+     * @param createdAt Date de création du dernier ticket de la page précédente
+     * @param id Identifiant du dernier ticket de la page précédente
+     * @param limit Taille de la page
+     * @return Projections des tickets de la page
+     */
+    @Query("""
+        SELECT id, reservation_id, event_id, quantity, created_at
+        FROM ticket
+        WHERE user_id = :userId
+          AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id))
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<TicketSummary> findPageByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        @Param("limit") int limit
+    );
+}
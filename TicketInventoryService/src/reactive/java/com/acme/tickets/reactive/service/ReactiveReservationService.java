@@ -0,0 +1,358 @@
+package com.acme.tickets.reactive.service;
+
+import com.acme.tickets.config.OptimisticRetryProperties;
+import com.acme.tickets.config.TicketInventoryProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.Reservation;
+import com.acme.tickets.domain.entity.Ticket;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.projection.ReservationSummary;
+import com.acme.tickets.domain.projection.TicketSummary;
+import com.acme.tickets.dto.*;
+import com.acme.tickets.exception.*;
+import com.acme.tickets.integration.EventMetadata;
+import com.acme.tickets.reactive.integration.ReactiveEventCatalogClient;
+import com.acme.tickets.reactive.repository.ReactiveInventoryRepository;
+import com.acme.tickets.reactive.repository.ReactiveReservationRepository;
+import com.acme.tickets.reactive.repository.ReactiveTicketRepository;
+import com.acme.tickets.service.KeysetCursor;
+import com.acme.tickets.service.ReservationPolicy;
+import com.acme.tickets.service.TicketInventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service de réservation de la variante réactive: mêmes règles et mêmes réponses que
+ * TicketInventoryService, sans thread bloqué par requête.
+ * <p>
+ * Les règles viennent du domaine partagé (Inventory, Reservation, ReservationPolicy). La
+ * concurrence repose sur la version des lignes (pas de verrou pessimiste, qui retiendrait
+ * une connexion R2DBC), vérifiée par des UPDATE conditionnels: une écriture perdue est rejouée
+ * avec attente exponentielle, selon {@code ticket-inventory.retry.*}. Les inventaires sont créés hors transaction avant la première
+ * réservation; un insert concurrent se solde par une violation de clé, traitée comme un succès.
+ * <p>
+ * Non repris de la pile servlet: quotas par utilisateur, cloisons par événement et métriques
+ * métier, qui s'appuient sur des structures bloquantes.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReservationService.class);
+
+    private static final List<String> ALL_STATUSES = Arrays.stream(ReservationStatus.values())
+        .map(Enum::name)
+        .toList();
+
+    private final ReactiveInventoryRepository inventoryRepository;
+    private final ReactiveReservationRepository reservationRepository;
+    private final ReactiveTicketRepository ticketRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final ReactiveEventCatalogClient catalogClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReservationPolicy policy;
+    private final OptimisticRetryProperties retryProperties;
+    private final Set<Long> initialized = ConcurrentHashMap.newKeySet();
+
+    public ReactiveReservationService(
+            ReactiveInventoryRepository inventoryRepository,
+            ReactiveReservationRepository reservationRepository,
+            ReactiveTicketRepository ticketRepository,
+            R2dbcEntityTemplate entityTemplate,
+            ReactiveEventCatalogClient catalogClient,
+            TransactionalOperator transactionalOperator,
+            TicketInventoryProperties properties,
+            OptimisticRetryProperties retryProperties) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationRepository = reservationRepository;
+        this.ticketRepository = ticketRepository;
+        this.entityTemplate = entityTemplate;
+        this.catalogClient = catalogClient;
+        this.transactionalOperator = transactionalOperator;
+        this.policy = new ReservationPolicy(properties);
+        this.retryProperties = retryProperties;
+    }
+
+    /**
+     * Réserve des tickets pour un événement (voir TicketInventoryService#reserveTickets).
+     *
+     * @param request Détails de la réservation
+     * @param idempotencyKey Clé d'idempotence, null si absente
+     * @return Réponse avec l'ID de réservation et l'expiration
+     */
+    public Mono<ReserveResponse> reserveTickets(ReserveRequest request, String idempotencyKey) {
+        Mono<ReserveResponse> reserve = catalogClient.getEventMetadata(request.eventId())
+            .flatMap(metadata -> ensureInventory(metadata)
+                .then(Mono.defer(() -> reserveInTransaction(request, clamp(metadata, request.quantity()), idempotencyKey))));
+        if (idempotencyKey == null) {
+            return reserve;
+        }
+        return reservationRepository.findByIdempotencyKey(idempotencyKey)
+            .filter(Reservation::isActive)
+            .doOnNext(existing -> logger.info("Réservation idempotente trouvée: {}", existing.getId()))
+            .map(this::buildReserveResponse)
+            .switchIfEmpty(reserve)
+            // Requête concurrente portant la même clé: rejouer la réservation qu'elle a créée
+            .onErrorResume(DataIntegrityViolationException.class, e ->
+                reservationRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(this::buildReserveResponse)
+                    .switchIfEmpty(Mono.error(e)));
+    }
+
+    /**
+     * Confirme une réservation et émet ses tickets (voir TicketInventoryService#confirmReservation).
+     */
+    public Mono<ConfirmResponse> confirmReservation(ConfirmRequest request) {
+        Mono<ConfirmResponse> confirm = getReservationOrError(request.reservationId())
+            .flatMap(reservation -> {
+                if (!reservation.canBeConfirmed()) {
+                    if (reservation.isExpired()) {
+                        return Mono.error(new ReservationExpiredException(reservation.getId()));
+                    }
+                    return Mono.error(new InvalidReservationStateException(
+                        reservation.getId(), reservation.getStatus(), ReservationStatus.PENDING));
+                }
+                reservation.confirm();
+                return updateStatus(reservation)
+                    .flatMap(saved -> ticketRepository.save(new Ticket(
+                        saved.getId(), saved.getUserId(), saved.getEventId(), saved.getQuantity())))
+                    .doOnNext(ticket -> logger.info("Réservation {} confirmée", ticket.getReservationId()))
+                    .thenReturn(new ConfirmResponse(ReservationStatus.CONFIRMED.name()));
+            });
+        return transactionalOperator.transactional(confirm).retryWhen(optimisticRetry());
+    }
+
+    /**
+     * Annule une réservation et libère son stock (voir TicketInventoryService#releaseReservation).
+     */
+    public Mono<ReleaseResponse> releaseReservation(ReleaseRequest request) {
+        Mono<ReleaseResponse> release = getReservationOrError(request.reservationId())
+            .flatMap(reservation -> {
+                if (!reservation.isActive()) {
+                    logger.warn("Réservation {} déjà annulée/expirée: {}",
+                        reservation.getId(), reservation.getStatus());
+                    return Mono.just(new ReleaseResponse(reservation.getStatus().name()));
+                }
+                Mono<Inventory> stock = reservation.getStatus() == ReservationStatus.PENDING
+                    ? releaseInventoryStock(reservation)
+                    : Mono.empty();
+                reservation.cancel();
+                return stock
+                    .then(updateStatus(reservation))
+                    .doOnNext(saved -> logger.info("Réservation {} annulée", saved.getId()))
+                    .thenReturn(new ReleaseResponse(ReservationStatus.CANCELED.name()));
+            });
+        return transactionalOperator.transactional(release).retryWhen(optimisticRetry());
+    }
+
+    /**
+     * Disponibilité des tickets d'un événement, inventaire initialisé au besoin.
+     */
+    public Mono<AvailabilityResponse> getAvailability(Long eventId) {
+        return catalogClient.getEventMetadata(eventId)
+            .flatMap(this::ensureInventory)
+            .then(getInventoryOrError(eventId))
+            .map(inventory -> new AvailabilityResponse(eventId, inventory.getTotal(), inventory.getAvailable()));
+    }
+
+    /**
+     * Page des réservations d'un utilisateur (pagination par curseur).
+     */
+    public Mono<UserReservationsResponse> getUserReservations(
+            Long userId, Collection<ReservationStatus> statuses, String cursor, int limit) {
+        List<String> effectiveStatuses = (statuses == null || statuses.isEmpty())
+            ? ALL_STATUSES
+            : statuses.stream().map(Enum::name).toList();
+        int pageSize = TicketInventoryService.clampPageSize(limit);
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (InvalidCursorException e) {
+            return Mono.error(e);
+        }
+
+        // Une ligne de plus que la page pour savoir s'il existe une page suivante
+        return (after == null
+                ? reservationRepository.findFirstPageByUserId(userId, effectiveStatuses, pageSize + 1)
+                : reservationRepository.findPageByUserIdAfter(
+                    userId, effectiveStatuses, after.createdAt(), after.id(), pageSize + 1))
+            .collectList()
+            .map(rows -> {
+                List<ReservationSummary> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+                String nextCursor = null;
+                if (rows.size() > pageSize) {
+                    ReservationSummary last = page.get(page.size() - 1);
+                    nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+                }
+                return new UserReservationsResponse(page.stream()
+                    .map(r -> new UserReservationsItem(r.getId(), r.getEventId(), r.getQuantity(),
+                        r.getStatus().name(), r.getCreatedAt(), r.getUpdatedAt()))
+                    .toList(), nextCursor);
+            });
+    }
+
+    /**
+     * Page des tickets émis pour un utilisateur (pagination par curseur).
+     */
+    public Mono<UserTicketsResponse> getUserTickets(Long userId, String cursor, int limit) {
+        int pageSize = TicketInventoryService.clampPageSize(limit);
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (InvalidCursorException e) {
+            return Mono.error(e);
+        }
+
+        return (after == null
+                ? ticketRepository.findFirstPageByUserId(userId, pageSize + 1)
+                : ticketRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), pageSize + 1))
+            .collectList()
+            .map(rows -> {
+                List<TicketSummary> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+                String nextCursor = null;
+                if (rows.size() > pageSize) {
+                    TicketSummary last = page.get(page.size() - 1);
+                    nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+                }
+                return new UserTicketsResponse(page.stream()
+                    .map(t -> new UserTicketsItem(
+                        t.getId(), t.getReservationId(), t.getEventId(), t.getQuantity(), t.getCreatedAt()))
+                    .toList(), nextCursor);
+            });
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private Mono<ReserveResponse> reserveInTransaction(ReserveRequest request, int quantity, String idempotencyKey) {
+        Mono<ReserveResponse> reserve = getInventoryOrError(request.eventId())
+            .flatMap(inventory -> {
+                inventory.reserve(quantity);
+                return updateInventory(inventory);
+            })
+            .flatMap(inventory -> {
+                Reservation reservation = new Reservation(
+                    request.eventId(), request.userId(), quantity, ReservationStatus.PENDING);
+                reservation.setHoldExpiresAt(policy.holdExpiresAt(Instant.now()));
+                reservation.setIdempotencyKey(idempotencyKey);
+                return reservationRepository.save(reservation);
+            })
+            .doOnNext(saved -> logger.info("Réservation créée avec succès: {}, expire à {}",
+                saved.getId(), saved.getHoldExpiresAt()))
+            .map(this::buildReserveResponse);
+        return transactionalOperator.transactional(reserve).retryWhen(optimisticRetry());
+    }
+
+    /**
+     * Règle métier: limite par catégorie (peut ajuster la quantité demandée).
+     */
+    private int clamp(EventMetadata metadata, int requestedQuantity) {
+        int maxAllowed = policy.maxPerReservation(metadata.categoryType());
+        if (requestedQuantity > maxAllowed) {
+            logger.info("Quantité demandée {} > limite {} pour catégorie {}: ajustement automatique",
+                requestedQuantity, maxAllowed, metadata.categoryType());
+            return maxAllowed;
+        }
+        return requestedQuantity;
+    }
+
+    /**
+     * Crée l'inventaire de l'événement s'il est absent, dans sa propre transaction.
+     */
+    private Mono<Void> ensureInventory(EventMetadata metadata) {
+        Long eventId = metadata.eventId();
+        if (initialized.contains(eventId)) {
+            return Mono.empty();
+        }
+        return inventoryRepository.existsById(eventId)
+            .flatMap(exists -> exists
+                ? Mono.<Void>empty()
+                // Identifiant attribué: save() produirait un UPDATE
+                : entityTemplate.insert(new Inventory(eventId, metadata.totalTickets()))
+                    .doOnNext(created -> logger.info("Inventaire de l'événement {} initialisé: {} billets",
+                        eventId, created.getTotal()))
+                    .then()
+                    .onErrorResume(DataIntegrityViolationException.class, e -> {
+                        logger.debug("Inventaire de l'événement {} créé par une requête concurrente", eventId);
+                        return Mono.empty();
+                    }))
+            .doOnSuccess(done -> initialized.add(eventId));
+    }
+
+    private Mono<Inventory> releaseInventoryStock(Reservation reservation) {
+        return getInventoryOrError(reservation.getEventId())
+            .flatMap(inventory -> {
+                int reservedBefore = inventory.getReserved();
+                if (!inventory.release(reservation.getQuantity())) {
+                    logger.error("Tentative de stock négatif: {} - {}, ramené à 0",
+                        reservedBefore, reservation.getQuantity());
+                }
+                return updateInventory(inventory);
+            });
+    }
+
+    private Mono<Inventory> updateInventory(Inventory inventory) {
+        return inventoryRepository.updateReserved(
+                inventory.getEventId(), inventory.getReserved(), inventory.getVersion(), Instant.now())
+            .flatMap(updated -> updated == 1
+                ? Mono.just(inventory)
+                : Mono.error(new OptimisticLockingFailureException(
+                    "Inventaire de l'événement " + inventory.getEventId() + " modifié entre-temps")));
+    }
+
+    private Mono<Reservation> updateStatus(Reservation reservation) {
+        return reservationRepository.updateStatus(
+                reservation.getId(), reservation.getStatus().name(), reservation.getVersion(), Instant.now())
+            .flatMap(updated -> updated == 1
+                ? Mono.just(reservation)
+                : Mono.error(new OptimisticLockingFailureException(
+                    "Réservation " + reservation.getId() + " modifiée entre-temps")));
+    }
+
+    private Mono<Reservation> getReservationOrError(Long id) {
+        return reservationRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new ReservationNotFoundException(id)));
+    }
+
+    private Mono<Inventory> getInventoryOrError(Long eventId) {
+        return inventoryRepository.findById(eventId)
+            .switchIfEmpty(Mono.error(() -> new InventoryNotFoundException(eventId)));
+    }
+
+    /**
+     * Rejeu des conflits de version: même budget de tentatives et mêmes attentes que
+     * OptimisticRetryExecutor, sans bloquer de thread pendant l'attente.
+     */
+    private Retry optimisticRetry() {
+        return Retry.backoff(
+                Math.max(retryProperties.getMaxAttempts() - 1, 0),
+                Duration.ofMillis(retryProperties.getInitialBackoffMs()))
+            .maxBackoff(Duration.ofMillis(retryProperties.getMaxBackoffMs()))
+            .filter(OptimisticLockingFailureException.class::isInstance)
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private ReserveResponse buildReserveResponse(Reservation reservation) {
+        return new ReserveResponse(
+            reservation.getId(),
+            reservation.getStatus().name(),
+            reservation.getHoldExpiresAt(),
+            reservation.getQuantity()
+        );
+    }
+}
@@ -0,0 +1,48 @@
+-- Schéma de la variante réactive, identique à celui généré par Hibernate pour la pile servlet.
+-- Exécuté au démarrage sur une base embarquée uniquement (spring.sql.init.mode=embedded):
+-- en production, les deux piles partagent la base existante.
+CREATE TABLE IF NOT EXISTS inventory (
+    event_id BIGINT NOT NULL,
+    total INT NOT NULL,
+    reserved INT NOT NULL,
+    version INT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    migrating BOOLEAN DEFAULT FALSE NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+CREATE TABLE IF NOT EXISTS reservation (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    hold_expires_at TIMESTAMP(6) WITH TIME ZONE,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    idempotency_key VARCHAR(64),
+    cart_id VARCHAR(36),
+    lease_id BIGINT,
+    version INT NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_reservation_user_created ON reservation (user_id, created_at DESC, id);
+CREATE INDEX IF NOT EXISTS idx_reservation_user_status_created ON reservation (user_id, status, created_at DESC, id);
+CREATE INDEX IF NOT EXISTS idx_reservation_event_status ON reservation (event_id, status, quantity);
+CREATE INDEX IF NOT EXISTS idx_reservation_status_expiry ON reservation (status, hold_expires_at);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_reservation_idempotency_key ON reservation (idempotency_key);
+CREATE INDEX IF NOT EXISTS idx_reservation_cart_id ON reservation (cart_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_lease_id ON reservation (lease_id);
+
+CREATE TABLE IF NOT EXISTS ticket (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    reservation_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_ticket_reservation_id ON ticket (reservation_id);
+CREATE INDEX IF NOT EXISTS idx_ticket_user_created ON ticket (user_id, created_at DESC, id);
+CREATE INDEX IF NOT EXISTS idx_ticket_event_quantity ON ticket (event_id, quantity);
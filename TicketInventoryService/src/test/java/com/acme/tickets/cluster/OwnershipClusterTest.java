@@ -0,0 +1,222 @@
+package com.acme.tickets.cluster;
+
+import com.acme.tickets.TicketInventoryApplication;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.exception.ForwardedRejectionException;
+import com.acme.tickets.service.InventoryReconciler;
+import com.acme.tickets.service.ReservationFacade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests d'intégration du mode propriétaire: plusieurs instances complètes (contextes Spring
+ * distincts, serveur gRPC chacune) dans la même JVM, sur la même base H2 nommée. Les battements
+ * sont déclenchés par les tests.
+ */
+@DisplayName("Mode propriétaire - Anneau et transmission entre instances")
+class OwnershipClusterTest {
+
+    private static final AtomicLong IDS = new AtomicLong(30_000);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        // La première instance crée le schéma, les suivantes le réutilisent
+        nodeA = start("node-a", "create");
+        nodeB = start("node-b", "none");
+        beat(nodeA, nodeB);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext start(String nodeId, String ddl) {
+        // Arguments de ligne de commande: prioritaires sur application.properties
+        return new SpringApplicationBuilder(TicketInventoryApplication.class)
+            .profiles("test")
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:ownership;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+                "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                "--server.port=0",
+                "--ticket-inventory.escrow.enabled=true",
+                "--ticket-inventory.escrow.node-id=" + nodeId,
+                "--ticket-inventory.escrow.chunk-size=10",
+                "--ticket-inventory.escrow.low-watermark=2",
+                "--ticket-inventory.escrow.maintenance-interval-ms=3600000",
+                "--ticket-inventory.ownership.enabled=true",
+                "--ticket-inventory.ownership.heartbeat-interval-ms=3600000");
+    }
+
+    private static void beat(ConfigurableApplicationContext... nodes) {
+        for (ConfigurableApplicationContext node : nodes) {
+            node.getBean(ClusterMembership.class).heartbeat();
+        }
+    }
+
+    private static ReservationFacade facade(ConfigurableApplicationContext node) {
+        return node.getBean(ReservationFacade.class);
+    }
+
+    private static JdbcTemplate jdbc() {
+        return nodeA.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Propriétaire de l'événement selon l'anneau de l'instance.
+     */
+    private static String ownerOf(ConfigurableApplicationContext node, Long eventId) {
+        ClusterMembership membership = node.getBean(ClusterMembership.class);
+        return membership.remoteOwner(eventId).map(ClusterNode::nodeId).orElse(membership.nodeId());
+    }
+
+    private static Long eventOwnedBy(String nodeId) {
+        while (true) {
+            Long eventId = IDS.incrementAndGet();
+            if (ownerOf(nodeA, eventId).equals(nodeId)) {
+                return eventId;
+            }
+        }
+    }
+
+    private static Long createInventory(Long eventId, int total) {
+        nodeA.getBean(InventoryRepository.class).save(new Inventory(eventId, total));
+        return eventId;
+    }
+
+    private static String leaseNode(Long reservationId) {
+        return jdbc().queryForObject(
+            "SELECT l.node_id FROM reservation r JOIN inventory_lease l ON l.id = r.lease_id WHERE r.id = ?",
+            String.class, reservationId);
+    }
+
+    private static long leases(Long eventId, String nodeId) {
+        return jdbc().queryForObject(
+            "SELECT COUNT(*) FROM inventory_lease WHERE event_id = ? AND node_id = ?", Long.class, eventId, nodeId);
+    }
+
+    private static double forwarded(ConfigurableApplicationContext node, String operation) {
+        Counter counter = node.getBean(MeterRegistry.class).find(OwnerForwarder.FORWARDED_COUNTER)
+            .tags("operation", operation, "outcome", "forwarded")
+            .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static ReserveResponse reserve(ConfigurableApplicationContext node, Long eventId, int quantity) {
+        return facade(node).reserveTickets(new ReserveRequest(eventId, IDS.incrementAndGet(), quantity), null);
+    }
+
+    @Test
+    @DisplayName("GIVEN 2 instances WHEN anneaux reconstruits THEN mêmes propriétaires vus par chacune")
+    void shouldAgreeOnOwners() {
+        assertThat(nodeA.getBean(ClusterMembership.class).members()).hasSize(2);
+        assertThat(nodeB.getBean(ClusterMembership.class).members()).hasSize(2);
+
+        List<String> owners = new ArrayList<>();
+        LongStream.rangeClosed(1, 200).forEach(eventId -> {
+            String owner = ownerOf(nodeA, eventId);
+            assertThat(ownerOf(nodeB, eventId)).isEqualTo(owner);
+            owners.add(owner);
+        });
+        assertThat(owners).contains("node-a", "node-b");
+    }
+
+    @Test
+    @DisplayName("GIVEN événement de node-b WHEN reserve/confirm/release sur node-a THEN transmis, servis par le lot de node-b")
+    void shouldForwardToOwner() {
+        Long eventId = createInventory(eventOwnedBy("node-b"), 50);
+        double reserves = forwarded(nodeA, "reserve");
+
+        ReserveResponse confirmed = reserve(nodeA, eventId, 2);
+        ReserveResponse released = reserve(nodeA, eventId, 3);
+
+        assertThat(confirmed.status()).isEqualTo("PENDING");
+        assertThat(forwarded(nodeA, "reserve") - reserves).isEqualTo(2);
+        assertThat(leaseNode(confirmed.reservationId())).isEqualTo("node-b");
+        assertThat(leases(eventId, "node-a")).isZero();
+
+        assertThat(facade(nodeA).confirmReservation(new ConfirmRequest(confirmed.reservationId())).status())
+            .isEqualTo("CONFIRMED");
+        assertThat(facade(nodeA).releaseReservation(new ReleaseRequest(released.reservationId())).status())
+            .isEqualTo("CANCELED");
+        assertThat(forwarded(nodeA, "confirm")).isPositive();
+        assertThat(forwarded(nodeA, "release")).isPositive();
+    }
+
+    @Test
+    @DisplayName("GIVEN stock insuffisant chez le propriétaire WHEN reserve transmis THEN rejet 409 relayé")
+    void shouldRelayOwnerRejection() {
+        Long eventId = createInventory(eventOwnedBy("node-b"), 3);
+
+        assertThatThrownBy(() -> reserve(nodeA, eventId, 4))
+            .isInstanceOfSatisfying(ForwardedRejectionException.class, rejection -> {
+                assertThat(rejection.getHttpStatus()).isEqualTo(409);
+                assertThat(rejection.getGrpcCode()).isEqualTo("FAILED_PRECONDITION");
+                assertThat(rejection.getOwner()).isEqualTo("node-b");
+            });
+        assertThat(reserve(nodeA, eventId, 3).quantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("GIVEN une instance rejoint puis quitte l'anneau THEN lots rendus à la passation, événements toujours servis")
+    void shouldHandOffOnJoinAndLeave() {
+        List<Long> events = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Long eventId = createInventory(IDS.incrementAndGet(), 100);
+            reserve(nodeA, eventId, 1);
+            events.add(eventId);
+        }
+
+        ConfigurableApplicationContext nodeC = start("node-c", "none");
+        List<Long> movedToC;
+        try {
+            beat(nodeA, nodeB);
+            assertThat(nodeA.getBean(ClusterMembership.class).members()).hasSize(3);
+            assertThat(nodeC.getBean(ClusterMembership.class).members()).hasSize(3);
+
+            movedToC = events.stream().filter(eventId -> ownerOf(nodeA, eventId).equals("node-c")).toList();
+            assertThat(movedToC).isNotEmpty();
+            for (Long eventId : movedToC) {
+                assertThat(leases(eventId, "node-a") + leases(eventId, "node-b")).isZero();
+                ReserveResponse response = reserve(nodeA, eventId, 1);
+                assertThat(leaseNode(response.reservationId())).isEqualTo("node-c");
+            }
+        } finally {
+            nodeC.close();
+        }
+        beat(nodeA, nodeB);
+
+        assertThat(nodeA.getBean(ClusterMembership.class).members()).hasSize(2);
+        for (Long eventId : movedToC) {
+            assertThat(leases(eventId, "node-c")).isZero();
+            ReserveResponse response = reserve(nodeB, eventId, 1);
+            assertThat(leaseNode(response.reservationId())).isEqualTo(ownerOf(nodeB, eventId));
+        }
+        assertThat(nodeA.getBean(InventoryReconciler.class).reconcile(false).drifts())
+            .noneMatch(drift -> events.contains(drift.eventId()));
+    }
+}
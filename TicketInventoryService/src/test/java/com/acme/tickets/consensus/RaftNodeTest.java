@@ -0,0 +1,312 @@
+package com.acme.tickets.consensus;
+
+import com.acme.tickets.dto.AvailabilityResponse;
+import com.acme.tickets.exception.InsufficientStockException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de l'inventaire répliqué sur un réseau simulé en mémoire: élection, écritures validées
+ * à la majorité, lectures sur les suiveurs, pannes et partitions. Temps discret et graines
+ * fixes: chaque scénario est reproductible.
+ */
+@DisplayName("RaftNode - Inventaire répliqué par journal")
+class RaftNodeTest {
+
+    private static final long EVENT_ID = 7L;
+    private static final int ELECTION_TICKS = 10;
+    private static final int HEARTBEAT_TICKS = 3;
+
+    /**
+     * Groupe de répliques n1..nN sur un réseau simulé; les journaux survivent aux redémarrages.
+     */
+    private static final class Cluster {
+
+        private final InProcessRaftNetwork network = new InProcessRaftNetwork();
+        private final Map<String, RaftStorage> storages = new HashMap<>();
+        private final List<String> ids;
+        private int incarnation;
+
+        private Cluster(int size) {
+            ids = IntStream.rangeClosed(1, size).mapToObj(i -> "n" + i).toList();
+            ids.forEach(id -> storages.put(id, new RaftStorage()));
+            ids.forEach(this::start);
+        }
+
+        private void start(String id) {
+            List<String> peers = ids.stream().filter(peer -> !peer.equals(id)).toList();
+            network.register(new RaftNode(id, peers, storages.get(id), network.transportFor(id),
+                31L * id.hashCode() + incarnation++, ELECTION_TICKS, HEARTBEAT_TICKS));
+        }
+
+        private RaftNode awaitLeader() {
+            for (int i = 0; i < 20 * ELECTION_TICKS; i++) {
+                network.tick();
+                if (network.leader().isPresent()) {
+                    return network.leader().get();
+                }
+            }
+            throw new AssertionError("Aucun leader élu");
+        }
+
+        /**
+         * Leader élu dans le groupe donné (partition majoritaire).
+         */
+        private RaftNode awaitLeaderAmong(Set<String> group) {
+            for (int i = 0; i < 20 * ELECTION_TICKS; i++) {
+                network.tick();
+                RaftNode leader = network.live().stream()
+                    .filter(node -> group.contains(node.id()) && node.isLeader())
+                    .findFirst()
+                    .orElse(null);
+                if (leader != null) {
+                    return leader;
+                }
+            }
+            throw new AssertionError("Aucun leader élu dans " + group);
+        }
+
+        /**
+         * Avance l'horloge jusqu'à ce que toutes les répliques en marche suivent le même leader
+         * et aient appliqué le même journal (une réplique isolée a pu gonfler son mandat).
+         */
+        private RaftNode converge() {
+            for (int i = 0; i < 40 * ELECTION_TICKS; i++) {
+                network.tick();
+                RaftNode leader = network.leader().orElse(null);
+                if (leader != null && network.live().stream().allMatch(node ->
+                        leader.id().equals(node.leaderId()) && node.lastApplied() == leader.commitIndex())) {
+                    return leader;
+                }
+            }
+            throw new AssertionError("Répliques non convergées");
+        }
+
+        private int available(RaftNode node) {
+            return node.availability(EVENT_ID).map(AvailabilityResponse::available).orElse(-1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Élection et réplication")
+    class ElectionAndReplication {
+
+        @Test
+        @DisplayName("GIVEN 3 répliques WHEN horloge avance THEN un seul leader, reconnu par les suiveurs")
+        void shouldElectSingleLeader() {
+            Cluster cluster = new Cluster(3);
+
+            RaftNode leader = cluster.awaitLeader();
+            cluster.network.tick(HEARTBEAT_TICKS);
+
+            assertThat(cluster.network.live()).filteredOn(RaftNode::isLeader).containsExactly(leader);
+            assertThat(cluster.network.live())
+                .allSatisfy(node -> {
+                    assertThat(node.leaderId()).isEqualTo(leader.id());
+                    assertThat(node.currentTerm()).isEqualTo(leader.currentTerm());
+                });
+        }
+
+        @Test
+        @DisplayName("GIVEN réservation acquittée WHEN journaux lus THEN entrée copiée sur une majorité avant l'acquittement")
+        void shouldReplicateToMajorityBeforeAck() {
+            Cluster cluster = new Cluster(3);
+            RaftNode leader = cluster.awaitLeader();
+            leader.initialize(EVENT_ID, 10);
+
+            long holdId = leader.reserve(EVENT_ID, 4);
+
+            long copies = cluster.storages.values().stream()
+                .filter(storage -> storage.lastIndex() >= holdId)
+                .count();
+            assertThat(copies).isGreaterThanOrEqualTo(2);
+            assertThat(leader.holds(holdId)).isTrue();
+            assertThat(cluster.available(leader)).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("GIVEN écritures validées WHEN battement THEN les suiveurs servent la disponibilité")
+        void shouldServeReadsFromFollowers() {
+            Cluster cluster = new Cluster(3);
+            RaftNode leader = cluster.awaitLeader();
+            leader.initialize(EVENT_ID, 10);
+            long holdId = leader.reserve(EVENT_ID, 3);
+            leader.reserve(EVENT_ID, 2);
+            leader.release(holdId);
+
+            cluster.network.tick(HEARTBEAT_TICKS);
+
+            assertThat(cluster.network.live()).allSatisfy(node -> assertThat(cluster.available(node)).isEqualTo(8));
+        }
+
+        @Test
+        @DisplayName("GIVEN stock épuisé WHEN reserve THEN InsufficientStockException, décision identique partout")
+        void shouldRejectBeyondStock() {
+            Cluster cluster = new Cluster(3);
+            RaftNode leader = cluster.awaitLeader();
+            leader.initialize(EVENT_ID, 5);
+            leader.reserve(EVENT_ID, 4);
+
+            assertThatThrownBy(() -> leader.reserve(EVENT_ID, 2))
+                .isInstanceOfSatisfying(InsufficientStockException.class,
+                    e -> assertThat(e.getAvailable()).isEqualTo(1));
+
+            cluster.network.tick(HEARTBEAT_TICKS);
+            assertThat(cluster.network.live()).allSatisfy(node -> assertThat(cluster.available(node)).isEqualTo(1));
+        }
+
+        @Test
+        @DisplayName("GIVEN suiveur WHEN reserve THEN NotLeaderException avec le leader connu")
+        void shouldRedirectWritesToLeader() {
+            Cluster cluster = new Cluster(3);
+            RaftNode leader = cluster.awaitLeader();
+            cluster.network.tick(HEARTBEAT_TICKS);
+            RaftNode follower = cluster.network.live().stream().filter(node -> !node.isLeader()).findFirst().orElseThrow();
+
+            assertThatThrownBy(() -> follower.reserve(EVENT_ID, 1))
+                .isInstanceOfSatisfying(NotLeaderException.class,
+                    e -> assertThat(e.getLeaderId()).isEqualTo(leader.id()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pannes et partitions")
+    class Failures {
+
+        @Test
+        @DisplayName("GIVEN retenues acquittées WHEN le leader tombe THEN nouveau leader, aucune retenue perdue")
+        void shouldKeepHoldsWhenLeaderCrashes() {
+            Cluster cluster = new Cluster(3);
+            RaftNode leader = cluster.awaitLeader();
+            leader.initialize(EVENT_ID, 10);
+            long first = leader.reserve(EVENT_ID, 3);
+            long second = leader.reserve(EVENT_ID, 4);
+
+            cluster.network.crash(leader.id());
+            RaftNode successor = cluster.awaitLeader();
+
+            assertThat(successor.id()).isNotEqualTo(leader.id());
+            assertThat(successor.holds(first)).isTrue();
+            assertThat(successor.holds(second)).isTrue();
+            assertThat(cluster.available(successor)).isEqualTo(3);
+            assertThatThrownBy(() -> successor.reserve(EVENT_ID, 4)).isInstanceOf(InsufficientStockException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN réplique redémarrée sans état en mémoire WHEN battements THEN état reconstruit depuis son journal")
+        void shouldRebuildStateAfterRestart() {
+            Cluster cluster = new Cluster(3);
+            RaftNode leader = cluster.awaitLeader();
+            leader.initialize(EVENT_ID, 10);
+            leader.reserve(EVENT_ID, 5);
+            cluster.network.tick(HEARTBEAT_TICKS);
+            String restarted = cluster.network.live().stream()
+                .filter(node -> !node.isLeader())
+                .findFirst()
+                .orElseThrow()
+                .id();
+
+            cluster.network.crash(restarted);
+            leader.reserve(EVENT_ID, 1);
+            cluster.start(restarted);
+            assertThat(cluster.available(cluster.network.node(restarted))).isEqualTo(-1);
+            cluster.network.tick(HEARTBEAT_TICKS);
+
+            assertThat(cluster.available(cluster.network.node(restarted))).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("GIVEN leader isolé en minorité WHEN reserve THEN non acquittée; majorité élit un leader; guérison THEN convergence")
+        void shouldNotAckWithoutQuorum() {
+            Cluster cluster = new Cluster(5);
+            RaftNode oldLeader = cluster.awaitLeader();
+            oldLeader.initialize(EVENT_ID, 10);
+            Set<String> minority = Set.of(oldLeader.id(), cluster.ids.stream()
+                .filter(id -> !id.equals(oldLeader.id())).findFirst().orElseThrow());
+            Set<String> majority = Set.copyOf(cluster.ids.stream().filter(id -> !minority.contains(id)).toList());
+
+            cluster.network.partition(minority, majority);
+            assertThatThrownBy(() -> oldLeader.reserve(EVENT_ID, 6)).isInstanceOf(QuorumUnavailableException.class);
+            RaftNode newLeader = cluster.awaitLeaderAmong(majority);
+            long hold = newLeader.reserve(EVENT_ID, 7);
+
+            cluster.network.heal();
+            cluster.converge();
+
+            assertThat(oldLeader.isLeader()).isFalse();
+            assertThat(cluster.network.live()).allSatisfy(node -> {
+                assertThat(cluster.available(node)).isEqualTo(3);
+                assertThat(node.holds(hold)).isTrue();
+            });
+        }
+
+        @Test
+        @DisplayName("GIVEN pannes et partitions aléatoires WHEN réservations concurrentes au leader THEN aucune survente, retenues acquittées conservées")
+        void shouldPreserveInvariantsUnderChaos() {
+            Cluster cluster = new Cluster(5);
+            Random chaos = new Random(42);
+            cluster.awaitLeader().initialize(EVENT_ID, 100);
+            List<Long> acknowledged = new ArrayList<>();
+            int acknowledgedQuantity = 0;
+
+            for (int step = 0; step < 600; step++) {
+                int dice = chaos.nextInt(100);
+                if (dice < 4) {
+                    List<RaftNode> live = cluster.network.live();
+                    if (live.size() > 3) {
+                        cluster.network.crash(live.get(chaos.nextInt(live.size())).id());
+                    }
+                } else if (dice < 8) {
+                    cluster.ids.stream()
+                        .filter(id -> !cluster.network.isUp(id))
+                        .findFirst()
+                        .ifPresent(cluster::start);
+                } else if (dice < 11) {
+                    List<String> shuffled = new ArrayList<>(cluster.ids);
+                    Collections.shuffle(shuffled, chaos);
+                    cluster.network.partition(shuffled.subList(0, 2), shuffled.subList(2, 5));
+                } else if (dice < 15) {
+                    cluster.network.heal();
+                }
+                cluster.network.tick();
+                RaftNode leader = cluster.network.leader().orElse(null);
+                if (leader == null) {
+                    continue;
+                }
+                int quantity = 1 + chaos.nextInt(3);
+                try {
+                    acknowledged.add(leader.reserve(EVENT_ID, quantity));
+                    acknowledgedQuantity += quantity;
+                } catch (QuorumUnavailableException | NotLeaderException | InsufficientStockException e) {
+                    // Issue inconnue ou refus: rien n'a été promis au client
+                }
+            }
+
+            cluster.network.heal();
+            cluster.ids.stream().filter(id -> !cluster.network.isUp(id)).forEach(cluster::start);
+            RaftNode leader = cluster.converge();
+
+            assertThat(acknowledged).isNotEmpty();
+            int available = cluster.available(leader);
+            assertThat(available).isBetween(0, 100 - acknowledgedQuantity);
+            assertThat(acknowledged).allSatisfy(hold -> assertThat(leader.holds(hold)).isTrue());
+            assertThat(cluster.network.live()).allSatisfy(node -> {
+                assertThat(node.lastApplied()).isEqualTo(leader.lastApplied());
+                assertThat(cluster.available(node)).isEqualTo(available);
+            });
+        }
+    }
+}
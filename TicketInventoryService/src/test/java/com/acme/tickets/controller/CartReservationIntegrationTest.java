@@ -0,0 +1,274 @@
+package com.acme.tickets.controller;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.Reservation;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.domain.repository.TicketRepository;
+import com.acme.tickets.dto.PaymentStatusMessage;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.messaging.PaymentStatusConsumer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration des paniers: réservation tout ou rien, confirmation et libération par panier
+ * (REST et message de paiement), sur H2 en mémoire.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@DisplayName("Panier - Réservation multi-événements tout ou rien")
+class CartReservationIntegrationTest {
+
+    private static final Long USER_ID = 42L;
+    private static final long CONCERT = 1L;
+    private static final long MATCH = 2L;
+    private static final long FESTIVAL = 3L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private PaymentStatusConsumer paymentStatusConsumer;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of("category", "MUSIC"));
+        inventoryRepository.save(new Inventory(CONCERT, 100));
+        inventoryRepository.save(new Inventory(MATCH, 100));
+        inventoryRepository.save(new Inventory(FESTIVAL, 2));
+    }
+
+    private ResultActions reserveCart(String lines, String idempotencyKey) throws Exception {
+        var request = post("/tickets/cart/reserve")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":%d,\"lines\":[%s]}".formatted(USER_ID, lines));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private static String line(long eventId, int quantity) {
+        return "{\"eventId\":%d,\"quantity\":%d}".formatted(eventId, quantity);
+    }
+
+    private String reserveCartOk(String lines) throws Exception {
+        String body = reserveCart(lines, null)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("cartId").asText();
+    }
+
+    private int reserved(long eventId) {
+        return inventoryRepository.findById(eventId).orElseThrow().getReserved();
+    }
+
+    @Nested
+    @DisplayName("Réservation")
+    class ReserveTests {
+
+        @Test
+        @DisplayName("GIVEN panier de deux événements WHEN reserve THEN une réservation par événement, expiration commune")
+        void shouldReserveAllLines() throws Exception {
+            String body = reserveCart(line(MATCH, 2) + "," + line(CONCERT, 3) + "," + line(CONCERT, 1), null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.lines.length()").value(2))
+                .andExpect(jsonPath("$.lines[0].eventId").value(CONCERT))
+                .andExpect(jsonPath("$.lines[0].quantity").value(4))
+                .andExpect(jsonPath("$.lines[1].eventId").value(MATCH))
+                .andExpect(jsonPath("$.lines[1].quantity").value(2))
+                .andReturn().getResponse().getContentAsString();
+
+            JsonNode cart = objectMapper.readTree(body);
+            List<Reservation> reservations = reservationRepository.findByCartIdOrderByEventId(cart.get("cartId").asText());
+            assertThat(reservations).hasSize(2)
+                .allSatisfy(reservation -> {
+                    assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.PENDING);
+                    assertThat(reservation.getHoldExpiresAt()).isEqualTo(reservations.get(0).getHoldExpiresAt());
+                    assertThat(reservation.getUserId()).isEqualTo(USER_ID);
+                });
+            assertThat(reservations.get(0).getHoldExpiresAt().toString()).isEqualTo(cart.get("holdExpiresAt").asText());
+            assertThat(reserved(CONCERT)).isEqualTo(4);
+            assertThat(reserved(MATCH)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("GIVEN une ligne sans stock WHEN reserve THEN 409 et aucun stock retenu sur les autres lignes")
+        void shouldReserveNothingWhenOneLineFails() throws Exception {
+            reserveCart(line(CONCERT, 3) + "," + line(FESTIVAL, 5), null)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Insufficient Stock"))
+                .andExpect(jsonPath("$.eventId").value(FESTIVAL));
+
+            assertThat(reserved(CONCERT)).isZero();
+            assertThat(reserved(FESTIVAL)).isZero();
+            assertThat(reservationRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN même clé d'idempotence WHEN reserve rejoué THEN même panier, stock débité une fois")
+        void shouldReplayIdempotentCart() throws Exception {
+            String lines = line(CONCERT, 1) + "," + line(MATCH, 1);
+            String first = reserveCart(lines, "cart-key").andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            String replay = reserveCart(lines, "cart-key").andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+            assertThat(objectMapper.readTree(replay).get("cartId")).isEqualTo(objectMapper.readTree(first).get("cartId"));
+            assertThat(reserved(CONCERT)).isEqualTo(1);
+            assertThat(reserved(MATCH)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("GIVEN panier vide WHEN reserve THEN 400")
+        void shouldRejectEmptyCart() throws Exception {
+            reserveCart("", null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.lines").exists());
+        }
+    }
+
+    @Nested
+    @DisplayName("Confirmation et libération")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("GIVEN panier PENDING WHEN confirm THEN toutes les réservations confirmées, un ticket par événement")
+        void shouldConfirmWholeCart() throws Exception {
+            String cartId = reserveCartOk(line(CONCERT, 2) + "," + line(MATCH, 1));
+
+            mockMvc.perform(post("/tickets/cart/confirm")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"cartId\":\"" + cartId + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+
+            assertThat(reservationRepository.findByCartIdOrderByEventId(cartId))
+                .extracting(Reservation::getStatus)
+                .containsOnly(ReservationStatus.CONFIRMED);
+            assertThat(ticketRepository.count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("GIVEN panier PENDING WHEN release THEN toutes les réservations annulées, stock rendu")
+        void shouldReleaseWholeCart() throws Exception {
+            String cartId = reserveCartOk(line(CONCERT, 2) + "," + line(MATCH, 1));
+
+            mockMvc.perform(post("/tickets/cart/release")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"cartId\":\"" + cartId + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELED"));
+
+            assertThat(reserved(CONCERT)).isZero();
+            assertThat(reserved(MATCH)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN une réservation du panier annulée WHEN confirm THEN 422 et aucune confirmation")
+        void shouldConfirmNothingWhenOneReservationIsNotPending() throws Exception {
+            String cartId = reserveCartOk(line(CONCERT, 2) + "," + line(MATCH, 1));
+            Reservation match = reservationRepository.findByCartIdOrderByEventId(cartId).get(1);
+            mockMvc.perform(post("/tickets/release")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"reservationId\":" + match.getId() + "}"))
+                .andExpect(status().isOk());
+
+            mockMvc.perform(post("/tickets/cart/confirm")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"cartId\":\"" + cartId + "\"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+            assertThat(reservationRepository.findByCartIdOrderByEventId(cartId))
+                .extracting(Reservation::getStatus)
+                .containsExactly(ReservationStatus.PENDING, ReservationStatus.CANCELED);
+            assertThat(ticketRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN panier inconnu WHEN confirm THEN 404")
+        void shouldRejectUnknownCart() throws Exception {
+            mockMvc.perform(post("/tickets/cart/confirm")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"cartId\":\"unknown\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Cart Not Found"))
+                .andExpect(jsonPath("$.cartId").value("unknown"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Messages de paiement")
+    class PaymentTests {
+
+        @Test
+        @DisplayName("GIVEN paiement réussi d'un panier WHEN message reçu THEN panier confirmé")
+        void shouldConfirmCartOnPaymentSuccess() throws Exception {
+            String cartId = reserveCartOk(line(CONCERT, 2) + "," + line(MATCH, 1));
+
+            paymentStatusConsumer.handlePaymentStatus(
+                new PaymentStatusMessage(null, USER_ID, null, "SUCCESS", "tx-1", null, cartId));
+
+            assertThat(reservationRepository.findByCartIdOrderByEventId(cartId))
+                .extracting(Reservation::getStatus)
+                .containsOnly(ReservationStatus.CONFIRMED);
+        }
+
+        @Test
+        @DisplayName("GIVEN paiement échoué d'un panier WHEN message reçu THEN panier libéré")
+        void shouldReleaseCartOnPaymentFailure() throws Exception {
+            String cartId = reserveCartOk(line(CONCERT, 2) + "," + line(MATCH, 1));
+
+            paymentStatusConsumer.handlePaymentStatus(
+                new PaymentStatusMessage(null, USER_ID, null, "FAILED", "tx-1", "card declined", cartId));
+
+            assertThat(reservationRepository.findByCartIdOrderByEventId(cartId))
+                .extracting(Reservation::getStatus)
+                .containsOnly(ReservationStatus.CANCELED);
+            assertThat(reserved(CONCERT)).isZero();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.acme.tickets.controller;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.integration.EventCatalogClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie que les métriques du cycle de réservation sont exposées sur /actuator/prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Prometheus scrape endpoint")
+class PrometheusEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Should expose reservation histograms and counters")
+    void prometheus_ShouldExposeReservationMetrics() throws Exception {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        inventoryRepository.save(new Inventory(777L, 10));
+
+        mockMvc.perform(post("/tickets/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"eventId\": 777, \"userId\": 1, \"quantity\": 11}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/tickets/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"eventId\": 777, \"userId\": 1, \"quantity\": 10}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/tickets/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"eventId\": 777, \"userId\": 2, \"quantity\": 1}"))
+            .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                "tickets_operation_seconds_bucket{application=\"ticket-inventory-service\",operation=\"reserve\",result=\"success\"")))
+            .andExpect(content().string(containsString(
+                "tickets_reservation_outcome_total{application=\"ticket-inventory-service\",outcome=\"insufficient_stock\"} 1.0")))
+            .andExpect(content().string(containsString("tickets_cleanup_lag_seconds")));
+    }
+}
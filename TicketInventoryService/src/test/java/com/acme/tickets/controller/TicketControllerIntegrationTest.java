@@ -571,4 +571,128 @@ class TicketControllerIntegrationTest {
                 .andExpect(jsonPath("$.available").value(0));
         }
     }
+
+    // ========================================================================
+    // Keyset Pagination Tests
+    // ========================================================================
+
+    @Nested
+    @DisplayName("Keyset Pagination - User Reservations and Tickets")
+    class KeysetPaginationTests {
+
+        @Test
+        @DisplayName("GET /tickets/user/{userId} - Should walk every reservation exactly once with cursors")
+        void getUserReservations_ShouldWalkAllPagesWithCursor() throws Exception {
+            inventoryRepository.save(new Inventory(EVENT_ID, INITIAL_TOTAL_TICKETS));
+            List<Long> created = new java.util.ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                created.add(reserve(1));
+            }
+
+            List<List<Long>> pages = walk(null, 2);
+
+            assertThat(pages).hasSize(3);
+            java.util.Collections.reverse(created);
+            assertThat(pages.stream().flatMap(List::stream)).containsExactlyElementsOf(created);
+        }
+
+        @Test
+        @DisplayName("GET /tickets/user/{userId}?status=CONFIRMED - Should walk matching reservations only, across pages")
+        void getUserReservations_ShouldPaginateFilteredByStatus() throws Exception {
+            inventoryRepository.save(new Inventory(EVENT_ID, INITIAL_TOTAL_TICKETS));
+            List<Long> confirmed = new java.util.ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                Long reservationId = reserve(1);
+                if (i % 2 == 0) {
+                    mockMvc.perform(post("/tickets/confirm")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"reservationId\": %d}".formatted(reservationId)))
+                        .andExpect(status().isOk());
+                    confirmed.add(reservationId);
+                }
+            }
+
+            List<List<Long>> pages = walk("CONFIRMED", 2);
+
+            assertThat(pages).hasSize(2);
+            assertThat(pages.get(0)).hasSize(2);
+            java.util.Collections.reverse(confirmed);
+            assertThat(pages.stream().flatMap(List::stream)).containsExactlyElementsOf(confirmed);
+        }
+
+        @Test
+        @DisplayName("GET /tickets/user/{userId}?status=CONFIRMED - Should only return matching statuses")
+        void getUserReservations_ShouldFilterByStatus() throws Exception {
+            inventoryRepository.save(new Inventory(EVENT_ID, INITIAL_TOTAL_TICKETS));
+            Long confirmed = reserve(2);
+            reserve(1);
+            mockMvc.perform(post("/tickets/confirm")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"reservationId\": %d}".formatted(confirmed)))
+                .andExpect(status().isOk());
+
+            mockMvc.perform(get("/tickets/user/{userId}", USER_ID).param("status", "CONFIRMED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].reservationId").value(confirmed))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+            mockMvc.perform(get("/tickets/user/{userId}/tickets", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].reservationId").value(confirmed))
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+        }
+
+        @Test
+        @DisplayName("GET /tickets/user/{userId} - Should reject malformed cursor and unknown status with 400")
+        void getUserReservations_ShouldRejectInvalidParameters() throws Exception {
+            mockMvc.perform(get("/tickets/user/{userId}", USER_ID).param("cursor", "@@@"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Cursor"));
+
+            mockMvc.perform(get("/tickets/user/{userId}", USER_ID).param("status", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+        }
+
+        /**
+         * Parcourt toutes les pages des réservations de l'utilisateur en suivant nextCursor.
+         */
+        private List<List<Long>> walk(String status, int limit) throws Exception {
+            List<List<Long>> pages = new java.util.ArrayList<>();
+            String cursor = null;
+            do {
+                var request = get("/tickets/user/{userId}", USER_ID).param("limit", String.valueOf(limit));
+                if (status != null) {
+                    request = request.param("status", status);
+                }
+                if (cursor != null) {
+                    request = request.param("cursor", cursor);
+                }
+                String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(lessThanOrEqualTo(limit))))
+                    .andReturn().getResponse().getContentAsString();
+                Map<String, Object> page = objectMapper.readValue(body, Map.class);
+                List<Long> ids = new java.util.ArrayList<>();
+                for (Object item : (List<?>) page.get("items")) {
+                    ids.add(((Number) ((Map<?, ?>) item).get("reservationId")).longValue());
+                }
+                pages.add(ids);
+                cursor = (String) page.get("nextCursor");
+            } while (cursor != null);
+            return pages;
+        }
+
+        private Long reserve(int quantity) throws Exception {
+            String body = mockMvc.perform(post("/tickets/reserve")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("""
+                        {"eventId": %d, "userId": %d, "quantity": %d}
+                        """.formatted(EVENT_ID, USER_ID, quantity)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            return ((Number) objectMapper.readValue(body, Map.class).get("reservationId")).longValue();
+        }
+    }
 }
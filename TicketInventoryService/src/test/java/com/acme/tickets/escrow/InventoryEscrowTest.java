@@ -0,0 +1,249 @@
+package com.acme.tickets.escrow;
+
+import com.acme.tickets.config.EscrowProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.Reservation;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.repository.InventoryLeaseRepository;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.service.InventoryReconciler;
+import com.acme.tickets.service.TicketInventoryService;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration du mode séquestre (H2 en mémoire, base dédiée). Plusieurs instances sont
+ * simulées dans le même processus: une {@link InventoryEscrow} par identifiant d'instance, toutes
+ * sur la même base.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:escrow;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+    "ticket-inventory.escrow.enabled=true",
+    "ticket-inventory.escrow.chunk-size=20",
+    "ticket-inventory.escrow.low-watermark=5",
+    // Maintenance déclenchée par les tests uniquement
+    "ticket-inventory.escrow.maintenance-interval-ms=3600000"
+})
+@DisplayName("InventoryEscrow - Lots de stock par instance")
+class InventoryEscrowTest {
+
+    private static final AtomicLong IDS = new AtomicLong(20_000);
+
+    /** Threads de réservation: un par connexion, le pool doit aussi servir les compléments. */
+    private static final int WORKERS = 6;
+
+    @Autowired
+    private InventoryEscrow escrow;
+
+    @Autowired
+    private TicketInventoryService service;
+
+    @Autowired
+    private InventoryReconciler reconciler;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryLeaseRepository leaseRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    private TransactionTemplate transaction;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        transaction = new TransactionTemplate(transactionManager);
+        eventId = IDS.incrementAndGet();
+    }
+
+    private InventoryEscrow node(String nodeId) {
+        EscrowProperties properties = new EscrowProperties();
+        properties.setEnabled(true);
+        properties.setNodeId(nodeId);
+        properties.setChunkSize(20);
+        properties.setLowWatermark(5);
+        return new InventoryEscrow(inventoryRepository, leaseRepository, properties, transactionManager,
+            new SimpleMeterRegistry(), router);
+    }
+
+    /**
+     * Réservation servie par une instance, comme {@link TicketInventoryService#reserveTickets}:
+     * prélèvement sur le lot et insertion dans la même transaction.
+     */
+    private int reserveOn(InventoryEscrow node, int quantity, boolean rollback) {
+        Integer reserved = transaction.execute(status -> {
+            Long leaseId = node.take(eventId, quantity);
+            Reservation reservation = new Reservation(eventId, 1L, quantity, ReservationStatus.PENDING);
+            reservation.setHoldExpiresAt(Instant.now().plus(Duration.ofMinutes(15)));
+            reservation.setLeaseId(leaseId);
+            reservationRepository.save(reservation);
+            if (rollback) {
+                status.setRollbackOnly();
+                return 0;
+            }
+            return quantity;
+        });
+        return reserved == null ? 0 : reserved;
+    }
+
+    private long sold() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(quantity), 0) FROM reservation WHERE event_id = ?", Long.class, eventId);
+    }
+
+    private Inventory inventory() {
+        return inventoryRepository.findById(eventId).orElseThrow();
+    }
+
+    private boolean hasDrift() {
+        return reconciler.reconcile(false).drifts().stream().anyMatch(drift -> drift.eventId().equals(eventId));
+    }
+
+    @Test
+    @DisplayName("GIVEN 3 instances et 6 threads WHEN réservations jusqu'à épuisement THEN aucune survente, une écriture centrale par lot")
+    void shouldNeverOversellAcrossNodes() throws Exception {
+        inventoryRepository.save(new Inventory(eventId, 300));
+        int versionBefore = inventory().getVersion();
+        List<InventoryEscrow> nodes = List.of(node("node-a"), node("node-b"), node("node-c"));
+        AtomicInteger reservations = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < WORKERS; w++) {
+            InventoryEscrow node = nodes.get(w % nodes.size());
+            workers.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 80; i++) {
+                    try {
+                        boolean rollback = random.nextInt(10) == 0;
+                        if (reserveOn(node, 1 + random.nextInt(4), rollback) > 0) {
+                            reservations.incrementAndGet();
+                        }
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Demande (6 x 80 x 2,5 en moyenne) très supérieure au stock
+        assertThat(rejected.get()).isPositive();
+        assertThat(sold()).isLessThanOrEqualTo(300);
+        assertThat(inventory().getReserved()).isLessThanOrEqualTo(300);
+        assertThat(inventory().getVersion() - versionBefore).isLessThan(reservations.get() / 2);
+        assertThat(hasDrift()).isFalse();
+
+        nodes.forEach(InventoryEscrow::close);
+
+        assertThat(leaseRepository.countByEventId(eventId)).isZero();
+        assertThat(inventory().getReserved()).isEqualTo(sold());
+        assertThat(hasDrift()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GIVEN instance disparue avec un lot échu WHEN maintenance d'une autre instance THEN reliquat récupéré")
+    void shouldReclaimLeaseOfVanishedNode() {
+        inventoryRepository.save(new Inventory(eventId, 100));
+        InventoryEscrow vanished = node("node-vanished");
+        reserveOn(vanished, 3, false);
+        reserveOn(vanished, 2, false);
+        assertThat(inventory().getReserved()).isEqualTo(20);
+        Long released = reservationRepository.findAll().stream()
+            .filter(reservation -> reservation.getEventId().equals(eventId))
+            .min(Comparator.comparing(Reservation::getId))
+            .orElseThrow()
+            .getId();
+        service.releaseReservation(new ReleaseRequest(released));
+        jdbcTemplate.update("UPDATE inventory_lease SET expires_at = ? WHERE event_id = ?",
+            Timestamp.from(Instant.now().minus(Duration.ofHours(1))), eventId);
+
+        escrow.maintain();
+
+        assertThat(leaseRepository.countByEventId(eventId)).isZero();
+        long pending = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(quantity), 0) FROM reservation WHERE event_id = ? AND status = 'PENDING'",
+            Long.class, eventId);
+        assertThat(pending).isEqualTo(2);
+        assertThat(inventory().getReserved()).isEqualTo(2);
+        assertThat(hasDrift()).isFalse();
+    }
+
+    @Test
+    @DisplayName("GIVEN mode séquestre actif WHEN reserveTickets THEN réservation servie par le lot, inventaire débité d'un lot")
+    void shouldServeServiceReservationsFromLease() {
+        inventoryRepository.save(new Inventory(eventId, 100));
+
+        Long first = service.reserveTickets(new ReserveRequest(eventId, IDS.incrementAndGet(), 2), null).reservationId();
+        service.reserveTickets(new ReserveRequest(eventId, IDS.incrementAndGet(), 3), null);
+
+        Reservation reservation = reservationRepository.findById(first).orElseThrow();
+        assertThat(reservation.getLeaseId()).isNotNull();
+        assertThat(inventory().getReserved()).isEqualTo(20);
+        assertThat(inventory().getAvailable()).isEqualTo(80);
+        assertThat(hasDrift()).isFalse();
+
+        escrow.close();
+
+        assertThat(inventory().getReserved()).isEqualTo(5);
+        assertThat(hasDrift()).isFalse();
+    }
+}
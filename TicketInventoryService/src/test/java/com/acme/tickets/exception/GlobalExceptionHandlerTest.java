@@ -0,0 +1,164 @@
+package com.acme.tickets.exception;
+
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.observability.RejectionLogThrottle;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires des corps d'erreur pré-sérialisés et des rejets sans pile d'appels.
+ */
+@DisplayName("GlobalExceptionHandler - Rejets pré-sérialisés")
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GlobalExceptionHandler(new RejectionLogThrottle(5));
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/tickets/reserve"));
+    }
+
+    private JsonNode body(ResponseEntity<byte[]> response) throws IOException {
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        return mapper.readTree(response.getBody());
+    }
+
+    @Nested
+    @DisplayName("Corps JSON")
+    class BodyTests {
+
+        @Test
+        @DisplayName("GIVEN stock insuffisant WHEN handleInsufficientStock THEN 409 avec les champs standard et les détails")
+        void shouldRenderInsufficientStock() throws IOException {
+            ResponseEntity<byte[]> response = handler.handleInsufficientStock(
+                new InsufficientStockException(42L, 4, 1));
+
+            JsonNode json = body(response);
+            assertThat(response.getStatusCode().value()).isEqualTo(409);
+            assertThat(json.get("status").asInt()).isEqualTo(409);
+            assertThat(json.get("error").asText()).isEqualTo("Insufficient Stock");
+            assertThat(json.get("message").asText())
+                .isEqualTo("Stock insuffisant pour l'événement 42: 4 demandés, 1 disponibles");
+            assertThat(json.get("eventId").asLong()).isEqualTo(42L);
+            assertThat(json.get("requested").asInt()).isEqualTo(4);
+            assertThat(json.get("available").asInt()).isEqualTo(1);
+            assertThat(Instant.parse(json.get("timestamp").asText())).isBeforeOrEqualTo(Instant.now());
+        }
+
+        @Test
+        @DisplayName("GIVEN état invalide WHEN handleInvalidReservationState THEN statuts sérialisés par nom")
+        void shouldRenderInvalidState() throws IOException {
+            JsonNode json = body(handler.handleInvalidReservationState(new InvalidReservationStateException(
+                7L, ReservationStatus.CANCELED, ReservationStatus.PENDING)));
+
+            assertThat(json.get("status").asInt()).isEqualTo(422);
+            assertThat(json.get("currentStatus").asText()).isEqualTo("CANCELED");
+            assertThat(json.get("expectedStatus").asText()).isEqualTo("PENDING");
+        }
+
+        @Test
+        @DisplayName("GIVEN catégorie avec caractères spéciaux WHEN handleCategoryLimitExceeded THEN JSON échappé valide")
+        void shouldEscapeStrings() throws IOException {
+            JsonNode json = body(handler.handleCategoryLimitExceeded(
+                new CategoryLimitExceededException("ROCK \"N\" \\ROLL\n", 8, 4)));
+
+            assertThat(json.get("category").asText()).isEqualTo("ROCK \"N\" \\ROLL\n");
+            assertThat(json.get("maxAllowed").asInt()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("GIVEN conflit de version WHEN handleOptimisticLockingFailure THEN 409 et Retry-After")
+        void shouldRenderConcurrentUpdate() throws IOException {
+            ResponseEntity<byte[]> response = handler.handleOptimisticLockingFailure(
+                new OptimisticLockingFailureException("conflit"), request);
+
+            JsonNode json = body(response);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(json.get("error").asText()).isEqualTo("Concurrent Update");
+            assertThat(json.get("message").asText()).startsWith("L'inventaire est modifié");
+        }
+
+        @Test
+        @DisplayName("GIVEN cloison saturée WHEN handleBulkheadFull THEN 503 et Retry-After")
+        void shouldRenderBulkheadFull() throws IOException {
+            ResponseEntity<byte[]> response = handler.handleBulkheadFull(
+                new BulkheadFullException(42L, "event-42"));
+
+            JsonNode json = body(response);
+            assertThat(response.getStatusCode().value()).isEqualTo(503);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(json.get("error").asText()).isEqualTo("Capacity Exceeded");
+            assertThat(json.get("eventId").asLong()).isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("GIVEN limite adaptative atteinte WHEN handleConcurrencyLimitExceeded THEN 503, Retry-After et limite")
+        void shouldRenderConcurrencyLimitExceeded() throws IOException {
+            ResponseEntity<byte[]> response = handler.handleConcurrencyLimitExceeded(
+                new ConcurrencyLimitExceededException("reserve", 12));
+
+            JsonNode json = body(response);
+            assertThat(response.getStatusCode().value()).isEqualTo(503);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(json.get("error").asText()).isEqualTo("Concurrency Limit Exceeded");
+            assertThat(json.get("operation").asText()).isEqualTo("reserve");
+            assertThat(json.get("limit").asInt()).isEqualTo(12);
+        }
+
+        @Test
+        @DisplayName("GIVEN file de priorité pleine WHEN handleDispatchQueueFull THEN 503, Retry-After et priorité")
+        void shouldRenderDispatchQueueFull() throws IOException {
+            ResponseEntity<byte[]> response = handler.handleDispatchQueueFull(
+                new DispatchQueueFullException("reserve"));
+
+            JsonNode json = body(response);
+            assertThat(response.getStatusCode().value()).isEqualTo(503);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(json.get("error").asText()).isEqualTo("Dispatch Queue Full");
+            assertThat(json.get("priority").asText()).isEqualTo("reserve");
+        }
+
+        @Test
+        @DisplayName("GIVEN quota utilisateur atteint WHEN handlePurchaseQuotaExceeded THEN 409 et quantités")
+        void shouldRenderPurchaseQuotaExceeded() throws IOException {
+            ResponseEntity<byte[]> response = handler.handlePurchaseQuotaExceeded(
+                new PurchaseQuotaExceededException(7L, 42L, 3, 8, 10));
+
+            JsonNode json = body(response);
+            assertThat(response.getStatusCode().value()).isEqualTo(409);
+            assertThat(json.get("error").asText()).isEqualTo("Purchase Quota Exceeded");
+            assertThat(json.get("eventId").asLong()).isEqualTo(42L);
+            assertThat(json.get("requested").asInt()).isEqualTo(3);
+            assertThat(json.get("held").asInt()).isEqualTo(8);
+            assertThat(json.get("maxAllowed").asInt()).isEqualTo(10);
+        }
+    }
+
+    @Test
+    @DisplayName("GIVEN rejet métier WHEN levé THEN aucune pile d'appels capturée")
+    void rejectionsShouldBeStackless() {
+        assertThat(new InsufficientStockException(1L, 2, 0).getStackTrace()).isEmpty();
+        assertThat(new ReservationExpiredException(1L).getStackTrace()).isEmpty();
+        assertThat(new ReservationNotFoundException(1L).getMessage())
+            .isEqualTo("Réservation non trouvée avec l'ID: 1");
+    }
+}
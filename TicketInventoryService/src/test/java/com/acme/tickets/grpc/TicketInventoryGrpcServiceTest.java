@@ -0,0 +1,344 @@
+package com.acme.tickets.grpc;
+
+import com.acme.tickets.config.ConcurrencyLimitProperties;
+import com.acme.tickets.config.GrpcProperties;
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.AvailabilityResponse;
+import com.acme.tickets.dto.ConfirmResponse;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.exception.BulkheadFullException;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.exception.PurchaseQuotaExceededException;
+import com.acme.tickets.exception.ReservationNotFoundException;
+import com.acme.tickets.grpc.v1.*;
+import com.acme.tickets.observability.RejectionLogThrottle;
+import com.acme.tickets.service.AdaptiveConcurrencyLimiter;
+import com.acme.tickets.service.RequestDeadline;
+import com.acme.tickets.service.ReservationFacade;
+import com.acme.tickets.sharding.ShardRouter;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests de l'API interne gRPC sur un serveur en mémoire: conversion des messages, validation,
+ * correspondance des statuts, propagation de l'échéance et flux de disponibilité.
+ */
+@DisplayName("TicketInventoryGrpcService - API interne gRPC")
+class TicketInventoryGrpcServiceTest {
+
+    private static final long EVENT_ID = 1L;
+    private static final long USER_ID = 42L;
+
+    private ReservationFacade facade;
+    private InventoryRepository inventoryRepository;
+    private ValidatorFactory validatorFactory;
+    private AvailabilityWatchHub watchHub;
+    private Server server;
+    private ManagedChannel channel;
+    private TicketInventoryGrpc.TicketInventoryBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        facade = mock(ReservationFacade.class);
+        inventoryRepository = mock(InventoryRepository.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        GrpcProperties properties = new GrpcProperties();
+        properties.setMaxWatchers(2);
+        watchHub = new AvailabilityWatchHub(inventoryRepository, properties, new ShardRouter(new ShardingProperties(), null, null));
+        TicketInventoryGrpcService service = new TicketInventoryGrpcService(
+            facade, new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(), new SimpleMeterRegistry()),
+            validatorFactory.getValidator(), new GrpcStatusMapper(new RejectionLogThrottle(5)), watchHub);
+
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = TicketInventoryGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        validatorFactory.close();
+    }
+
+    private static ReserveRequest reserveRequest(int quantity) {
+        return ReserveRequest.newBuilder().setEventId(EVENT_ID).setUserId(USER_ID).setQuantity(quantity).build();
+    }
+
+    private static Status.Code codeOf(Runnable call) {
+        try {
+            call.run();
+        } catch (StatusRuntimeException e) {
+            return e.getStatus().getCode();
+        }
+        throw new AssertionError("Statut d'erreur attendu");
+    }
+
+    @Nested
+    @DisplayName("Opérations unaires")
+    class UnaryTests {
+
+        @Test
+        @DisplayName("GIVEN réservation acceptée WHEN Reserve THEN réponse convertie et clé d'idempotence transmise")
+        void shouldReserve() {
+            Instant holdExpiresAt = Instant.parse("2026-01-01T10:15:30.123Z");
+            when(facade.reserveTickets(any(), eq("key-1")))
+                .thenReturn(new ReserveResponse(99L, "PENDING", holdExpiresAt, 2));
+
+            ReserveReply reply = stub.reserve(reserveRequest(2).toBuilder().setIdempotencyKey("key-1").build());
+
+            assertThat(reply.getReservationId()).isEqualTo(99L);
+            assertThat(reply.getStatus()).isEqualTo(ReservationStatus.PENDING);
+            assertThat(reply.getQuantity()).isEqualTo(2);
+            assertThat(reply.getHoldExpiresAt().getSeconds()).isEqualTo(holdExpiresAt.getEpochSecond());
+            assertThat(reply.getHoldExpiresAt().getNanos()).isEqualTo(holdExpiresAt.getNano());
+            verify(facade).reserveTickets(new com.acme.tickets.dto.ReserveRequest(EVENT_ID, USER_ID, 2), "key-1");
+        }
+
+        @Test
+        @DisplayName("GIVEN clé d'idempotence vide WHEN Reserve THEN réservation sans idempotence")
+        void shouldTreatEmptyIdempotencyKeyAsAbsent() {
+            when(facade.reserveTickets(any(), isNull()))
+                .thenReturn(new ReserveResponse(99L, "PENDING", Instant.now(), 1));
+
+            stub.reserve(reserveRequest(1));
+
+            verify(facade).reserveTickets(any(), isNull());
+        }
+
+        @Test
+        @DisplayName("GIVEN réservation en attente WHEN Confirm THEN statut CONFIRMED")
+        void shouldConfirm() {
+            when(facade.confirmReservation(new com.acme.tickets.dto.ConfirmRequest(99L)))
+                .thenReturn(new ConfirmResponse("CONFIRMED"));
+
+            ConfirmReply reply = stub.confirm(ConfirmRequest.newBuilder().setReservationId(99L).build());
+
+            assertThat(reply.getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        }
+
+        @Test
+        @DisplayName("GIVEN inventaire existant WHEN GetAvailability THEN total et disponible")
+        void shouldGetAvailability() {
+            when(facade.getAvailability(EVENT_ID)).thenReturn(new AvailabilityResponse(EVENT_ID, 100, 60));
+
+            Availability reply = stub.getAvailability(GetAvailabilityRequest.newBuilder().setEventId(EVENT_ID).build());
+
+            assertThat(reply.getTotal()).isEqualTo(100);
+            assertThat(reply.getAvailable()).isEqualTo(60);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation et statuts d'erreur")
+    class StatusTests {
+
+        @Test
+        @DisplayName("GIVEN quantité hors limites WHEN Reserve THEN INVALID_ARGUMENT sans appel au cœur")
+        void shouldRejectInvalidQuantity() {
+            assertThatThrownBy(() -> stub.reserve(reserveRequest(11)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+                    assertThat(e.getStatus().getDescription()).startsWith("quantity:");
+                });
+            verifyNoInteractions(facade);
+        }
+
+        @Test
+        @DisplayName("GIVEN identifiant de réservation absent (0) WHEN Confirm THEN INVALID_ARGUMENT obligatoire")
+        void shouldRejectMissingReservationId() {
+            assertThatThrownBy(() -> stub.confirm(ConfirmRequest.getDefaultInstance()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> assertThat(e.getStatus().getDescription())
+                    .isEqualTo("reservationId: L'identifiant de la réservation est obligatoire"));
+        }
+
+        @Test
+        @DisplayName("GIVEN rejets du cœur WHEN appel THEN statuts gRPC documentés")
+        void shouldMapRejections() {
+            when(facade.reserveTickets(any(), any()))
+                .thenThrow(new InsufficientStockException(EVENT_ID, 1, 0))
+                .thenThrow(new PurchaseQuotaExceededException(USER_ID, EVENT_ID, 6, 4, 2))
+                .thenThrow(new BulkheadFullException(EVENT_ID, "shared"))
+                .thenThrow(new OptimisticLockingFailureException("conflit"))
+                .thenThrow(new IllegalStateException("panne"));
+
+            assertThat(codeOf(() -> stub.reserve(reserveRequest(1)))).isEqualTo(Status.Code.FAILED_PRECONDITION);
+            assertThat(codeOf(() -> stub.reserve(reserveRequest(1)))).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+            assertThat(codeOf(() -> stub.reserve(reserveRequest(1)))).isEqualTo(Status.Code.UNAVAILABLE);
+            assertThat(codeOf(() -> stub.reserve(reserveRequest(1)))).isEqualTo(Status.Code.ABORTED);
+            assertThat(codeOf(() -> stub.reserve(reserveRequest(1)))).isEqualTo(Status.Code.INTERNAL);
+        }
+
+        @Test
+        @DisplayName("GIVEN réservation inconnue WHEN Release THEN NOT_FOUND avec le message du rejet")
+        void shouldMapNotFound() {
+            when(facade.releaseReservation(any())).thenThrow(new ReservationNotFoundException(99L));
+
+            assertThatThrownBy(() -> stub.release(ReleaseRequest.newBuilder().setReservationId(99L).build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                    assertThat(e.getStatus().getDescription()).contains("99");
+                });
+        }
+    }
+
+    @Nested
+    @DisplayName("Échéances")
+    class DeadlineTests {
+
+        @Test
+        @DisplayName("GIVEN échéance de l'appelant WHEN Reserve THEN attentes du cœur bornées par le temps restant")
+        void shouldPropagateDeadline() {
+            AtomicLong capped = new AtomicLong(-1);
+            when(facade.reserveTickets(any(), any())).thenAnswer(invocation -> {
+                capped.set(RequestDeadline.capMillis(60_000));
+                return new ReserveResponse(99L, "PENDING", Instant.now(), 1);
+            });
+
+            stub.withDeadlineAfter(2, TimeUnit.SECONDS).reserve(reserveRequest(1));
+
+            assertThat(capped.get()).isBetween(1L, 2_000L);
+            assertThat(RequestDeadline.capMillis(60_000)).isEqualTo(60_000);
+        }
+
+        @Test
+        @DisplayName("GIVEN aucune échéance WHEN Reserve THEN attentes configurées inchangées")
+        void shouldKeepConfiguredWaitsWithoutDeadline() {
+            AtomicLong capped = new AtomicLong(-1);
+            when(facade.reserveTickets(any(), any())).thenAnswer(invocation -> {
+                capped.set(RequestDeadline.capMillis(500));
+                return new ReserveResponse(99L, "PENDING", Instant.now(), 1);
+            });
+
+            stub.reserve(reserveRequest(1));
+
+            assertThat(capped.get()).isEqualTo(500);
+        }
+    }
+
+    @Nested
+    @DisplayName("WatchAvailability")
+    class WatchTests {
+
+        private final BlockingQueue<Availability> received = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+
+        private StreamObserver<Availability> collector() {
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(Availability value) {
+                    received.add(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    errors.add(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }
+
+        private void watch() {
+            TicketInventoryGrpc.newStub(channel).watchAvailability(
+                WatchAvailabilityRequest.newBuilder().setEventId(EVENT_ID).build(), collector());
+        }
+
+        @Test
+        @DisplayName("GIVEN flux ouvert WHEN disponibilité modifiée THEN seule la nouvelle valeur est poussée")
+        void shouldPushOnlyChanges() throws InterruptedException {
+            Inventory inventory = new Inventory(EVENT_ID, 100);
+            when(facade.getAvailability(EVENT_ID)).thenReturn(new AvailabilityResponse(EVENT_ID, 100, 100));
+            when(inventoryRepository.findAllById(anyIterable())).thenReturn(List.of(inventory));
+
+            watch();
+            assertThat(received.poll(5, TimeUnit.SECONDS).getAvailable()).isEqualTo(100);
+
+            watchHub.poll();
+            assertThat(received).isEmpty();
+
+            inventory.reserve(30);
+            watchHub.poll();
+            assertThat(received.poll(5, TimeUnit.SECONDS).getAvailable()).isEqualTo(70);
+        }
+
+        @Test
+        @DisplayName("GIVEN client annulé WHEN relecture THEN flux retiré")
+        void shouldRemoveCancelledWatcher() throws InterruptedException {
+            when(facade.getAvailability(EVENT_ID)).thenReturn(new AvailabilityResponse(EVENT_ID, 100, 100));
+            io.grpc.Context.CancellableContext context = io.grpc.Context.current().withCancellation();
+
+            context.run(this::watch);
+            assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(watchHub.watcherCount()).isEqualTo(1);
+
+            context.cancel(null);
+
+            assertThat(watchHub.watcherCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN nombre maximum de flux atteint WHEN WatchAvailability THEN RESOURCE_EXHAUSTED")
+        void shouldBoundWatchers() throws InterruptedException {
+            when(facade.getAvailability(EVENT_ID)).thenReturn(new AvailabilityResponse(EVENT_ID, 100, 100));
+
+            watch();
+            watch();
+            watch();
+
+            Throwable error = errors.poll(5, TimeUnit.SECONDS);
+            assertThat(Status.fromThrowable(error).getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+            assertThat(watchHub.watcherCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("GIVEN arrêt du serveur WHEN flux ouverts THEN flux terminés")
+        void shouldCompleteWatchersOnShutdown() throws InterruptedException {
+            when(facade.getAvailability(EVENT_ID)).thenReturn(new AvailabilityResponse(EVENT_ID, 100, 100));
+            watch();
+            assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+            watchHub.completeAll();
+
+            assertThat(watchHub.watcherCount()).isZero();
+            assertThat(errors).isEmpty();
+        }
+    }
+}
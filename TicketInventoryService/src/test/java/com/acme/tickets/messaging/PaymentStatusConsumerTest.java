@@ -0,0 +1,171 @@
+package com.acme.tickets.messaging;
+
+import com.acme.tickets.config.RabbitMQConfig;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.dto.CartConfirmRequest;
+import com.acme.tickets.dto.CartReleaseRequest;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ConfirmResponse;
+import com.acme.tickets.dto.PaymentStatusMessage;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.exception.ConcurrencyLimitExceededException;
+import com.acme.tickets.exception.DispatchQueueFullException;
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.ReservationNotFoundException;
+import com.acme.tickets.service.ReservationFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du consumer des statuts de paiement: un échec passager n'acquitte pas le
+ * message, un échec définitif l'acquitte.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentStatusConsumer - Acquittement des messages de paiement")
+class PaymentStatusConsumerTest {
+
+    private static final long RESERVATION_ID = 7L;
+
+    @Mock
+    private ReservationFacade reservationFacade;
+
+    private PaymentStatusConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new PaymentStatusConsumer(reservationFacade);
+    }
+
+    private static PaymentStatusMessage paid(String cartId) {
+        return new PaymentStatusMessage(RESERVATION_ID, 42L, 1L, "SUCCESS", "tx-1", null, cartId);
+    }
+
+    private static PaymentStatusMessage failed(String cartId) {
+        return new PaymentStatusMessage(RESERVATION_ID, 42L, 1L, "FAILED", "tx-1", "refusé", cartId);
+    }
+
+    @Nested
+    @DisplayName("Paiement réussi")
+    class PaymentSuccess {
+
+        @Test
+        @DisplayName("GIVEN confirm délestée WHEN message de paiement THEN exception propagée, message non acquitté")
+        void shouldNotAckShedConfirm() {
+            when(reservationFacade.confirmReservation(any(ConfirmRequest.class)))
+                .thenThrow(new ConcurrencyLimitExceededException("confirm", 4));
+
+            assertThatThrownBy(() -> consumer.handlePaymentStatus(paid(null)))
+                .isInstanceOf(ConcurrencyLimitExceededException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN panier en déplacement de shard WHEN message de paiement THEN exception propagée")
+        void shouldNotAckCartConfirmDuringMigration() {
+            when(reservationFacade.confirmCart(any(CartConfirmRequest.class)))
+                .thenThrow(new EventMigratingException(1L));
+
+            assertThatThrownBy(() -> consumer.handlePaymentStatus(paid("cart-1")))
+                .isInstanceOf(EventMigratingException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN file confirm du répartiteur pleine WHEN message de paiement THEN exception propagée")
+        void shouldNotAckConfirmRejectedByDispatcher() {
+            when(reservationFacade.confirmReservation(any(ConfirmRequest.class)))
+                .thenThrow(new DispatchQueueFullException("confirm"));
+
+            assertThatThrownBy(() -> consumer.handlePaymentStatus(paid(null)))
+                .isInstanceOf(DispatchQueueFullException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN réservation inconnue WHEN message de paiement THEN message acquitté sans exception")
+        void shouldAckUnknownReservation() {
+            when(reservationFacade.confirmReservation(any(ConfirmRequest.class)))
+                .thenThrow(new ReservationNotFoundException(RESERVATION_ID));
+
+            assertThatCode(() -> consumer.handlePaymentStatus(paid(null))).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("GIVEN confirm acceptée WHEN message de paiement THEN réservation confirmée")
+        void shouldConfirmReservation() {
+            when(reservationFacade.confirmReservation(any(ConfirmRequest.class)))
+                .thenReturn(new ConfirmResponse(ReservationStatus.CONFIRMED.name()));
+
+            consumer.handlePaymentStatus(paid(null));
+
+            verify(reservationFacade).confirmReservation(new ConfirmRequest(RESERVATION_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("Paiement échoué")
+    class PaymentFailure {
+
+        @Test
+        @DisplayName("GIVEN file release du répartiteur pleine WHEN échec de paiement THEN exception propagée")
+        void shouldNotAckReleaseRejectedByDispatcher() {
+            when(reservationFacade.releaseReservation(any(ReleaseRequest.class)))
+                .thenThrow(new DispatchQueueFullException("release"));
+
+            assertThatThrownBy(() -> consumer.handlePaymentStatus(failed(null)))
+                .isInstanceOf(DispatchQueueFullException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN attente dépassée sur release panier WHEN échec de paiement THEN exception propagée")
+        void shouldNotAckCartReleaseRejectedByDispatcher() {
+            when(reservationFacade.releaseCart(any(CartReleaseRequest.class)))
+                .thenThrow(new DispatchQueueFullException("release"));
+
+            assertThatThrownBy(() -> consumer.handlePaymentStatus(failed("cart-1")))
+                .isInstanceOf(DispatchQueueFullException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejeux épuisés")
+    class Recovery {
+
+        private final MessageRecoverer recoverer = new RabbitMQConfig().messageRecoverer();
+        private final Message message = new Message(new byte[0], new MessageProperties());
+
+        @Test
+        @DisplayName("GIVEN échec passager WHEN rejeux épuisés THEN message remis en file")
+        void shouldRequeueTransientFailure() {
+            var failure = new ListenerExecutionFailedException("Échec du listener",
+                new ConcurrencyLimitExceededException("confirm", 4), message);
+
+            assertThatThrownBy(() -> recoverer.recover(message, failure))
+                .isInstanceOf(ImmediateRequeueAmqpException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN échec définitif WHEN rejeux épuisés THEN message rejeté sans remise en file")
+        void shouldRejectPermanentFailure() {
+            var failure = new ListenerExecutionFailedException("Échec du listener",
+                new IllegalStateException("message illisible"), message);
+
+            assertThatThrownBy(() -> recoverer.recover(message, failure))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.TicketInventoryApplication;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.service.ReservationFacade;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests du profil fast-startup sur un contexte complet lancé comme en production (étapes de
+ * démarrage conservées), avec sa propre base H2 et son propre registre de métriques.
+ */
+@DisplayName("Profil fast-startup - Démarrage rapide et chronologie")
+class FastStartupProfileTest {
+
+    private static ConfigurableApplicationContext context;
+    private static RestClient http;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(TicketInventoryApplication.class)
+            .applicationStartup(new BufferingApplicationStartup(TicketInventoryApplication.STARTUP_STEPS))
+            .profiles("test", "fast-startup")
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:faststartup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+                "--server.port=0");
+        http = RestClient.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("GIVEN profil fast-startup WHEN contexte prêt THEN OpenAPI construit à la première consultation")
+    void shouldInitializeOpenApiOnFirstUse() {
+        assertThat(context.getBeanFactory().getBeanDefinition("ticketInventoryOpenAPI").isLazyInit()).isTrue();
+        assertThat(context.getBeanFactory().containsSingleton("ticketInventoryOpenAPI")).isFalse();
+
+        String docs = http.get().uri("/api-docs").retrieve().body(String.class);
+
+        assertThat(docs).contains("Ticket Inventory Service API");
+        assertThat(context.getBeanFactory().containsSingleton("ticketInventoryOpenAPI")).isTrue();
+    }
+
+    @Test
+    @DisplayName("GIVEN profil fast-startup WHEN contexte prêt THEN Hibernate amorcé en parallèle, RabbitMQ hors démarrage")
+    void shouldDeferHibernateAndAmqp() {
+        LocalContainerEntityManagerFactoryBean entityManagerFactory =
+            context.getBean("&entityManagerFactory", LocalContainerEntityManagerFactoryBean.class);
+
+        assertThat(entityManagerFactory.getBootstrapExecutor()).isNotNull();
+        assertThat(context.getBean(InventoryRepository.class).count()).isNotNegative();
+        assertThat(context.getBean(RabbitListenerEndpointRegistry.class).getListenerContainers())
+            .isNotEmpty()
+            .noneMatch(container -> container.isAutoStartup());
+    }
+
+    @Test
+    @DisplayName("GIVEN démarrage bufferisé WHEN GET /actuator/startup THEN chronologie des étapes")
+    void shouldExposeStartupTimeline() {
+        String timeline = http.get().uri("/actuator/startup").retrieve().body(String.class);
+
+        assertThat(timeline).contains("spring.beans.instantiate", "spring.context.refresh");
+    }
+
+    @Test
+    @DisplayName("GIVEN première réservation réussie THEN délai depuis le lancement de la JVM publié")
+    void shouldReportTimeToFirstReserve() {
+        context.getBean(InventoryRepository.class).save(new Inventory(48_001L, 10));
+
+        context.getBean(ReservationFacade.class).reserveTickets(new ReserveRequest(48_001L, 48_001L, 2), null);
+
+        double firstReserve = context.getBean(MeterRegistry.class)
+            .get(ReservationMetrics.FIRST_RESERVE_GAUGE)
+            .timeGauge()
+            .value(TimeUnit.MILLISECONDS);
+        assertThat(firstReserve).isPositive();
+    }
+}
@@ -0,0 +1,113 @@
+package com.acme.tickets.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires de l'échantillonnage des journaux et du contexte MDC.
+ */
+@DisplayName("LogSamplingTurboFilter - Échantillonnage des journaux")
+class LogSamplingTurboFilterTest {
+
+    private static final String HOT = "com.acme.tickets.service.TicketInventoryService";
+    private static final int MESSAGES = 10_000;
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        LogSamplingTurboFilter filter = new LogSamplingTurboFilter();
+        filter.setContext(context);
+        filter.addSample(HOT + "=10");
+        filter.start();
+        context.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private long countAt(String loggerName, Level level) {
+        Logger logger = context.getLogger(loggerName);
+        for (int i = 0; i < MESSAGES; i++) {
+            switch (level.levelInt) {
+                case Level.WARN_INT -> logger.warn("rejet {}", i);
+                default -> logger.info("réservation {}", i);
+            }
+        }
+        return appender.list.size();
+    }
+
+    @Test
+    @DisplayName("GIVEN logger chaud à 1/10 WHEN INFO THEN environ 10% conservés")
+    void shouldSampleInfoOnHotLogger() {
+        assertThat(countAt(HOT, Level.INFO)).isBetween(700L, 1300L);
+    }
+
+    @Test
+    @DisplayName("GIVEN logger chaud à 1/10 WHEN WARN THEN tout est conservé")
+    void shouldKeepWarnings() {
+        assertThat(countAt(HOT, Level.WARN)).isEqualTo(MESSAGES);
+    }
+
+    @Test
+    @DisplayName("GIVEN logger non configuré WHEN INFO THEN tout est conservé")
+    void shouldIgnoreOtherLoggers() {
+        assertThat(countAt("com.acme.tickets.controller.TicketController", Level.INFO)).isEqualTo(MESSAGES);
+    }
+
+    @Test
+    @DisplayName("GIVEN DEBUG désactivé WHEN isDebugEnabled THEN garde inchangée et INFO toujours actif")
+    void shouldNotAlterLevelGuards() {
+        Logger logger = context.getLogger(HOT);
+
+        assertThat(logger.isDebugEnabled()).isFalse();
+        for (int i = 0; i < 100; i++) {
+            assertThat(logger.isInfoEnabled()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("GIVEN portée LogContext WHEN journalisation THEN identifiants dans l'événement puis effacés")
+    void shouldCarryAndClearRequestContext() {
+        Logger logger = context.getLogger("com.acme.tickets.controller.TicketController");
+
+        Map<String, String> captured;
+        try (LogContext.Scope ignored = LogContext.open()) {
+            LogContext.eventId(42L);
+            LogContext.reservationId(7L);
+            logger.info("réservation");
+            // Copie faite par l'appender asynchrone avant la mise en file
+            captured = appender.list.get(0).getMDCPropertyMap();
+        }
+
+        assertThat(captured)
+            .containsEntry(LogContext.EVENT_ID, "42")
+            .containsEntry(LogContext.RESERVATION_ID, "7");
+        assertThat(MDC.get(LogContext.EVENT_ID)).isNull();
+        assertThat(MDC.get(LogContext.RESERVATION_ID)).isNull();
+    }
+}
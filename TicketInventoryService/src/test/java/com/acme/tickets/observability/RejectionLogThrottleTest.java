@@ -0,0 +1,32 @@
+package com.acme.tickets.observability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires de la limitation de journalisation des rejets.
+ */
+@DisplayName("RejectionLogThrottle - Journalisation des rejets")
+class RejectionLogThrottleTest {
+
+    @Test
+    @DisplayName("GIVEN limite atteinte WHEN admit THEN lignes omises puis comptées dans la fenêtre suivante")
+    void shouldSuppressAboveLimitAndReportCount() throws InterruptedException {
+        RejectionLogThrottle throttle = new RejectionLogThrottle(2);
+
+        // Aligné sur le début d'une seconde pour rester dans une seule fenêtre
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+        assertThat(throttle.admit("Insufficient stock")).isZero();
+        assertThat(throttle.admit("Insufficient stock")).isZero();
+        assertThat(throttle.admit("Insufficient stock")).isEqualTo(-1);
+        assertThat(throttle.admit("Insufficient stock")).isEqualTo(-1);
+        // Les types de rejet ont des fenêtres indépendantes
+        assertThat(throttle.admit("Reservation expired")).isZero();
+
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+        assertThat(throttle.admit("Insufficient stock")).isEqualTo(2);
+        assertThat(throttle.admit("Insufficient stock")).isZero();
+    }
+}
@@ -0,0 +1,37 @@
+package com.acme.tickets.observability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlFingerprint - Normalisation des requêtes")
+class SqlFingerprintTest {
+
+    @Test
+    @DisplayName("GIVEN même requête avec littéraux différents WHEN fingerprint THEN empreinte identique")
+    void shouldIgnoreLiteralsAndWhitespace() {
+        String a = "SELECT * FROM reservation WHERE user_id = 42 AND status = 'PENDING'";
+        String b = "select *   from reservation\n where user_id = 7 and status = 'EXPIRED'";
+
+        assertThat(SqlFingerprint.of(a)).isEqualTo(SqlFingerprint.of(b));
+        assertThat(SqlFingerprint.normalize(a))
+            .isEqualTo("select * from reservation where user_id = ? and status = ?");
+    }
+
+    @Test
+    @DisplayName("GIVEN listes IN de tailles différentes WHEN fingerprint THEN empreinte identique")
+    void shouldCollapseInLists() {
+        String a = "select id from reservation where status in (?, ?)";
+        String b = "select id from reservation where status in (?,?,?,?)";
+
+        assertThat(SqlFingerprint.of(a)).isEqualTo(SqlFingerprint.of(b));
+    }
+
+    @Test
+    @DisplayName("GIVEN requêtes différentes WHEN fingerprint THEN empreintes différentes")
+    void shouldDistinguishDifferentQueries() {
+        assertThat(SqlFingerprint.of("select * from inventory where event_id = ?"))
+            .isNotEqualTo(SqlFingerprint.of("select * from reservation where id = ?"));
+    }
+}
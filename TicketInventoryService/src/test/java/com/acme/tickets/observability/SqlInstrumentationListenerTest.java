@@ -0,0 +1,82 @@
+package com.acme.tickets.observability;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.acme.tickets.config.SqlInstrumentationProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires du journal des requêtes lentes: les valeurs liées n'y figurent que sur
+ * demande explicite.
+ */
+@DisplayName("SqlInstrumentationListener - Journal des requêtes lentes")
+class SqlInstrumentationListenerTest {
+
+    private static final String SQL = "select * from reservation where user_id = ? and idempotency_key = ?";
+    private static final String SECRET = "jeton-client-4242";
+
+    private final SqlInstrumentationProperties properties = new SqlInstrumentationProperties();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SqlInstrumentationListener.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setSlowQueryThresholdMs(1);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    private String slowQueryLine() throws Exception {
+        QueryInfo query = new QueryInfo(SQL);
+        query.getParametersList().add(List.of(
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                new Object[]{1, 42L}),
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[]{2, SECRET})));
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(250);
+
+        new SqlInstrumentationListener(properties, null).afterQuery(execution, List.of(query));
+
+        assertThat(appender.list).hasSize(1);
+        return appender.list.get(0).getFormattedMessage();
+    }
+
+    @Test
+    @DisplayName("GIVEN configuration par défaut WHEN requête lente THEN empreinte journalisée, valeurs liées masquées")
+    void shouldMaskBindValuesByDefault() throws Exception {
+        String line = slowQueryLine();
+
+        assertThat(line)
+            .contains(SqlFingerprint.of(SQL))
+            .contains("binds=2 masquées")
+            .doesNotContain(SECRET)
+            .doesNotContain("42");
+    }
+
+    @Test
+    @DisplayName("GIVEN log-bind-values activé WHEN requête lente THEN valeurs liées journalisées")
+    void shouldLogBindValuesWhenEnabled() throws Exception {
+        properties.setLogBindValues(true);
+
+        assertThat(slowQueryLine()).contains("binds=[42, " + SECRET + "]");
+    }
+}
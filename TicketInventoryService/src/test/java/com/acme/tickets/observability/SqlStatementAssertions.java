@@ -0,0 +1,46 @@
+package com.acme.tickets.observability;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * API d'assertion sur le nombre d'instructions SQL exécutées par une unité de travail.
+ * Permet de faire échouer le build en cas de régression (N+1, requête supplémentaire...).
+ *
+ * <pre>
+ * assertMaxStatements("reserve", 3, () -> service.reserveTickets(request, null));
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Exécute le travail dans une portée de comptage dédiée et retourne la portée fermée.
+     */
+    public static SqlStatementTracker.Scope countStatements(String name, ThrowingCallable work) {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open(name)) {
+            try {
+                work.call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            return scope;
+        }
+    }
+
+    /**
+     * Vérifie que le travail exécute au plus {@code max} instructions SQL.
+     */
+    public static SqlStatementTracker.Scope assertMaxStatements(String name, int max, ThrowingCallable work) {
+        SqlStatementTracker.Scope scope = countStatements(name, work);
+        assertThat(scope.getStatementCount())
+            .as("Nombre d'instructions SQL pour %s", scope)
+            .isLessThanOrEqualTo(max);
+        return scope;
+    }
+}
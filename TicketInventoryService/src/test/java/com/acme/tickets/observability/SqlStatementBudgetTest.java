@@ -0,0 +1,133 @@
+package com.acme.tickets.observability;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.CartLineRequest;
+import com.acme.tickets.dto.CartReserveRequest;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.service.CartReservationService;
+import com.acme.tickets.service.TicketInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.acme.tickets.observability.SqlStatementAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Budgets d'instructions SQL par opération du service.
+ * Une régression (requête supplémentaire, N+1) fait échouer le build.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("SQL statement budgets per operation")
+class SqlStatementBudgetTest {
+
+    private static final AtomicLong EVENT_IDS = new AtomicLong(10_000);
+    private static final Long USER_ID = 7L;
+
+    @Autowired
+    private TicketInventoryService service;
+
+    @Autowired
+    private CartReservationService cartService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        eventId = EVENT_IDS.incrementAndGet();
+        inventoryRepository.save(new Inventory(eventId, 100));
+    }
+
+    @Test
+    @DisplayName("reserve executes at most 3 statements (select inventory, update inventory, insert reservation)")
+    void reserveBudget() {
+        SqlStatementTracker.Scope scope = assertMaxStatements("reserve", 3,
+            () -> service.reserveTickets(new ReserveRequest(eventId, USER_ID, 2), null));
+
+        assertThat(scope.getCount(SqlStatementTracker.StatementKind.INSERT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reserve with Idempotency-Key executes at most 4 statements")
+    void idempotentReserveBudget() {
+        String key = "budget-" + eventId;
+        assertMaxStatements("reserve+idempotency", 4,
+            () -> service.reserveTickets(new ReserveRequest(eventId, USER_ID, 1), key));
+
+        // Rejeu: une seule lecture
+        assertMaxStatements("reserve replay", 1,
+            () -> service.reserveTickets(new ReserveRequest(eventId, USER_ID, 1), key));
+    }
+
+    @Test
+    @DisplayName("cart reserve executes at most 4 statements whatever the number of events")
+    void cartReserveBudget() {
+        List<CartLineRequest> lines = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Long lineEventId = EVENT_IDS.incrementAndGet();
+            inventoryRepository.save(new Inventory(lineEventId, 100));
+            lines.add(new CartLineRequest(lineEventId, 1));
+        }
+
+        // select inventories, batch insert reservations, select cart, batch update inventories
+        SqlStatementTracker.Scope scope = assertMaxStatements("cart reserve", 4,
+            () -> cartService.reserveCart(new CartReserveRequest(USER_ID, lines), null));
+
+        assertThat(scope.getCount(SqlStatementTracker.StatementKind.INSERT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("confirm executes at most 4 statements")
+    void confirmBudget() {
+        ReserveResponse reserved = service.reserveTickets(new ReserveRequest(eventId, USER_ID, 1), null);
+
+        // select reservation, select inventory (shard move check), insert ticket, update reservation
+        assertMaxStatements("confirm", 4,
+            () -> service.confirmReservation(new ConfirmRequest(reserved.reservationId())));
+    }
+
+    @Test
+    @DisplayName("release executes at most 4 statements")
+    void releaseBudget() {
+        ReserveResponse reserved = service.reserveTickets(new ReserveRequest(eventId, USER_ID, 1), null);
+
+        assertMaxStatements("release", 4,
+            () -> service.releaseReservation(new ReleaseRequest(reserved.reservationId())));
+    }
+
+    @Test
+    @DisplayName("availability and user history pages execute a single statement")
+    void readBudgets() {
+        service.reserveTickets(new ReserveRequest(eventId, USER_ID, 1), null);
+
+        assertMaxStatements("availability", 1, () -> service.getAvailability(eventId));
+        assertMaxStatements("user reservations page", 1,
+            () -> service.getUserReservations(USER_ID, null, null, 20));
+        assertMaxStatements("user tickets page", 1,
+            () -> service.getUserTickets(USER_ID, null, 20));
+    }
+}
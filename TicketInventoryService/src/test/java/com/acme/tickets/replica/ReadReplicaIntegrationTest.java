@@ -0,0 +1,142 @@
+package com.acme.tickets.replica;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.integration.EventCatalogClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests d'intégration du routage lecture/écriture. Le « réplica » est la base du primaire ouverte
+ * par un second pool: la réplication est instantanée, seul le battement fait foi.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:rwprimary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+    "ticket-inventory.read-replica.enabled=true",
+    "ticket-inventory.read-replica.url=jdbc:h2:mem:rwprimary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+    "ticket-inventory.read-replica.username=sa",
+    "ticket-inventory.read-replica.max-lag-ms=60000",
+    // Battements déclenchés par les tests uniquement (le premier part au démarrage)
+    "ticket-inventory.read-replica.lag-check-interval-ms=3600000"
+})
+@DisplayName("ReadReplica - Routage des transactions en lecture seule")
+class ReadReplicaIntegrationTest {
+
+    private static final AtomicLong IDS = new AtomicLong(20_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    private Long eventId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        eventId = IDS.incrementAndGet();
+        userId = IDS.incrementAndGet();
+        inventoryRepository.save(new Inventory(eventId, 100));
+    }
+
+    private double reads(String target, String reason) {
+        return meterRegistry.get("tickets.datasource.reads").tags("target", target, "reason", reason).counter().count();
+    }
+
+    private String reserve() throws Exception {
+        MvcResult result = mockMvc.perform(post("/tickets/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"eventId": %d, "userId": %d, "quantity": 1}
+                    """.formatted(eventId, userId)))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(SessionToken.HEADER))
+            .andReturn();
+        return result.getResponse().getHeader(SessionToken.HEADER);
+    }
+
+    @Test
+    @DisplayName("GIVEN réplica à jour WHEN GET réservations THEN transaction ouverte sur le réplica, sans jeton en réponse")
+    void shouldServeReadOnlyTransactionsFromReplica() throws Exception {
+        reserve();
+        monitor.check();
+        double before = reads("replica", "replica");
+
+        mockMvc.perform(get("/tickets/user/{userId}", userId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(1)))
+            .andExpect(header().doesNotExist(SessionToken.HEADER));
+
+        assertThat(reads("replica", "replica")).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("GIVEN jeton plus récent que le battement WHEN GET THEN primaire; après battement THEN réplica")
+    void shouldReadYourWritesWithSessionToken() throws Exception {
+        monitor.check();
+        String token = reserve();
+        double session = reads("primary", "session");
+
+        mockMvc.perform(get("/tickets/user/{userId}", userId).header(SessionToken.HEADER, token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(1)));
+        assertThat(reads("primary", "session")).isGreaterThan(session);
+
+        monitor.check();
+        double replica = reads("replica", "replica");
+        mockMvc.perform(get("/tickets/user/{userId}", userId).header(SessionToken.HEADER, token))
+            .andExpect(status().isOk());
+        assertThat(reads("replica", "replica")).isGreaterThan(replica);
+    }
+
+    @Test
+    @DisplayName("GIVEN jeton illisible WHEN GET disponibilité THEN lecture sur le primaire")
+    void shouldReadPrimaryWithUnreadableToken() throws Exception {
+        monitor.check();
+        double before = reads("primary", "session");
+
+        mockMvc.perform(get("/tickets/availability/{eventId}", eventId).header(SessionToken.HEADER, "%%%"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.available").value(100));
+
+        assertThat(reads("primary", "session")).isGreaterThan(before);
+    }
+}
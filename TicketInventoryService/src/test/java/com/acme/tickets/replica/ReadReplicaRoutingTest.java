@@ -0,0 +1,169 @@
+package com.acme.tickets.replica;
+
+import com.acme.tickets.config.ReadReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires de la mesure du retard du réplica et du choix de la cible des lectures.
+ */
+@DisplayName("ReadReplica - Retard du réplica et routage des lectures")
+class ReadReplicaRoutingTest {
+
+    private static final String HEARTBEAT_DDL =
+        "CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)";
+
+    private static DataSource database() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute(HEARTBEAT_DDL);
+        return dataSource;
+    }
+
+    @Nested
+    @DisplayName("Mesure du retard")
+    class MonitorTests {
+
+        private ReadReplicaProperties properties;
+
+        @BeforeEach
+        void setUp() {
+            properties = new ReadReplicaProperties();
+            properties.setMaxLagMs(2000);
+        }
+
+        @Test
+        @DisplayName("GIVEN réplica à jour WHEN check THEN retard sous la borne, écritures antérieures visibles")
+        void shouldTrustUpToDateReplica() {
+            DataSource shared = database();
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(shared, shared, properties, new SimpleMeterRegistry());
+            assertThat(monitor.isWithinLag()).isFalse();
+            Instant written = Instant.now();
+
+            monitor.check();
+
+            assertThat(monitor.isWithinLag()).isTrue();
+            assertThat(monitor.hasReplicated(written)).isTrue();
+            assertThat(monitor.measuredLagMs()).isBetween(0L, 2000L);
+        }
+
+        @Test
+        @DisplayName("GIVEN réplica figé 10 s en arrière WHEN check THEN retard hors borne, écritures récentes absentes")
+        void shouldDetectLaggingReplica() {
+            DataSource replica = database();
+            Instant frozenAt = Instant.now().minusSeconds(10);
+            new JdbcTemplate(replica).update(
+                "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.from(frozenAt));
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(database(), replica, properties, new SimpleMeterRegistry());
+
+            monitor.check();
+
+            assertThat(monitor.isWithinLag()).isFalse();
+            assertThat(monitor.measuredLagMs()).isGreaterThanOrEqualTo(10_000L);
+            assertThat(monitor.hasReplicated(frozenAt.minusSeconds(1))).isTrue();
+            assertThat(monitor.hasReplicated(Instant.now())).isFalse();
+        }
+
+        @Test
+        @DisplayName("GIVEN réplica sans battement WHEN check THEN retard inconnu, lectures refusées")
+        void shouldDistrustReplicaWithoutHeartbeat() {
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(database(), database(), properties, new SimpleMeterRegistry());
+
+            monitor.check();
+
+            assertThat(monitor.measuredLagMs()).isEqualTo(-1L);
+            assertThat(monitor.isWithinLag()).isFalse();
+            assertThat(monitor.hasReplicated(Instant.EPOCH)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Choix de la cible")
+    class RouteTests {
+
+        private ReplicaLagMonitor monitor;
+        private ReadReplicaDataSource dataSource;
+        private SimpleMeterRegistry registry;
+
+        @BeforeEach
+        void setUp() {
+            monitor = mock(ReplicaLagMonitor.class);
+            registry = new SimpleMeterRegistry();
+            dataSource = new ReadReplicaDataSource(mock(DataSource.class), mock(DataSource.class), monitor, registry);
+            when(monitor.isWithinLag()).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("GIVEN réplica à jour et aucune exigence WHEN route THEN réplica")
+        void shouldReadReplicaByDefault() {
+            assertThat(dataSource.route()).isEqualTo(ReadReplicaDataSource.Route.REPLICA);
+        }
+
+        @Test
+        @DisplayName("GIVEN retard hors borne WHEN route THEN primaire (lag)")
+        void shouldFallBackOnLag() {
+            when(monitor.isWithinLag()).thenReturn(false);
+
+            assertThat(dataSource.route()).isEqualTo(ReadReplicaDataSource.Route.LAG);
+        }
+
+        @Test
+        @DisplayName("GIVEN jeton de session non répliqué WHEN route THEN primaire; répliqué THEN réplica")
+        void shouldHonourSessionToken() {
+            Instant writtenAt = Instant.now();
+            when(monitor.hasReplicated(any())).thenReturn(false);
+
+            try (ReadConsistency.Scope ignored = ReadConsistency.requireAfter(writtenAt)) {
+                assertThat(dataSource.route()).isEqualTo(ReadReplicaDataSource.Route.SESSION);
+                when(monitor.hasReplicated(writtenAt)).thenReturn(true);
+                assertThat(dataSource.route()).isEqualTo(ReadReplicaDataSource.Route.REPLICA);
+            }
+            assertThat(ReadConsistency.requiredAfter()).isNull();
+        }
+
+        @Test
+        @DisplayName("GIVEN onPrimary WHEN route THEN primaire (forced), exigence levée ensuite")
+        void shouldForcePrimary() {
+            assertThat(ReadConsistency.onPrimary(dataSource::route)).isEqualTo(ReadReplicaDataSource.Route.FORCED);
+            assertThat(ReadConsistency.primaryRequired()).isFalse();
+        }
+
+        @Test
+        @DisplayName("GIVEN connexion ouverte WHEN lookup THEN compteur par cible et raison incrémenté")
+        void shouldCountReadsPerTarget() {
+            dataSource.determineCurrentLookupKey();
+
+            assertThat(registry.get("tickets.datasource.reads")
+                .tags("target", "replica", "reason", "replica").counter().count()).isEqualTo(1.0);
+            assertThat(registry.get("tickets.datasource.reads")
+                .tags("target", "primary", "reason", "lag").counter().count()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("GIVEN jeton encodé WHEN decode THEN date restituée; jeton malformé THEN IllegalArgumentException")
+    void shouldRoundTripSessionToken() {
+        Instant writtenAt = Instant.parse("2026-03-01T10:15:30.123456789Z");
+
+        assertThat(SessionToken.decode(new SessionToken(writtenAt).encode()).writtenAt()).isEqualTo(writtenAt);
+        assertThat(SessionToken.decode(" ")).isNull();
+        assertThatThrownBy(() -> SessionToken.decode("bm9wZQ"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,376 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.ConcurrencyLimitProperties;
+import com.acme.tickets.config.DispatchProperties;
+import com.acme.tickets.exception.ConcurrencyLimitExceededException;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import com.acme.tickets.service.PriorityDispatcher.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires de la limite de concurrence adaptative: ajustement sur des latences fournies
+ * directement, délestage immédiat, puis charge réelle sur une base simulée qui ralentit.
+ */
+@DisplayName("AdaptiveConcurrencyLimiter - Limite adaptative et délestage")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000;
+
+    private ConcurrencyLimitProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(20);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(100);
+        properties.setWindowSamples(10);
+        registry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Fenêtres complètes de latence fixe, avec {@code inFlight} appels simultanés.
+     */
+    private static void feed(AdaptiveConcurrencyLimiter limiter, int windows, long latencyNanos, int inFlight) {
+        for (int i = 0; i < windows * 10; i++) {
+            limiter.onSample(latencyNanos, inFlight);
+        }
+    }
+
+    private double dropped(String operation) {
+        return registry.get(AdaptiveConcurrencyLimiter.DROPPED_COUNTER).tag("operation", operation).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Ajustement de la limite")
+    class Adjustment {
+
+        @Test
+        @DisplayName("GIVEN latence stable et limite utilisée WHEN fenêtres THEN la limite monte jusqu'au plafond")
+        void shouldGrowWhileLatencyIsStable() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+
+            feed(limiter, 5, 2 * MS, 20);
+            int grown = limiter.limit();
+            feed(limiter, 200, 2 * MS, 100);
+
+            assertThat(grown).isGreaterThan(20);
+            assertThat(limiter.limit()).isEqualTo(100);
+            assertThat(registry.get(AdaptiveConcurrencyLimiter.LIMIT_GAUGE).gauge().value()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("GIVEN latence multipliée par 20 WHEN fenêtres THEN la limite descend, jamais sous le plancher")
+        void shouldShrinkWhenLatencyRises() {
+            properties.setBaselineWindows(1_000);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+            feed(limiter, 3, 2 * MS, 20);
+            int before = limiter.limit();
+
+            feed(limiter, 3, 40 * MS, 20);
+            int after = limiter.limit();
+            feed(limiter, 100, 40 * MS, 20);
+
+            assertThat(after).isLessThan(before);
+            assertThat(limiter.limit()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("GIVEN ralentissement durable WHEN fenêtres THEN il devient la référence, la limite remonte")
+        void shouldAdoptLastingLatencyAsBaseline() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+            feed(limiter, 3, 2 * MS, 20);
+            feed(limiter, 5, 40 * MS, 20);
+            int shrunk = limiter.limit();
+
+            feed(limiter, 100, 40 * MS, 20);
+
+            assertThat(limiter.limit()).isGreaterThan(shrunk);
+        }
+
+        @Test
+        @DisplayName("GIVEN moins de la moitié de la limite utilisée WHEN latence varie THEN limite inchangée")
+        void shouldIgnoreApplicationLimitedWindows() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+
+            feed(limiter, 3, 2 * MS, 3);
+            feed(limiter, 3, 80 * MS, 3);
+
+            assertThat(limiter.limit()).isEqualTo(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("Délestage")
+    class Shedding {
+
+        private ExecutorService pool;
+        private CountDownLatch release;
+
+        @BeforeEach
+        void setUp() {
+            pool = Executors.newCachedThreadPool();
+            release = new CountDownLatch(1);
+        }
+
+        @AfterEach
+        void tearDown() {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        @Test
+        @DisplayName("GIVEN limite atteinte WHEN appel suivant THEN rejet immédiat compté, en cours inchangé")
+        void shouldRejectBeyondLimitImmediately() throws Exception {
+            properties.setInitialLimit(2);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+            CountDownLatch started = new CountDownLatch(2);
+            List<Future<String>> held = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                held.add(pool.submit(() -> limiter.execute(Operation.RESERVE, () -> {
+                    started.countDown();
+                    await(release);
+                    return "ok";
+                })));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> limiter.execute(Operation.CONFIRM, () -> "ko"))
+                .isInstanceOfSatisfying(ConcurrencyLimitExceededException.class, e -> {
+                    assertThat(e.getLimit()).isEqualTo(2);
+                    assertThat(e.getOperation()).isEqualTo("confirm");
+                });
+            assertThat(dropped("confirm")).isEqualTo(1);
+            assertThat(registry.get(AdaptiveConcurrencyLimiter.IN_FLIGHT_GAUGE).gauge().value()).isEqualTo(2);
+
+            release.countDown();
+            for (Future<String> future : held) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+            }
+            assertThat(limiter.inFlight()).isZero();
+            assertThat(limiter.execute(Operation.CONFIRM, () -> "ok")).isEqualTo("ok");
+        }
+
+        @Test
+        @DisplayName("GIVEN limite désactivée WHEN appels au-delà THEN tous admis")
+        void shouldAdmitEverythingWhenDisabled() throws Exception {
+            properties.setInitialLimit(1);
+            properties.setEnabled(false);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+            CountDownLatch started = new CountDownLatch(1);
+            Future<String> held = pool.submit(() -> limiter.execute(Operation.RESERVE, () -> {
+                started.countDown();
+                await(release);
+                return "ok";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(limiter.execute(Operation.RESERVE, () -> "ok")).isEqualTo("ok");
+            release.countDown();
+            assertThat(held.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+            assertThat(dropped("reserve")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Ralentissement simulé de la base")
+    class DatabaseSlowdown {
+
+        private static final int CLIENTS = 40;
+        private static final int CONNECTIONS = 4;
+        private static final long CLIENT_TIMEOUT_MS = 150;
+
+        /**
+         * Base simulée: pool de connexions borné, chaque requête tient une connexion
+         * {@code latencyMs}.
+         */
+        private static final class SimulatedDatabase {
+
+            private final Semaphore connections = new Semaphore(CONNECTIONS, true);
+            private volatile long latencyMs = 2;
+
+            String query() {
+                connections.acquireUninterruptibly();
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    connections.release();
+                }
+                return "ok";
+            }
+        }
+
+        /**
+         * Latences (ms) vues par les clients une fois la limite stabilisée après le ralentissement.
+         */
+        private record Observed(List<Long> admitted, List<Long> rejected) {
+        }
+
+        /**
+         * CLIENTS appels en boucle: 500 ms de base saine, puis requêtes à 30 ms pendant 2 s;
+         * seuls les appels commencés après 1,2 s de ralentissement sont retenus.
+         */
+        private Observed drive(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+            SimulatedDatabase database = new SimulatedDatabase();
+            ConcurrentLinkedQueue<Long> admitted = new ConcurrentLinkedQueue<>();
+            ConcurrentLinkedQueue<Long> rejected = new ConcurrentLinkedQueue<>();
+            long slowdownAt = System.nanoTime() + 500 * MS;
+            long settledAt = slowdownAt + 1_200 * MS;
+            long endAt = slowdownAt + 2_000 * MS;
+            List<Thread> clients = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                Thread client = new Thread(() -> {
+                    while (System.nanoTime() < endAt) {
+                        long start = System.nanoTime();
+                        try {
+                            limiter.execute(Operation.RESERVE, database::query);
+                            record(admitted, start, settledAt);
+                        } catch (ConcurrencyLimitExceededException e) {
+                            record(rejected, start, settledAt);
+                            sleep(5);
+                        }
+                    }
+                }, "client-" + i);
+                client.start();
+                clients.add(client);
+            }
+            sleep((slowdownAt - System.nanoTime()) / MS);
+            database.latencyMs = 30;
+            for (Thread client : clients) {
+                client.join(10_000);
+            }
+            return new Observed(new ArrayList<>(admitted), new ArrayList<>(rejected));
+        }
+
+        private static void record(ConcurrentLinkedQueue<Long> latencies, long start, long settledAt) {
+            if (start >= settledAt) {
+                latencies.add((System.nanoTime() - start) / MS);
+            }
+        }
+
+        private static long percentile(List<Long> latencies, double percentile) {
+            List<Long> sorted = latencies.stream().sorted().toList();
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(percentile * sorted.size())));
+        }
+
+        @Test
+        @DisplayName("GIVEN base qui ralentit WHEN charge soutenue THEN limite réduite, admis sous le délai client, excédent rejeté sans attente")
+        void shouldShedInsteadOfQueueing() throws InterruptedException {
+            properties.setBaselineWindows(1_000);
+            properties.setSmoothing(0.5);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+
+            Observed observed = drive(limiter);
+
+            assertThat(limiter.limit()).isBetween(4, 19);
+            assertThat(limiter.inFlight()).isZero();
+            assertThat(dropped("reserve")).isPositive();
+            assertThat(observed.admitted()).isNotEmpty();
+            assertThat(observed.rejected()).isNotEmpty();
+            assertThat(percentile(observed.admitted(), 0.95)).isLessThan(CLIENT_TIMEOUT_MS);
+            assertThat(percentile(observed.rejected(), 0.99)).isLessThan(20);
+        }
+
+        @Test
+        @DisplayName("GIVEN base qui ralentit WHEN limite désactivée THEN les appels attendent au-delà du délai client")
+        void shouldQueuePastClientTimeoutWithoutLimit() throws InterruptedException {
+            properties.setEnabled(false);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+
+            Observed observed = drive(limiter);
+
+            assertThat(observed.rejected()).isEmpty();
+            assertThat(percentile(observed.admitted(), 0.5)).isGreaterThan(CLIENT_TIMEOUT_MS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Avec le répartiteur à priorités")
+    class WithDispatcher {
+
+        private static final int CLIENTS = 16;
+        private static final long WORK_MS = 5;
+
+        @Test
+        @DisplayName("GIVEN appels en file dans le répartiteur WHEN fenêtres THEN l'attente en file ne fait pas baisser la limite")
+        void shouldNotCountDispatcherQueueingAsLatency() throws Exception {
+            properties.setBaselineWindows(1_000);
+            properties.setLatencyTolerance(2.0);
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, registry);
+            DispatchProperties dispatchProperties = new DispatchProperties();
+            dispatchProperties.setMaxConcurrent(2);
+            dispatchProperties.setMaxWaitMs(10_000);
+            PriorityDispatcher dispatcher = new PriorityDispatcher(dispatchProperties, registry);
+            Runnable call = () -> limiter.execute(Operation.RESERVE,
+                () -> dispatcher.execute(Priority.RESERVE, () -> {
+                    sleep(WORK_MS);
+                    return "ok";
+                }));
+
+            // Référence sans file: appels un à un
+            for (int i = 0; i < 20; i++) {
+                call.run();
+            }
+            // CLIENTS appels simultanés pour 2 places: chacun attend ~7 fois la durée du travail
+            ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                List<Future<?>> clients = new ArrayList<>();
+                for (int i = 0; i < CLIENTS; i++) {
+                    clients.add(pool.submit(() -> {
+                        for (int j = 0; j < 10; j++) {
+                            call.run();
+                        }
+                    }));
+                }
+                for (Future<?> client : clients) {
+                    client.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            double queuedMs = registry.get(PriorityDispatcher.QUEUE_TIMER).tag("priority", "reserve").timer()
+                .mean(TimeUnit.MILLISECONDS);
+            assertThat(queuedMs).isGreaterThan(3 * WORK_MS);
+            assertThat(dropped("reserve")).isZero();
+            assertThat(limiter.limit()).isGreaterThanOrEqualTo(20);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(0, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
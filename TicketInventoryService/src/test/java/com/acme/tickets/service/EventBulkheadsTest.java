@@ -0,0 +1,269 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.BulkheadProperties;
+import com.acme.tickets.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires des cloisons par événement.
+ */
+@DisplayName("EventBulkheads - Isolation des événements chauds")
+class EventBulkheadsTest {
+
+    private static final Long HOT_EVENT = 42L;
+    private static final Long OTHER_EVENT = 7L;
+
+    private BulkheadProperties properties;
+    private SimpleMeterRegistry registry;
+    private ExecutorService pool;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BulkheadProperties();
+        properties.setHotMaxConcurrent(1);
+        properties.setHotMaxQueue(0);
+        properties.setMaxWaitMs(50);
+        registry = new SimpleMeterRegistry();
+        pool = Executors.newCachedThreadPool();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Occupe une place de la cloison de l'événement jusqu'à {@code release}.
+     */
+    private Future<String> occupy(EventBulkheads bulkheads, Long eventId) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> future = pool.submit(() -> bulkheads.execute(eventId, () -> {
+            started.countDown();
+            awaitRelease();
+            return "done";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double gauge(String name, String bulkhead) {
+        return registry.get(name).tag("bulkhead", bulkhead).gauge().value();
+    }
+
+    private double rejected(String bulkhead, String reason) {
+        return registry.get(EventBulkheads.REJECTED_COUNTER)
+            .tags("bulkhead", bulkhead, "reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Événement déclaré chaud")
+    class DeclaredHotTests {
+
+        @Test
+        @DisplayName("GIVEN cloison chaude saturée WHEN nouvel appel THEN rejet immédiat, autres événements servis")
+        void shouldShedHotEventAndServeOthers() throws Exception {
+            properties.setHotEvents(Set.of(HOT_EVENT));
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+            Future<String> running = occupy(bulkheads, HOT_EVENT);
+
+            assertThatThrownBy(() -> bulkheads.execute(HOT_EVENT, () -> "refusé"))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("événement 42");
+            assertThat(bulkheads.execute(OTHER_EVENT, () -> "servi")).isEqualTo("servi");
+
+            assertThat(rejected("event-42", "queue_full")).isEqualTo(1);
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, "event-42")).isEqualTo(1);
+            assertThat(gauge(EventBulkheads.SATURATION_GAUGE, "event-42")).isEqualTo(1.0);
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, EventBulkheads.SHARED)).isZero();
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, "event-42")).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN place en file WHEN attente dépassée THEN rejet par timeout")
+        void shouldRejectAfterMaxWait() throws Exception {
+            properties.setHotEvents(Set.of(HOT_EVENT));
+            properties.setHotMaxQueue(1);
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+            occupy(bulkheads, HOT_EVENT);
+
+            assertThatThrownBy(() -> bulkheads.execute(HOT_EVENT, () -> "refusé"))
+                .isInstanceOf(BulkheadFullException.class);
+
+            assertThat(rejected("event-42", "timeout")).isEqualTo(1);
+            assertThat(gauge(EventBulkheads.QUEUED_GAUGE, "event-42")).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN échéance de requête plus courte WHEN attente d'une place THEN rejet à l'échéance")
+        void shouldCapWaitByRequestDeadline() throws Exception {
+            properties.setHotEvents(Set.of(HOT_EVENT));
+            properties.setHotMaxQueue(1);
+            properties.setMaxWaitMs(5_000);
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+            occupy(bulkheads, HOT_EVENT);
+
+            long start = System.nanoTime();
+            try (RequestDeadline.Scope ignored = RequestDeadline.within(TimeUnit.MILLISECONDS.toNanos(50))) {
+                assertThatThrownBy(() -> bulkheads.execute(HOT_EVENT, () -> "refusé"))
+                    .isInstanceOf(BulkheadFullException.class);
+            }
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+            assertThat(rejected("event-42", "timeout")).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Détection automatique")
+    class AutoHotTests {
+
+        @Test
+        @DisplayName("GIVEN appels simultanés au seuil WHEN execute THEN promotion puis retour après refroidissement")
+        void shouldPromoteAndDemote() throws Exception {
+            properties.setAutoHotThreshold(2);
+            properties.setHotMaxConcurrent(2);
+            properties.setAutoHotCooldownMs(1);
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+
+            Future<String> first = occupy(bulkheads, HOT_EVENT);
+            assertThat(bulkheads.isHot(HOT_EVENT)).isFalse();
+            Future<String> second = occupy(bulkheads, HOT_EVENT);
+            assertThat(bulkheads.isHot(HOT_EVENT)).isTrue();
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, "event-42")).isEqualTo(1);
+            assertThat(bulkheads.isHot(OTHER_EVENT)).isFalse();
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+            Thread.sleep(5);
+            bulkheads.demoteCooledDown();
+
+            assertThat(bulkheads.isHot(HOT_EVENT)).isFalse();
+            assertThat(registry.find(EventBulkheads.ACTIVE_GAUGE).tag("bulkhead", "event-42").gauge()).isNull();
+        }
+
+        @Test
+        @DisplayName("GIVEN appel en cours dans la cloison promue WHEN refroidissement écoulé THEN cloison conservée, métriques comprises")
+        void shouldNotDemoteWhileCallsAreInFlight() throws Exception {
+            properties.setAutoHotThreshold(2);
+            properties.setHotMaxConcurrent(2);
+            properties.setAutoHotCooldownMs(1);
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+            occupy(bulkheads, HOT_EVENT);
+            Future<String> dedicated = occupy(bulkheads, HOT_EVENT);
+
+            Thread.sleep(5);
+            bulkheads.demoteCooledDown();
+
+            assertThat(bulkheads.isHot(HOT_EVENT)).isTrue();
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, "event-42")).isEqualTo(1);
+            release.countDown();
+            assertThat(dedicated.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        }
+
+        @Test
+        @DisplayName("GIVEN cloison promue WHEN retrait THEN retrait refusé tant qu'un appel y est entré, puis plus aucune entrée")
+        void shouldRetireOnlyWhenEmpty() throws Exception {
+            EventBulkheads.Bulkhead bulkhead = new EventBulkheads.Bulkhead("event-42", 2, 0, false, registry);
+            long later = System.currentTimeMillis() + 1_000;
+
+            assertThat(bulkhead.tryEnter()).isTrue();
+            assertThat(bulkhead.tryRetire(later, 1)).isFalse();
+            bulkhead.leave();
+            assertThat(bulkhead.tryRetire(later, 1)).isTrue();
+
+            assertThat(bulkhead.tryEnter()).isFalse();
+        }
+
+        @Test
+        @DisplayName("GIVEN nombre max d'événements promus atteint WHEN nouvel événement chaud THEN reste partagé")
+        void shouldCapAutoHotEvents() throws Exception {
+            properties.setAutoHotThreshold(1);
+            properties.setMaxAutoHotEvents(1);
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+
+            occupy(bulkheads, HOT_EVENT);
+            occupy(bulkheads, OTHER_EVENT);
+
+            assertThat(bulkheads.isHot(HOT_EVENT)).isTrue();
+            assertThat(bulkheads.isHot(OTHER_EVENT)).isFalse();
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, EventBulkheads.SHARED)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Panier multi-événements")
+    class ExecuteAllTests {
+
+        @Test
+        @DisplayName("GIVEN événements chaud et partagé WHEN executeAll THEN une place par cloison, rendue après")
+        void shouldHoldOnePermitPerBulkhead() {
+            properties.setHotEvents(Set.of(HOT_EVENT));
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+
+            String result = bulkheads.executeAll(List.of(HOT_EVENT, OTHER_EVENT, 8L), () -> {
+                assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, "event-42")).isEqualTo(1);
+                assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, EventBulkheads.SHARED)).isEqualTo(1);
+                return "servi";
+            });
+
+            assertThat(result).isEqualTo("servi");
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, "event-42")).isZero();
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, EventBulkheads.SHARED)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN une cloison du panier saturée WHEN executeAll THEN rejet, places déjà prises rendues")
+        void shouldReleaseAcquiredPermitsOnRejection() throws Exception {
+            properties.setHotEvents(Set.of(HOT_EVENT));
+            EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+            occupy(bulkheads, HOT_EVENT);
+
+            assertThatThrownBy(() -> bulkheads.executeAll(List.of(OTHER_EVENT, HOT_EVENT), () -> "refusé"))
+                .isInstanceOf(BulkheadFullException.class);
+
+            assertThat(gauge(EventBulkheads.ACTIVE_GAUGE, EventBulkheads.SHARED)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("GIVEN cloisons désactivées WHEN execute THEN aucune limite")
+    void shouldBypassWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+        properties.setHotEvents(Set.of(HOT_EVENT));
+        EventBulkheads bulkheads = new EventBulkheads(properties, registry);
+        occupy(bulkheads, HOT_EVENT);
+
+        assertThat(bulkheads.execute(HOT_EVENT, () -> "servi")).isEqualTo("servi");
+    }
+}
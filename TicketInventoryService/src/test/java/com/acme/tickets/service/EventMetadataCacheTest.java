@@ -0,0 +1,132 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.integration.EventMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du cache des métadonnées d'événement.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventMetadataCache - Cache single-flight")
+class EventMetadataCacheTest {
+
+    private static final Long EVENT_ID = 5L;
+    private static final Map<String, Object> EVENT = Map.of(
+        "id", EVENT_ID,
+        "status", "OPEN_FOR_BOOKING",
+        "category", Map.of("categoryType", "SPORTS"),
+        "tickets", List.of(Map.of("quantity", 40), Map.of("quantity", 60)));
+
+    @Mock
+    private EventCatalogClient eventCatalogClient;
+
+    private PrewarmProperties properties;
+    private EventMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PrewarmProperties();
+        cache = new EventMetadataCache(eventCatalogClient, properties);
+    }
+
+    @Test
+    @DisplayName("GIVEN réponse catalogue WHEN get répété THEN un seul appel et métadonnées extraites")
+    void shouldCacheMetadata() {
+        when(eventCatalogClient.getEventById(EVENT_ID)).thenReturn(EVENT);
+
+        EventMetadata first = cache.get(EVENT_ID);
+        EventMetadata second = cache.get(EVENT_ID);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.categoryType()).isEqualTo("SPORTS");
+        assertThat(first.totalTickets()).isEqualTo(100);
+        assertThat(first.status()).isEqualTo("OPEN_FOR_BOOKING");
+        verify(eventCatalogClient, times(1)).getEventById(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("GIVEN échec du catalogue (réponse vide) WHEN get THEN rien n'est mis en cache")
+    void shouldNotCacheEmptyResponse() {
+        when(eventCatalogClient.getEventById(EVENT_ID)).thenReturn(Map.of(), EVENT);
+
+        assertThat(cache.get(EVENT_ID).totalTickets()).isZero();
+        assertThat(cache.get(EVENT_ID).totalTickets()).isEqualTo(100);
+        verify(eventCatalogClient, times(2)).getEventById(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("GIVEN entrée en cache WHEN refresh puis evict THEN catalogue rappelé à chaque fois")
+    void shouldReloadOnRefreshAndEvict() {
+        when(eventCatalogClient.getEventById(EVENT_ID)).thenReturn(EVENT);
+        cache.get(EVENT_ID);
+
+        cache.refresh(EVENT_ID);
+        cache.evict(EVENT_ID);
+        cache.get(EVENT_ID);
+
+        verify(eventCatalogClient, times(3)).getEventById(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("GIVEN requêtes simultanées sur un événement froid WHEN get THEN un seul appel au catalogue")
+    void shouldSingleFlightConcurrentLoads() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(eventCatalogClient.getEventById(EVENT_ID)).thenAnswer(inv -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return EVENT;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<EventMetadata>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get(EVENT_ID)));
+            assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> cache.get(EVENT_ID)));
+            }
+            Thread.sleep(50);
+            releaseCall.countDown();
+
+            for (Future<EventMetadata> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).totalTickets()).isEqualTo(100);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(eventCatalogClient, times(1)).getEventById(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("GIVEN durée de validité nulle WHEN get répété THEN catalogue appelé à chaque fois")
+    void shouldBypassCacheWhenTtlIsZero() {
+        properties.setMetadataTtlSeconds(0);
+        when(eventCatalogClient.getEventById(EVENT_ID)).thenReturn(EVENT);
+
+        cache.get(EVENT_ID);
+        cache.get(EVENT_ID);
+
+        verify(eventCatalogClient, times(2)).getEventById(EVENT_ID);
+    }
+}
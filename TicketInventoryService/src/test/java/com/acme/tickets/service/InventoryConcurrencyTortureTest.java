@@ -0,0 +1,409 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.BulkheadProperties;
+import com.acme.tickets.config.ConcurrencyLimitProperties;
+import com.acme.tickets.config.DispatchProperties;
+import com.acme.tickets.config.OptimisticRetryProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.AvailabilityResponse;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.exception.InvalidReservationStateException;
+import com.acme.tickets.exception.PurchaseQuotaExceededException;
+import com.acme.tickets.exception.ReservationExpiredException;
+import com.acme.tickets.integration.EventCatalogClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Torture de concurrence: des centaines de threads entrelacent aléatoirement reserve, confirm,
+ * release, rejeux idempotents, expirations et passes de nettoyage sur un seul événement.
+ * <p>
+ * Chaque opération est consignée dans un historique; à la fin, et pendant l'exécution pour la
+ * borne du stock, on vérifie:
+ * <ul>
+ *   <li>0 &lt;= reserved &lt;= total à tout instant;</li>
+ *   <li>reserved = quantités PENDING + quantités des tickets émis (confirm ne rend pas le stock,
+ *       release d'une réservation CONFIRMED non plus);</li>
+ *   <li>aucune double confirmation: au plus un confirm réussi et un ticket par réservation,
+ *       aucun ticket pour une réservation expirée;</li>
+ *   <li>tous les rejeux d'une même clé d'idempotence renvoient la même réservation;</li>
+ *   <li>le quota en mémoire de chaque utilisateur égale ses quantités PENDING + CONFIRMED.</li>
+ * </ul>
+ * Durée et parallélisme: {@code -Dtorture.duration-ms} (3000) et {@code -Dtorture.threads} (200).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Torture de concurrence - intégrité du stock")
+class InventoryConcurrencyTortureTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryConcurrencyTortureTest.class);
+
+    private static final long DURATION_MS = Long.getLong("torture.duration-ms", 3_000);
+    private static final int THREADS = Integer.getInteger("torture.threads", 200);
+    private static final int TOTAL = 300;
+    private static final int RECENT_RESERVATIONS = 1_024;
+    private static final int RECENT_KEYS = 64;
+    private static final int USERS = 50;
+
+    private static final AtomicLong NEXT_EVENT_ID = new AtomicLong(90_000);
+
+    @Autowired
+    private ReservationFacade facade;
+
+    @Autowired
+    private ReservationCleanupService cleanupService;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private OptimisticRetryProperties retryProperties;
+
+    @Autowired
+    private BulkheadProperties bulkheadProperties;
+
+    @Autowired
+    private ConcurrencyLimitProperties concurrencyLimitProperties;
+
+    @Autowired
+    private DispatchProperties dispatchProperties;
+
+    @Autowired
+    private PurchaseQuotaTracker purchaseQuota;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    /**
+     * Stratégies de gestion du stock sous contention (cf. {@link OptimisticRetryExecutor}).
+     */
+    enum StockStrategy {
+        /** Verrou optimiste seul: tout conflit est renvoyé à l'appelant. */
+        OPTIMISTIC_NO_RETRY,
+        /** Configuration par défaut: rejeu à gigue sous budget, bascule sérialisée au seuil. */
+        OPTIMISTIC_RETRY,
+        /** Exécution sérialisée par événement dès le premier conflit. */
+        SERIALIZED_LANE;
+
+        void apply(OptimisticRetryProperties properties) {
+            OptimisticRetryProperties defaults = new OptimisticRetryProperties();
+            properties.setMaxAttempts(defaults.getMaxAttempts());
+            properties.setRetryBudgetPerEvent(defaults.getRetryBudgetPerEvent());
+            properties.setWindowMs(defaults.getWindowMs());
+            properties.setContentionThreshold(defaults.getContentionThreshold());
+            properties.setSerializedCooldownMs(defaults.getSerializedCooldownMs());
+            properties.setSerializedWaitMs(defaults.getSerializedWaitMs());
+            switch (this) {
+                case OPTIMISTIC_NO_RETRY -> {
+                    properties.setMaxAttempts(1);
+                    properties.setContentionThreshold(Integer.MAX_VALUE);
+                }
+                case OPTIMISTIC_RETRY -> { }
+                case SERIALIZED_LANE -> {
+                    properties.setContentionThreshold(1);
+                    properties.setWindowMs(600_000);
+                    properties.setSerializedCooldownMs(600_000);
+                    properties.setSerializedWaitMs(10_000);
+                }
+            }
+        }
+    }
+
+    enum Op { RESERVE, REPLAY, CONFIRM, RELEASE, AVAILABILITY, AGE, CLEANUP }
+
+    enum Outcome { OK, REJECTED, ERROR }
+
+    /**
+     * Entrée d'historique: une opération, son issue et la réservation concernée.
+     */
+    record Entry(Op op, Outcome outcome, long reservationId, String idempotencyKey, Throwable error) { }
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        // L'intégrité du stock est éprouvée sans délestage: toutes les requêtes atteignent la base
+        bulkheadProperties.setEnabled(false);
+        concurrencyLimitProperties.setEnabled(false);
+        dispatchProperties.setEnabled(false);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(StockStrategy.class)
+    @DisplayName("GIVEN centaines de threads entrelacés WHEN torture THEN aucune survente ni double confirmation")
+    void shouldPreserveStockInvariants(StockStrategy strategy) throws Exception {
+        strategy.apply(retryProperties);
+        long eventId = NEXT_EVENT_ID.incrementAndGet();
+        inventoryRepository.save(new Inventory(eventId, TOTAL));
+
+        Run run = new Run(eventId);
+        List<Thread> workers = new ArrayList<>(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+        for (int i = 0; i < THREADS; i++) {
+            Thread worker = new Thread(() -> run.work(start, deadline), "torture-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        Thread sampler = new Thread(() -> run.sample(deadline), "torture-sampler");
+        sampler.start();
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(DURATION_MS + 60_000);
+            assertThat(worker.isAlive()).as("thread %s bloqué", worker.getName()).isFalse();
+        }
+        sampler.join();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        report(strategy, run, elapsedSeconds);
+        assertInvariants(strategy, run);
+    }
+
+    private void report(StockStrategy strategy, Run run, double elapsedSeconds) {
+        Map<Op, Map<Outcome, Long>> counts = new EnumMap<>(Op.class);
+        for (Entry entry : run.history) {
+            counts.computeIfAbsent(entry.op(), op -> new EnumMap<>(Outcome.class))
+                .merge(entry.outcome(), 1L, Long::sum);
+        }
+        logger.info("Torture {}: {} opérations en {} s ({} op/s, {} threads) - {}",
+            strategy, run.history.size(), String.format("%.2f", elapsedSeconds),
+            Math.round(run.history.size() / elapsedSeconds), THREADS, counts);
+    }
+
+    private void assertInvariants(StockStrategy strategy, Run run) {
+        List<Entry> errors = run.history.stream().filter(e -> e.outcome() == Outcome.ERROR).toList();
+        assertThat(errors)
+            .as("erreurs inattendues: %s", errors.stream().limit(5).map(Entry::error).toList())
+            .isEmpty();
+        assertThat(run.boundViolations).as("reserved hors de [0, total] pendant l'exécution").isEmpty();
+        assertThat(count(run, Op.RESERVE, Outcome.OK)).isPositive();
+        assertThat(count(run, Op.CONFIRM, Outcome.OK)).isPositive();
+
+        long eventId = run.eventId;
+        int reserved = jdbc.queryForObject(
+            "SELECT reserved FROM inventory WHERE event_id = ?", Integer.class, eventId);
+        long pending = jdbc.queryForObject(
+            "SELECT COALESCE(SUM(quantity), 0) FROM reservation WHERE event_id = ? AND status = 'PENDING'",
+            Long.class, eventId);
+        long issued = jdbc.queryForObject(
+            "SELECT COALESCE(SUM(quantity), 0) FROM ticket WHERE event_id = ?", Long.class, eventId);
+        assertThat(reserved).isBetween(0, TOTAL);
+        assertThat((long) reserved).as("reserved = PENDING + tickets émis").isEqualTo(pending + issued);
+
+        // Double confirmation: historique et base
+        Map<Long, Long> confirmations = run.history.stream()
+            .filter(e -> e.op() == Op.CONFIRM && e.outcome() == Outcome.OK && e.reservationId() != 0)
+            .collect(Collectors.groupingBy(Entry::reservationId, Collectors.counting()));
+        assertThat(confirmations.values()).allMatch(n -> n == 1);
+        assertThat(jdbc.queryForList(
+            "SELECT reservation_id FROM ticket WHERE event_id = ? GROUP BY reservation_id HAVING COUNT(*) > 1",
+            Long.class, eventId)).as("réservations avec plusieurs tickets").isEmpty();
+        assertThat(jdbc.queryForList(
+            "SELECT t.reservation_id FROM ticket t JOIN reservation r ON r.id = t.reservation_id"
+                + " WHERE t.event_id = ? AND r.status NOT IN ('CONFIRMED', 'CANCELED')",
+            Long.class, eventId)).as("tickets de réservations jamais confirmées").isEmpty();
+        assertThat(jdbc.queryForObject(
+            "SELECT COUNT(*) FROM reservation r WHERE r.event_id = ? AND r.status = 'CONFIRMED'"
+                + " AND NOT EXISTS (SELECT 1 FROM ticket t WHERE t.reservation_id = r.id)",
+            Long.class, eventId)).as("réservations confirmées sans ticket").isZero();
+        assertThat(confirmations.keySet()).allMatch(id -> jdbc.queryForObject(
+            "SELECT COUNT(*) FROM ticket WHERE reservation_id = ?", Long.class, id) == 1);
+
+        // Rejeux idempotents: une seule réservation par clé
+        Map<String, List<Long>> byKey = run.history.stream()
+            .filter(e -> e.idempotencyKey() != null && e.outcome() == Outcome.OK)
+            .collect(Collectors.groupingBy(Entry::idempotencyKey,
+                Collectors.mapping(Entry::reservationId, Collectors.toList())));
+        assertThat(byKey.values()).allMatch(ids -> ids.stream().distinct().count() == 1);
+
+        // Quota par utilisateur: compteurs en mémoire alignés sur la base
+        Map<Long, Long> heldByUser = jdbc.query(
+            "SELECT user_id, SUM(quantity) FROM reservation WHERE event_id = ?"
+                + " AND status IN ('PENDING', 'CONFIRMED') GROUP BY user_id",
+            rs -> {
+                Map<Long, Long> held = new HashMap<>();
+                while (rs.next()) {
+                    held.put(rs.getLong(1), rs.getLong(2));
+                }
+                return held;
+            }, eventId);
+        for (long userId = 1; userId <= USERS; userId++) {
+            assertThat((long) purchaseQuota.held(userId, eventId))
+                .as("quota en mémoire de l'utilisateur %d", userId)
+                .isEqualTo(heldByUser.getOrDefault(userId, 0L));
+        }
+
+        if (strategy == StockStrategy.SERIALIZED_LANE && count(run, Op.RESERVE, Outcome.REJECTED) > 0) {
+            assertThat(retryExecutor.isSerialized(eventId)).isTrue();
+        }
+    }
+
+    private static long count(Run run, Op op, Outcome outcome) {
+        return run.history.stream().filter(e -> e.op() == op && e.outcome() == outcome).count();
+    }
+
+    /**
+     * État partagé d'une exécution: historique, réservations et clés récentes.
+     */
+    private final class Run {
+
+        final long eventId;
+        final Queue<Entry> history = new ConcurrentLinkedQueue<>();
+        final Queue<String> boundViolations = new ConcurrentLinkedQueue<>();
+        final AtomicReferenceArray<String> keys = new AtomicReferenceArray<>(RECENT_KEYS);
+        final AtomicLongArray reservations = new AtomicLongArray(RECENT_RESERVATIONS);
+        final AtomicLong reservationCount = new AtomicLong();
+        final AtomicLong keyCount = new AtomicLong();
+
+        Run(long eventId) {
+            this.eventId = eventId;
+        }
+
+        void work(CountDownLatch start, long deadline) {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                int dice = random.nextInt(100);
+                Op op = dice < 30 ? Op.RESERVE
+                    : dice < 40 ? Op.REPLAY
+                    : dice < 60 ? Op.CONFIRM
+                    : dice < 75 ? Op.RELEASE
+                    : dice < 88 ? Op.AVAILABILITY
+                    : dice < 98 ? Op.AGE
+                    : Op.CLEANUP;
+                history.add(execute(op, random));
+            }
+        }
+
+        private Entry execute(Op op, ThreadLocalRandom random) {
+            long reservationId = 0;
+            String key = null;
+            try {
+                switch (op) {
+                    case RESERVE, REPLAY -> {
+                        key = op == Op.REPLAY ? recentKey(random) : null;
+                        if (key == null && random.nextBoolean()) {
+                            long n = keyCount.incrementAndGet();
+                            key = "torture-" + eventId + "-" + n;
+                            keys.set((int) (n % RECENT_KEYS), key);
+                        }
+                        ReserveResponse response = facade.reserveTickets(
+                            new ReserveRequest(eventId, 1L + random.nextInt(USERS), 1 + random.nextInt(4)), key);
+                        reservationId = response.reservationId();
+                        reservations.set((int) (reservationCount.getAndIncrement() % RECENT_RESERVATIONS),
+                            reservationId);
+                    }
+                    case CONFIRM -> {
+                        reservationId = recentReservation(random);
+                        if (reservationId != 0) {
+                            facade.confirmReservation(new ConfirmRequest(reservationId));
+                        }
+                    }
+                    case RELEASE -> {
+                        reservationId = recentReservation(random);
+                        if (reservationId != 0) {
+                            facade.releaseReservation(new ReleaseRequest(reservationId));
+                        }
+                    }
+                    case AVAILABILITY -> {
+                        AvailabilityResponse availability = facade.getAvailability(eventId);
+                        if (availability.available() < 0 || availability.available() > TOTAL) {
+                            boundViolations.add("availability " + availability.available());
+                        }
+                    }
+                    case AGE -> {
+                        // Avance l'horloge d'une réservation: elle devient éligible au nettoyage
+                        reservationId = recentReservation(random);
+                        jdbc.update("UPDATE reservation SET hold_expires_at = ?, version = version + 1"
+                                + " WHERE id = ? AND status = 'PENDING'",
+                            Timestamp.from(Instant.now().minusSeconds(1)), reservationId);
+                    }
+                    case CLEANUP -> cleanupService.cleanupExpiredReservations();
+                }
+                return new Entry(op, Outcome.OK, reservationId, key, null);
+            } catch (InsufficientStockException | InvalidReservationStateException
+                     | ReservationExpiredException | PurchaseQuotaExceededException
+                     | OptimisticLockingFailureException e) {
+                return new Entry(op, Outcome.REJECTED, reservationId, key, e);
+            } catch (RuntimeException e) {
+                return new Entry(op, Outcome.ERROR, reservationId, key, e);
+            }
+        }
+
+        private String recentKey(ThreadLocalRandom random) {
+            long known = Math.min(keyCount.get(), RECENT_KEYS);
+            return known == 0 ? null : keys.get(random.nextInt((int) known));
+        }
+
+        private long recentReservation(ThreadLocalRandom random) {
+            long known = Math.min(reservationCount.get(), RECENT_RESERVATIONS);
+            return known == 0 ? 0 : reservations.get(random.nextInt((int) known));
+        }
+
+        void sample(long deadline) {
+            while (System.nanoTime() < deadline) {
+                Integer reserved = jdbc.queryForObject(
+                    "SELECT reserved FROM inventory WHERE event_id = ?", Integer.class, eventId);
+                if (reserved == null || reserved < 0 || reserved > TOTAL) {
+                    boundViolations.add("reserved " + reserved);
+                }
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
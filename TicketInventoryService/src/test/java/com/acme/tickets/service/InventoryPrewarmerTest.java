@@ -0,0 +1,201 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.PrewarmItem;
+import com.acme.tickets.integration.EventMetadata;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du pré-chauffage des inventaires.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("InventoryPrewarmer - Pré-chauffage des inventaires")
+class InventoryPrewarmerTest {
+
+    private static final Long EVENT_ID = 11L;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private EventMetadataCache metadataCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SimpleMeterRegistry registry;
+    private InventoryPrewarmer prewarmer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(metadataCache.get(any())).thenAnswer(inv -> new EventMetadata(inv.getArgument(0), null, 250, null));
+        when(metadataCache.refresh(any())).thenAnswer(inv -> new EventMetadata(inv.getArgument(0), null, 250, null));
+        prewarmer = new InventoryPrewarmer(inventoryRepository, metadataCache, transactionManager,
+            taskScheduler, new PrewarmProperties(), registry, new ShardRouter(new ShardingProperties(), null, null));
+    }
+
+    private double prewarmed(String result) {
+        return registry.get(InventoryPrewarmer.PREWARM_COUNTER).tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Initialisation d'un inventaire")
+    class EnsureInventoryTests {
+
+        @Test
+        @DisplayName("GIVEN inventaire absent WHEN ensureInventory THEN créé avec la capacité du catalogue")
+        void shouldCreateMissingInventory() {
+            ArgumentCaptor<Inventory> captor = ArgumentCaptor.forClass(Inventory.class);
+
+            assertThat(prewarmer.ensureInventory(EVENT_ID)).isEqualTo(InventoryPrewarmer.Result.CREATED);
+
+            verify(inventoryRepository).save(captor.capture());
+            assertThat(captor.getValue().getEventId()).isEqualTo(EVENT_ID);
+            assertThat(captor.getValue().getTotal()).isEqualTo(250);
+            assertThat(prewarmed("created")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("GIVEN inventaire préparé WHEN ensureInventory répété THEN plus aucun accès base")
+        void shouldSkipKnownInventory() {
+            prewarmer.ensureInventory(EVENT_ID);
+            prewarmer.ensureInventory(EVENT_ID);
+
+            verify(inventoryRepository, times(1)).existsById(EVENT_ID);
+            verify(inventoryRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("GIVEN insertion concurrente par une autre instance WHEN ensureInventory THEN EXISTING")
+        void shouldTreatDuplicateKeyAsExisting() {
+            when(inventoryRepository.save(any())).thenThrow(new DataIntegrityViolationException("PRIMARY KEY"));
+
+            assertThat(prewarmer.ensureInventory(EVENT_ID)).isEqualTo(InventoryPrewarmer.Result.EXISTING);
+        }
+
+        @Test
+        @DisplayName("GIVEN premiers acheteurs simultanés WHEN ensureInventory THEN un seul initialiseur")
+        void shouldSingleFlightInitialization() throws Exception {
+            CountDownLatch checkStarted = new CountDownLatch(1);
+            CountDownLatch releaseCheck = new CountDownLatch(1);
+            when(inventoryRepository.existsById(EVENT_ID)).thenAnswer(inv -> {
+                checkStarted.countDown();
+                releaseCheck.await(5, TimeUnit.SECONDS);
+                return false;
+            });
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<InventoryPrewarmer.Result>> results = new ArrayList<>();
+                results.add(pool.submit(() -> prewarmer.ensureInventory(EVENT_ID)));
+                assertThat(checkStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                for (int i = 0; i < 7; i++) {
+                    results.add(pool.submit(() -> prewarmer.ensureInventory(EVENT_ID)));
+                }
+                Thread.sleep(50);
+                releaseCheck.countDown();
+                for (Future<InventoryPrewarmer.Result> result : results) {
+                    assertThat(result.get(5, TimeUnit.SECONDS)).isIn(
+                        InventoryPrewarmer.Result.CREATED, InventoryPrewarmer.Result.EXISTING);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            verify(inventoryRepository, times(1)).existsById(EVENT_ID);
+            verify(inventoryRepository, times(1)).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Déclencheurs")
+    class TriggerTests {
+
+        @Test
+        @DisplayName("GIVEN lot avec doublon et échec WHEN prewarm THEN une issue par événement, lot complet")
+        void shouldPrewarmBatch() {
+            when(inventoryRepository.existsById(1L)).thenReturn(true);
+            when(inventoryRepository.existsById(3L)).thenThrow(new IllegalStateException("base indisponible"));
+
+            List<PrewarmItem> items = prewarmer.prewarm(List.of(1L, 2L, 1L, 3L));
+
+            assertThat(items).containsExactly(
+                new PrewarmItem(1L, "EXISTING"),
+                new PrewarmItem(2L, "CREATED"),
+                new PrewarmItem(3L, "FAILED"));
+            verify(metadataCache).refresh(2L);
+            assertThat(prewarmed("failed")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("GIVEN ouverture des ventes annoncée WHEN scheduleOnSale THEN planifié avant l'ouverture, remplacement possible")
+        void shouldScheduleBeforeOnSale() {
+            ScheduledFuture<?> first = mock(ScheduledFuture.class);
+            doReturn(first).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+            Instant onSale = Instant.parse("2030-01-01T10:00:00Z");
+
+            prewarmer.scheduleOnSale(EVENT_ID, onSale);
+            prewarmer.scheduleOnSale(EVENT_ID, onSale.plusSeconds(3600));
+
+            verify(taskScheduler).schedule(any(Runnable.class), eq(onSale.minusSeconds(120)));
+            verify(first).cancel(false);
+        }
+
+        @Test
+        @DisplayName("GIVEN événement annulé WHEN forget THEN planification annulée et métadonnées oubliées")
+        void shouldForgetCancelledEvent() {
+            ScheduledFuture<?> pending = mock(ScheduledFuture.class);
+            doReturn(pending).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+            prewarmer.scheduleOnSale(EVENT_ID, Instant.parse("2030-01-01T10:00:00Z"));
+
+            prewarmer.forget(EVENT_ID);
+
+            verify(pending).cancel(false);
+            verify(metadataCache).evict(EVENT_ID);
+            verify(inventoryRepository, never()).save(any());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.InventoryDriftItem;
+import com.acme.tickets.dto.ReconciliationResponse;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.integration.EventCatalogClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration du rapprochement des inventaires (H2 en mémoire, base dédiée: le passage
+ * porte sur tous les inventaires).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reconciliation;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+    "ticket-inventory.reconciliation.chunk-size=2"
+})
+@DisplayName("InventoryReconciler - Rapprochement des compteurs réservés")
+class InventoryReconcilerTest {
+
+    private static final AtomicLong USERS = new AtomicLong(20_000);
+
+    @Autowired
+    private InventoryReconciler reconciler;
+
+    @Autowired
+    private TicketInventoryService service;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        jdbcTemplate.update("DELETE FROM ticket");
+        jdbcTemplate.update("DELETE FROM reservation");
+        jdbcTemplate.update("DELETE FROM inventory");
+        // Quotas par utilisateur tenus en mémoire: un acheteur par test
+        userId = USERS.incrementAndGet();
+        // Cinq événements, plus que deux lots: 1 et 2 PENDING, 3 confirmé, 4 confirmé puis annulé, 5 libéré
+        for (long eventId = 1; eventId <= 5; eventId++) {
+            inventoryRepository.save(new Inventory(eventId, 100));
+        }
+        reserve(1L, 2);
+        reserve(2L, 3);
+        service.confirmReservation(new ConfirmRequest(reserve(3L, 4)));
+        Long confirmed = reserve(4L, 1);
+        service.confirmReservation(new ConfirmRequest(confirmed));
+        service.releaseReservation(new ReleaseRequest(confirmed));
+        service.releaseReservation(new ReleaseRequest(reserve(5L, 2)));
+    }
+
+    private Long reserve(Long eventId, int quantity) {
+        return service.reserveTickets(new ReserveRequest(eventId, userId, quantity), null).reservationId();
+    }
+
+    private void corrupt(long eventId, int reserved) {
+        jdbcTemplate.update("UPDATE inventory SET reserved = ? WHERE event_id = ?", reserved, eventId);
+    }
+
+    private int reserved(long eventId) {
+        return inventoryRepository.findById(eventId).orElseThrow().getReserved();
+    }
+
+    @Test
+    @DisplayName("GIVEN compteurs cohérents WHEN reconcile THEN aucun écart, tous les inventaires parcourus")
+    void shouldFindNoDriftOnConsistentInventories() {
+        ReconciliationResponse response = reconciler.reconcile(true);
+
+        assertThat(response.eventsScanned()).isEqualTo(5);
+        assertThat(response.drifted()).isZero();
+        assertThat(response.repaired()).isZero();
+        assertThat(response.drifts()).isEmpty();
+        assertThat(reserved(3L)).isEqualTo(4);
+        assertThat(reserved(4L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN compteurs faussés WHEN reconcile sans correction THEN écarts rapportés, compteurs inchangés")
+    void shouldReportDriftWithoutRepairing() {
+        corrupt(2L, 0);
+        corrupt(5L, 7);
+
+        ReconciliationResponse response = reconciler.reconcile(false);
+
+        assertThat(response.drifted()).isEqualTo(2);
+        assertThat(response.driftUnits()).isEqualTo(10);
+        assertThat(response.drifts()).containsExactly(
+            new InventoryDriftItem(2L, 0, 3, false),
+            new InventoryDriftItem(5L, 7, 0, false));
+        assertThat(reserved(2L)).isZero();
+        assertThat(reserved(5L)).isEqualTo(7);
+        assertThat(meterRegistry.get(InventoryReconciler.DRIFT_EVENTS_GAUGE).gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(InventoryReconciler.DRIFT_UNITS_GAUGE).gauge().value()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("GIVEN compteurs faussés WHEN reconcile avec correction THEN compteurs rétablis, passage suivant propre")
+    void shouldRepairDrift() {
+        corrupt(1L, 9);
+        corrupt(3L, 0);
+        double repairedBefore = meterRegistry.get(InventoryReconciler.REPAIRED_COUNTER).counter().count();
+
+        ReconciliationResponse response = reconciler.reconcile(true);
+
+        assertThat(response.drifted()).isEqualTo(2);
+        assertThat(response.repaired()).isEqualTo(2);
+        assertThat(response.drifts()).extracting(InventoryDriftItem::repaired).containsOnly(true);
+        assertThat(reserved(1L)).isEqualTo(2);
+        assertThat(reserved(3L)).isEqualTo(4);
+        assertThat(meterRegistry.get(InventoryReconciler.REPAIRED_COUNTER).counter().count())
+            .isEqualTo(repairedBefore + 2);
+
+        ReconciliationResponse next = reconciler.reconcile(true);
+        assertThat(next.drifted()).isZero();
+        assertThat(meterRegistry.get(InventoryReconciler.DRIFT_EVENTS_GAUGE).gauge().value()).isZero();
+    }
+}
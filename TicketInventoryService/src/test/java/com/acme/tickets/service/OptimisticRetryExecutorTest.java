@@ -0,0 +1,191 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.OptimisticRetryProperties;
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.observability.ReservationMetrics.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires du rejeu sur conflit de verrou optimiste.
+ */
+@DisplayName("OptimisticRetryExecutor - Rejeu sur conflit de version")
+class OptimisticRetryExecutorTest {
+
+    private static final Long EVENT_ID = 42L;
+
+    private OptimisticRetryProperties properties;
+    private SimpleMeterRegistry registry;
+    private OptimisticRetryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OptimisticRetryProperties();
+        properties.setInitialBackoffMs(1);
+        properties.setMaxBackoffMs(2);
+        registry = new SimpleMeterRegistry();
+        executor = new OptimisticRetryExecutor(properties, new ReservationMetrics(registry));
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict(Long eventId) {
+        return new ObjectOptimisticLockingFailureException(Inventory.class, eventId);
+    }
+
+    @Nested
+    @DisplayName("Rejeu")
+    class RetryTests {
+
+        @Test
+        @DisplayName("GIVEN deux conflits puis succès WHEN execute THEN l'unité de travail est rejouée")
+        void shouldRetryUntilSuccess() {
+            AtomicInteger calls = new AtomicInteger();
+
+            String result = executor.execute(Operation.RESERVE, EVENT_ID, () -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw conflict(EVENT_ID);
+                }
+                return "ok";
+            });
+
+            assertThat(result).isEqualTo("ok");
+            assertThat(calls).hasValue(3);
+            assertThat(registry.get("tickets.inventory.lock.retries")
+                .tag("operation", "reserve").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("GIVEN conflit persistant WHEN execute THEN abandon après maxAttempts")
+        void shouldGiveUpAfterMaxAttempts() {
+            properties.setMaxAttempts(4);
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> executor.execute(Operation.RELEASE, null, () -> {
+                calls.incrementAndGet();
+                throw conflict(EVENT_ID);
+            })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+            assertThat(calls).hasValue(4);
+        }
+
+        @Test
+        @DisplayName("GIVEN exception métier WHEN execute THEN aucune nouvelle tentative")
+        void shouldNotRetryOtherExceptions() {
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> executor.execute(Operation.RESERVE, EVENT_ID, () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("GIVEN budget de rejeu épuisé WHEN execute THEN le conflit est renvoyé immédiatement")
+        void shouldStopWhenRetryBudgetExhausted() {
+            properties.setRetryBudgetPerEvent(2);
+            properties.setWindowMs(60_000);
+            properties.setMaxAttempts(10);
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> executor.execute(Operation.RESERVE, EVENT_ID, () -> {
+                calls.incrementAndGet();
+                throw conflict(EVENT_ID);
+            })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+            // 1 exécution + 2 rejeux autorisés par le budget
+            assertThat(calls).hasValue(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Exécution sérialisée")
+    class SerializedTests {
+
+        @Test
+        @DisplayName("GIVEN seuil de contention atteint WHEN conflits THEN l'événement passe en mode sérialisé")
+        void shouldSwitchToSerializedAboveThreshold() {
+            properties.setContentionThreshold(2);
+            properties.setWindowMs(60_000);
+            AtomicInteger calls = new AtomicInteger();
+
+            executor.execute(Operation.RELEASE, null, () -> {
+                if (calls.incrementAndGet() <= 2) {
+                    throw conflict(EVENT_ID);
+                }
+                return null;
+            });
+
+            assertThat(executor.isSerialized(EVENT_ID)).isTrue();
+            assertThat(executor.isSerialized(7L)).isFalse();
+            assertThat(registry.get("tickets.inventory.serialized.events").gauge().value()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("GIVEN événement sérialisé WHEN appels concurrents THEN une seule unité de travail à la fois")
+        void shouldRunOneUnitOfWorkAtATime() throws Exception {
+            properties.setContentionThreshold(1);
+            properties.setWindowMs(60_000);
+            properties.setSerializedWaitMs(5_000);
+            AtomicInteger first = new AtomicInteger();
+            executor.execute(Operation.RESERVE, EVENT_ID, () -> {
+                if (first.incrementAndGet() == 1) {
+                    throw conflict(EVENT_ID);
+                }
+                return null;
+            });
+            assertThat(executor.isSerialized(EVENT_ID)).isTrue();
+
+            int threads = 8;
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                Future<?>[] futures = new Future<?>[threads];
+                for (int i = 0; i < threads; i++) {
+                    futures[i] = pool.submit(() -> {
+                        start.await();
+                        return executor.execute(Operation.RESERVE, EVENT_ID, () -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            sleepQuietly();
+                            inFlight.decrementAndGet();
+                            return null;
+                        });
+                    });
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            assertThat(maxInFlight).hasValue(1);
+        }
+
+        private static void sleepQuietly() {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
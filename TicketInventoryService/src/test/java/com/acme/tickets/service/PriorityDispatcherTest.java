@@ -0,0 +1,220 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.DispatchProperties;
+import com.acme.tickets.exception.DispatchQueueFullException;
+import com.acme.tickets.service.PriorityDispatcher.Priority;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires du répartiteur à priorités: une seule place, occupée par un appel bloqué,
+ * pendant que les autres s'accumulent dans leurs files; l'ordre de service est ensuite observé.
+ */
+@DisplayName("PriorityDispatcher - Files par priorité et service pondéré")
+class PriorityDispatcherTest {
+
+    private DispatchProperties properties;
+    private SimpleMeterRegistry registry;
+    private ExecutorService executor;
+    private PriorityDispatcher dispatcher;
+
+    private final List<String> served = Collections.synchronizedList(new ArrayList<>());
+    private final List<Future<?>> pending = new ArrayList<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        properties = new DispatchProperties();
+        properties.setMaxConcurrent(1);
+        properties.setMaxWaitMs(10_000);
+        registry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Occupe l'unique place jusqu'à {@link #unblock}.
+     */
+    private void occupySlot() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        pending.add(executor.submit(() -> dispatcher.execute(Priority.RESERVE, () -> {
+            running.countDown();
+            await(unblock);
+            return null;
+        })));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Met en file un appel qui note son libellé quand il est servi; attend qu'il soit en file
+     * pour que l'ordre d'arrivée soit déterministe.
+     */
+    private void enqueue(Priority priority, String label) throws InterruptedException {
+        int before = dispatcher.queued(priority);
+        pending.add(executor.submit(() -> dispatcher.execute(priority, () -> served.add(label))));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.queued(priority) == before) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private void drain() throws Exception {
+        unblock.countDown();
+        for (Future<?> future : pending) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double rejected(String priority, String reason) {
+        return registry.get(PriorityDispatcher.REJECTED_COUNTER)
+            .tag("priority", priority).tag("reason", reason).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Ordre de service")
+    class Ordering {
+
+        @Test
+        @DisplayName("GIVEN place libre WHEN execute THEN exécution immédiate et attente nulle mesurée")
+        void shouldRunImmediatelyWhenSlotIsFree() {
+            dispatcher = new PriorityDispatcher(properties, registry);
+
+            String result = dispatcher.execute(Priority.CONFIRM, () -> "ok");
+
+            Timer timer = registry.get(PriorityDispatcher.QUEUE_TIMER).tag("priority", "confirm").timer();
+            assertThat(result).isEqualTo("ok");
+            assertThat(timer.count()).isEqualTo(1);
+            assertThat(dispatcher.running()).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN une file par priorité en attente WHEN place libérée THEN release, confirm, reserve puis availability")
+        void shouldServeHigherPriorityFirst() throws Exception {
+            dispatcher = new PriorityDispatcher(properties, registry);
+            occupySlot();
+
+            enqueue(Priority.AVAILABILITY, "availability");
+            enqueue(Priority.RESERVE, "reserve");
+            enqueue(Priority.CONFIRM, "confirm");
+            enqueue(Priority.RELEASE, "release");
+            drain();
+
+            assertThat(served).containsExactly("release", "confirm", "reserve", "availability");
+        }
+
+        @Test
+        @DisplayName("GIVEN confirms et reserves en attente WHEN places libérées THEN reserve servi au prorata des poids (4/2)")
+        void shouldNotStarveLowerPriority() throws Exception {
+            dispatcher = new PriorityDispatcher(properties, registry);
+            occupySlot();
+
+            for (int i = 0; i < 6; i++) {
+                enqueue(Priority.CONFIRM, "confirm");
+                enqueue(Priority.RESERVE, "reserve");
+            }
+            drain();
+
+            assertThat(served.subList(0, 6))
+                .containsExactly("confirm", "reserve", "confirm", "confirm", "reserve", "confirm");
+            assertThat(served).hasSize(12);
+        }
+
+        @Test
+        @DisplayName("GIVEN répartiteur désactivé WHEN place occupée THEN exécution sans attente")
+        void shouldBypassWhenDisabled() throws Exception {
+            dispatcher = new PriorityDispatcher(properties, registry);
+            occupySlot();
+            properties.setEnabled(false);
+
+            assertThat(dispatcher.execute(Priority.AVAILABILITY, () -> "ok")).isEqualTo("ok");
+            assertThat(dispatcher.queued(Priority.AVAILABILITY)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejets et mesures")
+    class Rejections {
+
+        @Test
+        @DisplayName("GIVEN file reserve pleine WHEN execute THEN rejet immédiat, les autres files restent ouvertes")
+        void shouldRejectWhenLaneIsFull() throws Exception {
+            properties.getReserve().setCapacity(1);
+            dispatcher = new PriorityDispatcher(properties, registry);
+            occupySlot();
+            enqueue(Priority.RESERVE, "reserve");
+
+            assertThatThrownBy(() -> dispatcher.execute(Priority.RESERVE, () -> "trop"))
+                .isInstanceOf(DispatchQueueFullException.class)
+                .extracting("priority").isEqualTo("reserve");
+            enqueue(Priority.CONFIRM, "confirm");
+            drain();
+
+            assertThat(rejected("reserve", "queue_full")).isEqualTo(1);
+            assertThat(served).containsExactly("confirm", "reserve");
+        }
+
+        @Test
+        @DisplayName("GIVEN place occupée au-delà de max-wait-ms WHEN execute THEN rejet et file vidée")
+        void shouldRejectAfterMaxWait() throws Exception {
+            properties.setMaxWaitMs(50);
+            dispatcher = new PriorityDispatcher(properties, registry);
+            occupySlot();
+
+            assertThatThrownBy(() -> dispatcher.execute(Priority.CONFIRM, () -> "trop tard"))
+                .isInstanceOf(DispatchQueueFullException.class);
+
+            assertThat(rejected("confirm", "timeout")).isEqualTo(1);
+            assertThat(dispatcher.queued(Priority.CONFIRM)).isZero();
+            drain();
+            assertThat(dispatcher.running()).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN appel en file WHEN servi THEN son attente est mesurée sous sa priorité")
+        void shouldRecordQueueTimePerPriority() throws Exception {
+            dispatcher = new PriorityDispatcher(properties, registry);
+            occupySlot();
+            enqueue(Priority.RELEASE, "release");
+
+            Thread.sleep(30);
+            drain();
+
+            Timer release = registry.get(PriorityDispatcher.QUEUE_TIMER).tag("priority", "release").timer();
+            assertThat(release.count()).isEqualTo(1);
+            assertThat(release.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(30);
+            assertThat(registry.get(PriorityDispatcher.QUEUED_GAUGE).tag("priority", "release").gauge().value())
+                .isZero();
+        }
+    }
+}
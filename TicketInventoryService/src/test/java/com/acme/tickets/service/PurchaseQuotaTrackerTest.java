@@ -0,0 +1,194 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.config.TicketInventoryProperties;
+import com.acme.tickets.domain.projection.UserEventQuantity;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.exception.PurchaseQuotaExceededException;
+import com.acme.tickets.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires du quota d'achat par utilisateur et événement.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PurchaseQuotaTracker - Quota par utilisateur")
+class PurchaseQuotaTrackerTest {
+
+    private static final Long USER = 42L;
+    private static final Long EVENT = 1L;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private TicketInventoryProperties properties;
+    private PurchaseQuotaTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TicketInventoryProperties();
+        properties.setMaxTicketsPerUserEvent(10);
+        tracker = new PurchaseQuotaTracker(properties, reservationRepository, new ShardRouter(new ShardingProperties(), null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Simule la fin de la transaction courante avec le statut donné.
+     */
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    private static UserEventQuantity row(long userId, long eventId, long quantity) {
+        return new UserEventQuantity() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Réservation du quota")
+    class AcquireTests {
+
+        @Test
+        @DisplayName("GIVEN quota presque atteint WHEN acquire THEN rejet avec quantités détenue et demandée")
+        void shouldRejectOverQuota() {
+            tracker.acquire(USER, EVENT, 8);
+
+            assertThatThrownBy(() -> tracker.acquire(USER, EVENT, 3))
+                .isInstanceOf(PurchaseQuotaExceededException.class)
+                .hasMessageContaining("8 déjà réservés, 3 demandés");
+            assertThat(tracker.held(USER, EVENT)).isEqualTo(8);
+            assertThat(tracker.held(USER, 2L)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN transaction annulée WHEN acquire THEN quantité rendue")
+        void shouldCompensateOnRollback() {
+            TransactionSynchronizationManager.initSynchronization();
+            tracker.acquire(USER, EVENT, 4);
+            assertThat(tracker.held(USER, EVENT)).isEqualTo(4);
+
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertThat(tracker.held(USER, EVENT)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN transaction validée WHEN acquire THEN quantité conservée")
+        void shouldKeepOnCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            tracker.acquire(USER, EVENT, 4);
+
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+            assertThat(tracker.held(USER, EVENT)).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("GIVEN utilisateur au quota WHEN checkRoom THEN rejet sans modifier le compteur")
+        void shouldRejectOnPreCheck() {
+            tracker.acquire(USER, EVENT, 10);
+
+            assertThatThrownBy(() -> tracker.checkRoom(USER, EVENT, 1))
+                .isInstanceOf(PurchaseQuotaExceededException.class);
+            assertThat(tracker.held(USER, EVENT)).isEqualTo(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Libération du quota")
+    class ReleaseTests {
+
+        @Test
+        @DisplayName("GIVEN libération dans une transaction WHEN validée THEN quantité rendue après commit seulement")
+        void shouldReleaseAfterCommit() {
+            tracker.acquire(USER, EVENT, 6);
+            TransactionSynchronizationManager.initSynchronization();
+
+            tracker.releaseAfterCommit(USER, EVENT, 6);
+            assertThat(tracker.held(USER, EVENT)).isEqualTo(6);
+
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+            assertThat(tracker.held(USER, EVENT)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN libération dans une transaction WHEN annulée THEN quantité conservée")
+        void shouldNotReleaseOnRollback() {
+            tracker.acquire(USER, EVENT, 6);
+            TransactionSynchronizationManager.initSynchronization();
+
+            tracker.releaseAfterCommit(USER, EVENT, 6);
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertThat(tracker.held(USER, EVENT)).isEqualTo(6);
+        }
+    }
+
+    @Test
+    @DisplayName("GIVEN réservations en base WHEN rebuild THEN compteurs rechargés")
+    void shouldRebuildFromRepository() {
+        when(reservationRepository.sumQuantityByUserAndEvent(any()))
+            .thenReturn(List.of(row(USER, EVENT, 9), row(7L, EVENT, 2)));
+
+        tracker.afterSingletonsInstantiated();
+
+        assertThat(tracker.held(USER, EVENT)).isEqualTo(9);
+        assertThat(tracker.held(7L, EVENT)).isEqualTo(2);
+        assertThatThrownBy(() -> tracker.acquire(USER, EVENT, 2))
+            .isInstanceOf(PurchaseQuotaExceededException.class);
+    }
+
+    @Test
+    @DisplayName("GIVEN quota désactivé WHEN rebuild et acquire THEN aucune requête ni limite")
+    void shouldBypassWhenDisabled() {
+        properties.setMaxTicketsPerUserEvent(0);
+
+        tracker.rebuild();
+        tracker.acquire(USER, EVENT, 500);
+
+        verifyNoInteractions(reservationRepository);
+        assertThat(tracker.held(USER, EVENT)).isZero();
+    }
+}
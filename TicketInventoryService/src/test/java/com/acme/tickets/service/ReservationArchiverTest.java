@@ -0,0 +1,175 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.entity.ReservationArchive;
+import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.domain.repository.ReservationArchiveRepository;
+import com.acme.tickets.domain.repository.ReservationRepository;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.UserReservationsItem;
+import com.acme.tickets.dto.UserReservationsResponse;
+import com.acme.tickets.exception.InvalidReservationStateException;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.observability.SqlStatementTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.acme.tickets.observability.SqlStatementAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration de l'archivage des réservations terminales (H2 en mémoire).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "ticket-inventory.archive.batch-size=2")
+@DisplayName("ReservationArchiver - Archivage des réservations terminales")
+class ReservationArchiverTest {
+
+    private static final AtomicLong IDS = new AtomicLong(20_000);
+
+    @Autowired
+    private ReservationArchiver archiver;
+
+    @Autowired
+    private TicketInventoryService service;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationArchiveRepository archiveRepository;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    private Long eventId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        // Contexte partagé entre les tests: chaque test archive sur une table vidée
+        archiveRepository.deleteAllInBatch();
+        reservationRepository.deleteAllInBatch();
+        eventId = IDS.incrementAndGet();
+        userId = IDS.incrementAndGet();
+        inventoryRepository.save(new Inventory(eventId, 100));
+    }
+
+    private Long reserve() {
+        return service.reserveTickets(new ReserveRequest(eventId, userId, 1), null).reservationId();
+    }
+
+    private Long reserveAndRelease() {
+        Long id = reserve();
+        service.releaseReservation(new ReleaseRequest(id));
+        return id;
+    }
+
+    private List<Long> historyIds(Set<ReservationStatus> statuses, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserReservationsResponse page = service.getUserReservations(userId, statuses, cursor, pageSize);
+            page.items().stream().map(UserReservationsItem::reservationId).forEach(ids::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("GIVEN réservations annulées anciennes WHEN archive THEN déplacées par lots, actives et confirmées conservées")
+    void shouldMoveOnlyTerminalReservations() {
+        List<Long> canceled = List.of(reserveAndRelease(), reserveAndRelease(), reserveAndRelease());
+        Long pending = reserve();
+        Long confirmed = reserve();
+        service.confirmReservation(new ConfirmRequest(confirmed));
+
+        int archived = archiver.archive(Instant.now().plusSeconds(1));
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(reservationRepository.findAllById(canceled)).isEmpty();
+        assertThat(reservationRepository.findAllById(List.of(pending, confirmed))).hasSize(2);
+        assertThat(archiveRepository.findAllById(canceled))
+            .extracting(ReservationArchive::getStatus)
+            .containsOnly(ReservationStatus.CANCELED);
+        assertThat(archiveRepository.findById(canceled.get(0)).orElseThrow().getUserId()).isEqualTo(userId);
+    }
+
+    @Test
+    @DisplayName("GIVEN réservations annulées récentes WHEN archive avant la rétention THEN rien n'est déplacé")
+    void shouldKeepRecentReservations() {
+        reserveAndRelease();
+
+        assertThat(archiver.archive(Instant.now().minusSeconds(3600))).isZero();
+        assertThat(archiveRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("GIVEN historique partiellement archivé WHEN pages successives THEN archive fusionnée, ordre et curseur préservés")
+    void shouldReadHistoryThroughArchive() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expected.add(reserveAndRelease());
+            expected.add(reserve());
+        }
+        archiver.archive(Instant.now().plusSeconds(1));
+        expected.add(reserveAndRelease());
+
+        List<Long> newestFirst = new ArrayList<>(expected);
+        Collections.reverse(newestFirst);
+        assertThat(historyIds(null, 2)).containsExactlyElementsOf(newestFirst);
+        assertThat(historyIds(Set.of(ReservationStatus.CANCELED), 2))
+            .containsExactly(expected.get(6), expected.get(4), expected.get(2), expected.get(0));
+        assertThat(historyIds(Set.of(ReservationStatus.PENDING), 2))
+            .containsExactly(expected.get(5), expected.get(3), expected.get(1));
+    }
+
+    @Test
+    @DisplayName("GIVEN historique avec archive WHEN page lue THEN une seule requête")
+    void shouldReadHistoryPageInOneStatement() {
+        reserveAndRelease();
+        archiver.archive(Instant.now().plusSeconds(1));
+        reserve();
+
+        SqlStatementTracker.Scope scope = assertMaxStatements("user history page", 1,
+            () -> service.getUserReservations(userId, null, null, 20));
+
+        assertThat(scope.getCount(SqlStatementTracker.StatementKind.SELECT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN réservation archivée WHEN release puis confirm THEN statut terminal, pas de 404")
+    void shouldAnswerTransitionsOnArchivedReservation() {
+        Long id = reserveAndRelease();
+        archiver.archive(Instant.now().plusSeconds(1));
+
+        assertThat(service.releaseReservation(new ReleaseRequest(id)).status()).isEqualTo("CANCELED");
+        assertThatThrownBy(() -> service.confirmReservation(new ConfirmRequest(id)))
+            .isInstanceOf(InvalidReservationStateException.class);
+    }
+}
@@ -1,5 +1,7 @@
 package com.acme.tickets.service;
 
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.config.ShardingProperties;
 import com.acme.tickets.config.TicketInventoryProperties;
 import com.acme.tickets.domain.entity.Inventory;
 import com.acme.tickets.domain.entity.Reservation;
@@ -12,8 +14,12 @@ import com.acme.tickets.dto.ConfirmRequest;
 import com.acme.tickets.dto.ConfirmResponse;
 import com.acme.tickets.dto.ReleaseRequest;
 import com.acme.tickets.dto.ReleaseResponse;
+import com.acme.tickets.escrow.InventoryEscrow;
 import com.acme.tickets.exception.ReservationExpiredException;
 import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -58,6 +64,9 @@ class ReservationExpirationTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationArchiver archiver;
+
     @Mock
     private TicketRepository ticketRepository;
 
@@ -87,12 +96,18 @@ class ReservationExpirationTest {
 
     @BeforeEach
     void setUp() {
+        EventMetadataCache metadataCache = new EventMetadataCache(eventCatalogClient, new PrewarmProperties());
         service = new TicketInventoryService(
             inventoryRepository,
             reservationRepository,
             ticketRepository,
             properties,
-            eventCatalogClient
+            metadataCache,
+            new ReservationMetrics(new SimpleMeterRegistry()),
+            new PurchaseQuotaTracker(properties, reservationRepository, new ShardRouter(new ShardingProperties(), null, null)),
+            archiver,
+            new StockAllocator(inventoryRepository, metadataCache, mock(InventoryEscrow.class),
+                new ShardRouter(new ShardingProperties(), null, null))
         );
 
         // Default mock properties
@@ -0,0 +1,202 @@
+package com.acme.tickets.service;
+
+import com.acme.tickets.cluster.OwnerForwarder;
+import com.acme.tickets.config.BulkheadProperties;
+import com.acme.tickets.config.DispatchProperties;
+import com.acme.tickets.config.OptimisticRetryProperties;
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ConfirmResponse;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.exception.PurchaseQuotaExceededException;
+import com.acme.tickets.exception.ReservationExpiredException;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitaires de ReservationFacade: métriques par opération et par issue.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationFacade - Métriques")
+class ReservationFacadeTest {
+
+    @Mock
+    private TicketInventoryService ticketInventoryService;
+
+    @Mock
+    private PurchaseQuotaTracker purchaseQuota;
+
+    @Mock
+    private InventoryPrewarmer prewarmer;
+
+    @Mock
+    private CartReservationService cartReservationService;
+
+    @Mock
+    private OwnerForwarder forwarder;
+
+    private SimpleMeterRegistry registry;
+    private PriorityDispatcher dispatcher;
+    private ReservationFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ReservationMetrics metrics = new ReservationMetrics(registry);
+        OptimisticRetryProperties retryProperties = new OptimisticRetryProperties();
+        retryProperties.setMaxAttempts(3);
+        retryProperties.setInitialBackoffMs(0);
+        dispatcher = new PriorityDispatcher(new DispatchProperties(), registry);
+        facade = new ReservationFacade(ticketInventoryService, metrics,
+            new OptimisticRetryExecutor(retryProperties, metrics),
+            new EventBulkheads(new BulkheadProperties(), registry),
+            dispatcher,
+            purchaseQuota, prewarmer, cartReservationService, new ShardRouter(new ShardingProperties(), null, null),
+            forwarder);
+    }
+
+    @Test
+    @DisplayName("GIVEN réservation réussie WHEN reserveTickets THEN timer reserve/success incrémenté")
+    void shouldTimeSuccessfulReserve() {
+        when(ticketInventoryService.reserveTickets(any(), any()))
+            .thenReturn(new ReserveResponse(1L, "PENDING", Instant.now(), 2));
+
+        facade.reserveTickets(new ReserveRequest(1L, 42L, 2), null);
+
+        assertThat(registry.get("tickets.operation")
+            .tags("operation", "reserve", "result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN stock insuffisant WHEN reserveTickets THEN timer reserve/insufficient_stock et compteur d'issue")
+    void shouldCountInsufficientStock() {
+        when(ticketInventoryService.reserveTickets(any(), any()))
+            .thenThrow(new InsufficientStockException(1L, 5, 2));
+
+        assertThatThrownBy(() -> facade.reserveTickets(new ReserveRequest(1L, 42L, 5), null))
+            .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(registry.get("tickets.operation")
+            .tags("operation", "reserve", "result", "insufficient_stock").timer().count()).isEqualTo(1);
+        assertThat(registry.get("tickets.reservation.outcome")
+            .tag("outcome", "insufficient_stock").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN réservation expirée WHEN confirmReservation THEN compteur expired")
+    void shouldCountExpiredConfirm() {
+        when(ticketInventoryService.confirmReservation(any()))
+            .thenThrow(new ReservationExpiredException(9L));
+
+        assertThatThrownBy(() -> facade.confirmReservation(new ConfirmRequest(9L)))
+            .isInstanceOf(ReservationExpiredException.class);
+
+        assertThat(registry.get("tickets.reservation.outcome")
+            .tag("outcome", "expired").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN conflit de version persistant WHEN reserveTickets THEN chaque tentative est comptée")
+    void shouldCountOptimisticLockConflicts() {
+        when(ticketInventoryService.reserveTickets(any(), any()))
+            .thenThrow(new ObjectOptimisticLockingFailureException("Inventory", 1L));
+
+        assertThatThrownBy(() -> facade.reserveTickets(new ReserveRequest(1L, 42L, 1), null))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(registry.get("tickets.inventory.lock.conflicts")
+            .tag("operation", "reserve").counter().count()).isEqualTo(3);
+        assertThat(registry.get("tickets.inventory.lock.retries")
+            .tag("operation", "reserve").counter().count()).isEqualTo(2);
+        assertThat(registry.get("tickets.operation")
+            .tags("operation", "reserve", "result", "conflict").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN conflit puis succès WHEN confirmReservation THEN une place du répartiteur par tentative, rendue entre les deux")
+    void shouldTakeDispatcherSlotPerAttempt() {
+        List<Integer> runningDuringAttempts = new ArrayList<>();
+        when(ticketInventoryService.confirmReservation(any()))
+            .thenAnswer(invocation -> {
+                runningDuringAttempts.add(dispatcher.running());
+                throw new ObjectOptimisticLockingFailureException("Inventory", 1L);
+            })
+            .thenAnswer(invocation -> {
+                runningDuringAttempts.add(dispatcher.running());
+                return new ConfirmResponse("CONFIRMED");
+            });
+
+        facade.confirmReservation(new ConfirmRequest(9L));
+
+        assertThat(registry.get(PriorityDispatcher.QUEUE_TIMER).tag("priority", "confirm").timer().count())
+            .isEqualTo(2);
+        assertThat(runningDuringAttempts).containsExactly(1, 1);
+        assertThat(dispatcher.running()).isZero();
+    }
+
+    @Test
+    @DisplayName("GIVEN clé d'idempotence prise par une requête concurrente WHEN reserveTickets THEN réservation existante renvoyée")
+    void shouldReplayReservationOnIdempotencyKeyRace() {
+        ReserveResponse existing = new ReserveResponse(7L, "PENDING", Instant.now(), 2);
+        when(ticketInventoryService.reserveTickets(any(), eq("key-1")))
+            .thenThrow(new DataIntegrityViolationException("idx_reservation_idempotency_key"));
+        when(ticketInventoryService.findIdempotentReservation("key-1")).thenReturn(Optional.of(existing));
+
+        ReserveResponse response = facade.reserveTickets(new ReserveRequest(1L, 42L, 2), "key-1");
+
+        assertThat(response).isEqualTo(existing);
+        assertThat(registry.get("tickets.operation")
+            .tags("operation", "reserve", "result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GIVEN violation d'intégrité sans clé d'idempotence WHEN reserveTickets THEN exception propagée")
+    void shouldPropagateIntegrityViolationWithoutIdempotencyKey() {
+        when(ticketInventoryService.reserveTickets(any(), any()))
+            .thenThrow(new DataIntegrityViolationException("boom"));
+
+        assertThatThrownBy(() -> facade.reserveTickets(new ReserveRequest(1L, 42L, 2), null))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("GIVEN utilisateur au quota WHEN reserveTickets THEN rejet avant la transaction et compteur quota_exceeded")
+    void shouldRejectQuotaBeforeTransaction() {
+        doThrow(new PurchaseQuotaExceededException(42L, 1L, 2, 10, 10))
+            .when(purchaseQuota).checkRoom(42L, 1L, 2);
+
+        assertThatThrownBy(() -> facade.reserveTickets(new ReserveRequest(1L, 42L, 2), null))
+            .isInstanceOf(PurchaseQuotaExceededException.class);
+
+        verify(ticketInventoryService, never()).reserveTickets(any(), any());
+        assertThat(registry.get("tickets.operation")
+            .tags("operation", "reserve", "result", "quota_exceeded").timer().count()).isEqualTo(1);
+        assertThat(registry.get("tickets.reservation.outcome")
+            .tag("outcome", "quota_exceeded").counter().count()).isEqualTo(1);
+    }
+}
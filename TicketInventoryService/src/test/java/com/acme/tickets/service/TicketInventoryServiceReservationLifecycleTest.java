@@ -1,5 +1,7 @@
 package com.acme.tickets.service;
 
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.config.ShardingProperties;
 import com.acme.tickets.config.TicketInventoryProperties;
 import com.acme.tickets.domain.entity.Inventory;
 import com.acme.tickets.domain.entity.Reservation;
@@ -12,10 +14,14 @@ import com.acme.tickets.dto.ConfirmRequest;
 import com.acme.tickets.dto.ConfirmResponse;
 import com.acme.tickets.dto.ReleaseRequest;
 import com.acme.tickets.dto.ReleaseResponse;
+import com.acme.tickets.escrow.InventoryEscrow;
 import com.acme.tickets.exception.InvalidReservationStateException;
 import com.acme.tickets.exception.ReservationExpiredException;
 import com.acme.tickets.exception.ReservationNotFoundException;
 import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -52,6 +58,9 @@ class TicketInventoryServiceReservationLifecycleTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationArchiver archiver;
+
     @Mock
     private TicketRepository ticketRepository;
 
@@ -74,12 +83,18 @@ class TicketInventoryServiceReservationLifecycleTest {
 
     @BeforeEach
     void setUp() {
+        EventMetadataCache metadataCache = new EventMetadataCache(eventCatalogClient, new PrewarmProperties());
         service = new TicketInventoryService(
                 inventoryRepository,
                 reservationRepository,
                 ticketRepository,
                 properties,
-                eventCatalogClient
+                metadataCache,
+                new ReservationMetrics(new SimpleMeterRegistry()),
+                new PurchaseQuotaTracker(properties, reservationRepository, new ShardRouter(new ShardingProperties(), null, null)),
+                archiver,
+                new StockAllocator(inventoryRepository, metadataCache, mock(InventoryEscrow.class),
+                new ShardRouter(new ShardingProperties(), null, null))
         );
     }
 
@@ -397,6 +412,7 @@ class TicketInventoryServiceReservationLifecycleTest {
                     .thenReturn(Optional.of(confirmedReservation));
             when(reservationRepository.save(any(Reservation.class)))
                     .thenAnswer(inv -> inv.getArgument(0));
+            when(inventoryRepository.findById(eventId)).thenReturn(Optional.of(inventory));
 
             // WHEN
             ReleaseResponse response = service.releaseReservation(request);
@@ -409,9 +425,9 @@ class TicketInventoryServiceReservationLifecycleTest {
             verify(reservationRepository).save(reservationCaptor.capture());
             assertThat(reservationCaptor.getValue().getStatus()).isEqualTo(ReservationStatus.CANCELED);
             
-            // Verify inventory was NOT modified (not looked up, not saved)
-            verify(inventoryRepository, never()).findById(any());
+            // Verify inventory was NOT modified (only read for the shard move check, not saved)
             verify(inventoryRepository, never()).save(any(Inventory.class));
+            assertThat(inventory.getReserved()).isEqualTo(50);
         }
 
         @Test
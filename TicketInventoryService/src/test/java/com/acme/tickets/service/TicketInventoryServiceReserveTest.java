@@ -1,5 +1,7 @@
 package com.acme.tickets.service;
 
+import com.acme.tickets.config.PrewarmProperties;
+import com.acme.tickets.config.ShardingProperties;
 import com.acme.tickets.config.TicketInventoryProperties;
 import com.acme.tickets.domain.entity.Inventory;
 import com.acme.tickets.domain.entity.Reservation;
@@ -9,8 +11,12 @@ import com.acme.tickets.domain.repository.ReservationRepository;
 import com.acme.tickets.domain.repository.TicketRepository;
 import com.acme.tickets.dto.ReserveRequest;
 import com.acme.tickets.dto.ReserveResponse;
+import com.acme.tickets.escrow.InventoryEscrow;
 import com.acme.tickets.exception.InsufficientStockException;
 import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -49,6 +55,9 @@ class TicketInventoryServiceReserveTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationArchiver archiver;
+
     @Mock
     private TicketRepository ticketRepository;
 
@@ -68,12 +77,18 @@ class TicketInventoryServiceReserveTest {
 
     @BeforeEach
     void setUp() {
+        EventMetadataCache metadataCache = new EventMetadataCache(eventCatalogClient, new PrewarmProperties());
         service = new TicketInventoryService(
                 inventoryRepository,
                 reservationRepository,
                 ticketRepository,
                 properties,
-                eventCatalogClient
+                metadataCache,
+                new ReservationMetrics(new SimpleMeterRegistry()),
+                new PurchaseQuotaTracker(properties, reservationRepository, new ShardRouter(new ShardingProperties(), null, null)),
+                archiver,
+                new StockAllocator(inventoryRepository, metadataCache, mock(InventoryEscrow.class),
+                new ShardRouter(new ShardingProperties(), null, null))
         );
 
         // Default mock properties
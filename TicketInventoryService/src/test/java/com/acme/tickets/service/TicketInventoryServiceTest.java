@@ -1,31 +1,38 @@
 package com.acme.tickets.service;
 
+import com.acme.tickets.config.ShardingProperties;
 import com.acme.tickets.config.TicketInventoryProperties;
 import com.acme.tickets.domain.entity.Inventory;
 import com.acme.tickets.domain.entity.Reservation;
 import com.acme.tickets.domain.entity.Ticket;
 import com.acme.tickets.domain.enums.ReservationStatus;
+import com.acme.tickets.domain.projection.ReservationSummary;
 import com.acme.tickets.domain.repository.InventoryRepository;
 import com.acme.tickets.domain.repository.ReservationRepository;
 import com.acme.tickets.domain.repository.TicketRepository;
 import com.acme.tickets.dto.*;
+import com.acme.tickets.escrow.InventoryEscrow;
 import com.acme.tickets.exception.InsufficientStockException;
+import com.acme.tickets.exception.InvalidCursorException;
 import com.acme.tickets.exception.InventoryNotFoundException;
-import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.integration.EventMetadata;
+import com.acme.tickets.observability.ReservationMetrics;
+import com.acme.tickets.sharding.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,6 +53,9 @@ class TicketInventoryServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationArchiver archiver;
+
     @Mock
     private TicketRepository ticketRepository;
 
@@ -53,9 +63,17 @@ class TicketInventoryServiceTest {
     private TicketInventoryProperties properties;
 
     @Mock
-    private EventCatalogClient eventCatalogClient;
+    private EventMetadataCache eventMetadataCache;
+
+    @Mock
+    private ReservationMetrics metrics;
+
+    @Mock
+    private PurchaseQuotaTracker purchaseQuota;
+
+    @Mock
+    private InventoryEscrow escrow;
 
-    @InjectMocks
     private TicketInventoryService service;
 
     private Inventory mockInventory;
@@ -63,6 +81,11 @@ class TicketInventoryServiceTest {
 
     @BeforeEach
     void setUp() {
+        service = new TicketInventoryService(inventoryRepository, reservationRepository, ticketRepository,
+            properties, eventMetadataCache, metrics, purchaseQuota, archiver,
+            new StockAllocator(inventoryRepository, eventMetadataCache, escrow,
+                new ShardRouter(new ShardingProperties(), null, null)));
+
         // Inventaire avec 100 tickets, 10 réservés
         mockInventory = new Inventory(1L, 100);
         mockInventory.setReserved(10);
@@ -74,8 +97,8 @@ class TicketInventoryServiceTest {
         when(properties.getReservationHoldMinutes()).thenReturn(15);
         when(properties.getMaxTicketsPerReservation()).thenReturn(10);
         
-        // Mock EventCatalogClient - return empty map (no category limit applied)
-        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        // Mock EventMetadataCache - événement vide (pas de limite de catégorie)
+        when(eventMetadataCache.get(anyLong())).thenAnswer(inv -> EventMetadata.from(inv.getArgument(0), Map.of()));
     }
 
     @Test
@@ -142,7 +165,7 @@ class TicketInventoryServiceTest {
         when(inventoryRepository.findByIdWithLock(999L))
             .thenReturn(Optional.empty());
         
-        // Mock the lazy initialization: eventCatalogClient returns empty event, 
+        // Mock the lazy initialization: EventCatalog returns empty event, 
         // so inventory is created with total=0
         Inventory emptyInventory = new Inventory(999L, 0);
         when(inventoryRepository.save(any(Inventory.class)))
@@ -261,18 +284,78 @@ class TicketInventoryServiceTest {
     @DisplayName("GIVEN plusieurs réservations WHEN getUserReservations THEN liste retournée")
     void shouldGetUserReservations() {
         // GIVEN
-        Reservation res1 = new Reservation(1L, 42L, 2, ReservationStatus.PENDING);
-        Reservation res2 = new Reservation(2L, 42L, 3, ReservationStatus.CONFIRMED);
-        
-        when(reservationRepository.findByUserIdOrderByCreatedAtDesc(42L))
-            .thenReturn(List.of(res1, res2));
+        Instant now = Instant.now();
+        when(reservationRepository.findFirstHistoryPageByUserId(eq(42L), anyCollection(), eq(21)))
+            .thenReturn(List.of(
+                summary(2L, 2L, 3, ReservationStatus.CONFIRMED, now),
+                summary(1L, 1L, 2, ReservationStatus.PENDING, now.minusSeconds(60))));
 
         // WHEN
-        UserReservationsResponse response = service.getUserReservations(42L);
+        UserReservationsResponse response = service.getUserReservations(42L, null, null, 20);
 
         // THEN
         assertThat(response).isNotNull();
         assertThat(response.items()).hasSize(2);
+        assertThat(response.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("GIVEN plus de réservations que la page WHEN getUserReservations THEN curseur de la dernière ligne retourné")
+    void shouldReturnNextCursor_WhenMoreRowsThanPageSize() {
+        // GIVEN
+        Instant now = Instant.now();
+        when(reservationRepository.findFirstHistoryPageByUserId(eq(42L), anyCollection(), eq(3)))
+            .thenReturn(List.of(
+                summary(3L, 1L, 1, ReservationStatus.PENDING, now),
+                summary(2L, 1L, 1, ReservationStatus.PENDING, now.minusSeconds(1)),
+                summary(1L, 1L, 1, ReservationStatus.PENDING, now.minusSeconds(2))));
+
+        // WHEN
+        UserReservationsResponse response = service.getUserReservations(42L, null, null, 2);
+
+        // THEN
+        assertThat(response.items()).extracting(UserReservationsItem::reservationId).containsExactly(3L, 2L);
+        KeysetCursor cursor = KeysetCursor.decode(response.nextCursor());
+        assertThat(cursor.id()).isEqualTo(2L);
+        assertThat(cursor.createdAt()).isEqualTo(now.minusSeconds(1));
+    }
+
+    @Test
+    @DisplayName("GIVEN un curseur WHEN getUserReservations THEN seule la requête keyset après le curseur est exécutée")
+    void shouldQueryAfterCursor_WhenCursorProvided() {
+        // GIVEN
+        Instant createdAt = Instant.parse("2025-11-07T14:00:00.123456Z");
+        String cursor = new KeysetCursor(createdAt, 10L).encode();
+        when(reservationRepository.findPageByUserIdAfter(
+                eq(42L), eq(Set.of(ReservationStatus.CONFIRMED)), eq(createdAt), eq(10L), any(Limit.class)))
+            .thenReturn(List.of());
+
+        // WHEN
+        UserReservationsResponse response = service.getUserReservations(
+            42L, Set.of(ReservationStatus.CONFIRMED), cursor, 20);
+
+        // THEN
+        assertThat(response.items()).isEmpty();
+        verify(reservationRepository, never()).findFirstPageByUserId(anyLong(), anyCollection(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("GIVEN un curseur corrompu WHEN getUserReservations THEN InvalidCursorException")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> service.getUserReservations(42L, null, "not-a-cursor", 20))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private ReservationSummary summary(Long id, Long eventId, int quantity,
+                                       ReservationStatus status, Instant createdAt) {
+        return new ReservationSummary() {
+            @Override public Long getId() { return id; }
+            @Override public Long getEventId() { return eventId; }
+            @Override public Integer getQuantity() { return quantity; }
+            @Override public ReservationStatus getStatus() { return status; }
+            @Override public Instant getCreatedAt() { return createdAt; }
+            @Override public Instant getUpdatedAt() { return createdAt; }
+        };
     }
 
     @Test
@@ -0,0 +1,92 @@
+package com.acme.tickets.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitaires de la table de compteurs (utilisateur, événement).
+ */
+@DisplayName("UserEventCounterMap - Compteurs primitifs")
+class UserEventCounterMapTest {
+
+    @Test
+    @DisplayName("GIVEN ajouts plafonnés WHEN addIfAtMost THEN refus au-delà du maximum")
+    void shouldCapAdditions() {
+        UserEventCounterMap map = new UserEventCounterMap();
+
+        assertThat(map.addIfAtMost(1L, 2L, 6, 10)).isEqualTo(-1);
+        assertThat(map.addIfAtMost(1L, 2L, 5, 10)).isEqualTo(6);
+        assertThat(map.addIfAtMost(1L, 2L, 4, 10)).isEqualTo(-1);
+
+        assertThat(map.get(1L, 2L)).isEqualTo(10);
+        assertThat(map.get(2L, 1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("GIVEN compteur ramené à zéro WHEN add THEN entrée supprimée")
+    void shouldRemoveEmptyCounters() {
+        UserEventCounterMap map = new UserEventCounterMap();
+        map.add(1L, 2L, 3);
+
+        assertThat(map.add(1L, 2L, -5)).isZero();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(1L, 2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("GIVEN suite aléatoire d'ajouts et retraits WHEN comparée à une HashMap THEN mêmes compteurs")
+    void shouldMatchReferenceMap() {
+        UserEventCounterMap map = new UserEventCounterMap();
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long userId = random.nextInt(2_000);
+            long eventId = random.nextInt(20);
+            long key = userId * 100 + eventId;
+            int delta = random.nextInt(9) - 4;
+            int expected = Math.max(0, reference.getOrDefault(key, 0) + delta);
+            if (expected == 0) {
+                reference.remove(key);
+            } else {
+                reference.put(key, expected);
+            }
+            assertThat(map.add(userId, eventId, delta)).isEqualTo(expected);
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        reference.forEach((key, count) -> assertThat(map.get(key / 100, key % 100)).isEqualTo(count));
+    }
+
+    @Test
+    @DisplayName("GIVEN threads concurrents WHEN addIfAtMost sur la même clé THEN maximum jamais dépassé")
+    void shouldNeverExceedMaxUnderContention() throws Exception {
+        UserEventCounterMap map = new UserEventCounterMap();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    map.addIfAtMost(7L, 9L, 1, 1_000);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(map.get(7L, 9L)).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,137 @@
+package com.acme.tickets.sharding;
+
+import com.acme.tickets.config.ShardingProperties;
+import com.acme.tickets.exception.CrossShardCartException;
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.ShardMoveRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitaires du routage par événement et du gel des événements en cours de déplacement.
+ */
+@DisplayName("ShardRouter - Routage par événement")
+class ShardRouterTest {
+
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ShardRouter(properties(3), null, null);
+    }
+
+    private static ShardingProperties properties(int shards) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (int i = 1; i < shards; i++) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setUrl("jdbc:h2:mem:unused" + i);
+            properties.getShards().add(shard);
+        }
+        properties.setDrainTimeoutMs(50);
+        return properties;
+    }
+
+    @Nested
+    @DisplayName("Placement")
+    class PlacementTests {
+
+        @Test
+        @DisplayName("GIVEN événement sans affectation WHEN shardFor THEN eventId mod N; affectation prioritaire")
+        void shouldHashThenUseDirectory() {
+            assertThat(router.shardFor(7L)).isEqualTo(1);
+            assertThat(router.shardFor(9L)).isZero();
+
+            router.assign(7L, 2);
+
+            assertThat(router.shardFor(7L)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("GIVEN identifiant généré WHEN originShard THEN shard déduit du pas des identifiants")
+        void shouldDeriveOriginShard() {
+            assertThat(router.originShard(1L)).isZero();
+            assertThat(router.originShard(66L)).isEqualTo(1);
+            assertThat(router.originShard(131L)).isEqualTo(2);
+            // Résidu hors des shards configurés: indice par défaut
+            assertThat(router.originShard(10L)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN opération routée WHEN onEvent THEN shard posé pendant le travail puis restauré")
+        void shouldScopeShardContext() {
+            int during = router.onEvent(8L, ShardContext::current);
+
+            assertThat(during).isEqualTo(2);
+            assertThat(ShardContext.current()).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN événements sur des shards différents WHEN onEvents THEN CrossShardCartException")
+        void shouldRejectCrossShardEvents() {
+            assertThat(router.onEvents(List.of(1L, 4L), ShardContext::current)).isEqualTo(1);
+            assertThatThrownBy(() -> router.onEvents(List.of(1L, 2L), ShardContext::current))
+                .isInstanceOf(CrossShardCartException.class);
+        }
+
+        @Test
+        @DisplayName("GIVEN partitionnement désactivé WHEN onEvent THEN travail exécuté sur le shard 0")
+        void shouldRunDirectlyWhenNotSharded() {
+            ShardRouter single = new ShardRouter(new ShardingProperties(), null, null);
+
+            assertThat(single.isSharded()).isFalse();
+            assertThat(single.onEvents(List.of(1L, 2L), ShardContext::current)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Gel pendant un déplacement")
+    class FreezeTests {
+
+        @Test
+        @DisplayName("GIVEN événement gelé WHEN onEvent THEN EventMigratingException; dégelé THEN exécuté")
+        void shouldRejectOperationsWhileFrozen() {
+            try (ShardRouter.Freeze ignored = router.freeze(5L)) {
+                assertThatThrownBy(() -> router.onEvent(5L, () -> "ok"))
+                    .isInstanceOf(EventMigratingException.class);
+                assertThat(router.onEvent(6L, () -> "ok")).isEqualTo("ok");
+                assertThatThrownBy(() -> router.freeze(5L)).isInstanceOf(ShardMoveRejectedException.class);
+            }
+
+            assertThat(router.onEvent(5L, () -> "ok")).isEqualTo("ok");
+        }
+
+        @Test
+        @DisplayName("GIVEN opération en cours au-delà du délai WHEN freeze THEN refusé et événement dégelé")
+        void shouldGiveUpWhenOperationsDoNotDrain() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(() -> router.onEvent(5L, () -> {
+                started.countDown();
+                try {
+                    finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> router.freeze(5L)).isInstanceOf(ShardMoveRejectedException.class);
+            finish.countDown();
+
+            assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+            assertThat(router.onEvent(5L, () -> "ok")).isEqualTo("ok");
+        }
+    }
+}
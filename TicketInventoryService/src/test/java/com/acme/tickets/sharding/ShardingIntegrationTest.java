@@ -0,0 +1,293 @@
+package com.acme.tickets.sharding;
+
+import com.acme.tickets.domain.entity.Inventory;
+import com.acme.tickets.domain.repository.InventoryRepository;
+import com.acme.tickets.dto.CartConfirmRequest;
+import com.acme.tickets.dto.CartLineRequest;
+import com.acme.tickets.dto.CartReserveRequest;
+import com.acme.tickets.dto.CartReserveResponse;
+import com.acme.tickets.dto.ConfirmRequest;
+import com.acme.tickets.dto.ReleaseRequest;
+import com.acme.tickets.dto.ReserveRequest;
+import com.acme.tickets.dto.ShardMoveResponse;
+import com.acme.tickets.dto.UserReservationsItem;
+import com.acme.tickets.dto.UserReservationsResponse;
+import com.acme.tickets.dto.UserTicketsItem;
+import com.acme.tickets.exception.CrossShardCartException;
+import com.acme.tickets.exception.EventMigratingException;
+import com.acme.tickets.exception.ReservationNotFoundException;
+import com.acme.tickets.exception.ShardMoveRejectedException;
+import com.acme.tickets.integration.EventCatalogClient;
+import com.acme.tickets.service.ReservationFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration du partitionnement sur deux bases H2 en mémoire distinctes:
+ * placement par événement, lectures fusionnées, recherche des réservations et déplacement.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+    "ticket-inventory.sharding.enabled=true",
+    "ticket-inventory.sharding.initialize-schema=true",
+    "ticket-inventory.sharding.copy-batch-size=2",
+    "ticket-inventory.sharding.shards[0].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL",
+    "ticket-inventory.sharding.shards[0].username=sa"
+})
+@DisplayName("Sharding - Partitionnement par événement sur deux bases")
+class ShardingIntegrationTest {
+
+    /** Pair: shard 0, impair: shard 1 (eventId mod 2). */
+    private static final AtomicLong EVENT_IDS = new AtomicLong(10_000);
+    private static final AtomicLong USER_IDS = new AtomicLong(500);
+
+    @Autowired
+    private ReservationFacade facade;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private ShardRebalancer rebalancer;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private EventCatalogClient eventCatalogClient;
+
+    private JdbcTemplate jdbcTemplate;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        when(eventCatalogClient.getEventById(anyLong())).thenReturn(Map.of());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        userId = USER_IDS.incrementAndGet();
+    }
+
+    /**
+     * Nouvel événement stocké sur le shard demandé, inventaire créé.
+     */
+    private Long eventOn(int shard) {
+        Long eventId = EVENT_IDS.addAndGet(2) + shard;
+        router.onEvent(eventId, () -> inventoryRepository.save(new Inventory(eventId, 100)));
+        return eventId;
+    }
+
+    private Long reserve(Long eventId) {
+        return facade.reserveTickets(new ReserveRequest(eventId, userId, 1), null).reservationId();
+    }
+
+    private int count(int shard, String table, Long eventId) {
+        Integer count = router.onShard(shard, () -> jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE event_id = ?", Integer.class, eventId));
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("GIVEN deux événements sur deux shards WHEN reserve THEN chaque réservation est stockée sur le shard de son événement")
+    void shouldStoreReservationsOnEventShard() {
+        Long even = eventOn(0);
+        Long odd = eventOn(1);
+
+        Long onZero = reserve(even);
+        Long onOne = reserve(odd);
+
+        assertThat(count(0, "reservation", even)).isEqualTo(1);
+        assertThat(count(1, "reservation", even)).isZero();
+        assertThat(count(1, "reservation", odd)).isEqualTo(1);
+        assertThat(count(0, "inventory", odd)).isZero();
+        assertThat(router.originShard(onZero)).isZero();
+        assertThat(router.originShard(onOne)).isEqualTo(1);
+        assertThat(facade.getAvailability(odd).available()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("GIVEN réservation sur le shard 1 WHEN confirm puis release par id THEN réservation localisée, ticket sur le même shard")
+    void shouldLocateReservationById() {
+        Long odd = eventOn(1);
+        Long reservationId = reserve(odd);
+
+        assertThat(facade.confirmReservation(new ConfirmRequest(reservationId)).status()).isEqualTo("CONFIRMED");
+        assertThat(count(1, "ticket", odd)).isEqualTo(1);
+        assertThat(facade.releaseReservation(new ReleaseRequest(reservationId)).status()).isEqualTo("CANCELED");
+        assertThatThrownBy(() -> facade.confirmReservation(new ConfirmRequest(987_654_321L)))
+            .isInstanceOf(ReservationNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("GIVEN réservations sur les deux shards WHEN pages successives THEN historique fusionné, trié, sans doublon")
+    void shouldMergeUserHistoryAcrossShards() {
+        Long even = eventOn(0);
+        Long odd = eventOn(1);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expected.add(reserve(even));
+            expected.add(reserve(odd));
+        }
+        facade.confirmReservation(new ConfirmRequest(expected.get(0)));
+        facade.confirmReservation(new ConfirmRequest(expected.get(1)));
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserReservationsResponse page = facade.getUserReservations(userId, null, cursor, 4);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(4);
+            page.items().stream().map(UserReservationsItem::reservationId).forEach(ids::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        Collections.reverse(expected);
+        assertThat(ids).containsExactlyElementsOf(expected);
+        assertThat(facade.getUserTickets(userId, null, 20).items())
+            .extracting(UserTicketsItem::eventId)
+            .containsExactlyInAnyOrder(even, odd);
+    }
+
+    @Test
+    @DisplayName("GIVEN panier sur deux shards WHEN reserveCart THEN rejeté; panier sur un shard confirmé par cartId")
+    void shouldKeepCartsOnOneShard() {
+        Long even = eventOn(0);
+        Long odd = eventOn(1);
+        Long otherOdd = eventOn(1);
+
+        assertThatThrownBy(() -> facade.reserveCart(new CartReserveRequest(userId,
+                List.of(new CartLineRequest(even, 1), new CartLineRequest(odd, 1))), null))
+            .isInstanceOf(CrossShardCartException.class);
+
+        CartReserveResponse cart = facade.reserveCart(new CartReserveRequest(userId,
+            List.of(new CartLineRequest(odd, 1), new CartLineRequest(otherOdd, 1))), null);
+        assertThat(facade.confirmCart(new CartConfirmRequest(cart.cartId())).status()).isEqualTo("CONFIRMED");
+        assertThat(count(1, "ticket", odd) + count(1, "ticket", otherOdd)).isEqualTo(2);
+    }
+
+    @Nested
+    @DisplayName("Déplacement d'un événement")
+    class MoveTests {
+
+        @Test
+        @DisplayName("GIVEN événement avec réservations et tickets WHEN moveEvent THEN données copiées, source vidée, opérations routées vers la cible")
+        void shouldMoveEventData() {
+            Long odd = eventOn(1);
+            Long pending = reserve(odd);
+            Long confirmed = reserve(odd);
+            Long canceled = reserve(odd);
+            facade.confirmReservation(new ConfirmRequest(confirmed));
+            facade.releaseReservation(new ReleaseRequest(canceled));
+
+            ShardMoveResponse response = rebalancer.moveEvent(odd, 0);
+
+            assertThat(response.sourceShard()).isEqualTo(1);
+            assertThat(response.inventories()).isEqualTo(1);
+            assertThat(response.reservations()).isEqualTo(3);
+            assertThat(response.tickets()).isEqualTo(1);
+            assertThat(router.shardFor(odd)).isZero();
+            assertThat(count(1, "reservation", odd) + count(1, "ticket", odd) + count(1, "inventory", odd)).isZero();
+            assertThat(count(0, "reservation", odd)).isEqualTo(3);
+            assertThat(facade.getAvailability(odd).available()).isEqualTo(98);
+
+            assertThat(facade.confirmReservation(new ConfirmRequest(pending)).status()).isEqualTo("CONFIRMED");
+            Long next = reserve(odd);
+            assertThat(router.originShard(next)).isZero();
+            assertThat(next).isNotIn(pending, confirmed, canceled);
+            assertThat(count(0, "reservation", odd)).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("GIVEN instance au répertoire en retard WHEN reserve après déplacement THEN rejeté sans inventaire recréé sur la source, puis routé vers la cible")
+        void shouldNotRecreateInventoryOnSourceFromStaleDirectory() {
+            Long odd = eventOn(1);
+            reserve(odd);
+            rebalancer.moveEvent(odd, 0);
+            router.assign(odd, 1);
+
+            assertThatThrownBy(() -> reserve(odd)).isInstanceOf(EventMigratingException.class);
+            assertThat(count(1, "inventory", odd)).isZero();
+            assertThat(router.shardFor(odd)).isZero();
+            reserve(odd);
+            assertThat(facade.getAvailability(odd).available()).isEqualTo(98);
+        }
+
+        @Test
+        @DisplayName("GIVEN inventaire source marqué par un déplacement d'une autre instance WHEN reserve, confirm, release THEN rejetés, réservation inchangée")
+        void shouldRejectWritesOnMarkedInventory() {
+            Long odd = eventOn(1);
+            Long pending = reserve(odd);
+            Long other = reserve(odd);
+            router.onShard(1, () -> jdbcTemplate.update("UPDATE inventory SET migrating = TRUE WHERE event_id = ?", odd));
+
+            assertThatThrownBy(() -> reserve(odd)).isInstanceOf(EventMigratingException.class);
+            assertThatThrownBy(() -> facade.confirmReservation(new ConfirmRequest(pending)))
+                .isInstanceOf(EventMigratingException.class);
+            assertThatThrownBy(() -> facade.releaseReservation(new ReleaseRequest(other)))
+                .isInstanceOf(EventMigratingException.class);
+            assertThat(router.onShard(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservation WHERE event_id = ? AND status = 'PENDING'", Integer.class, odd)))
+                .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("GIVEN déplacement en cours sur une autre instance WHEN moveEvent THEN refusé, répertoire inchangé")
+        void shouldRefuseConcurrentMove() {
+            Long odd = eventOn(1);
+            router.onShard(0, () -> jdbcTemplate.update(
+                "INSERT INTO event_shard_assignment (event_id, shard, migrating, updated_at) VALUES (?, 1, TRUE, CURRENT_TIMESTAMP)",
+                odd));
+
+            assertThatThrownBy(() -> rebalancer.moveEvent(odd, 0)).isInstanceOf(ShardMoveRejectedException.class);
+            assertThat(count(0, "inventory", odd)).isZero();
+            assertThat(router.onShard(0, () -> jdbcTemplate.queryForObject(
+                "SELECT migrating FROM event_shard_assignment WHERE event_id = ?", Boolean.class, odd))).isTrue();
+        }
+
+        @Test
+        @DisplayName("GIVEN panier actif sur l'événement WHEN moveEvent THEN refusé, événement inchangé")
+        void shouldRefuseEventWithActiveCart() {
+            Long odd = eventOn(1);
+            Long otherOdd = eventOn(1);
+            facade.reserveCart(new CartReserveRequest(userId,
+                List.of(new CartLineRequest(odd, 1), new CartLineRequest(otherOdd, 1))), null);
+
+            assertThatThrownBy(() -> rebalancer.moveEvent(odd, 0))
+                .isInstanceOf(ShardMoveRejectedException.class);
+            assertThat(router.shardFor(odd)).isEqualTo(1);
+            assertThat(count(1, "reservation", odd)).isEqualTo(1);
+            assertThat(count(0, "inventory", odd)).isZero();
+        }
+
+        @Test
+        @DisplayName("GIVEN shard cible identique ou inconnu WHEN moveEvent THEN refusé")
+        void shouldRefuseInvalidTarget() {
+            Long even = eventOn(0);
+
+            assertThatThrownBy(() -> rebalancer.moveEvent(even, 0)).isInstanceOf(ShardMoveRejectedException.class);
+            assertThatThrownBy(() -> rebalancer.moveEvent(even, 2)).isInstanceOf(ShardMoveRejectedException.class);
+        }
+    }
+}
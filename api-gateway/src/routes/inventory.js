@@ -82,7 +82,9 @@ router.get('/availability/:eventId', async (req, res) => {
  */
 router.get('/user/:userId', async (req, res) => {
   try {
-    const response = await inventoryClient.get(`/tickets/user/${req.params.userId}`);
+    const response = await inventoryClient.get(`/tickets/user/${req.params.userId}`, {
+      params: req.query
+    });
     res.json(response.data);
   } catch (error) {
     console.error('[Inventory] User reservations error:', error.message);
@@ -93,4 +95,22 @@ router.get('/user/:userId', async (req, res) => {
   }
 });
 
+/**
+ * GET /inventory/user/:userId/tickets - Tickets d'un utilisateur (paginés: cursor, limit)
+ */
+router.get('/user/:userId/tickets', async (req, res) => {
+  try {
+    const response = await inventoryClient.get(`/tickets/user/${req.params.userId}/tickets`, {
+      params: req.query
+    });
+    res.json(response.data);
+  } catch (error) {
+    console.error('[Inventory] User tickets error:', error.message);
+    res.status(error.response?.status || 500).json({
+      success: false,
+      message: error.response?.data?.message || 'Erreur lors de la consultation'
+    });
+  }
+});
+
 module.exports = router;
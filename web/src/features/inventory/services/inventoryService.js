@@ -55,14 +55,21 @@ export const releaseReservation = async (reservationId) => {
 };
 
 /**
- * INT-020: Consulter les réservations et achats d'un utilisateur
+ * INT-020: Consulter les réservations et achats d'un utilisateur, une page à la fois
  * @param {number} userId - L'identifiant de l'utilisateur
- * @returns {Promise<Array>} Liste des réservations
+ * @param {Object} [options]
+ * @param {string} [options.cursor] - Curseur renvoyé par la page précédente (nextCursor)
+ * @param {number} [options.limit] - Taille de page (20 par défaut côté API)
+ * @param {string} [options.status] - Filtre sur le statut de réservation
+ * @returns {Promise<{items: Array, nextCursor: string|null}>} Page de réservations
  */
-export const getUserReservations = async (userId) => {
+export const getUserReservations = async (userId, { cursor, limit, status } = {}) => {
   const response = await apiGatewayClient.get(
-    `/inventory/user/${userId}`
+    `/inventory/user/${userId}`,
+    { params: { cursor, limit, status } }
   );
-  // L'API retourne { items: [...] }, on extrait le tableau
-  return response.data.items || [];
+  return {
+    items: response.data.items || [],
+    nextCursor: response.data.nextCursor || null,
+  };
 };
@@ -3,6 +3,7 @@ import { useAuth } from '@/context/AuthContext';
 import { useToast } from '@/context/ToastContext';
 import { Spinner } from '@/components/ui/spinner';
 import { Alert, AlertDescription, AlertTitle } from '@/components/ui/alert';
+import { Button } from '@/components/ui/button';
 import { AlertTriangle } from 'lucide-react';
 import ReservationList from '@/features/inventory/components/ReservationList';
 import { getUserReservations } from '@/features/inventory/services/inventoryService';
@@ -14,6 +15,8 @@ const MyReservationsPage = () => {
   const [reservations, setReservations] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   const fetchReservations = async () => {
     if (!user || !user.id) {
@@ -25,10 +28,10 @@ const MyReservationsPage = () => {
     try {
       setLoading(true);
       setError(null);
-      const data = await getUserReservations(user.id);
-      
-      // La réponse peut être un objet avec une propriété reservations ou directement un tableau
-      setReservations(data.reservations || data || []);
+      // Première page uniquement: les suivantes sont chargées à la demande via nextCursor
+      const page = await getUserReservations(user.id);
+      setReservations(page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       console.error('Erreur lors de la récupération des réservations:', err);
       const errorMessage = err.response?.data?.message || 'Impossible de récupérer vos réservations';
@@ -39,6 +42,22 @@ const MyReservationsPage = () => {
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+
+    try {
+      setLoadingMore(true);
+      const page = await getUserReservations(user.id, { cursor: nextCursor });
+      setReservations((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error('Erreur lors du chargement des réservations suivantes:', err);
+      showError(err.response?.data?.message || 'Impossible de charger plus de réservations');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchReservations();
     // eslint-disable-next-line react-hooks/exhaustive-deps
@@ -84,6 +103,14 @@ const MyReservationsPage = () => {
           onUpdate={handleUpdate}
         />
       )}
+
+      {!error && nextCursor && (
+        <div className="flex justify-center mt-8">
+          <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? <Spinner size={16} /> : 'Charger plus de réservations'}
+          </Button>
+        </div>
+      )}
     </div>
   );
 };